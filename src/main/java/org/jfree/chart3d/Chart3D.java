@@ -41,6 +41,7 @@ import java.awt.Font;
 import java.awt.Paint;
 import java.awt.RenderingHints;
 import java.awt.Shape;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
@@ -53,10 +54,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import javax.swing.event.EventListenerList;
 
+import org.jfree.chart3d.graphics3d.internal.BSPFaceSorter;
+import org.jfree.chart3d.graphics3d.internal.IncrementalFaceSorter;
 import org.jfree.chart3d.graphics3d.internal.FaceSorter;
 import org.jfree.chart3d.graphics3d.internal.StandardFaceSorter;
 import org.jfree.chart3d.graphics3d.internal.Utils2D;
@@ -77,12 +81,17 @@ import org.jfree.chart3d.graphics3d.Dimension3D;
 import org.jfree.chart3d.graphics3d.DoubleSidedFace;
 import org.jfree.chart3d.graphics3d.Drawable3D;
 import org.jfree.chart3d.graphics3d.Face;
+import org.jfree.chart3d.graphics3d.FaceOrdering;
 import org.jfree.chart3d.graphics3d.LabelFace;
 import org.jfree.chart3d.graphics3d.Object3D;
 import org.jfree.chart3d.graphics3d.Offset2D;
 import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.PolylineFace;
+import org.jfree.chart3d.graphics3d.RenderMetrics;
+import org.jfree.chart3d.graphics3d.RenderPhase;
 import org.jfree.chart3d.graphics3d.RenderedElement;
 import org.jfree.chart3d.graphics3d.RenderingInfo;
+import org.jfree.chart3d.graphics3d.ShadePalette;
 import org.jfree.chart3d.graphics3d.ViewPoint3D;
 import org.jfree.chart3d.graphics3d.World;
 import org.jfree.chart3d.interaction.InteractiveElementType;
@@ -240,6 +249,37 @@ public class Chart3D implements Drawable3D, ChartElement,
     
     /** A 3D model of the world (represents the chart). */
     private transient World world;
+    
+    /** 
+     * The revision number, incremented every time a change event is 
+     * generated.
+     */
+    private transient volatile long revision;
+
+    /** 
+     * The number of revisions caused by changes to the view point, 
+     * projection distance or 2D translation (subtracted from the revision 
+     * to identify the state of the chart content).
+     */
+    private transient long viewRevisions;
+    
+    /** 
+     * Shaded face colors reused across draws (created lazily, and not 
+     * serialized).
+     */
+    private transient ShadePalette shadePalette;
+
+    /** 
+     * The chart box (with tick and marker data) from the most recent draw, 
+     * reused while {@code chartBoxKey} matches (not serialized).
+     */
+    private transient ChartBox3D chartBox;
+
+    /** The key for the cached chart box (not serialized). */
+    private transient ChartBoxKey chartBoxKey;
+
+    /** The method used to order the faces for painting. */
+    private FaceOrdering faceOrdering;
 
     /** An object that sorts faces for rendering (painter's algorithm). */
     private FaceSorter faceSorter;
@@ -250,6 +290,18 @@ public class Chart3D implements Drawable3D, ChartElement,
      */
     private boolean elementHinting;
     
+    /** 
+     * A flag that controls whether render metrics are collected when the
+     * chart is drawn.
+     */
+    private boolean renderMetricsEnabled;
+    
+    /** 
+     * A flag that controls whether objects outside the visible area are 
+     * skipped when the chart is drawn.
+     */
+    private boolean viewCulling;
+    
     /**
      * Creates a 3D chart for the specified plot using the default chart
      * style.  Note that a plot instance must be used in one chart instance
@@ -296,6 +348,7 @@ public class Chart3D implements Drawable3D, ChartElement,
         this.projDist = DEFAULT_PROJ_DIST;
         this.chartBoxColor = new Color(255, 255, 255, 100);
         this.translate2D = new Offset2D();
+        this.faceOrdering = FaceOrdering.Z_ORDER;
         this.faceSorter = new StandardFaceSorter();
         this.renderingHints = new RenderingHints(
                 RenderingHints.KEY_ANTIALIASING,
@@ -518,6 +571,7 @@ public class Chart3D implements Drawable3D, ChartElement,
     public void setViewPoint(ViewPoint3D viewPoint) {
         Args.nullNotPermitted(viewPoint, "viewPoint");
         this.viewPoint = viewPoint;
+        this.viewRevisions++;
         fireChangeEvent();
     }    
 
@@ -546,6 +600,7 @@ public class Chart3D implements Drawable3D, ChartElement,
     @Override
     public void setProjDistance(double dist) {
         this.projDist = dist;
+        this.viewRevisions++;
         fireChangeEvent();
     }
 
@@ -573,6 +628,7 @@ public class Chart3D implements Drawable3D, ChartElement,
     public void setTranslate2D(Offset2D offset) {
         Args.nullNotPermitted(offset, "offset");
         this.translate2D = offset;
+        this.viewRevisions++;
         fireChangeEvent();
     }
     
@@ -770,6 +826,105 @@ public class Chart3D implements Drawable3D, ChartElement,
         fireChangeEvent();
     }
     
+    /**
+     * Returns the flag that controls whether timings and counts are 
+     * collected when the chart is drawn.  The default value is 
+     * {@code false}.
+     * 
+     * @return A boolean.
+     * 
+     * @since 2.1.2
+     */
+    public boolean isRenderMetricsEnabled() {
+        return this.renderMetricsEnabled;
+    }
+    
+    /**
+     * Sets the flag that controls whether timings and counts are collected
+     * when the chart is drawn.  When {@code true}, the 
+     * {@link RenderingInfo} returned by {@link #draw(Graphics2D, Rectangle2D)}
+     * carries a {@link RenderMetrics} instance with the time spent in each 
+     * {@link RenderPhase}.  Since this does not change the chart's 
+     * appearance, no change event is sent.
+     * 
+     * @param enabled  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setRenderMetricsEnabled(boolean enabled) {
+        this.renderMetricsEnabled = enabled;
+    }
+    
+    /**
+     * Returns the flag that controls whether objects that lie outside the 
+     * drawing area are skipped when the chart is drawn.  The default value
+     * is {@code false}.
+     * 
+     * @return A boolean.
+     * 
+     * @since 2.1.2
+     */
+    public boolean isViewCulling() {
+        return this.viewCulling;
+    }
+    
+    /**
+     * Sets the flag that controls whether objects that lie outside the 
+     * drawing area are skipped when the chart is drawn.  When the view is 
+     * zoomed in on part of a dense chart, most of the objects in the 3D 
+     * model fall outside the drawing area and skipping them saves the time
+     * spent projecting, sorting and filling their faces.  Objects are found
+     * using a bounding volume hierarchy that is built when the model is 
+     * composed (see {@link World#prepareView(ViewPoint3D, double, 
+     * Rectangle2D, String...)}).  When this flag is set, the projected 
+     * points in the {@link RenderingInfo} are {@code null} for the vertices
+     * of skipped objects.  Since this does not change the chart's 
+     * appearance, no change event is sent.
+     * 
+     * @param culling  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setViewCulling(boolean culling) {
+        this.viewCulling = culling;
+    }
+    
+    /**
+     * Returns the method used to order the faces of the 3D model for 
+     * painting.  The default value is {@link FaceOrdering#Z_ORDER}.
+     * 
+     * @return The face ordering (never {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public FaceOrdering getFaceOrdering() {
+        return this.faceOrdering;
+    }
+    
+    /**
+     * Sets the method used to order the faces of the 3D model for painting
+     * and sends a {@link Chart3DChangeEvent} to all registered listeners.
+     * With {@link FaceOrdering#BSP_TREE}, faces that cross a partitioning 
+     * plane are split in the chart's world (so outlines, where drawn, will
+     * show the split).
+     * 
+     * @param ordering  the ordering ({@code null} not permitted).
+     * 
+     * @since 2.1.2
+     */
+    public void setFaceOrdering(FaceOrdering ordering) {
+        Args.nullNotPermitted(ordering, "ordering");
+        this.faceOrdering = ordering;
+        if (ordering == FaceOrdering.BSP_TREE) {
+            this.faceSorter = new BSPFaceSorter();
+        } else if (ordering == FaceOrdering.INCREMENTAL_Z_ORDER) {
+            this.faceSorter = new IncrementalFaceSorter();
+        } else {
+            this.faceSorter = new StandardFaceSorter();
+        }
+        fireChangeEvent();
+    }
+
     /**
      * Returns the chart style.
      * 
@@ -825,10 +980,23 @@ public class Chart3D implements Drawable3D, ChartElement,
      */
     @Override
     public RenderingInfo draw(Graphics2D g2, Rectangle2D bounds) {
+        RenderMetrics metrics = this.renderMetricsEnabled 
+                ? new RenderMetrics() : null;
+        long time = metrics != null ? System.nanoTime() : 0L;
         beginElement(g2, this.id, "ORSON_CHART_TOP_LEVEL");
         Shape savedClip = g2.getClip();
         g2.clip(bounds);
         g2.addRenderingHints(this.renderingHints);
+        boolean interactive = Boolean.TRUE.equals(g2.getRenderingHint(
+                Chart3DHints.KEY_INTERACTIVE_QUALITY));
+        if (interactive) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
+                    RenderingHints.VALUE_ANTIALIAS_OFF);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, 
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, 
+                    RenderingHints.VALUE_RENDER_SPEED);
+        }
         g2.setStroke(new BasicStroke(1.5f, BasicStroke.CAP_ROUND, 
                 BasicStroke.JOIN_ROUND, 1f));
         Dimension3D dim3D = this.plot.getDimensions();
@@ -836,21 +1004,43 @@ public class Chart3D implements Drawable3D, ChartElement,
         double h = dim3D.getHeight();
         double depth = dim3D.getDepth();
         ChartBox3D chartBox = null;
+        boolean chartBoxChanged = false;
         if (this.plot instanceof XYZPlot 
                 || this.plot instanceof CategoryPlot3D) {
-            double[] tickUnits = findAxisTickUnits(g2, w, h, depth);
-            chartBox = new ChartBox3D(w, h, depth, -w / 2, -h / 2, -depth / 2, 
-                    this.chartBoxColor);
-            chartBox.setXTicks(fetchXTickData(this.plot, tickUnits[0]));
-            chartBox.setYTicks(fetchYTickData(this.plot, tickUnits[1]));
-            chartBox.setZTicks(fetchZTickData(this.plot, tickUnits[2]));
-            chartBox.setXMarkers(fetchXMarkerData(this.plot));
-            chartBox.setYMarkers(fetchYMarkerData(this.plot));
-            chartBox.setZMarkers(fetchZMarkerData(this.plot));
+            // the tick selection depends only on the chart state, the view 
+            // and the font metrics, so rotation frames that differ by less 
+            // than the key's tolerance reuse the previous chart box
+            ChartBoxKey key = new ChartBoxKey(
+                    this.revision - this.viewRevisions, this.viewPoint,
+                    this.projDist, g2.getFontRenderContext());
+            if (this.chartBox != null && key.matches(this.chartBoxKey)) {
+                chartBox = this.chartBox;
+            } else {
+                double[] tickUnits = findAxisTickUnits(g2, w, h, depth);
+                chartBox = new ChartBox3D(w, h, depth, -w / 2, -h / 2, 
+                        -depth / 2, this.chartBoxColor);
+                chartBox.setXTicks(fetchXTickData(this.plot, tickUnits[0]));
+                chartBox.setYTicks(fetchYTickData(this.plot, tickUnits[1]));
+                chartBox.setZTicks(fetchZTickData(this.plot, tickUnits[2]));
+                chartBox.setXMarkers(fetchXMarkerData(this.plot));
+                chartBox.setYMarkers(fetchYMarkerData(this.plot));
+                chartBox.setZMarkers(fetchZMarkerData(this.plot));
+                this.chartBox = chartBox;
+                this.chartBoxKey = key;
+                chartBoxChanged = true;
+            }
+        }
+        if (metrics != null) {
+            metrics.setChartBoxUpdated(chartBoxChanged);
+            time = recordPhase(metrics, RenderPhase.AXIS_SETUP, time);
         }
         if (this.world == null) {
             this.world = createWorld(chartBox);
-        } else if (chartBox != null) {
+            if (metrics != null) {
+                metrics.setWorldComposed(true);
+                time = recordPhase(metrics, RenderPhase.COMPOSE, time);
+            }
+        } else if (chartBoxChanged) {
             this.world.clear("chartbox");
             this.world.add("chartbox", chartBox.createObject3D());
         }
@@ -863,16 +1053,78 @@ public class Chart3D implements Drawable3D, ChartElement,
         double dy = bounds.getY() + bounds.getHeight() / 2.0 
                 + this.translate2D.getDY();
         g2.translate(dx, dy);
-        Point3D[] eyePts = this.world.calculateEyeCoordinates(this.viewPoint);
-        Point2D[] pts = this.world.calculateProjectedPoints(this.viewPoint, 
-                this.projDist);
+        if (metrics != null) {
+            time = System.nanoTime();
+        }
+        this.faceSorter.prepare(this.world);
+        if (metrics != null) {
+            time = recordPhase(metrics, RenderPhase.SORT, time);
+        }
+        Point3D[] eyePts;
+        Point2D[] pts;
+        List<Face> facesInPaintOrder;
+        if (this.viewCulling) {
+            // the visible area in projected coordinates, with a margin for 
+            // the face outlines (the chart box is always kept, since the 
+            // axes are drawn from its vertices)
+            Rectangle2D viewport = new Rectangle2D.Double(
+                    bounds.getX() - dx - 2.0, bounds.getY() - dy - 2.0, 
+                    bounds.getWidth() + 4.0, bounds.getHeight() + 4.0);
+            this.world.prepareView(this.viewPoint, this.projDist, viewport, 
+                    "chartbox");
+            // the partitioning planes of a BSP tree can belong to faces 
+            // outside the view, so the tree needs all the eye coordinates
+            eyePts = this.faceOrdering == FaceOrdering.BSP_TREE 
+                    ? this.world.calculateEyeCoordinates(this.viewPoint)
+                    : this.world.calculateVisibleEyeCoordinates(this.viewPoint);
+            pts = this.world.calculateVisibleProjectedPoints(this.viewPoint, 
+                    this.projDist);
+            facesInPaintOrder = this.world.getVisibleFaces();
+            if (metrics != null) {
+                metrics.setOffscreenObjectCount(
+                        this.world.getCulledObjectCount());
+            }
+        } else {
+            eyePts = this.world.calculateEyeCoordinates(this.viewPoint);
+            pts = this.world.calculateProjectedPoints(this.viewPoint, 
+                    this.projDist);
+            facesInPaintOrder = new ArrayList<>(this.world.getFaces());
+        }
         
         // sort faces by z-order
-        List<Face> facesInPaintOrder = new ArrayList<>(world.getFaces());
+        // the element hints are shared by all faces with the same owner
+        Map<Object3D, Map<String, String>> elementHints = this.elementHinting 
+                ? new IdentityHashMap<Object3D, Map<String, String>>() : null;
+        if (metrics != null) {
+            time = recordPhase(metrics, RenderPhase.PROJECTION, time);
+        }
         facesInPaintOrder = this.faceSorter.sort(facesInPaintOrder, eyePts);
+        if (metrics != null) {
+            time = recordPhase(metrics, RenderPhase.SORT, time);
+            if (this.faceSorter instanceof IncrementalFaceSorter) {
+                IncrementalFaceSorter sorter 
+                        = (IncrementalFaceSorter) this.faceSorter;
+                metrics.setFaceOrderReused(sorter.isOrderReused());
+                metrics.setMovedFaceCount(sorter.getMovedFaceCount());
+            }
+        }
+        int culled = 0;
         Line2D line = null;
         Stroke stroke = new BasicStroke(1.0f);
+        // one path is reused for all faces
+        Path2D path = new Path2D.Float();
+        if (this.shadePalette == null) {
+            this.shadePalette = new ShadePalette();
+        }
+        this.world.prepareLighting(this.viewPoint);
         for (Face f : facesInPaintOrder) {
+            // a polyline run is drawn with a single stroke
+            if (f instanceof PolylineFace) {
+                g2.setPaint(f.getColor());
+                g2.setStroke(stroke);
+                g2.draw(f.createPath(pts, path));
+                continue;
+            }
             // check for the special case where the face is just a line
             if (f.getVertexCount() == 2) {
                 g2.setPaint(f.getColor());
@@ -887,21 +1139,15 @@ public class Chart3D implements Drawable3D, ChartElement,
                 g2.draw(line);
                 continue;
             }
-            boolean drawOutline = f.getOutline();
-            double[] plane = f.calculateNormal(eyePts);
-            double inprod = plane[0] * world.getSunX() + plane[1]
-                    * world.getSunY() + plane[2] * world.getSunZ();
-            double shade = (inprod + 1) / 2.0;
+            boolean drawOutline = f.getOutline() && !interactive;
             if (f instanceof DoubleSidedFace 
                     || Utils2D.area2(pts[f.getVertexIndex(0)],
                     pts[f.getVertexIndex(1)], pts[f.getVertexIndex(2)]) > 0.0) {
-                Color c = f.getColor();
-                Path2D p = f.createPath(pts);
-                g2.setPaint(new Color((int) (c.getRed() * shade),
-                        (int) (c.getGreen() * shade),
-                        (int) (c.getBlue() * shade), c.getAlpha()));
+                Path2D p = f.createPath(pts, path);
+                double shade = this.world.calculateShade(f);
+                g2.setPaint(this.shadePalette.getShade(f.getColor(), shade));
                 if (this.elementHinting) {
-                    beginElementGroup(f, g2);
+                    beginElementGroup(f, g2, elementHints);
                 }
                 g2.fill(p);
                 if (drawOutline) {
@@ -920,7 +1166,7 @@ public class Chart3D implements Drawable3D, ChartElement,
                     drawMarkers(g2, cbf, pts);
                     g2.setStroke(savedStroke);
                 }
-            } else if (f instanceof LabelFace) {
+            } else if (f instanceof LabelFace && !interactive) {
                 LabelFace lf = (LabelFace) f;
                 Path2D p = lf.createPath(pts);
                 Rectangle2D lb = p.getBounds2D();
@@ -936,21 +1182,37 @@ public class Chart3D implements Drawable3D, ChartElement,
                         (float) lb.getCenterX(), (float) lb.getCenterY(), 
                         TextAnchor.CENTER);
                 lf.getOwner().setProperty("labelBounds", r);
-            } 
+            } else {
+                culled++;
+            }
         }
         RenderingInfo info = new RenderingInfo(facesInPaintOrder, pts, dx, dy);
+        if (metrics != null) {
+            time = recordPhase(metrics, RenderPhase.FACES, time);
+            metrics.setVertexCount(pts.length);
+            metrics.setFaceCount(facesInPaintOrder.size());
+            metrics.setCulledFaceCount(culled);
+            metrics.setObjectCount(this.world.getObjects().size());
+            info.setMetrics(metrics);
+        }
         OnDrawHandler onDrawHandler = new OnDrawHandler(info, 
                 this.elementHinting);
    
         // handle labels on pie plots...
-        if (this.plot instanceof PiePlot3D) {
+        if (this.plot instanceof PiePlot3D && !interactive) {
             drawPieLabels(g2, w, h, depth, info);
+            if (metrics != null) {
+                time = recordPhase(metrics, RenderPhase.PIE_LABELS, time);
+            }
         }
 
         // handle axis labelling on non-pie plots...
         if (this.plot instanceof XYZPlot || this.plot instanceof 
                 CategoryPlot3D) {
             drawAxes(g2, chartBox, pts, info);
+            if (metrics != null) {
+                time = recordPhase(metrics, RenderPhase.AXES, time);
+            }
         }    
 
         g2.setTransform(saved);
@@ -965,6 +1227,9 @@ public class Chart3D implements Drawable3D, ChartElement,
                         this.legendAnchor, bounds);
                 legend.draw(g2, legendArea, onDrawHandler);
             }
+            if (metrics != null) {
+                time = recordPhase(metrics, RenderPhase.LEGEND, time);
+            }
         }
 
         // draw the title...
@@ -973,20 +1238,56 @@ public class Chart3D implements Drawable3D, ChartElement,
             Rectangle2D titleArea = calculateDrawArea(titleSize, 
                     this.titleAnchor, bounds);
             this.title.draw(g2, titleArea, onDrawHandler);
+            if (metrics != null) {
+                recordPhase(metrics, RenderPhase.TITLE, time);
+            }
         }
         g2.setClip(savedClip);
         endElement(g2);
         return info;
     }
     
-    private void beginElementGroup(Face face, Graphics2D g2) {
+    /**
+     * Adds the time elapsed since {@code start} to the specified phase and
+     * returns the current time (the start time for the next phase).
+     * 
+     * @param metrics  the metrics.
+     * @param phase  the phase.
+     * @param start  the start time for the phase (from 
+     *     {@code System.nanoTime()}).
+     * 
+     * @return The current time. 
+     */
+    private static long recordPhase(RenderMetrics metrics, RenderPhase phase,
+            long start) {
+        long now = System.nanoTime();
+        metrics.addNanos(phase, now - start);
+        return now;
+    }
+    
+    /**
+     * Begins an element group for a face that belongs to a data item.  The
+     * hint value for each owner is created once and reused for all of the
+     * owner's faces, so the item key is only converted to JSON once per draw.
+     * 
+     * @param face  the face.
+     * @param g2  the graphics target.
+     * @param elementHints  the hint values created so far, by owner.
+     */
+    private void beginElementGroup(Face face, Graphics2D g2, 
+            Map<Object3D, Map<String, String>> elementHints) {
         Object3D owner = face.getOwner();
-        ItemKey itemKey = (ItemKey) owner.getProperty(Object3D.ITEM_KEY);
-        if (itemKey != null) {
-            Map<String, String> m = new HashMap<>();
+        Map<String, String> m = elementHints.get(owner);
+        if (m == null) {
+            ItemKey itemKey = (ItemKey) owner.getProperty(Object3D.ITEM_KEY);
+            if (itemKey == null) {
+                return;
+            }
+            m = new HashMap<>();
             m.put("ref", itemKey.toJSONString());
-            g2.setRenderingHint(Chart3DHints.KEY_BEGIN_ELEMENT, m);
+            elementHints.put(owner, m);
         }
+        g2.setRenderingHint(Chart3DHints.KEY_BEGIN_ELEMENT, m);
     }
     
     private void endElementGroup(Face face, Graphics2D g2) {
@@ -1843,6 +2144,9 @@ public class Chart3D implements Drawable3D, ChartElement,
         if (this.projDist != that.projDist) {
             return false;
         }
+        if (this.faceOrdering != that.faceOrdering) {
+            return false;
+        }
         return true;
     }
 
@@ -1985,6 +2289,7 @@ public class Chart3D implements Drawable3D, ChartElement,
      * @param event  information about the change event.
      */
     public void notifyListeners(Chart3DChangeEvent event) {
+        this.revision++;
         // if the 'notify' flag has been switched to false, we don't notify
         // the listeners
         if (!this.notify) {
@@ -2027,6 +2332,22 @@ public class Chart3D implements Drawable3D, ChartElement,
         }
     }
   
+    /**
+     * Returns the revision number for the chart.  The number increases every
+     * time the chart, its plot or its style is changed (that is, whenever a
+     * change event is generated, even if listener notification is switched
+     * off), so it can be used to detect whether a previously rendered image
+     * of the chart is still current.  Note that changes to the view point,
+     * projection distance and 2D translation are not necessarily included.
+     * 
+     * @return The revision number.
+     * 
+     * @since 2.1.2
+     */
+    public long getRevision() {
+        return this.revision;
+    }
+    
     /**
      * Sends a {@link Chart3DChangeEvent} to all registered listeners.
      */
@@ -2103,4 +2424,79 @@ public class Chart3D implements Drawable3D, ChartElement,
         }
     }
 
+    /**
+     * The state that determines the chart box and its tick selection (the 
+     * chart content is represented by its revision number, excluding 
+     * revisions for view changes).  The view is captured by its 
+     * world-to-eye transform (the theta, phi and roll angles are not unique 
+     * for a given view, so they are not compared directly).  Keys match when 
+     * the content is the same and the views differ by less than a small 
+     * tolerance (about a tenth of a degree of rotation and half a percent of 
+     * the viewing distance), so that the frames of a mouse drag can reuse 
+     * the chart box.
+     */
+    private static final class ChartBoxKey {
+
+        /** The tolerance for the rotation (approximately in radians). */
+        private static final double ANGLE_TOLERANCE = 0.002;
+
+        /** The tolerance for the ratio of the viewing distances. */
+        private static final double DISTANCE_TOLERANCE = 0.005;
+
+        private final long revision;
+        
+        /** The eye coordinates of the world origin. */
+        private final Point3D origin;
+        
+        /** The eye space directions of the world's x, y and z axes. */
+        private final double[] axes;
+        
+        private final double projDist;
+        private final FontRenderContext frc;
+
+        ChartBoxKey(long revision, ViewPoint3D viewPoint, double projDist, 
+                FontRenderContext frc) {
+            this.revision = revision;
+            this.origin = viewPoint.worldToEye(Point3D.ORIGIN);
+            this.axes = new double[9];
+            Point3D[] units = {Point3D.UNIT_X, Point3D.UNIT_Y, Point3D.UNIT_Z};
+            for (int i = 0; i < 3; i++) {
+                Point3D p = viewPoint.worldToEye(units[i]);
+                this.axes[i * 3] = p.x - this.origin.x;
+                this.axes[i * 3 + 1] = p.y - this.origin.y;
+                this.axes[i * 3 + 2] = p.z - this.origin.z;
+            }
+            this.projDist = projDist;
+            this.frc = frc;
+        }
+
+        /**
+         * Returns {@code true} if a chart box created for {@code key} can 
+         * be reused for this key.
+         * 
+         * @param key  the key ({@code null} permitted).
+         * 
+         * @return A boolean. 
+         */
+        boolean matches(ChartBoxKey key) {
+            if (key == null || this.revision != key.revision 
+                    || this.projDist != key.projDist
+                    || !ObjectUtils.equals(this.frc, key.frc)) {
+                return false;
+            }
+            for (int i = 0; i < this.axes.length; i++) {
+                if (Math.abs(this.axes[i] - key.axes[i]) >= ANGLE_TOLERANCE) {
+                    return false;
+                }
+            }
+            double d1 = length(this.origin);
+            double d2 = length(key.origin);
+            return Math.abs(d1 / d2 - 1.0) < DISTANCE_TOLERANCE;
+        }
+
+        private static double length(Point3D p) {
+            return Math.sqrt(p.x * p.x + p.y * p.y + p.z * p.z);
+        }
+    }
+
 }
@@ -62,6 +62,17 @@ public final class Chart3DHints {
      */
     public static final Key KEY_END_ELEMENT = new Chart3DHints.Key(1);
     
+    /**
+     * The key for a hint that requests a fast, lower quality rendering, for
+     * example while the user is rotating or zooming a chart in a panel.  The
+     * value should be a {@code Boolean}.  When the value is 
+     * {@code Boolean.TRUE}, antialiasing and face outlines are switched off 
+     * and labels attached to 3D objects are not drawn.
+     * 
+     * @since 2.1.2
+     */
+    public static final Key KEY_INTERACTIVE_QUALITY = new Chart3DHints.Key(2);
+    
     /**
      * A key for rendering hints that can be used with Orson Charts (in 
      * addition to the regular Java2D rendering hints).
@@ -93,6 +104,8 @@ public final class Chart3DHints {
                             || val instanceof Map;
                 case 1:
                     return true;
+                case 2:
+                    return val == null || val instanceof Boolean;
                 default:
                     throw new RuntimeException("Not possible!");
             }
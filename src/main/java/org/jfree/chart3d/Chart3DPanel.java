@@ -107,13 +107,27 @@ public class Chart3DPanel extends Panel3D implements Chart3DChangeListener,
     
     /**
      * Receives notification when the chart has been modified, and responds
-     * by completely repainting the panel and chart.
+     * by requesting a repaint of the panel and chart (bursts of changes are 
+     * coalesced by the repaint scheduler).
      * 
      * @param event  the event. 
      */
     @Override
     public void chartChanged(Chart3DChangeEvent event) {
-        repaint();
+        requestRepaint();
+    }
+
+    /**
+     * Returns the chart's revision number, so that the rendered chart can be
+     * cached while the chart is unchanged.
+     * 
+     * @return The revision number.
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    protected long getContentRevision() {
+        return this.chart.getRevision();
     }
 
     @Override
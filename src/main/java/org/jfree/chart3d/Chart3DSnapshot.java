@@ -0,0 +1,311 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d;
+
+import java.awt.Color;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jfree.chart3d.data.BinaryUtils;
+import org.jfree.chart3d.graphics3d.Offset2D;
+import org.jfree.chart3d.graphics3d.ViewPoint3D;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.ObjectUtils;
+
+/**
+ * An immutable snapshot of the configuration of a {@link Chart3D} that 
+ * determines how the chart is viewed (the view point, projection distance,
+ * 2D offset and a few display flags), with a compact binary encoding so 
+ * that the state can be cached and restored across JVMs without Java 
+ * serialization.  The plot, renderers and axes are not included, use 
+ * {@link BinaryUtils} for the chart data.
+ * <br><br>
+ * The binary encoding starts with the magic number {@code 0x4F434353} 
+ * (int) and the format version (byte).
+ * 
+ * @since 2.1.2
+ */
+public final class Chart3DSnapshot {
+    
+    /** The magic number at the start of the encoding. */
+    static final int MAGIC = 0x4F434353;
+    
+    /** The current format version. */
+    static final byte VERSION = 1;
+    
+    /** The chart id ({@code null} permitted). */
+    private final String id;
+    
+    /** The view point angle theta. */
+    private final double theta;
+    
+    /** The view point angle phi. */
+    private final double phi;
+    
+    /** The view point distance. */
+    private final double rho;
+    
+    /** The view point roll angle. */
+    private final double roll;
+    
+    /** The projection distance. */
+    private final double projDistance;
+    
+    /** The 2D offset (x). */
+    private final double dx;
+    
+    /** The 2D offset (y). */
+    private final double dy;
+    
+    /** The chart box color (ARGB). */
+    private final int chartBoxColor;
+    
+    /** The anti-alias flag. */
+    private final boolean antiAlias;
+    
+    /** The element hinting flag. */
+    private final boolean elementHinting;
+    
+    /** The legend orientation. */
+    private final Orientation legendOrientation;
+    
+    private Chart3DSnapshot(String id, double theta, double phi, double rho, 
+            double roll, double projDistance, double dx, double dy, 
+            int chartBoxColor, boolean antiAlias, boolean elementHinting, 
+            Orientation legendOrientation) {
+        this.id = id;
+        this.theta = theta;
+        this.phi = phi;
+        this.rho = rho;
+        this.roll = roll;
+        this.projDistance = projDistance;
+        this.dx = dx;
+        this.dy = dy;
+        this.chartBoxColor = chartBoxColor;
+        this.antiAlias = antiAlias;
+        this.elementHinting = elementHinting;
+        this.legendOrientation = legendOrientation;
+    }
+    
+    /**
+     * Creates a snapshot of the current configuration of a chart.
+     * 
+     * @param chart  the chart ({@code null} not permitted).
+     * 
+     * @return The snapshot. 
+     */
+    public static Chart3DSnapshot capture(Chart3D chart) {
+        Args.nullNotPermitted(chart, "chart");
+        ViewPoint3D vp = chart.getViewPoint();
+        Offset2D offset = chart.getTranslate2D();
+        return new Chart3DSnapshot(chart.getID(), vp.getTheta(), vp.getPhi(), 
+                vp.getRho(), vp.calcRollAngle(), chart.getProjDistance(), 
+                offset.getDX(), offset.getDY(), 
+                chart.getChartBoxColor().getRGB(), chart.getAntiAlias(), 
+                chart.getElementHinting(), chart.getLegendOrientation());
+    }
+    
+    /**
+     * Applies this snapshot to a chart (which will send change events to 
+     * its listeners).
+     * 
+     * @param chart  the chart ({@code null} not permitted).
+     */
+    public void applyTo(Chart3D chart) {
+        Args.nullNotPermitted(chart, "chart");
+        chart.setID(this.id);
+        chart.setViewPoint(getViewPoint());
+        chart.setProjDistance(this.projDistance);
+        chart.setTranslate2D(new Offset2D(this.dx, this.dy));
+        chart.setChartBoxColor(new Color(this.chartBoxColor, true));
+        chart.setAntiAlias(this.antiAlias);
+        chart.setElementHinting(this.elementHinting);
+        chart.setLegendOrientation(this.legendOrientation);
+    }
+    
+    /**
+     * Returns the view point recorded in the snapshot.
+     * 
+     * @return A new view point instance. 
+     */
+    public ViewPoint3D getViewPoint() {
+        // the constructor's orientation argument is not the same angle as
+        // calcRollAngle() returns, so start level and roll the view
+        ViewPoint3D vp = new ViewPoint3D(this.theta, this.phi, this.rho, 0.0);
+        vp.roll(this.roll);
+        return vp;
+    }
+    
+    /**
+     * Returns the projection distance recorded in the snapshot.
+     * 
+     * @return The projection distance. 
+     */
+    public double getProjDistance() {
+        return this.projDistance;
+    }
+    
+    /**
+     * Returns the 2D offset recorded in the snapshot.
+     * 
+     * @return The offset (never {@code null}). 
+     */
+    public Offset2D getTranslate2D() {
+        return new Offset2D(this.dx, this.dy);
+    }
+    
+    /**
+     * Writes the snapshot in binary format to the supplied output stream.
+     * The stream is flushed but not closed.
+     * 
+     * @param out  the output stream ({@code null} not permitted).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public void write(OutputStream out) throws IOException {
+        Args.nullNotPermitted(out, "out");
+        DataOutputStream dout = new DataOutputStream(out);
+        dout.writeInt(MAGIC);
+        dout.writeByte(VERSION);
+        if (this.id != null) {
+            byte[] bytes = this.id.getBytes(StandardCharsets.UTF_8);
+            dout.writeInt(bytes.length);
+            dout.write(bytes);
+        } else {
+            dout.writeInt(-1);
+        }
+        dout.writeDouble(this.theta);
+        dout.writeDouble(this.phi);
+        dout.writeDouble(this.rho);
+        dout.writeDouble(this.roll);
+        dout.writeDouble(this.projDistance);
+        dout.writeDouble(this.dx);
+        dout.writeDouble(this.dy);
+        dout.writeInt(this.chartBoxColor);
+        int flags = (this.antiAlias ? 1 : 0) | (this.elementHinting ? 2 : 0);
+        dout.writeByte(flags);
+        dout.writeByte(this.legendOrientation.ordinal());
+        dout.flush();
+    }
+    
+    /**
+     * Reads a snapshot written by {@link #write(OutputStream)}.
+     * 
+     * @param in  the input stream ({@code null} not permitted).
+     * 
+     * @return The snapshot.
+     * 
+     * @throws IOException if there is an I/O problem or the data is not in
+     *     the expected format.
+     */
+    public static Chart3DSnapshot read(InputStream in) throws IOException {
+        Args.nullNotPermitted(in, "in");
+        DataInputStream din = new DataInputStream(in);
+        if (din.readInt() != MAGIC) {
+            throw new IOException("Not a chart snapshot.");
+        }
+        int version = din.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported format version " + version);
+        }
+        int idLength = din.readInt();
+        String id = null;
+        if (idLength >= 0) {
+            byte[] bytes = new byte[idLength];
+            din.readFully(bytes);
+            id = new String(bytes, StandardCharsets.UTF_8);
+        }
+        double theta = din.readDouble();
+        double phi = din.readDouble();
+        double rho = din.readDouble();
+        double roll = din.readDouble();
+        double projDistance = din.readDouble();
+        double dx = din.readDouble();
+        double dy = din.readDouble();
+        int chartBoxColor = din.readInt();
+        int flags = din.readByte();
+        int orientation = din.readByte();
+        Orientation[] orientations = Orientation.values();
+        if (orientation < 0 || orientation >= orientations.length) {
+            throw new IOException("Invalid legend orientation " 
+                    + orientation);
+        }
+        return new Chart3DSnapshot(id, theta, phi, rho, roll, projDistance,
+                dx, dy, chartBoxColor, (flags & 1) != 0, (flags & 2) != 0, 
+                orientations[orientation]);
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     * 
+     * @param obj  the object ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof Chart3DSnapshot)) {
+            return false;
+        }
+        Chart3DSnapshot that = (Chart3DSnapshot) obj;
+        return ObjectUtils.equals(this.id, that.id) 
+                && this.theta == that.theta && this.phi == that.phi
+                && this.rho == that.rho && this.roll == that.roll
+                && this.projDistance == that.projDistance
+                && this.dx == that.dx && this.dy == that.dy
+                && this.chartBoxColor == that.chartBoxColor
+                && this.antiAlias == that.antiAlias
+                && this.elementHinting == that.elementHinting
+                && this.legendOrientation == that.legendOrientation;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 83 * hash + ObjectUtils.hashCode(this.id);
+        hash = 83 * hash + Double.hashCode(this.theta);
+        hash = 83 * hash + Double.hashCode(this.phi);
+        hash = 83 * hash + Double.hashCode(this.rho);
+        hash = 83 * hash + this.chartBoxColor;
+        return hash;
+    }
+
+}
@@ -102,7 +102,7 @@ public interface CategoryAxis3D extends Axis3D {
      * @return The axis value. 
      */
     double getCategoryValue(Comparable<?> category);
-    
+
     /**
      * Generates the tick data for the axis (assumes the axis is being used
      * as the row axis).  The dataset is passed as an argument to provide the 
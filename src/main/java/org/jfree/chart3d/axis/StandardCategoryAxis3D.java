@@ -56,6 +56,7 @@ import org.jfree.chart3d.Chart3DHints;
 import org.jfree.chart3d.ChartElementVisitor;
 import org.jfree.chart3d.data.Range;
 import org.jfree.chart3d.data.category.CategoryDataset3D;
+import org.jfree.chart3d.data.category.RollingCategoryDataset3D;
 import org.jfree.chart3d.graphics2d.TextAnchor;
 import org.jfree.chart3d.graphics3d.RenderedElement;
 import org.jfree.chart3d.graphics3d.RenderingInfo;
@@ -86,6 +87,32 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
     
     /** The categories. */
     private List<Comparable<?>> categories;
+
+    /** 
+     * A map from each category to its position in the {@code categories} 
+     * list, rebuilt whenever the axis is configured (used to avoid a linear
+     * search for every data item that is composed).
+     */
+    private transient Map<Comparable<?>, Integer> categoryIndices;
+
+    /** 
+     * The amount to subtract from the values in {@code categoryIndices} to 
+     * obtain a category index (non-zero only after the index has been 
+     * updated for columns shifting out of a rolling dataset).
+     */
+    private transient int categoryIndexOffset;
+
+    /** 
+     * The rolling dataset that the categories were last taken from (or 
+     * {@code null}).
+     */
+    private transient RollingCategoryDataset3D<?, ?, ?> rollingSource;
+
+    /** The column shift count of the rolling dataset when last configured. */
+    private transient long rollingShiftCount;
+
+    /** The number of categories when last configured. */
+    private transient int rollingCategoryCount;
   
     /** 
      * The axis range (never {@code null}). 
@@ -178,6 +205,7 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
     public StandardCategoryAxis3D(String label) {
         super(label);
         this.categories = new ArrayList<>();
+        this.categoryIndices = new HashMap<>();
         this.range = new Range(0.0, 1.0);
         this.lowerMargin = 0.05;
         this.upperMargin = 0.05;
@@ -626,7 +654,7 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
     @Override @SuppressWarnings("unchecked")
     public void configureAsRowAxis(CategoryPlot3D plot) {
         Args.nullNotPermitted(plot, "plot");
-        this.categories = plot.getDataset().getRowKeys();
+        setCategories(plot.getDataset().getRowKeys());
         this.isColumnAxis = false;
         this.isRowAxis = true;
     }
@@ -641,11 +669,67 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
     @Override @SuppressWarnings("unchecked")
     public void configureAsColumnAxis(CategoryPlot3D plot) {
         Args.nullNotPermitted(plot, "plot");
-        this.categories = plot.getDataset().getColumnKeys();
+        CategoryDataset3D dataset = plot.getDataset();
+        if (dataset instanceof RollingCategoryDataset3D) {
+            updateCategories((RollingCategoryDataset3D<?, ?, ?>) dataset);
+        } else {
+            setCategories(dataset.getColumnKeys());
+        }
         this.isColumnAxis = true;
         this.isRowAxis = false;
     }
 
+    /**
+     * Sets the categories for the axis and rebuilds the index used to look
+     * up the position of each category.
+     * 
+     * @param categories  the categories ({@code null} not permitted).
+     */
+    private void setCategories(List<Comparable<?>> categories) {
+        this.categories = categories;
+        this.categoryIndices = new HashMap<>(categories.size() * 2);
+        for (int i = 0; i < categories.size(); i++) {
+            this.categoryIndices.putIfAbsent(categories.get(i), i);
+        }
+        this.categoryIndexOffset = 0;
+        this.rollingSource = null;
+    }
+
+    /**
+     * Sets the categories for the axis to the column keys of a rolling 
+     * dataset.  If the axis was previously configured from the same dataset,
+     * only the columns appended since then are added to the index (the 
+     * entries for columns that have been dropped are left in place and 
+     * ignored, until they outnumber the current categories and the index is
+     * rebuilt).
+     * 
+     * @param dataset  the dataset ({@code null} not permitted).
+     */
+    @SuppressWarnings("unchecked")
+    private void updateCategories(RollingCategoryDataset3D<?, ?, ?> dataset) {
+        // copy the keys, the dataset returns a live view and the categories
+        // are serialized with the axis
+        List<Comparable<?>> keys = new ArrayList<>(
+                (List) dataset.getColumnKeys());
+        long shift = dataset.getColumnShiftCount() - this.rollingShiftCount;
+        int retained = (int) Math.max(-1, this.rollingCategoryCount - shift);
+        int offset = (int) Math.min(Integer.MAX_VALUE, 
+                this.categoryIndexOffset + shift);
+        if (dataset != this.rollingSource || shift < 0 || retained < 0 
+                || retained > keys.size() || offset > keys.size()) {
+            setCategories(keys);
+        } else {
+            this.categories = keys;
+            this.categoryIndexOffset = offset;
+            for (int i = retained; i < keys.size(); i++) {
+                this.categoryIndices.put(keys.get(i), offset + i);
+            }
+        }
+        this.rollingSource = dataset;
+        this.rollingShiftCount = dataset.getColumnShiftCount();
+        this.rollingCategoryCount = keys.size();
+    }
+
     /**
      * Returns the value for the specified category, or {@code Double.NaN}
      * if the category is not registered on the axis.
@@ -656,8 +740,26 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
      */
     @Override
     public double getCategoryValue(Comparable<?> category) {
-        int index = this.categories.indexOf(category);
-        if (index < 0) {
+        Integer index = this.categoryIndices.get(category);
+        if (index == null) {
+            return Double.NaN;
+        }
+        return getCategoryValueByIndex(index - this.categoryIndexOffset);
+    }
+
+    /**
+     * Returns the value for the category at the specified position in the
+     * list of categories for the axis, or {@code Double.NaN} if the index
+     * is out of range.
+     * 
+     * @param index  the category index.
+     * 
+     * @return The value.
+     * 
+     * @since 2.1.2
+     */
+    public double getCategoryValueByIndex(int index) {
+        if (index < 0 || index >= this.categories.size()) {
             return Double.NaN;
         }
         double length = this.range.getLength();
@@ -929,8 +1031,9 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
     public List<TickData> generateTickDataForRows(CategoryDataset3D dataset) {
         Args.nullNotPermitted(dataset, "dataset");
         List<TickData> result = new ArrayList<>(this.categories.size());
-        for (Comparable<?> key : this.categories) {
-            double pos = this.range.percent(getCategoryValue(key));
+        for (int i = 0; i < this.categories.size(); i++) {
+            Comparable<?> key = this.categories.get(i);
+            double pos = this.range.percent(getCategoryValueByIndex(i));
             String label = this.tickLabelGenerator.generateRowLabel(dataset, 
                     key);
             result.add(new TickData(pos, key, label));
@@ -956,8 +1059,9 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
             CategoryDataset3D dataset) {
         Args.nullNotPermitted(dataset, "dataset");
         List<TickData> result = new ArrayList<>(this.categories.size());
-        for (Comparable<?> key : this.categories) {
-            double pos = this.range.percent(getCategoryValue(key));
+        for (int i = 0; i < this.categories.size(); i++) {
+            Comparable<?> key = this.categories.get(i);
+            double pos = this.range.percent(getCategoryValueByIndex(i));
             String label = this.tickLabelGenerator.generateColumnLabel(dataset, 
                     key);
             result.add(new TickData(pos, key, label));
@@ -1103,6 +1207,7 @@ public class StandardCategoryAxis3D extends AbstractAxis3D
         stream.defaultReadObject();
         this.tickMarkPaint = SerialUtils.readPaint(stream);
         this.tickMarkStroke = SerialUtils.readStroke(stream);
+        setCategories(this.categories);
     }
     
     /**
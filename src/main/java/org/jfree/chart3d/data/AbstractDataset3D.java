@@ -51,6 +51,12 @@ public class AbstractDataset3D implements Dataset3D {
      * to disable this).
      */
     private boolean notify;
+    
+    /** 
+     * A counter that is incremented every time the dataset changes (not 
+     * serialized).
+     */
+    private transient volatile long revision;
 
     /**
      * Default constructor - allocates storage for listeners that can
@@ -89,6 +95,21 @@ public class AbstractDataset3D implements Dataset3D {
         }
     }
 
+    /**
+     * Returns a counter that is incremented every time the dataset changes
+     * (whether or not listeners are notified, see {@link #isNotify()}).  
+     * Objects that cache results calculated from the dataset can use this,
+     * along with the identity of the dataset, to check that the results are
+     * still valid without registering as a listener.
+     * 
+     * @return The revision.
+     * 
+     * @since 2.1.2
+     */
+    public long getRevision() {
+        return this.revision;
+    }
+    
     /**
      * Registers an object to receive notification of changes to the dataset.
      *
@@ -153,6 +174,7 @@ public class AbstractDataset3D implements Dataset3D {
      * @see #removeChangeListener(Dataset3DChangeListener)
      */
     protected void notifyListeners(Dataset3DChangeEvent event) {
+        this.revision++;
         // if the 'notify' flag has been switched to false, we don't notify
         // the listeners
         if (!this.notify) {
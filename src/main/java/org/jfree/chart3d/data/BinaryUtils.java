@@ -0,0 +1,637 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
+import org.jfree.chart3d.data.xyz.XYZDataset;
+import org.jfree.chart3d.data.xyz.XYZSeries;
+import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * Utility methods for interchange between datasets ({@link KeyedValues}, 
+ * {@link KeyedValues2D}, {@link KeyedValues3D} and {@link XYZDataset}) and 
+ * a compact binary format, intended for caching data across JVMs where 
+ * Java serialization and JSON (see {@link JSONUtils}) are too slow and 
+ * bulky.
+ * <br><br>
+ * Each block starts with a header: the magic number {@code 0x4F434244} 
+ * (int), the format version (byte) and the block type (byte).  This is 
+ * followed by a key dictionary for each dimension (the key count, then a 
+ * type tag and value for each key) and the values in primitive blocks (a 
+ * flag and bitmap for {@code null} values, then the values as big-endian 
+ * doubles).  Keys can be strings, integers, longs or doubles.  All values 
+ * are read back as {@code Double} instances.
+ * 
+ * @since 2.1.2
+ */
+public class BinaryUtils {
+    
+    /** The magic number at the start of each block. */
+    static final int MAGIC = 0x4F434244;
+    
+    /** The current format version. */
+    static final byte VERSION = 1;
+    
+    /** The block type for {@code KeyedValues}. */
+    static final byte TYPE_KEYED_VALUES = 1;
+    
+    /** The block type for {@code KeyedValues2D}. */
+    static final byte TYPE_KEYED_VALUES_2D = 2;
+    
+    /** The block type for {@code KeyedValues3D}. */
+    static final byte TYPE_KEYED_VALUES_3D = 3;
+    
+    /** The block type for {@code XYZDataset}. */
+    static final byte TYPE_XYZ_DATASET = 4;
+    
+    private static final byte KEY_STRING = 1;
+    
+    private static final byte KEY_INTEGER = 2;
+    
+    private static final byte KEY_LONG = 3;
+    
+    private static final byte KEY_DOUBLE = 4;
+    
+    /** 
+     * The maximum number of values in a block (so that the size in bytes 
+     * fits in an {@code int}).
+     */
+    private static final int MAX_VALUE_COUNT = Integer.MAX_VALUE / 8;
+    
+    /** 
+     * The number of values transferred at a time.  Reading in chunks means
+     * that memory is only allocated as data arrives, never up front for a 
+     * count read from the stream.
+     */
+    private static final int CHUNK_SIZE = 4096;
+    
+    private BinaryUtils() {
+        // no need to instantiate this
+    }
+    
+    /**
+     * Writes the data in binary format to the supplied output stream.  The 
+     * stream is flushed but not closed.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * @param out  the output stream ({@code null} not permitted).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeKeyedValues(KeyedValues<?, ?> data, 
+            OutputStream out) throws IOException {
+        Args.nullNotPermitted(data, "data");
+        DataOutputStream dout = writeHeader(out, TYPE_KEYED_VALUES);
+        writeKeys(dout, data.getKeys());
+        int count = data.getItemCount();
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = data.getValue(i);
+        }
+        writeValues(dout, values);
+        dout.flush();
+    }
+    
+    /**
+     * Reads data written by {@link #writeKeyedValues(KeyedValues, 
+     * OutputStream)}.  The caller is responsible for specifying a key type
+     * that matches the keys that were written.
+     * <br><br>
+     * Implementation note:  this method returns an instance of 
+     * {@link StandardPieDataset3D}.
+     * 
+     * @param <K> the key type.
+     * @param in  the input stream ({@code null} not permitted).
+     * 
+     * @return A {@code KeyedValues} instance. 
+     * 
+     * @throws IOException if there is an I/O problem or the data is not in
+     *     the expected format.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<K>> KeyedValues<K, Number> 
+            readKeyedValues(InputStream in) throws IOException {
+        DataInputStream din = readHeader(in, TYPE_KEYED_VALUES);
+        List<Comparable<?>> keys = readKeys(din);
+        Double[] values = readValues(din, keys.size());
+        StandardPieDataset3D<K> result = new StandardPieDataset3D<>();
+        for (int i = 0; i < values.length; i++) {
+            result.add((K) keys.get(i), values[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Writes the data in binary format to the supplied output stream.  The 
+     * stream is flushed but not closed.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * @param out  the output stream ({@code null} not permitted).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeKeyedValues2D(KeyedValues2D<?, ?, ?> data, 
+            OutputStream out) throws IOException {
+        Args.nullNotPermitted(data, "data");
+        DataOutputStream dout = writeHeader(out, TYPE_KEYED_VALUES_2D);
+        writeKeys(dout, data.getRowKeys());
+        writeKeys(dout, data.getColumnKeys());
+        int rows = data.getRowCount();
+        int columns = data.getColumnCount();
+        Object[] values = new Object[rows * columns];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                values[r * columns + c] = data.getValue(r, c);
+            }
+        }
+        writeValues(dout, values);
+        dout.flush();
+    }
+    
+    /**
+     * Reads data written by {@link #writeKeyedValues2D(KeyedValues2D, 
+     * OutputStream)}.  The caller is responsible for specifying key types
+     * that match the keys that were written.
+     * 
+     * @param <R> the row key type.
+     * @param <C> the column key type.
+     * @param in  the input stream ({@code null} not permitted).
+     * 
+     * @return A {@code KeyedValues2D} instance. 
+     * 
+     * @throws IOException if there is an I/O problem or the data is not in
+     *     the expected format.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends Comparable<R>, C extends Comparable<C>> 
+            KeyedValues2D<R, C, Number> readKeyedValues2D(InputStream in) 
+            throws IOException {
+        DataInputStream din = readHeader(in, TYPE_KEYED_VALUES_2D);
+        List<R> rowKeys = (List<R>) (List<?>) readKeys(din);
+        List<C> columnKeys = (List<C>) (List<?>) readKeys(din);
+        int columns = columnKeys.size();
+        Double[] values = readValues(din, valueCount(rowKeys.size(), 
+                columns));
+        DefaultKeyedValues2D<R, C, Number> result 
+                = new DefaultKeyedValues2D<>(rowKeys, columnKeys);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result.setValue(values[i], rowKeys.get(i / columns), 
+                        columnKeys.get(i % columns));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Writes the data in binary format to the supplied output stream.  The 
+     * stream is flushed but not closed.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * @param out  the output stream ({@code null} not permitted).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeKeyedValues3D(KeyedValues3D<?, ?, ?, ?> data, 
+            OutputStream out) throws IOException {
+        Args.nullNotPermitted(data, "data");
+        DataOutputStream dout = writeHeader(out, TYPE_KEYED_VALUES_3D);
+        writeKeys(dout, data.getSeriesKeys());
+        writeKeys(dout, data.getRowKeys());
+        writeKeys(dout, data.getColumnKeys());
+        int series = data.getSeriesCount();
+        int rows = data.getRowCount();
+        int columns = data.getColumnCount();
+        Object[] values = new Object[series * rows * columns];
+        int i = 0;
+        for (int s = 0; s < series; s++) {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    values[i++] = data.getValue(s, r, c);
+                }
+            }
+        }
+        writeValues(dout, values);
+        dout.flush();
+    }
+    
+    /**
+     * Reads data written by {@link #writeKeyedValues3D(KeyedValues3D, 
+     * OutputStream)}.  The caller is responsible for specifying key types
+     * that match the keys that were written.
+     * <br><br>
+     * Implementation note:  this method returns an instance of 
+     * {@link StandardCategoryDataset3D}.
+     * 
+     * @param <S> the series key type.
+     * @param <R> the row key type.
+     * @param <C> the column key type.
+     * @param in  the input stream ({@code null} not permitted).
+     * 
+     * @return A {@code KeyedValues3D} instance. 
+     * 
+     * @throws IOException if there is an I/O problem or the data is not in
+     *     the expected format.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends Comparable<S>, R extends Comparable<R>, 
+            C extends Comparable<C>> KeyedValues3D<S, R, C, Number> 
+            readKeyedValues3D(InputStream in) throws IOException {
+        DataInputStream din = readHeader(in, TYPE_KEYED_VALUES_3D);
+        List<S> seriesKeys = (List<S>) (List<?>) readKeys(din);
+        List<R> rowKeys = (List<R>) (List<?>) readKeys(din);
+        List<C> columnKeys = (List<C>) (List<?>) readKeys(din);
+        int rows = rowKeys.size();
+        int columns = columnKeys.size();
+        Double[] values = readValues(din, valueCount(valueCount(
+                seriesKeys.size(), rows), columns));
+        StandardCategoryDataset3D<S, R, C> result 
+                = new StandardCategoryDataset3D<>();
+        result.setNotify(false);
+        int i = 0;
+        for (S seriesKey : seriesKeys) {
+            for (R rowKey : rowKeys) {
+                for (C columnKey : columnKeys) {
+                    result.setValue(values[i++], seriesKey, rowKey, 
+                            columnKey);
+                }
+            }
+        }
+        result.setNotify(true);
+        return result;
+    }
+    
+    /**
+     * Writes the dataset in binary format to the supplied output stream.  
+     * The stream is flushed but not closed.
+     * 
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param out  the output stream ({@code null} not permitted).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeXYZDataset(XYZDataset<?> dataset, 
+            OutputStream out) throws IOException {
+        Args.nullNotPermitted(dataset, "dataset");
+        DataOutputStream dout = writeHeader(out, TYPE_XYZ_DATASET);
+        writeKeys(dout, dataset.getSeriesKeys());
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            int count = dataset.getItemCount(s);
+            dout.writeInt(count);
+            double[] block = new double[count];
+            for (int i = 0; i < count; i++) {
+                block[i] = dataset.getX(s, i);
+            }
+            writeDoubles(dout, block);
+            for (int i = 0; i < count; i++) {
+                block[i] = dataset.getY(s, i);
+            }
+            writeDoubles(dout, block);
+            for (int i = 0; i < count; i++) {
+                block[i] = dataset.getZ(s, i);
+            }
+            writeDoubles(dout, block);
+        }
+        dout.flush();
+    }
+    
+    /**
+     * Reads a dataset written by {@link #writeXYZDataset(XYZDataset, 
+     * OutputStream)}.  The caller is responsible for specifying a key type
+     * that matches the keys that were written.
+     * <br><br>
+     * Implementation note:  this method returns an instance of 
+     * {@link XYZSeriesCollection}.
+     * 
+     * @param <S> the series key type.
+     * @param in  the input stream ({@code null} not permitted).
+     * 
+     * @return An {@code XYZDataset} instance. 
+     * 
+     * @throws IOException if there is an I/O problem or the data is not in
+     *     the expected format.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends Comparable<S>> XYZDataset<S> readXYZDataset(
+            InputStream in) throws IOException {
+        DataInputStream din = readHeader(in, TYPE_XYZ_DATASET);
+        List<Comparable<?>> keys = readKeys(din);
+        XYZSeriesCollection<S> result = new XYZSeriesCollection<>();
+        for (Comparable<?> key : keys) {
+            int count = readCount(din);
+            double[] x = readDoubles(din, count);
+            double[] y = readDoubles(din, count);
+            double[] z = readDoubles(din, count);
+            XYZSeries<S> series = new XYZSeries<>((S) key);
+            for (int i = 0; i < count; i++) {
+                series.add(x[i], y[i], z[i]);
+            }
+            result.add(series);
+        }
+        return result;
+    }
+    
+    private static DataOutputStream writeHeader(OutputStream out, byte type) 
+            throws IOException {
+        Args.nullNotPermitted(out, "out");
+        DataOutputStream dout = new DataOutputStream(out);
+        dout.writeInt(MAGIC);
+        dout.writeByte(VERSION);
+        dout.writeByte(type);
+        return dout;
+    }
+    
+    private static DataInputStream readHeader(InputStream in, byte type) 
+            throws IOException {
+        Args.nullNotPermitted(in, "in");
+        DataInputStream din = new DataInputStream(in);
+        if (din.readInt() != MAGIC) {
+            throw new IOException("Not a binary dataset block.");
+        }
+        int version = din.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported format version " + version);
+        }
+        int actual = din.readByte();
+        if (actual != type) {
+            throw new IOException("Expected block type " + type + " but found " 
+                    + actual);
+        }
+        return din;
+    }
+    
+    /**
+     * Returns the number of values in a block with the specified dimensions.
+     * 
+     * @param a  the first dimension.
+     * @param b  the second dimension.
+     * 
+     * @return The value count.
+     * 
+     * @throws IOException if the count is too large.
+     */
+    private static int valueCount(int a, int b) throws IOException {
+        try {
+            return checkValueCount(Math.multiplyExact(a, b));
+        } catch (ArithmeticException e) {
+            throw new IOException("Invalid value count " + a + " * " + b);
+        }
+    }
+    
+    private static int checkValueCount(int count) throws IOException {
+        if (count < 0 || count > MAX_VALUE_COUNT) {
+            throw new IOException("Invalid value count " + count);
+        }
+        return count;
+    }
+    
+    private static int readCount(DataInputStream din) throws IOException {
+        int count = din.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+    
+    /**
+     * Writes a key dictionary.
+     * 
+     * @param out  the output.
+     * @param keys  the keys.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeKeys(DataOutputStream out, List<?> keys) 
+            throws IOException {
+        out.writeInt(keys.size());
+        for (Object key : keys) {
+            if (key instanceof String) {
+                byte[] bytes = ((String) key).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(KEY_STRING);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else if (key instanceof Integer) {
+                out.writeByte(KEY_INTEGER);
+                out.writeInt((Integer) key);
+            } else if (key instanceof Long) {
+                out.writeByte(KEY_LONG);
+                out.writeLong((Long) key);
+            } else if (key instanceof Double) {
+                out.writeByte(KEY_DOUBLE);
+                out.writeDouble((Double) key);
+            } else {
+                throw new IllegalArgumentException("Unsupported key type: " 
+                        + key.getClass().getName());
+            }
+        }
+    }
+    
+    /**
+     * Reads a key dictionary.
+     * 
+     * @param in  the input.
+     * 
+     * @return The keys.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static List<Comparable<?>> readKeys(DataInputStream in) 
+            throws IOException {
+        int count = readCount(in);
+        List<Comparable<?>> result = new ArrayList<>(Math.min(count, 4096));
+        for (int i = 0; i < count; i++) {
+            byte tag = in.readByte();
+            switch (tag) {
+                case KEY_STRING:
+                    byte[] bytes = readBytes(in, readCount(in));
+                    result.add(new String(bytes, StandardCharsets.UTF_8));
+                    break;
+                case KEY_INTEGER:
+                    result.add(in.readInt());
+                    break;
+                case KEY_LONG:
+                    result.add(in.readLong());
+                    break;
+                case KEY_DOUBLE:
+                    result.add(in.readDouble());
+                    break;
+                default:
+                    throw new IOException("Unknown key type " + tag);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Writes a block of values (which must be {@code Number} instances or
+     * {@code null}).
+     * 
+     * @param out  the output.
+     * @param values  the values.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeValues(DataOutputStream out, Object[] values) 
+            throws IOException {
+        double[] block = new double[values.length];
+        byte[] nulls = null;
+        for (int i = 0; i < values.length; i++) {
+            Object v = values[i];
+            if (v == null) {
+                if (nulls == null) {
+                    nulls = new byte[(values.length + 7) / 8];
+                }
+                nulls[i >> 3] |= (byte) (1 << (i & 7));
+            } else if (v instanceof Number) {
+                block[i] = ((Number) v).doubleValue();
+            } else {
+                throw new IllegalArgumentException("Unsupported value type: " 
+                        + v.getClass().getName());
+            }
+        }
+        out.writeBoolean(nulls != null);
+        if (nulls != null) {
+            out.write(nulls);
+        }
+        writeDoubles(out, block);
+    }
+    
+    /**
+     * Reads a block of values.
+     * 
+     * @param in  the input.
+     * @param count  the number of values.
+     * 
+     * @return The values (some may be {@code null}).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static Double[] readValues(DataInputStream in, int count) 
+            throws IOException {
+        checkValueCount(count);
+        byte[] nulls = null;
+        if (in.readBoolean()) {
+            nulls = readBytes(in, (count + 7) / 8);
+        }
+        double[] block = readDoubles(in, count);
+        Double[] result = new Double[count];
+        for (int i = 0; i < count; i++) {
+            if (nulls == null || (nulls[i >> 3] & (1 << (i & 7))) == 0) {
+                result[i] = block[i];
+            }
+        }
+        return result;
+    }
+    
+    private static void writeDoubles(DataOutputStream out, double[] values) 
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(
+                Math.min(values.length, CHUNK_SIZE) * 8);
+        for (int i = 0; i < values.length; i += CHUNK_SIZE) {
+            int n = Math.min(values.length - i, CHUNK_SIZE);
+            buffer.asDoubleBuffer().put(values, i, n);
+            out.write(buffer.array(), 0, n * 8);
+        }
+    }
+    
+    /**
+     * Reads a block of doubles in chunks, growing the result array as the
+     * data arrives.
+     * 
+     * @param in  the input.
+     * @param count  the number of values.
+     * 
+     * @return The values.
+     * 
+     * @throws IOException if there is an I/O problem (including the end of
+     *     the stream being reached before all the values are read).
+     */
+    private static double[] readDoubles(DataInputStream in, int count) 
+            throws IOException {
+        checkValueCount(count);
+        byte[] bytes = new byte[Math.min(count, CHUNK_SIZE) * 8];
+        double[] result = new double[Math.min(count, CHUNK_SIZE)];
+        for (int i = 0; i < count; i += CHUNK_SIZE) {
+            int n = Math.min(count - i, CHUNK_SIZE);
+            in.readFully(bytes, 0, n * 8);
+            if (result.length < i + n) {
+                result = Arrays.copyOf(result, (int) Math.min(count, 
+                        Math.max(i + n, 2L * result.length)));
+            }
+            ByteBuffer.wrap(bytes, 0, n * 8).asDoubleBuffer().get(result, i, 
+                    n);
+        }
+        return result;
+    }
+    
+    /**
+     * Reads a block of bytes in chunks, growing the result array as the 
+     * data arrives.
+     * 
+     * @param in  the input.
+     * @param length  the number of bytes.
+     * 
+     * @return The bytes.
+     * 
+     * @throws IOException if there is an I/O problem (including the end of
+     *     the stream being reached before all the bytes are read).
+     */
+    private static byte[] readBytes(DataInputStream in, int length) 
+            throws IOException {
+        int chunk = CHUNK_SIZE * 8;
+        byte[] result = new byte[Math.min(length, chunk)];
+        for (int i = 0; i < length; i += chunk) {
+            int n = Math.min(length - i, chunk);
+            if (result.length < i + n) {
+                result = Arrays.copyOf(result, (int) Math.min(length, 
+                        Math.max(i + n, 2L * result.length)));
+            }
+            in.readFully(result, i, n);
+        }
+        return result;
+    }
+
+}
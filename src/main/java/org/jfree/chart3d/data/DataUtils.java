@@ -38,6 +38,7 @@ import org.jfree.chart3d.data.xyz.XYZDataset;
 import org.jfree.chart3d.data.xyz.XYZSeries;
 import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
 import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.DataSummary;
 
 /**
  * Some utility methods for working with the various datasets and data
@@ -195,6 +196,10 @@ public class DataUtils {
             throw new IllegalArgumentException("Series not found: " 
                     + seriesKey);
         }
+        double summary = summaryTotal(data, DataSummary.SERIES, seriesIndex);
+        if (!Double.isNaN(summary)) {
+            return summary;
+        }
         double total = 0.0;
         int rowCount = data.getRowCount();
         int columnCount = data.getColumnCount();
@@ -229,6 +234,10 @@ public class DataUtils {
         if (rowIndex < 0) {
             throw new IllegalArgumentException("Row not found: " + rowKey);
         }
+        double summary = summaryTotal(data, DataSummary.ROW, rowIndex);
+        if (!Double.isNaN(summary)) {
+            return summary;
+        }
         double total = 0.0;
         int seriesCount = data.getSeriesCount();
         int columnCount = data.getColumnCount();
@@ -264,6 +273,10 @@ public class DataUtils {
             throw new IllegalArgumentException("Column not found: " 
                     + columnKey);
         }
+        double summary = summaryTotal(data, DataSummary.COLUMN, columnIndex);
+        if (!Double.isNaN(summary)) {
+            return summary;
+        }
         double total = 0.0;
         int seriesCount = data.getSeriesCount();
         int rowCount = data.getRowCount();
@@ -329,14 +342,20 @@ public class DataUtils {
         Args.nullNotPermitted(data, "data");
         double min = Double.POSITIVE_INFINITY;
         double max = Double.NEGATIVE_INFINITY;
-        for (int series = 0; series < data.getSeriesCount(); series++) {
-            for (int row = 0; row < data.getRowCount(); row++) {
-                for (int col = 0; col < data.getColumnCount(); col++) {
-                    double d = data.getDoubleValue(series, row, col);
-                    if (!Double.isNaN(d)) {
-                        if (!finite || !Double.isInfinite(d)) {
-                            min = Math.min(min, d);
-                            max = Math.max(max, d);
+        Range summary = finite ? summaryRange(data, DataSummary.VALUE) : null;
+        if (summary != null) {
+            min = summary.getMin();
+            max = summary.getMax();
+        } else {
+            for (int series = 0; series < data.getSeriesCount(); series++) {
+                for (int row = 0; row < data.getRowCount(); row++) {
+                    for (int col = 0; col < data.getColumnCount(); col++) {
+                        double d = data.getDoubleValue(series, row, col);
+                        if (!Double.isNaN(d)) {
+                            if (!finite || !Double.isInfinite(d)) {
+                                min = Math.min(min, d);
+                                max = Math.max(max, d);
+                            }
                         }
                     }
                 }
@@ -515,13 +534,20 @@ public class DataUtils {
         Args.nullNotPermitted(dataset, "dataset");
         double min = Double.POSITIVE_INFINITY;
         double max = Double.NEGATIVE_INFINITY;
-        for (int s = 0; s < dataset.getSeriesCount(); s++) {
-            for (int i = 0; i < dataset.getItemCount(s); i++) {
-                double x = dataset.getX(s, i);
-                if (!Double.isNaN(x)) {
-                    if (!finite || !Double.isInfinite(x)) {
-                        min = Math.min(x, min);
-                        max = Math.max(x, max);
+        Range summary = finite ? summaryRange(dataset, DataSummary.X) 
+                : null;
+        if (summary != null) {
+            min = summary.getMin();
+            max = summary.getMax();
+        } else {
+            for (int s = 0; s < dataset.getSeriesCount(); s++) {
+                for (int i = 0; i < dataset.getItemCount(s); i++) {
+                    double x = dataset.getX(s, i);
+                    if (!Double.isNaN(x)) {
+                        if (!finite || !Double.isInfinite(x)) {
+                            min = Math.min(x, min);
+                            max = Math.max(x, max);
+                        }
                     }
                 }
             }
@@ -590,13 +616,20 @@ public class DataUtils {
         Args.nullNotPermitted(dataset, "dataset");
         double min = Double.POSITIVE_INFINITY;
         double max = Double.NEGATIVE_INFINITY;
-        for (int s = 0; s < dataset.getSeriesCount(); s++) {
-            for (int i = 0; i < dataset.getItemCount(s); i++) {
-                double y = dataset.getY(s, i);
-                if (!Double.isNaN(y)) {
-                    if (!finite || !Double.isInfinite(y)) {
-                        min = Math.min(y, min);
-                        max = Math.max(y, max);
+        Range summary = finite ? summaryRange(dataset, DataSummary.Y) 
+                : null;
+        if (summary != null) {
+            min = summary.getMin();
+            max = summary.getMax();
+        } else {
+            for (int s = 0; s < dataset.getSeriesCount(); s++) {
+                for (int i = 0; i < dataset.getItemCount(s); i++) {
+                    double y = dataset.getY(s, i);
+                    if (!Double.isNaN(y)) {
+                        if (!finite || !Double.isInfinite(y)) {
+                            min = Math.min(y, min);
+                            max = Math.max(y, max);
+                        }
                     }
                 }
             }
@@ -666,13 +699,20 @@ public class DataUtils {
         Args.finiteRequired(inc, "inc");
         double min = Double.POSITIVE_INFINITY;
         double max = Double.NEGATIVE_INFINITY;
-        for (int s = 0; s < dataset.getSeriesCount(); s++) {
-            for (int i = 0; i < dataset.getItemCount(s); i++) {
-                double z = dataset.getZ(s, i);
-                if (!Double.isNaN(z)) {
-                    if (!finite || !Double.isInfinite(z)) {
-                        min = Math.min(z, min);
-                        max = Math.max(z, max);
+        Range summary = finite ? summaryRange(dataset, DataSummary.Z) 
+                : null;
+        if (summary != null) {
+            min = summary.getMin();
+            max = summary.getMax();
+        } else {
+            for (int s = 0; s < dataset.getSeriesCount(); s++) {
+                for (int i = 0; i < dataset.getItemCount(s); i++) {
+                    double z = dataset.getZ(s, i);
+                    if (!Double.isNaN(z)) {
+                        if (!finite || !Double.isInfinite(z)) {
+                            min = Math.min(z, min);
+                            max = Math.max(z, max);
+                        }
                     }
                 }
             }
@@ -945,5 +985,39 @@ public class DataUtils {
             return Double.NaN;
         }
     }
-    
+
+    /**
+     * Returns the range of the finite values in one dimension if the data
+     * provides a {@link DataSummary}, otherwise {@code null}.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * @param dimension  the dimension.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    private static Range summaryRange(Object data, int dimension) {
+        if (data instanceof DataSummary) {
+            return ((DataSummary) data).findRange(dimension);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the total for one item in a dimension if the data provides a
+     * {@link DataSummary}, otherwise {@code Double.NaN}.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * @param dimension  the dimension.
+     * @param index  the index of the item in the dimension.
+     * 
+     * @return The total (possibly {@code Double.NaN}). 
+     */
+    private static double summaryTotal(Object data, int dimension, 
+            int index) {
+        if (data instanceof DataSummary) {
+            return ((DataSummary) data).findTotal(dimension, index);
+        }
+        return Double.NaN;
+    }
+
 }
@@ -0,0 +1,198 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data;
+
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * The positive and negative subtotals required to stack the series in a 
+ * {@link Values3D} instance one on top of the other, calculated for all 
+ * the data items in a single pass.  The subtotal for an item is the sum of 
+ * the values for all the series preceding the item's series (for the same 
+ * row and column), with positive and negative values accumulated separately.
+ * <br><br>
+ * Calling {@link DataUtils#stackSubTotal(Values3D, double, int, int, int)} 
+ * for every item requires time proportional to the square of the number of 
+ * series, while this class answers each query in constant time.  Instances 
+ * are a snapshot of the data at the time they are created, so they should 
+ * be discarded when the data changes.
+ * 
+ * @since 2.1.2
+ */
+public class StackSubTotals {
+
+    /** The data values that the subtotals are calculated from. */
+    private final Values3D<? extends Number> data;
+    
+    /** The number of series. */
+    private final int seriesCount;
+    
+    /** The number of rows. */
+    private final int rowCount;
+    
+    /** The number of columns. */
+    private final int columnCount;
+    
+    /** 
+     * The negative subtotals, indexed by series, row and column (there is 
+     * one extra series layer at the end that contains the overall totals). 
+     */
+    private final double[] negSubTotals;
+    
+    /** 
+     * The positive subtotals, indexed by series, row and column (there is 
+     * one extra series layer at the end that contains the overall totals). 
+     */
+    private final double[] posSubTotals;
+    
+    /**
+     * Creates a new instance with subtotals calculated from the supplied 
+     * data values.
+     * 
+     * @param data  the data values ({@code null} not permitted).
+     */
+    public StackSubTotals(Values3D<? extends Number> data) {
+        Args.nullNotPermitted(data, "data");
+        this.data = data;
+        this.seriesCount = data.getSeriesCount();
+        this.rowCount = data.getRowCount();
+        this.columnCount = data.getColumnCount();
+        int layerSize = this.rowCount * this.columnCount;
+        this.negSubTotals = new double[(this.seriesCount + 1) * layerSize];
+        this.posSubTotals = new double[(this.seriesCount + 1) * layerSize];
+        for (int s = 0; s < this.seriesCount; s++) {
+            int offset = s * layerSize;
+            int i = offset;
+            for (int r = 0; r < this.rowCount; r++) {
+                for (int c = 0; c < this.columnCount; c++) {
+                    double neg = this.negSubTotals[i];
+                    double pos = this.posSubTotals[i];
+                    double v = data.getDoubleValue(s, r, c);
+                    if (v > 0.0) {
+                        pos = pos + v;
+                    } else if (v < 0.0) {
+                        neg = neg + v;
+                    }
+                    this.negSubTotals[i + layerSize] = neg;
+                    this.posSubTotals[i + layerSize] = pos;
+                    i++;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the data values that the subtotals were calculated from.
+     * 
+     * @return The data values (never {@code null}). 
+     */
+    public Values3D<? extends Number> getData() {
+        return this.data;
+    }
+    
+    /**
+     * Returns the subtotal of the negative values for all the series 
+     * preceding the specified series.
+     * 
+     * @param series  the series index (pass the series count to get the 
+     *     total for all series).
+     * @param row  the row index.
+     * @param column  the column index.
+     * 
+     * @return The subtotal (zero or negative). 
+     */
+    public double getNegativeSubTotal(int series, int row, int column) {
+        return this.negSubTotals[index(series, row, column)];
+    }
+    
+    /**
+     * Returns the subtotal of the positive values for all the series 
+     * preceding the specified series.
+     * 
+     * @param series  the series index (pass the series count to get the 
+     *     total for all series).
+     * @param row  the row index.
+     * @param column  the column index.
+     * 
+     * @return The subtotal (zero or positive). 
+     */
+    public double getPositiveSubTotal(int series, int row, int column) {
+        return this.posSubTotals[index(series, row, column)];
+    }
+    
+    /**
+     * Returns the range of values covered when every series is stacked on 
+     * top of the others, starting from the base value.  This gives the same
+     * result as {@link DataUtils#findStackedValueRange(Values3D, double)}.
+     * 
+     * @param base  the base value.
+     * 
+     * @return The range (never {@code null}). 
+     */
+    public Range findRange(double base) {
+        double min = base;
+        double max = base;
+        int layerSize = this.rowCount * this.columnCount;
+        int offset = this.seriesCount * layerSize;
+        for (int i = offset; i < offset + layerSize; i++) {
+            min = Math.min(min, base + this.negSubTotals[i]);
+            max = Math.max(max, base + this.posSubTotals[i]);
+        }
+        return new Range(min, max);
+    }
+    
+    /**
+     * Returns the position of the subtotals for an item in the subtotal 
+     * arrays.
+     * 
+     * @param series  the series index.
+     * @param row  the row index.
+     * @param column  the column index.
+     * 
+     * @return The array index. 
+     */
+    private int index(int series, int row, int column) {
+        if (series < 0 || series > this.seriesCount) {
+            throw new IndexOutOfBoundsException("series: " + series);
+        }
+        if (row < 0 || row >= this.rowCount) {
+            throw new IndexOutOfBoundsException("row: " + row);
+        }
+        if (column < 0 || column >= this.columnCount) {
+            throw new IndexOutOfBoundsException("column: " + column);
+        }
+        return (series * this.rowCount + row) * this.columnCount + column;
+    }
+
+}
@@ -0,0 +1,795 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data.category;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jfree.chart3d.data.AbstractDataset3D;
+import org.jfree.chart3d.data.JSONUtils;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.DataSummary;
+
+/**
+ * A {@link CategoryDataset3D} that stores its values in a dense array of
+ * {@code double} primitives (series by row by column) with hashed key
+ * lookups.  Compared to {@link StandardCategoryDataset3D} it uses far less 
+ * memory for large datasets, and {@link #getDoubleValue(int, int, int)} 
+ * reads the array directly without unboxing.  Missing values are stored 
+ * as {@code Double.NaN} and reported by {@link #getValue(int, int, int)} 
+ * as {@code null} (so a {@code Double.NaN} value cannot be distinguished 
+ * from a missing value).
+ * <br><br>
+ * The dataset can be loaded in bulk with {@link #setValues(double[])} or
+ * {@link #setSeriesValues(int, double[][])}, which send a single change 
+ * event.  The value range and the series, row and column totals are 
+ * computed from the array directly (and the range is cached), and are used
+ * by the {@code DataUtils} methods as fast paths.
+ * <br><br>
+ * NOTE: This class is serializable, but the serialization format is subject 
+ * to change in future releases and should not be relied upon for persisting 
+ * instances of this class.
+ * 
+ * @param <S>  the series key type (must implement Comparable)
+ * @param <R>  the row key type (must implement Comparable)
+ * @param <C>  the column key type (must implement Comparable)
+ * 
+ * @since 2.1.2
+ */
+@SuppressWarnings("serial")
+public final class DoubleCategoryDataset3D
+        <S extends Comparable<S>, R extends Comparable<R>, C extends Comparable<C>> 
+        extends AbstractDataset3D  
+        implements CategoryDataset3D<S, R, C>, DataSummary, Serializable {
+
+    /** The series keys. */
+    private final List<S> seriesKeys;
+    
+    /** The row keys. */
+    private final List<R> rowKeys;
+    
+    /** The column keys. */
+    private final List<C> columnKeys;
+    
+    /** The index of each series key. */
+    private final Map<S, Integer> seriesIndex;
+    
+    /** The index of each row key. */
+    private final Map<R, Integer> rowIndex;
+    
+    /** The index of each column key. */
+    private final Map<C, Integer> columnIndex;
+    
+    /** The allocated capacity for rows (at least the row count). */
+    private int rowCapacity;
+    
+    /** The allocated capacity for columns (at least the column count). */
+    private int columnCapacity;
+    
+    /** 
+     * The values, the value for (s, r, c) is at index 
+     * {@code (s * rowCapacity + r) * columnCapacity + c}. 
+     */
+    private double[] values;
+    
+    /** The cached range of finite values ({@code null} if not known). */
+    private transient Range valueRange;
+    
+    /** Is the cached value range up-to-date? */
+    private transient boolean valueRangeValid;
+    
+    /**
+     * Creates a new (empty) dataset.
+     */
+    public DoubleCategoryDataset3D() {
+        this(new ArrayList<S>(), new ArrayList<R>(), new ArrayList<C>());
+    }
+    
+    /**
+     * Creates a new dataset with the specified keys, and all values set to 
+     * {@code Double.NaN} (missing).
+     * 
+     * @param seriesKeys  the series keys ({@code null} not permitted, no 
+     *     duplicates).
+     * @param rowKeys  the row keys ({@code null} not permitted, no 
+     *     duplicates).
+     * @param columnKeys  the column keys ({@code null} not permitted, no 
+     *     duplicates).
+     */
+    public DoubleCategoryDataset3D(List<S> seriesKeys, List<R> rowKeys, 
+            List<C> columnKeys) {
+        Args.nullNotPermitted(seriesKeys, "seriesKeys");
+        Args.nullNotPermitted(rowKeys, "rowKeys");
+        Args.nullNotPermitted(columnKeys, "columnKeys");
+        this.seriesKeys = new ArrayList<>(seriesKeys);
+        this.rowKeys = new ArrayList<>(rowKeys);
+        this.columnKeys = new ArrayList<>(columnKeys);
+        this.seriesIndex = indexKeys(this.seriesKeys, "series");
+        this.rowIndex = indexKeys(this.rowKeys, "row");
+        this.columnIndex = indexKeys(this.columnKeys, "column");
+        this.rowCapacity = Math.max(1, this.rowKeys.size());
+        this.columnCapacity = Math.max(1, this.columnKeys.size());
+        this.values = new double[Math.max(1, this.seriesKeys.size()) 
+                * this.rowCapacity * this.columnCapacity];
+        Arrays.fill(this.values, Double.NaN);
+    }
+    
+    /**
+     * Creates a map from key to index for a list of keys.
+     * 
+     * @param keys  the keys.
+     * @param name  the key type (for the error message).
+     * 
+     * @return The index map. 
+     */
+    private static <K> Map<K, Integer> indexKeys(List<K> keys, String name) {
+        Map<K, Integer> result = new HashMap<>(keys.size() * 2);
+        for (int i = 0; i < keys.size(); i++) {
+            K key = keys.get(i);
+            Args.nullNotPermitted(key, name + "Key");
+            if (result.put(key, i) != null) {
+                throw new IllegalArgumentException("Duplicate " + name 
+                        + " key: " + key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of data series in the dataset.
+     * 
+     * @return The number of data series.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesKeys.size();
+    }
+
+    /**
+     * Returns the number of rows in the dataset.
+     * 
+     * @return The number of rows. 
+     */
+    @Override
+    public int getRowCount() {
+        return this.rowKeys.size();
+    }
+
+    /**
+     * Returns the number of columns in the dataset.
+     * 
+     * @return The number of columns. 
+     */
+    @Override
+    public int getColumnCount() {
+        return this.columnKeys.size();
+    }
+    
+    /**
+     * Returns the key for the specified series.
+     * 
+     * @param seriesIndex  the series index.
+     * 
+     * @return The series key. 
+     */
+    @Override
+    public S getSeriesKey(int seriesIndex) {
+        return this.seriesKeys.get(seriesIndex);
+    }
+
+    /**
+     * Returns the key for the specified row.
+     * 
+     * @param rowIndex The row index.
+     * 
+     * @return The row key. 
+     */
+    @Override
+    public R getRowKey(int rowIndex) {
+        return this.rowKeys.get(rowIndex);
+    }
+
+    /**
+     * Returns the key for the specified column.
+     * 
+     * @param columnIndex  the column index.
+     * 
+     * @return The column key. 
+     */
+    @Override
+    public C getColumnKey(int columnIndex) {
+        return this.columnKeys.get(columnIndex);
+    }
+
+    /**
+     * Returns the index for the specified series key, or {@code -1} if the 
+     * key is not defined in the dataset.
+     * 
+     * @param serieskey  the series key ({@code null} not permitted).
+     * 
+     * @return The series index or {@code -1}.
+     */
+    @Override
+    public int getSeriesIndex(S serieskey) {
+        Args.nullNotPermitted(serieskey, "serieskey");
+        Integer i = this.seriesIndex.get(serieskey);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Returns the index of the specified row key, or {@code -1} if there
+     * is no matching key.
+     * 
+     * @param rowkey  the row key ({@code null} not permitted).
+     * 
+     * @return The row index or {@code -1}. 
+     */
+    @Override
+    public int getRowIndex(R rowkey) {
+        Args.nullNotPermitted(rowkey, "rowkey");
+        Integer i = this.rowIndex.get(rowkey);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Returns the index of the specified column key, or {@code -1} if 
+     * there is no matching key.
+     * 
+     * @param columnkey  the column key ({@code null} not permitted).
+     * 
+     * @return The column index or {@code -1}. 
+     */
+    @Override
+    public int getColumnIndex(C columnkey) {
+        Args.nullNotPermitted(columnkey, "columnkey");
+        Integer i = this.columnIndex.get(columnkey);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Returns a list of the series keys for the dataset.  Modifying this
+     * list will have no impact on the underlying dataset.
+     * 
+     * @return A list of the series keys (possibly empty, but never 
+     *     {@code null}). 
+     */
+    @Override
+    public List<S> getSeriesKeys() {
+        return new ArrayList<>(this.seriesKeys);
+    }
+
+    /**
+     * Returns a list of the row keys for the dataset.  Modifying this
+     * list will have no impact on the underlying dataset.
+     * 
+     * @return A list of the row keys (possibly empty, but never 
+     *     {@code null}). 
+     */
+    @Override
+    public List<R> getRowKeys() {
+        return new ArrayList<>(this.rowKeys);
+    }
+
+    /**
+     * Returns a list of the column keys for the dataset.  Modifying this
+     * list will have no impact on the underlying dataset.
+     * 
+     * @return A list of the column keys (possibly empty, but never 
+     *     {@code null}). 
+     */
+    @Override
+    public List<C> getColumnKeys() {
+        return new ArrayList<>(this.columnKeys);
+    }
+    
+    /**
+     * Returns the array index for a cell.
+     * 
+     * @param s  the series index.
+     * @param r  the row index.
+     * @param c  the column index.
+     * 
+     * @return The array index. 
+     */
+    private int index(int s, int r, int c) {
+        return (s * this.rowCapacity + r) * this.columnCapacity + c;
+    }
+
+    /**
+     * Returns the value for a series at the specified cell (referenced by
+     * row key and column key).
+     * 
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     * 
+     * @return The value (possibly {@code null}). 
+     */
+    @Override
+    public Number getValue(S seriesKey, R rowKey, C columnKey) {
+        int s = getSeriesIndex(seriesKey);
+        int r = getRowIndex(rowKey);
+        int c = getColumnIndex(columnKey);
+        if (s < 0 || r < 0 || c < 0) {
+            return null;
+        }
+        return getValue(s, r, c);
+    }
+
+    /**
+     * Returns the value for a series at the specified cell (referenced by 
+     * row index and column index).
+     * 
+     * @param seriesIndex  the series index.
+     * @param rowIndex  the row index.
+     * @param columnIndex  the column index.
+     * 
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getValue(int seriesIndex, int rowIndex, int columnIndex) {
+        double d = getDoubleValue(seriesIndex, rowIndex, columnIndex);
+        return Double.isNaN(d) ? null : d;
+    }
+
+    /**
+     * Returns the value for a series at the specified cell (referenced by row
+     * index and column index) as a double primitive.  If the value is 
+     * missing, this method returns {@code Double.NaN}.
+     * 
+     * @param seriesIndex  the series index.
+     * @param rowIndex  the row index.
+     * @param columnIndex  the column index.
+     * 
+     * @return The value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getDoubleValue(int seriesIndex, int rowIndex, 
+            int columnIndex) {
+        Args.checkArrayBounds(seriesIndex, "seriesIndex", 
+                this.seriesKeys.size());
+        Args.checkArrayBounds(rowIndex, "rowIndex", this.rowKeys.size());
+        Args.checkArrayBounds(columnIndex, "columnIndex", 
+                this.columnKeys.size());
+        return this.values[index(seriesIndex, rowIndex, columnIndex)];
+    }
+    
+    /**
+     * Sets the value for a series at the specified cell (referenced by row
+     * key and column key), adding the keys if they are not already in the 
+     * dataset, and sends a change event to all registered listeners.
+     * 
+     * @param n  the value ({@code null} permitted).
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void setValue(Number n, S seriesKey, R rowKey, C columnKey) {
+        setValue(n != null ? n.doubleValue() : Double.NaN, seriesKey, rowKey,
+                columnKey);
+    }
+    
+    /**
+     * Sets the value for a series at the specified cell (referenced by row
+     * key and column key), adding the keys if they are not already in the 
+     * dataset, and sends a change event to all registered listeners.
+     * 
+     * @param value  the value ({@code Double.NaN} for a missing value).
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void setValue(double value, S seriesKey, R rowKey, C columnKey) {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        Args.nullNotPermitted(rowKey, "rowKey");
+        Args.nullNotPermitted(columnKey, "columnKey");
+        int s = getSeriesIndex(seriesKey);
+        if (s < 0) {
+            s = addSeriesKey(seriesKey);
+        }
+        int r = getRowIndex(rowKey);
+        if (r < 0) {
+            r = addRowKey(rowKey);
+        }
+        int c = getColumnIndex(columnKey);
+        if (c < 0) {
+            c = addColumnKey(columnKey);
+        }
+        this.values[index(s, r, c)] = value;
+        this.valueRangeValid = false;
+        fireDatasetChanged();
+    }
+    
+    /**
+     * Adds a value for a series at the specified cell (referenced by row key
+     * and column key).  This method simply calls {@link #setValue(
+     * java.lang.Number, java.lang.Comparable, java.lang.Comparable, 
+     * java.lang.Comparable) }.
+     * 
+     * @param n  the value ({@code null} permitted).
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void addValue(Number n, S seriesKey, R rowKey, C columnKey) {
+        setValue(n, seriesKey, rowKey, columnKey);
+    }
+    
+    /**
+     * Replaces all the values in the dataset and sends a single change 
+     * event to all registered listeners.  The values are in series, then 
+     * row, then column order (so the value for {@code (s, r, c)} is at 
+     * index {@code (s * rowCount + r) * columnCount + c}).
+     * 
+     * @param values  the values ({@code null} not permitted, and the length
+     *     must equal {@code seriesCount * rowCount * columnCount}).
+     */
+    public void setValues(double[] values) {
+        Args.nullNotPermitted(values, "values");
+        int seriesCount = this.seriesKeys.size();
+        int rowCount = this.rowKeys.size();
+        int columnCount = this.columnKeys.size();
+        if (values.length != seriesCount * rowCount * columnCount) {
+            throw new IllegalArgumentException("Expected " + (seriesCount 
+                    * rowCount * columnCount) + " values but found " 
+                    + values.length);
+        }
+        for (int s = 0; s < seriesCount; s++) {
+            for (int r = 0; r < rowCount; r++) {
+                System.arraycopy(values, (s * rowCount + r) * columnCount, 
+                        this.values, index(s, r, 0), columnCount);
+            }
+        }
+        this.valueRangeValid = false;
+        fireDatasetChanged();
+    }
+    
+    /**
+     * Replaces the values for one series and sends a single change event to
+     * all registered listeners.
+     * 
+     * @param seriesIndex  the series index.
+     * @param values  the values, indexed by row then column ({@code null}
+     *     not permitted, the array dimensions must match the row and column
+     *     counts).
+     */
+    public void setSeriesValues(int seriesIndex, double[][] values) {
+        Args.checkArrayBounds(seriesIndex, "seriesIndex", 
+                this.seriesKeys.size());
+        Args.nullNotPermitted(values, "values");
+        int rowCount = this.rowKeys.size();
+        int columnCount = this.columnKeys.size();
+        if (values.length != rowCount) {
+            throw new IllegalArgumentException("Expected " + rowCount 
+                    + " rows but found " + values.length);
+        }
+        for (int r = 0; r < rowCount; r++) {
+            if (values[r].length != columnCount) {
+                throw new IllegalArgumentException("Expected " + columnCount 
+                        + " columns but found " + values[r].length 
+                        + " in row " + r);
+            }
+        }
+        for (int r = 0; r < rowCount; r++) {
+            System.arraycopy(values[r], 0, this.values, 
+                    index(seriesIndex, r, 0), columnCount);
+        }
+        this.valueRangeValid = false;
+        fireDatasetChanged();
+    }
+    
+    /**
+     * Adds a series key, growing the storage if necessary.
+     * 
+     * @param key  the key.
+     * 
+     * @return The index of the new series. 
+     */
+    private int addSeriesKey(S key) {
+        int s = this.seriesKeys.size();
+        int required = (s + 1) * this.rowCapacity * this.columnCapacity;
+        if (required > this.values.length) {
+            int oldLength = this.values.length;
+            this.values = Arrays.copyOf(this.values, 
+                    Math.max(required, oldLength * 2));
+            Arrays.fill(this.values, oldLength, this.values.length, 
+                    Double.NaN);
+        }
+        this.seriesKeys.add(key);
+        this.seriesIndex.put(key, s);
+        return s;
+    }
+    
+    /**
+     * Adds a row key, growing the storage if necessary.
+     * 
+     * @param key  the key.
+     * 
+     * @return The index of the new row. 
+     */
+    private int addRowKey(R key) {
+        int r = this.rowKeys.size();
+        if (r == this.rowCapacity) {
+            resize(this.rowCapacity * 2, this.columnCapacity);
+        }
+        this.rowKeys.add(key);
+        this.rowIndex.put(key, r);
+        return r;
+    }
+    
+    /**
+     * Adds a column key, growing the storage if necessary.
+     * 
+     * @param key  the key.
+     * 
+     * @return The index of the new column. 
+     */
+    private int addColumnKey(C key) {
+        int c = this.columnKeys.size();
+        if (c == this.columnCapacity) {
+            resize(this.rowCapacity, this.columnCapacity * 2);
+        }
+        this.columnKeys.add(key);
+        this.columnIndex.put(key, c);
+        return c;
+    }
+    
+    /**
+     * Copies the values into a new array with the specified row and column
+     * capacities.
+     * 
+     * @param rowCapacity  the new row capacity.
+     * @param columnCapacity  the new column capacity.
+     */
+    private void resize(int rowCapacity, int columnCapacity) {
+        int seriesCapacity = this.values.length 
+                / (this.rowCapacity * this.columnCapacity);
+        double[] v = new double[seriesCapacity * rowCapacity 
+                * columnCapacity];
+        Arrays.fill(v, Double.NaN);
+        int columnCount = this.columnKeys.size();
+        for (int s = 0; s < this.seriesKeys.size(); s++) {
+            for (int r = 0; r < this.rowKeys.size(); r++) {
+                System.arraycopy(this.values, index(s, r, 0), v, 
+                        (s * rowCapacity + r) * columnCapacity, columnCount);
+            }
+        }
+        this.values = v;
+        this.rowCapacity = rowCapacity;
+        this.columnCapacity = columnCapacity;
+    }
+    
+    /**
+     * Returns the range of the finite values in the dataset, or 
+     * {@code null} if there are none.  The range is cached until the 
+     * dataset is next modified.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    public Range getValueRange() {
+        if (!this.valueRangeValid) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            int columnCount = this.columnKeys.size();
+            for (int s = 0; s < this.seriesKeys.size(); s++) {
+                for (int r = 0; r < this.rowKeys.size(); r++) {
+                    int i0 = index(s, r, 0);
+                    for (int i = i0; i < i0 + columnCount; i++) {
+                        double d = this.values[i];
+                        // NaN and infinite values fail the first test
+                        if (d - d == 0.0) {
+                            if (d < min) {
+                                min = d;
+                            }
+                            if (d > max) {
+                                max = d;
+                            }
+                        }
+                    }
+                }
+            }
+            this.valueRange = min <= max ? new Range(min, max) : null;
+            this.valueRangeValid = true;
+        }
+        return this.valueRange;
+    }
+    
+    /**
+     * Returns the range of the finite values for the 
+     * {@link DataSummary#VALUE} dimension (see {@link #getValueRange()}), 
+     * and {@code null} for other dimensions.
+     * 
+     * @param dimension  the dimension.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    @Override
+    public Range findRange(int dimension) {
+        return dimension == DataSummary.VALUE ? getValueRange() : null;
+    }
+    
+    /**
+     * Returns the total of the values (ignoring missing values) for one 
+     * series, row or column.
+     * 
+     * @param dimension  the dimension ({@link DataSummary#SERIES}, 
+     *     {@link DataSummary#ROW} or {@link DataSummary#COLUMN}).
+     * @param index  the index of the item in the dimension.
+     * 
+     * @return The total ({@code Double.NaN} for other dimensions). 
+     */
+    @Override
+    public double findTotal(int dimension, int index) {
+        switch (dimension) {
+            case DataSummary.SERIES:
+                return getSeriesTotal(index);
+            case DataSummary.ROW:
+                return getRowTotal(index);
+            case DataSummary.COLUMN:
+                return getColumnTotal(index);
+            default:
+                return Double.NaN;
+        }
+    }
+    
+    /**
+     * Returns the total of the values (ignoring missing values) for one 
+     * series.
+     * 
+     * @param seriesIndex  the series index.
+     * 
+     * @return The total. 
+     */
+    public double getSeriesTotal(int seriesIndex) {
+        Args.checkArrayBounds(seriesIndex, "seriesIndex", 
+                this.seriesKeys.size());
+        double total = 0.0;
+        for (int r = 0; r < this.rowKeys.size(); r++) {
+            int i0 = index(seriesIndex, r, 0);
+            for (int i = i0; i < i0 + this.columnKeys.size(); i++) {
+                double d = this.values[i];
+                if (!Double.isNaN(d)) {
+                    total += d;
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Returns the total of the values (ignoring missing values) for one 
+     * row, across all series.
+     * 
+     * @param rowIndex  the row index.
+     * 
+     * @return The total. 
+     */
+    public double getRowTotal(int rowIndex) {
+        Args.checkArrayBounds(rowIndex, "rowIndex", this.rowKeys.size());
+        double total = 0.0;
+        for (int s = 0; s < this.seriesKeys.size(); s++) {
+            int i0 = index(s, rowIndex, 0);
+            for (int i = i0; i < i0 + this.columnKeys.size(); i++) {
+                double d = this.values[i];
+                if (!Double.isNaN(d)) {
+                    total += d;
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Returns the total of the values (ignoring missing values) for one 
+     * column, across all series.
+     * 
+     * @param columnIndex  the column index.
+     * 
+     * @return The total. 
+     */
+    public double getColumnTotal(int columnIndex) {
+        Args.checkArrayBounds(columnIndex, "columnIndex", 
+                this.columnKeys.size());
+        double total = 0.0;
+        for (int s = 0; s < this.seriesKeys.size(); s++) {
+            for (int r = 0; r < this.rowKeys.size(); r++) {
+                double d = this.values[index(s, r, columnIndex)];
+                if (!Double.isNaN(d)) {
+                    total += d;
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     * 
+     * @param obj  the object to test against ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof DoubleCategoryDataset3D)) {
+            return false;
+        }
+        DoubleCategoryDataset3D<?, ?, ?> that 
+                = (DoubleCategoryDataset3D<?, ?, ?>) obj;
+        if (!this.seriesKeys.equals(that.seriesKeys)) {
+            return false;
+        }
+        if (!this.rowKeys.equals(that.rowKeys)) {
+            return false;
+        }
+        if (!this.columnKeys.equals(that.columnKeys)) {
+            return false;
+        }
+        for (int s = 0; s < this.seriesKeys.size(); s++) {
+            for (int r = 0; r < this.rowKeys.size(); r++) {
+                for (int c = 0; c < this.columnKeys.size(); c++) {
+                    if (Double.compare(this.values[index(s, r, c)], 
+                            that.values[that.index(s, r, c)]) != 0) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns a string representation of this instance, primarily for 
+     * debugging purposes.
+     * <br><br>
+     * Implementation note: the current implementation (which is subject to 
+     * change) writes the dataset in JSON format using 
+     * {@link JSONUtils#writeKeyedValues3D(org.jfree.chart3d.data.KeyedValues3D)}.
+     * 
+     * @return A string. 
+     */
+    @Override
+    public String toString() {
+        return JSONUtils.writeKeyedValues3D(this);
+    }
+
+}
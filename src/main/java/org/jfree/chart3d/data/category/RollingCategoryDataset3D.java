@@ -0,0 +1,619 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.data.category;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.jfree.chart3d.data.AbstractDataset3D;
+import org.jfree.chart3d.data.JSONUtils;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A {@link CategoryDataset3D} that holds the most recent columns up to a 
+ * fixed window size, intended for dashboards that show the last N periods.
+ * The series and row keys are fixed when the dataset is created, and 
+ * columns are appended with {@link #addColumn(Comparable, double[])} (or 
+ * by setting a value for a new column key).  When the window is full, 
+ * appending a column drops the oldest column.  The values are stored in an
+ * array of {@code double} primitives with the columns arranged in a 
+ * circular buffer, so each shift touches only the {@code series x rows} 
+ * cells of the new column and sends a single change event.  Missing values
+ * are stored as {@code Double.NaN} and reported by 
+ * {@link #getValue(int, int, int)} as {@code null}.
+ * <br><br>
+ * {@link #getColumnKeys()} returns a read-only view of the current column 
+ * keys, and {@link #getColumnShiftCount()} reports how many columns have 
+ * been dropped, which allows a {@code StandardCategoryAxis3D} to update 
+ * its category index incrementally instead of rebuilding it after each 
+ * shift.
+ * <br><br>
+ * NOTE: This class is serializable, but the serialization format is subject 
+ * to change in future releases and should not be relied upon for persisting 
+ * instances of this class.
+ * 
+ * @param <S>  the series key type (must implement Comparable)
+ * @param <R>  the row key type (must implement Comparable)
+ * @param <C>  the column key type (must implement Comparable)
+ * 
+ * @since 2.1.2
+ */
+@SuppressWarnings("serial")
+public final class RollingCategoryDataset3D
+        <S extends Comparable<S>, R extends Comparable<R>, C extends Comparable<C>> 
+        extends AbstractDataset3D  
+        implements CategoryDataset3D<S, R, C>, Serializable {
+
+    /** The series keys. */
+    private final List<S> seriesKeys;
+    
+    /** The row keys. */
+    private final List<R> rowKeys;
+    
+    /** The index of each series key. */
+    private final Map<S, Integer> seriesIndex;
+    
+    /** The index of each row key. */
+    private final Map<R, Integer> rowIndex;
+
+    /** The maximum number of columns. */
+    private final int windowSize;
+
+    /** The column keys, indexed by buffer slot. */
+    private final Object[] columnKeys;
+
+    /** The buffer slot for each column key. */
+    private final Map<C, Integer> columnSlots;
+
+    /** The buffer slot of the oldest column. */
+    private int head;
+
+    /** The number of columns. */
+    private int columnCount;
+
+    /** The number of columns that have been dropped from the window. */
+    private long columnShiftCount;
+
+    /** 
+     * The values, the value for series s, row r in buffer slot k is at 
+     * index {@code (s * rowCount + r) * windowSize + k}. 
+     */
+    private final double[] values;
+
+    /**
+     * Creates a new dataset with no columns.
+     * 
+     * @param seriesKeys  the series keys ({@code null} not permitted, no 
+     *     duplicates).
+     * @param rowKeys  the row keys ({@code null} not permitted, no 
+     *     duplicates).
+     * @param windowSize  the maximum number of columns (must be positive).
+     */
+    public RollingCategoryDataset3D(List<S> seriesKeys, List<R> rowKeys, 
+            int windowSize) {
+        Args.nullNotPermitted(seriesKeys, "seriesKeys");
+        Args.nullNotPermitted(rowKeys, "rowKeys");
+        Args.positiveRequired(windowSize, "windowSize");
+        this.seriesKeys = new ArrayList<>(seriesKeys);
+        this.rowKeys = new ArrayList<>(rowKeys);
+        this.seriesIndex = indexKeys(this.seriesKeys, "series");
+        this.rowIndex = indexKeys(this.rowKeys, "row");
+        this.windowSize = windowSize;
+        this.columnKeys = new Object[windowSize];
+        this.columnSlots = new HashMap<>(windowSize * 2);
+        this.values = new double[this.seriesKeys.size() 
+                * this.rowKeys.size() * windowSize];
+        Arrays.fill(this.values, Double.NaN);
+    }
+
+    /**
+     * Creates a map from key to index for a list of keys.
+     * 
+     * @param keys  the keys.
+     * @param name  the key type (for the error message).
+     * 
+     * @return The index map. 
+     */
+    private static <K> Map<K, Integer> indexKeys(List<K> keys, String name) {
+        Map<K, Integer> result = new HashMap<>(keys.size() * 2);
+        for (int i = 0; i < keys.size(); i++) {
+            K key = keys.get(i);
+            Args.nullNotPermitted(key, name + "Key");
+            if (result.put(key, i) != null) {
+                throw new IllegalArgumentException("Duplicate " + name 
+                        + " key: " + key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the maximum number of columns in the dataset.
+     * 
+     * @return The window size. 
+     */
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    /**
+     * Returns the total number of columns that have been dropped from the 
+     * start of the window since the dataset was created.  The column at 
+     * index {@code i} is the {@code (getColumnShiftCount() + i)}-th column 
+     * that was added to the dataset.
+     * 
+     * @return The shift count. 
+     */
+    public long getColumnShiftCount() {
+        return this.columnShiftCount;
+    }
+
+    /**
+     * Returns the number of data series in the dataset.
+     * 
+     * @return The number of data series.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesKeys.size();
+    }
+
+    /**
+     * Returns the number of rows in the dataset.
+     * 
+     * @return The number of rows. 
+     */
+    @Override
+    public int getRowCount() {
+        return this.rowKeys.size();
+    }
+
+    /**
+     * Returns the number of columns in the dataset.
+     * 
+     * @return The number of columns. 
+     */
+    @Override
+    public int getColumnCount() {
+        return this.columnCount;
+    }
+
+    /**
+     * Returns the key for the specified series.
+     * 
+     * @param seriesIndex  the series index.
+     * 
+     * @return The series key. 
+     */
+    @Override
+    public S getSeriesKey(int seriesIndex) {
+        return this.seriesKeys.get(seriesIndex);
+    }
+
+    /**
+     * Returns the key for the specified row.
+     * 
+     * @param rowIndex The row index.
+     * 
+     * @return The row key. 
+     */
+    @Override
+    public R getRowKey(int rowIndex) {
+        return this.rowKeys.get(rowIndex);
+    }
+
+    /**
+     * Returns the key for the specified column (the oldest column has 
+     * index 0).
+     * 
+     * @param columnIndex  the column index.
+     * 
+     * @return The column key. 
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public C getColumnKey(int columnIndex) {
+        Args.checkArrayBounds(columnIndex, "columnIndex", this.columnCount);
+        return (C) this.columnKeys[slot(columnIndex)];
+    }
+
+    /**
+     * Returns the index for the specified series key, or {@code -1} if the 
+     * key is not defined in the dataset.
+     * 
+     * @param serieskey  the series key ({@code null} not permitted).
+     * 
+     * @return The series index or {@code -1}.
+     */
+    @Override
+    public int getSeriesIndex(S serieskey) {
+        Args.nullNotPermitted(serieskey, "serieskey");
+        Integer i = this.seriesIndex.get(serieskey);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Returns the index of the specified row key, or {@code -1} if there
+     * is no matching key.
+     * 
+     * @param rowkey  the row key ({@code null} not permitted).
+     * 
+     * @return The row index or {@code -1}. 
+     */
+    @Override
+    public int getRowIndex(R rowkey) {
+        Args.nullNotPermitted(rowkey, "rowkey");
+        Integer i = this.rowIndex.get(rowkey);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * Returns the index of the specified column key, or {@code -1} if 
+     * there is no matching key.
+     * 
+     * @param columnkey  the column key ({@code null} not permitted).
+     * 
+     * @return The column index or {@code -1}. 
+     */
+    @Override
+    public int getColumnIndex(C columnkey) {
+        Args.nullNotPermitted(columnkey, "columnkey");
+        Integer slot = this.columnSlots.get(columnkey);
+        if (slot == null) {
+            return -1;
+        }
+        int c = slot - this.head;
+        return c >= 0 ? c : c + this.windowSize;
+    }
+
+    /**
+     * Returns a list of the series keys for the dataset.  Modifying this
+     * list will have no impact on the underlying dataset.
+     * 
+     * @return A list of the series keys (possibly empty, but never 
+     *     {@code null}). 
+     */
+    @Override
+    public List<S> getSeriesKeys() {
+        return new ArrayList<>(this.seriesKeys);
+    }
+
+    /**
+     * Returns a list of the row keys for the dataset.  Modifying this
+     * list will have no impact on the underlying dataset.
+     * 
+     * @return A list of the row keys (possibly empty, but never 
+     *     {@code null}). 
+     */
+    @Override
+    public List<R> getRowKeys() {
+        return new ArrayList<>(this.rowKeys);
+    }
+
+    /**
+     * Returns a read-only view of the column keys for the dataset, oldest
+     * first.  The view is not copied, so it reflects subsequent changes to
+     * the dataset.
+     * 
+     * @return A list of the column keys (possibly empty, but never 
+     *     {@code null}). 
+     */
+    @Override
+    public List<C> getColumnKeys() {
+        return new ColumnKeyList<>(this);
+    }
+
+    /**
+     * Returns the buffer slot for a column.
+     * 
+     * @param columnIndex  the column index (0 is the oldest column).
+     * 
+     * @return The slot. 
+     */
+    private int slot(int columnIndex) {
+        int slot = this.head + columnIndex;
+        return slot < this.windowSize ? slot : slot - this.windowSize;
+    }
+
+    /**
+     * Returns the array index for a cell.
+     * 
+     * @param s  the series index.
+     * @param r  the row index.
+     * @param slot  the buffer slot of the column.
+     * 
+     * @return The array index. 
+     */
+    private int index(int s, int r, int slot) {
+        return (s * this.rowKeys.size() + r) * this.windowSize + slot;
+    }
+
+    /**
+     * Returns the value for a series at the specified cell (referenced by
+     * row key and column key).
+     * 
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     * 
+     * @return The value (possibly {@code null}). 
+     */
+    @Override
+    public Number getValue(S seriesKey, R rowKey, C columnKey) {
+        int s = getSeriesIndex(seriesKey);
+        int r = getRowIndex(rowKey);
+        int c = getColumnIndex(columnKey);
+        if (s < 0 || r < 0 || c < 0) {
+            return null;
+        }
+        return getValue(s, r, c);
+    }
+
+    /**
+     * Returns the value for a series at the specified cell (referenced by 
+     * row index and column index).
+     * 
+     * @param seriesIndex  the series index.
+     * @param rowIndex  the row index.
+     * @param columnIndex  the column index.
+     * 
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getValue(int seriesIndex, int rowIndex, int columnIndex) {
+        double d = getDoubleValue(seriesIndex, rowIndex, columnIndex);
+        return Double.isNaN(d) ? null : d;
+    }
+
+    /**
+     * Returns the value for a series at the specified cell (referenced by row
+     * index and column index) as a double primitive.  If the value is 
+     * missing, this method returns {@code Double.NaN}.
+     * 
+     * @param seriesIndex  the series index.
+     * @param rowIndex  the row index.
+     * @param columnIndex  the column index.
+     * 
+     * @return The value (possibly {@code Double.NaN}).
+     */
+    @Override
+    public double getDoubleValue(int seriesIndex, int rowIndex, 
+            int columnIndex) {
+        Args.checkArrayBounds(seriesIndex, "seriesIndex", 
+                this.seriesKeys.size());
+        Args.checkArrayBounds(rowIndex, "rowIndex", this.rowKeys.size());
+        Args.checkArrayBounds(columnIndex, "columnIndex", this.columnCount);
+        return this.values[index(seriesIndex, rowIndex, slot(columnIndex))];
+    }
+
+    /**
+     * Sets the value for a series at the specified cell (referenced by row
+     * key and column key) and sends a change event to all registered 
+     * listeners.  If the column key is not in the dataset, a new column is 
+     * appended (dropping the oldest column if the window is full).
+     * 
+     * @param n  the value ({@code null} permitted).
+     * @param seriesKey  the series key ({@code null} not permitted, must be
+     *     defined in the dataset).
+     * @param rowKey  the row key ({@code null} not permitted, must be 
+     *     defined in the dataset).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void setValue(Number n, S seriesKey, R rowKey, C columnKey) {
+        setValue(n != null ? n.doubleValue() : Double.NaN, seriesKey, rowKey,
+                columnKey);
+    }
+
+    /**
+     * Sets the value for a series at the specified cell (referenced by row
+     * key and column key) and sends a change event to all registered 
+     * listeners.  If the column key is not in the dataset, a new column is 
+     * appended (dropping the oldest column if the window is full).
+     * 
+     * @param value  the value ({@code Double.NaN} for a missing value).
+     * @param seriesKey  the series key ({@code null} not permitted, must be
+     *     defined in the dataset).
+     * @param rowKey  the row key ({@code null} not permitted, must be 
+     *     defined in the dataset).
+     * @param columnKey  the column key ({@code null} not permitted).
+     */
+    public void setValue(double value, S seriesKey, R rowKey, C columnKey) {
+        Args.nullNotPermitted(columnKey, "columnKey");
+        int s = getSeriesIndex(seriesKey);
+        if (s < 0) {
+            throw new IllegalArgumentException("Unrecognised seriesKey: " 
+                    + seriesKey);
+        }
+        int r = getRowIndex(rowKey);
+        if (r < 0) {
+            throw new IllegalArgumentException("Unrecognised rowKey: " 
+                    + rowKey);
+        }
+        Integer slot = this.columnSlots.get(columnKey);
+        if (slot == null) {
+            slot = appendColumn(columnKey);
+        }
+        this.values[index(s, r, slot)] = value;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Appends a column with the specified values (dropping the oldest 
+     * column if the window is full) and sends a single change event to all
+     * registered listeners.  The values are in series then row order, so 
+     * the value for {@code (s, r)} is at index {@code s * rowCount + r}.
+     * 
+     * @param columnKey  the column key ({@code null} not permitted, and not
+     *     already in the dataset).
+     * @param values  the values ({@code null} not permitted, and the length
+     *     must equal {@code seriesCount * rowCount}).
+     */
+    public void addColumn(C columnKey, double[] values) {
+        Args.nullNotPermitted(columnKey, "columnKey");
+        Args.nullNotPermitted(values, "values");
+        int rowCount = this.rowKeys.size();
+        int cellCount = this.seriesKeys.size() * rowCount;
+        if (values.length != cellCount) {
+            throw new IllegalArgumentException("Expected " + cellCount 
+                    + " values but found " + values.length);
+        }
+        if (this.columnSlots.containsKey(columnKey)) {
+            throw new IllegalArgumentException("Duplicate column key: " 
+                    + columnKey);
+        }
+        int slot = appendColumn(columnKey);
+        for (int i = 0; i < cellCount; i++) {
+            this.values[i * this.windowSize + slot] = values[i];
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Appends a new column (with all values missing) without sending a 
+     * change event, dropping the oldest column if the window is full.
+     * 
+     * @param columnKey  the column key (not already in the dataset).
+     * 
+     * @return The buffer slot for the new column. 
+     */
+    private int appendColumn(C columnKey) {
+        int slot;
+        if (this.columnCount == this.windowSize) {
+            slot = this.head;
+            this.columnSlots.remove(this.columnKeys[slot]);
+            this.head = this.head + 1 < this.windowSize ? this.head + 1 : 0;
+            this.columnShiftCount++;
+        } else {
+            slot = slot(this.columnCount);
+            this.columnCount++;
+        }
+        this.columnKeys[slot] = columnKey;
+        this.columnSlots.put(columnKey, slot);
+        int cellCount = this.seriesKeys.size() * this.rowKeys.size();
+        for (int i = 0; i < cellCount; i++) {
+            this.values[i * this.windowSize + slot] = Double.NaN;
+        }
+        return slot;
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.  Two 
+     * datasets are equal if they have the same window size, keys and values
+     * (regardless of how the columns are arranged in the buffer).
+     * 
+     * @param obj  the object to test against ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RollingCategoryDataset3D)) {
+            return false;
+        }
+        RollingCategoryDataset3D<?, ?, ?> that 
+                = (RollingCategoryDataset3D<?, ?, ?>) obj;
+        if (this.windowSize != that.windowSize) {
+            return false;
+        }
+        if (!this.seriesKeys.equals(that.seriesKeys)) {
+            return false;
+        }
+        if (!this.rowKeys.equals(that.rowKeys)) {
+            return false;
+        }
+        if (!getColumnKeys().equals(that.getColumnKeys())) {
+            return false;
+        }
+        for (int s = 0; s < this.seriesKeys.size(); s++) {
+            for (int r = 0; r < this.rowKeys.size(); r++) {
+                for (int c = 0; c < this.columnCount; c++) {
+                    if (Double.compare(this.values[index(s, r, slot(c))], 
+                            that.values[that.index(s, r, that.slot(c))]) 
+                            != 0) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a string representation of this instance, primarily for 
+     * debugging purposes.
+     * <br><br>
+     * Implementation note: the current implementation (which is subject to 
+     * change) writes the dataset in JSON format using 
+     * {@link JSONUtils#writeKeyedValues3D(org.jfree.chart3d.data.KeyedValues3D)}.
+     * 
+     * @return A string. 
+     */
+    @Override
+    public String toString() {
+        return JSONUtils.writeKeyedValues3D(this);
+    }
+
+    /**
+     * A read-only view of the column keys of a dataset.
+     */
+    private static final class ColumnKeyList<C extends Comparable<C>> 
+            extends AbstractList<C> implements RandomAccess, Serializable {
+
+        /** The dataset. */
+        private final RollingCategoryDataset3D<?, ?, C> dataset;
+
+        ColumnKeyList(RollingCategoryDataset3D<?, ?, C> dataset) {
+            this.dataset = dataset;
+        }
+
+        @Override
+        public C get(int index) {
+            return this.dataset.getColumnKey(index);
+        }
+
+        @Override
+        public int size() {
+            return this.dataset.columnCount;
+        }
+    }
+
+}
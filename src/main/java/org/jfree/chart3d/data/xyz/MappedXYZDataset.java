@@ -0,0 +1,548 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data.xyz;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jfree.chart3d.data.AbstractDataset3D;
+import org.jfree.chart3d.data.DataUtils;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.DataSummary;
+
+/**
+ * A read-only {@link XYZDataset} backed by a memory-mapped binary file, 
+ * suitable for very large point clouds.  The values are read directly from
+ * the mapped file when they are requested (no data items are created on 
+ * the heap), and the bounds of each series are stored in the file header 
+ * so that {@link DataUtils#findXRange(XYZDataset)} (and the y and z 
+ * equivalents) do not need to iterate over the data.  Files in this format
+ * are written by {@link #write(XYZDataset, File, boolean)}.
+ * <br><br>
+ * The file layout (all values little-endian) is:
+ * <ul>
+ * <li>a header: the magic number {@code 0x4F435A44} (int), the format 
+ * version {@code 1} (int), the number of bytes per value, {@code 4} for 
+ * float or {@code 8} for double values (int) and the series count (int);</li>
+ * <li>for each series: the length of the series key in bytes (int), the 
+ * key (UTF-8), the item count (int), the offset of the series data from 
+ * the start of the file (long) and the minimum and maximum x, y and z 
+ * values, ignoring NaN and infinite values (six doubles, NaN if the series
+ * has no such values);</li>
+ * <li>for each series, starting at its data offset (which is a multiple 
+ * of 8): all the x-values, then all the y-values, then all the 
+ * z-values.</li>
+ * </ul>
+ * NOTE: unlike the other datasets in this library, this class is not 
+ * serializable (the data remains in the file).
+ * 
+ * @since 2.1.2
+ */
+public class MappedXYZDataset extends AbstractDataset3D 
+        implements XYZDataset<String>, DataSummary, Closeable {
+    
+    /** The magic number at the start of the file. */
+    static final int MAGIC = 0x4F435A44;
+    
+    /** The file format version. */
+    static final int VERSION = 1;
+    
+    /** 
+     * The (base 2 logarithm of the) number of values in each mapped 
+     * segment of a column (a single buffer can map at most 2GB).
+     */
+    private static final int SEGMENT_SHIFT = 27;
+    
+    /** The mask for the value index within a segment. */
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    
+    /** The file channel. */
+    private final FileChannel channel;
+    
+    /** The series keys. */
+    private final List<String> seriesKeys;
+    
+    /** The series indices by key. */
+    private final Map<String, Integer> seriesIndices;
+    
+    /** The item count for each series. */
+    private final int[] itemCounts;
+    
+    /** 
+     * The bounds for each series (xmin, xmax, ymin, ymax, zmin, zmax), 
+     * indexed by {@code series * 6}.
+     */
+    private final double[] bounds;
+    
+    /** The x, y and z columns for each series, indexed by 
+     * {@code series * 3}, {@code series * 3 + 1} and {@code series * 3 + 2}.
+     */
+    private final Column[] columns;
+    
+    /**
+     * Opens a dataset from the specified file.
+     * 
+     * @param file  the file ({@code null} not permitted).
+     * 
+     * @throws IOException if there is an I/O problem or the file is not in
+     *     the expected format.
+     */
+    public MappedXYZDataset(File file) throws IOException {
+        Args.nullNotPermitted(file, "file");
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long size = this.channel.size();
+            MappedByteBuffer header = this.channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, 
+                    Math.min(size, Integer.MAX_VALUE));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (size < 16 || header.getInt() != MAGIC) {
+                throw new IOException("Not an XYZ dataset file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported file version " + version);
+            }
+            int valueSize = header.getInt();
+            if (valueSize != 4 && valueSize != 8) {
+                throw new IOException("Unsupported value size " + valueSize);
+            }
+            int seriesCount = header.getInt();
+            List<String> keys = new ArrayList<>(seriesCount);
+            this.seriesIndices = new HashMap<>();
+            this.itemCounts = new int[seriesCount];
+            this.bounds = new double[seriesCount * 6];
+            this.columns = new Column[seriesCount * 3];
+            for (int s = 0; s < seriesCount; s++) {
+                int keyLength = header.getInt();
+                if (keyLength < 0 || keyLength > header.remaining()) {
+                    throw new IOException("Invalid key for series " + s);
+                }
+                byte[] keyBytes = new byte[keyLength];
+                header.get(keyBytes);
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+                keys.add(key);
+                this.seriesIndices.putIfAbsent(key, s);
+                int count = header.getInt();
+                long offset = header.getLong();
+                for (int b = 0; b < 6; b++) {
+                    this.bounds[s * 6 + b] = header.getDouble();
+                }
+                long columnBytes = (long) count * valueSize;
+                if (count < 0 || offset < 0 || (count > 0 
+                        && offset + 3 * columnBytes > size)) {
+                    throw new IOException("Invalid data for series " + s);
+                }
+                this.itemCounts[s] = count;
+                for (int c = 0; c < 3; c++) {
+                    this.columns[s * 3 + c] = new Column(this.channel, 
+                            offset + c * columnBytes, count, valueSize);
+                }
+            }
+            this.seriesKeys = Collections.unmodifiableList(keys);
+        } catch (BufferUnderflowException e) {
+            this.channel.close();
+            throw new IOException("Truncated header in " + file, e);
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Returns the number of series in the dataset.
+     * 
+     * @return The number of series.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.itemCounts.length;
+    }
+
+    /**
+     * Returns a new list containing the series keys.
+     * 
+     * @return The series keys (never {@code null}).
+     */
+    @Override
+    public List<String> getSeriesKeys() {
+        return new ArrayList<>(this.seriesKeys);
+    }
+
+    /**
+     * Returns the key for the specified series.
+     * 
+     * @param index  the series index.
+     * 
+     * @return The series key. 
+     */
+    @Override
+    public String getSeriesKey(int index) {
+        return this.seriesKeys.get(index);
+    }
+
+    /**
+     * Returns the index of the series with the specified key, or 
+     * {@code -1} if there is no such series.
+     * 
+     * @param key  the key ({@code null} not permitted).
+     * 
+     * @return The series index or {@code -1}. 
+     */
+    @Override
+    public int getSeriesIndex(String key) {
+        Args.nullNotPermitted(key, "key");
+        Integer index = this.seriesIndices.get(key);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the number of items in the specified series.
+     * 
+     * @param series  the series index.
+     * 
+     * @return The item count. 
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.itemCounts[series];
+    }
+
+    /**
+     * Returns the x-value for an item in a series.
+     * 
+     * @param series  the series index.
+     * @param item  the item index.
+     * 
+     * @return The x-value. 
+     */
+    @Override
+    public double getX(int series, int item) {
+        return this.columns[series * 3].get(item);
+    }
+
+    /**
+     * Returns the y-value for an item in a series.
+     * 
+     * @param series  the series index.
+     * @param item  the item index.
+     * 
+     * @return The y-value. 
+     */
+    @Override
+    public double getY(int series, int item) {
+        return this.columns[series * 3 + 1].get(item);
+    }
+
+    /**
+     * Returns the z-value for an item in a series.
+     * 
+     * @param series  the series index.
+     * @param item  the item index.
+     * 
+     * @return The z-value. 
+     */
+    @Override
+    public double getZ(int series, int item) {
+        return this.columns[series * 3 + 2].get(item);
+    }
+    
+    /**
+     * Returns the range of (finite) x-values in a series, as stored in the
+     * file header.
+     * 
+     * @param series  the series index.
+     * 
+     * @return The range ({@code null} if the series has no finite x-values).
+     */
+    public Range getXRange(int series) {
+        return range(series, 0);
+    }
+    
+    /**
+     * Returns the range of (finite) y-values in a series, as stored in the
+     * file header.
+     * 
+     * @param series  the series index.
+     * 
+     * @return The range ({@code null} if the series has no finite y-values).
+     */
+    public Range getYRange(int series) {
+        return range(series, 2);
+    }
+    
+    /**
+     * Returns the range of (finite) z-values in a series, as stored in the
+     * file header.
+     * 
+     * @param series  the series index.
+     * 
+     * @return The range ({@code null} if the series has no finite z-values).
+     */
+    public Range getZRange(int series) {
+        return range(series, 4);
+    }
+    
+    /**
+     * Returns the range of the finite values in one dimension across all
+     * the series, from the bounds stored in the file header.
+     * 
+     * @param dimension  the dimension ({@link DataSummary#X}, 
+     *     {@link DataSummary#Y} or {@link DataSummary#Z}).
+     * 
+     * @return The range ({@code null} if there are no finite values).
+     */
+    @Override
+    public Range findRange(int dimension) {
+        Args.checkArrayBounds(dimension, "dimension", 3);
+        Range result = null;
+        for (int s = 0; s < this.itemCounts.length; s++) {
+            Range r = range(s, dimension * 2);
+            if (r != null) {
+                result = result == null ? r : new Range(
+                        Math.min(r.getMin(), result.getMin()), 
+                        Math.max(r.getMax(), result.getMax()));
+            }
+        }
+        return result;
+    }
+    
+    private Range range(int series, int offset) {
+        Args.checkArrayBounds(series, "series", this.itemCounts.length);
+        double min = this.bounds[series * 6 + offset];
+        double max = this.bounds[series * 6 + offset + 1];
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            return null;
+        }
+        return new Range(min, max);
+    }
+
+    /**
+     * Closes the underlying file channel.  The mapped data remains 
+     * accessible until the dataset is garbage collected.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+    
+    /**
+     * Writes a dataset to a file in the format read by this class.  The
+     * series keys are converted to strings.
+     * 
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param file  the file ({@code null} not permitted).
+     * @param singlePrecision  write the values as floats rather than 
+     *     doubles (halving the file size)?
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void write(XYZDataset<?> dataset, File file, 
+            boolean singlePrecision) throws IOException {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(file, "file");
+        int valueSize = singlePrecision ? 4 : 8;
+        int seriesCount = dataset.getSeriesCount();
+        byte[][] keys = new byte[seriesCount][];
+        long headerSize = 16;
+        for (int s = 0; s < seriesCount; s++) {
+            keys[s] = dataset.getSeriesKey(s).toString().getBytes(
+                    StandardCharsets.UTF_8);
+            headerSize += 4 + keys[s].length + 4 + 8 + 6 * 8;
+        }
+        long[] offsets = new long[seriesCount];
+        double[] bounds = new double[seriesCount * 6];
+        try (FileChannel out = FileChannel.open(file.toPath(), 
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, 
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            long position = align(headerSize);
+            for (int s = 0; s < seriesCount; s++) {
+                offsets[s] = position;
+                out.position(position);
+                int count = dataset.getItemCount(s);
+                for (int c = 0; c < 3; c++) {
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int i = 0; i < count; i++) {
+                        double v = c == 0 ? dataset.getX(s, i) 
+                                : c == 1 ? dataset.getY(s, i) 
+                                : dataset.getZ(s, i);
+                        if (singlePrecision) {
+                            // the bounds must match the stored values
+                            v = (float) v;
+                        }
+                        if (!Double.isNaN(v) && !Double.isInfinite(v)) {
+                            min = Math.min(min, v);
+                            max = Math.max(max, v);
+                        }
+                        if (buffer.remaining() < 8) {
+                            drain(buffer, out);
+                        }
+                        if (singlePrecision) {
+                            buffer.putFloat((float) v);
+                        } else {
+                            buffer.putDouble(v);
+                        }
+                    }
+                    bounds[s * 6 + c * 2] = min <= max ? min : Double.NaN;
+                    bounds[s * 6 + c * 2 + 1] = min <= max ? max : Double.NaN;
+                }
+                drain(buffer, out);
+                position = align(out.position());
+            }
+            
+            // now that the offsets and bounds are known, write the header
+            out.position(0);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(valueSize)
+                    .putInt(seriesCount);
+            for (int s = 0; s < seriesCount; s++) {
+                if (buffer.remaining() < 4 + keys[s].length + 60) {
+                    drain(buffer, out);
+                }
+                if (buffer.remaining() < 4 + keys[s].length + 60) {
+                    // a very long key
+                    ByteBuffer b = ByteBuffer.allocate(4 + keys[s].length);
+                    b.order(ByteOrder.LITTLE_ENDIAN);
+                    b.putInt(keys[s].length).put(keys[s]);
+                    drain(b, out);
+                } else {
+                    buffer.putInt(keys[s].length).put(keys[s]);
+                }
+                buffer.putInt(dataset.getItemCount(s)).putLong(offsets[s]);
+                for (int b = 0; b < 6; b++) {
+                    buffer.putDouble(bounds[s * 6 + b]);
+                }
+            }
+            drain(buffer, out);
+        }
+    }
+    
+    /**
+     * Returns the smallest multiple of 8 that is greater than or equal to 
+     * the specified position.
+     * 
+     * @param position  the position.
+     * 
+     * @return The aligned position. 
+     */
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+    
+    /**
+     * Writes the contents of the buffer to the channel and clears the 
+     * buffer.
+     * 
+     * @param buffer  the buffer.
+     * @param out  the channel.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void drain(ByteBuffer buffer, FileChannel out) 
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    /**
+     * A column of values, mapped in segments.
+     */
+    private static final class Column {
+        
+        /** The segments (for double values, otherwise {@code null}). */
+        private final DoubleBuffer[] doubles;
+        
+        /** The segments (for float values, otherwise {@code null}). */
+        private final FloatBuffer[] floats;
+        
+        Column(FileChannel channel, long offset, int count, int valueSize) 
+                throws IOException {
+            int segmentCount = (int) (((long) count + SEGMENT_MASK) 
+                    >>> SEGMENT_SHIFT);
+            if (valueSize == 8) {
+                this.doubles = new DoubleBuffer[segmentCount];
+                this.floats = null;
+            } else {
+                this.doubles = null;
+                this.floats = new FloatBuffer[segmentCount];
+            }
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long n = Math.min(count - first, 1L << SEGMENT_SHIFT);
+                MappedByteBuffer buffer = channel.map(
+                        FileChannel.MapMode.READ_ONLY, 
+                        offset + first * valueSize, n * valueSize);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                if (valueSize == 8) {
+                    this.doubles[i] = buffer.asDoubleBuffer();
+                } else {
+                    this.floats[i] = buffer.asFloatBuffer();
+                }
+            }
+        }
+        
+        double get(int index) {
+            if (this.doubles != null) {
+                return this.doubles[index >>> SEGMENT_SHIFT].get(
+                        index & SEGMENT_MASK);
+            }
+            return this.floats[index >>> SEGMENT_SHIFT].get(
+                    index & SEGMENT_MASK);
+        }
+    }
+
+}
@@ -0,0 +1,429 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.data.xyz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.data.Series3DChangeEvent;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.DataSummary;
+
+/**
+ * A data series that holds the most recent {@code (x, y, z)} data items up 
+ * to a fixed capacity, intended for streaming data.  The items are stored in
+ * primitive arrays used as a circular buffer, so that adding an item takes 
+ * constant time and, once the series is full, silently evicts the oldest 
+ * item.  Several items can be added with a single change event using 
+ * {@link #addAll(double[], double[], double[])}.
+ * <br><br>
+ * The series is a subclass of {@link XYZSeries}, so it can be added to an 
+ * {@link XYZSeriesCollection} in the usual way.  It also keeps track of the
+ * range of (finite) values in each dimension, which is used by 
+ * {@link org.jfree.chart3d.data.DataUtils} to find the data bounds for 
+ * auto-ranging axes without iterating over the items.
+ * <br><br>
+ * NOTE: This class is serializable, but the serialization format is subject 
+ * to change in future releases and should not be relied upon for persisting 
+ * instances of this class.
+ * 
+ * @param <K> the type for the series key (it is recommended that this is a
+ *     class of immutable objects, because the series key should never be
+ *     modified).
+ * 
+ * @since 2.1.2
+ */
+@SuppressWarnings("serial")
+public class RollingXYZSeries<K extends Comparable<K>> extends XYZSeries<K> 
+        implements DataSummary {
+
+    /** The maximum number of items in the series. */
+    private final int capacity;
+
+    /** 
+     * The x, y and z values (indexed by dimension then buffer slot). 
+     */
+    private final double[][] values;
+
+    /** The buffer slot containing the oldest item. */
+    private int head;
+
+    /** The number of items in the series. */
+    private int count;
+
+    /** The minimum finite value in each dimension (if valid). */
+    private final double[] mins;
+
+    /** The maximum finite value in each dimension (if valid). */
+    private final double[] maxs;
+
+    /** 
+     * Flags indicating whether the tracked minimum and maximum are valid 
+     * for each dimension (they become invalid when an extreme value is 
+     * evicted, and are recalculated on demand). 
+     */
+    private final boolean[] boundsValid;
+
+    /**
+     * Creates a new empty series.
+     * 
+     * @param key  the key ({@code null} not permitted).
+     * @param capacity  the maximum number of items (must be positive).
+     */
+    public RollingXYZSeries(K key, int capacity) {
+        super(key);
+        Args.positiveRequired(capacity, "capacity");
+        this.capacity = capacity;
+        this.values = new double[3][capacity];
+        this.mins = new double[3];
+        this.maxs = new double[3];
+        this.boundsValid = new boolean[3];
+        resetBounds();
+    }
+
+    /**
+     * Returns the maximum number of items in the series.
+     * 
+     * @return The capacity. 
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public int getItemCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns a list containing all the items in the series, oldest first 
+     * (a new list is created each time this method is called, so the list 
+     * can be freely modified without affecting the state of this series).
+     * 
+     * @return A list of all items.
+     */
+    @Override
+    public List<XYZDataItem> getItems() {
+        List<XYZDataItem> result = new ArrayList<>(this.count);
+        for (int i = 0; i < this.count; i++) {
+            int slot = slot(i);
+            result.add(new XYZDataItem(this.values[0][slot], 
+                    this.values[1][slot], this.values[2][slot]));
+        }
+        return result;
+    }
+
+    @Override
+    public double getXValue(int itemIndex) {
+        Args.checkArrayBounds(itemIndex, "itemIndex", this.count);
+        return this.values[0][slot(itemIndex)];
+    }
+
+    @Override
+    public double getYValue(int itemIndex) {
+        Args.checkArrayBounds(itemIndex, "itemIndex", this.count);
+        return this.values[1][slot(itemIndex)];
+    }
+
+    @Override
+    public double getZValue(int itemIndex) {
+        Args.checkArrayBounds(itemIndex, "itemIndex", this.count);
+        return this.values[2][slot(itemIndex)];
+    }
+
+    /**
+     * Adds a new data item to the series (evicting the oldest item if the
+     * series is full) and sends a {@link Series3DChangeEvent} to all 
+     * registered listeners.
+     * 
+     * @param x  the x-value.
+     * @param y  the y-value.
+     * @param z  the z-value.
+     */
+    @Override
+    public void add(double x, double y, double z) {
+        append(x, y, z);
+        fireSeriesChanged();
+    }
+
+    /**
+     * Adds a new data item to the series (evicting the oldest item if the
+     * series is full) and sends a {@link Series3DChangeEvent} to all 
+     * registered listeners.
+     * 
+     * @param item  the data item ({@code null} not permitted).
+     */
+    @Override
+    public void add(XYZDataItem item) {
+        Args.nullNotPermitted(item, "item");
+        add(item.getX(), item.getY(), item.getZ());
+    }
+
+    /**
+     * Adds a batch of data items to the series (evicting the oldest items 
+     * as necessary) and sends a single {@link Series3DChangeEvent} to all 
+     * registered listeners.  If the batch is larger than the capacity, only 
+     * the last {@code capacity} items are retained.
+     * 
+     * @param xValues  the x-values ({@code null} not permitted).
+     * @param yValues  the y-values ({@code null} not permitted).
+     * @param zValues  the z-values ({@code null} not permitted).
+     */
+    public void addAll(double[] xValues, double[] yValues, double[] zValues) {
+        Args.nullNotPermitted(xValues, "xValues");
+        Args.nullNotPermitted(yValues, "yValues");
+        Args.nullNotPermitted(zValues, "zValues");
+        if (xValues.length != yValues.length 
+                || xValues.length != zValues.length) {
+            throw new IllegalArgumentException(
+                    "The value arrays must have the same length.");
+        }
+        if (xValues.length == 0) {
+            return;
+        }
+        int first = Math.max(0, xValues.length - this.capacity);
+        for (int i = first; i < xValues.length; i++) {
+            append(xValues[i], yValues[i], zValues[i]);
+        }
+        fireSeriesChanged();
+    }
+
+    /**
+     * Removes a data item from the series and sends a 
+     * {@link Series3DChangeEvent} to all registered listeners.  Removing 
+     * the oldest item (index 0) takes constant time, other items require 
+     * the newer items to be shifted.
+     * 
+     * @param itemIndex  the item index.
+     */
+    @Override
+    public void remove(int itemIndex) {
+        Args.checkArrayBounds(itemIndex, "itemIndex", this.count);
+        for (int d = 0; d < 3; d++) {
+            invalidateIfExtreme(d, this.values[d][slot(itemIndex)]);
+        }
+        if (itemIndex == 0) {
+            this.head = (this.head + 1) % this.capacity;
+        } else {
+            for (int i = itemIndex; i < this.count - 1; i++) {
+                int to = slot(i);
+                int from = slot(i + 1);
+                for (int d = 0; d < 3; d++) {
+                    this.values[d][to] = this.values[d][from];
+                }
+            }
+        }
+        this.count--;
+        fireSeriesChanged();
+    }
+
+    /**
+     * Removes all items from the series and sends a 
+     * {@link Series3DChangeEvent} to all registered listeners.
+     */
+    public void clear() {
+        if (this.count > 0) {
+            this.head = 0;
+            this.count = 0;
+            resetBounds();
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Returns the range of finite x-values in the series, or {@code null} 
+     * if the series contains no finite x-values.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    public Range getXRange() {
+        return bounds(0);
+    }
+
+    /**
+     * Returns the range of finite y-values in the series, or {@code null} 
+     * if the series contains no finite y-values.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    public Range getYRange() {
+        return bounds(1);
+    }
+
+    /**
+     * Returns the range of finite z-values in the series, or {@code null} 
+     * if the series contains no finite z-values.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    public Range getZRange() {
+        return bounds(2);
+    }
+
+    /**
+     * Returns the range of finite values in one dimension of the series, 
+     * or {@code null} if the series contains no finite values in that
+     * dimension.
+     * 
+     * @param dimension  the dimension ({@link DataSummary#X}, 
+     *     {@link DataSummary#Y} or {@link DataSummary#Z}).
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    @Override
+    public Range findRange(int dimension) {
+        Args.checkArrayBounds(dimension, "dimension", 3);
+        return bounds(dimension);
+    }
+
+    /**
+     * Returns the buffer slot for an item.
+     * 
+     * @param itemIndex  the item index (0 is the oldest item).
+     * 
+     * @return The slot. 
+     */
+    private int slot(int itemIndex) {
+        int slot = this.head + itemIndex;
+        return slot < this.capacity ? slot : slot - this.capacity;
+    }
+
+    /**
+     * Appends an item without sending a change event, evicting the oldest 
+     * item if the buffer is full.
+     * 
+     * @param x  the x-value.
+     * @param y  the y-value.
+     * @param z  the z-value.
+     */
+    private void append(double x, double y, double z) {
+        int slot;
+        if (this.count == this.capacity) {
+            slot = this.head;
+            for (int d = 0; d < 3; d++) {
+                invalidateIfExtreme(d, this.values[d][slot]);
+            }
+            this.head = (this.head + 1) % this.capacity;
+        } else {
+            slot = slot(this.count);
+            this.count++;
+        }
+        this.values[0][slot] = x;
+        this.values[1][slot] = y;
+        this.values[2][slot] = z;
+        include(0, x);
+        include(1, y);
+        include(2, z);
+    }
+
+    /**
+     * Extends the tracked bounds for a dimension to include a new value.
+     * 
+     * @param d  the dimension.
+     * @param value  the value.
+     */
+    private void include(int d, double value) {
+        if (this.boundsValid[d] && !Double.isNaN(value) 
+                && !Double.isInfinite(value)) {
+            this.mins[d] = Math.min(this.mins[d], value);
+            this.maxs[d] = Math.max(this.maxs[d], value);
+        }
+    }
+
+    /**
+     * Marks the tracked bounds for a dimension as invalid if the value 
+     * being removed is one of the extremes.
+     * 
+     * @param d  the dimension.
+     * @param value  the value being removed.
+     */
+    private void invalidateIfExtreme(int d, double value) {
+        if (value <= this.mins[d] || value >= this.maxs[d]) {
+            this.boundsValid[d] = false;
+        }
+    }
+
+    /**
+     * Returns the range of finite values in one dimension, recalculating 
+     * the bounds if necessary.
+     * 
+     * @param d  the dimension.
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    private Range bounds(int d) {
+        if (!this.boundsValid[d]) {
+            this.mins[d] = Double.POSITIVE_INFINITY;
+            this.maxs[d] = Double.NEGATIVE_INFINITY;
+            this.boundsValid[d] = true;
+            for (int i = 0; i < this.count; i++) {
+                include(d, this.values[d][slot(i)]);
+            }
+        }
+        if (this.mins[d] <= this.maxs[d]) {
+            return new Range(this.mins[d], this.maxs[d]);
+        }
+        return null;
+    }
+
+    /**
+     * Resets the tracked bounds for an empty series.
+     */
+    private void resetBounds() {
+        Arrays.fill(this.mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.maxs, Double.NEGATIVE_INFINITY);
+        Arrays.fill(this.boundsValid, true);
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.  Two rolling
+     * series are equal if they have the same key, capacity and items.
+     * 
+     * @param obj  the object to test ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        RollingXYZSeries<?> that = (RollingXYZSeries<?>) obj;
+        return this.capacity == that.capacity;
+    }
+
+}
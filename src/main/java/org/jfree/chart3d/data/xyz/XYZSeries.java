@@ -279,7 +279,10 @@ public class XYZSeries<K extends Comparable<K>> implements Serializable {
     }
 
     /**
-     * Tests this series for equality with an arbitrary object.
+     * Tests this series for equality with an arbitrary object.  The items 
+     * are compared through the accessor methods, so that subclasses that 
+     * store their data differently are compared correctly.  A series is 
+     * only equal to a series of the same class.
      * 
      * @param obj  the object to test ({@code null} permitted).
      * 
@@ -290,16 +293,31 @@ public class XYZSeries<K extends Comparable<K>> implements Serializable {
         if (obj == this) {
             return true;
         }
-        if (!(obj instanceof XYZSeries)) {
+        if (obj == null || obj.getClass() != getClass()) {
             return false;
         }
         XYZSeries that = (XYZSeries) obj;
         if (!this.key.equals(that.key)) {
             return false;
         }
-        if (!this.items.equals(that.items)) {
+        int count = getItemCount();
+        if (count != that.getItemCount()) {
             return false;
         }
+        for (int i = 0; i < count; i++) {
+            if (Double.doubleToLongBits(getXValue(i)) 
+                    != Double.doubleToLongBits(that.getXValue(i))) {
+                return false;
+            }
+            if (Double.doubleToLongBits(getYValue(i)) 
+                    != Double.doubleToLongBits(that.getYValue(i))) {
+                return false;
+            }
+            if (Double.doubleToLongBits(getZValue(i)) 
+                    != Double.doubleToLongBits(that.getZValue(i))) {
+                return false;
+            }
+        }
         return true;
     }
 
@@ -40,8 +40,10 @@ import org.jfree.chart3d.internal.Args;
 import org.jfree.chart3d.data.AbstractDataset3D;
 import org.jfree.chart3d.data.Dataset3DChangeEvent;
 import org.jfree.chart3d.data.JSONUtils;
+import org.jfree.chart3d.data.Range;
 import org.jfree.chart3d.data.Series3DChangeEvent;
 import org.jfree.chart3d.data.Series3DChangeListener;
+import org.jfree.chart3d.internal.DataSummary;
 import org.jfree.chart3d.internal.ObjectUtils;
 import org.jfree.chart3d.plot.XYZPlot;
 import org.jfree.chart3d.renderer.xyz.XYZRenderer;
@@ -58,7 +60,8 @@ import org.jfree.chart3d.renderer.xyz.XYZRenderer;
 @SuppressWarnings("serial")
 public class XYZSeriesCollection<S extends Comparable<S>> 
         extends AbstractDataset3D 
-        implements XYZDataset<S>, Series3DChangeListener, Serializable {
+        implements XYZDataset<S>, Series3DChangeListener, DataSummary, 
+        Serializable {
 
     /** Storage for the data series. */
     private final List<XYZSeries<S>> series;
@@ -289,6 +292,45 @@ public class XYZSeriesCollection<S extends Comparable<S>>
         fireDatasetChanged();
     }
 
+    /**
+     * Returns the range of the finite values in one dimension across all
+     * the series.  Series that track their own bounds (such as 
+     * {@link RollingXYZSeries}) supply their range directly, the values in
+     * other series are iterated over.
+     * 
+     * @param dimension  the dimension ({@link DataSummary#X}, 
+     *     {@link DataSummary#Y} or {@link DataSummary#Z}).
+     * 
+     * @return The range ({@code null} if there are no finite values).
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    public Range findRange(int dimension) {
+        Args.checkArrayBounds(dimension, "dimension", 3);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (XYZSeries<S> s : this.series) {
+            Range r = s instanceof DataSummary 
+                    ? ((DataSummary) s).findRange(dimension) : null;
+            if (r != null) {
+                min = Math.min(r.getMin(), min);
+                max = Math.max(r.getMax(), max);
+                continue;
+            }
+            for (int i = 0; i < s.getItemCount(); i++) {
+                double v = dimension == DataSummary.X ? s.getXValue(i) 
+                        : dimension == DataSummary.Y ? s.getYValue(i) 
+                        : s.getZValue(i);
+                if (!Double.isNaN(v) && !Double.isInfinite(v)) {
+                    min = Math.min(v, min);
+                    max = Math.max(v, max);
+                }
+            }
+        }
+        return min <= max ? new Range(min, max) : null;
+    }
+
     /**
      * Tests this dataset for equality with an arbitrary object.
      * 
@@ -0,0 +1,208 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+/**
+ * A snapshot of the throughput and timing statistics for a 
+ * {@link BatchRenderer}.  Instances of this class are immutable.
+ * 
+ * @since 2.1.2
+ */
+public class BatchRenderMetrics {
+    
+    /** The number of jobs submitted. */
+    private final long submittedCount;
+    
+    /** The number of jobs completed successfully. */
+    private final long completedCount;
+    
+    /** The number of jobs that failed. */
+    private final long failedCount;
+    
+    /** The total time spent rendering (summed over all jobs). */
+    private final long totalRenderNanos;
+    
+    /** The total time spent encoding (summed over all jobs). */
+    private final long totalEncodeNanos;
+    
+    /** The time between the first submission and the latest completion. */
+    private final long elapsedNanos;
+    
+    /** The number of images created by the image pool. */
+    private final long imagesCreated;
+    
+    /** The number of times an image from the pool was reused. */
+    private final long imagesReused;
+
+    /**
+     * Creates a new instance.
+     * 
+     * @param submittedCount  the number of jobs submitted.
+     * @param completedCount  the number of jobs completed successfully.
+     * @param failedCount  the number of jobs that failed.
+     * @param totalRenderNanos  the total rendering time.
+     * @param totalEncodeNanos  the total encoding time.
+     * @param elapsedNanos  the time between the first submission and the 
+     *     latest completion.
+     * @param imagesCreated  the number of images created.
+     * @param imagesReused  the number of image reuses.
+     */
+    public BatchRenderMetrics(long submittedCount, long completedCount, 
+            long failedCount, long totalRenderNanos, long totalEncodeNanos, 
+            long elapsedNanos, long imagesCreated, long imagesReused) {
+        this.submittedCount = submittedCount;
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+        this.totalRenderNanos = totalRenderNanos;
+        this.totalEncodeNanos = totalEncodeNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.imagesCreated = imagesCreated;
+        this.imagesReused = imagesReused;
+    }
+
+    /**
+     * Returns the number of jobs submitted.
+     * 
+     * @return The number of jobs submitted. 
+     */
+    public long getSubmittedCount() {
+        return this.submittedCount;
+    }
+
+    /**
+     * Returns the number of jobs that completed successfully.
+     * 
+     * @return The number of jobs completed. 
+     */
+    public long getCompletedCount() {
+        return this.completedCount;
+    }
+
+    /**
+     * Returns the number of jobs that failed.
+     * 
+     * @return The number of jobs that failed. 
+     */
+    public long getFailedCount() {
+        return this.failedCount;
+    }
+
+    /**
+     * Returns the number of jobs that have been submitted but not yet 
+     * finished.
+     * 
+     * @return The number of pending jobs. 
+     */
+    public long getPendingCount() {
+        return this.submittedCount - this.completedCount - this.failedCount;
+    }
+
+    /**
+     * Returns the total time (in nanoseconds) spent rendering, summed over
+     * all finished jobs.
+     * 
+     * @return The time in nanoseconds. 
+     */
+    public long getTotalRenderNanos() {
+        return this.totalRenderNanos;
+    }
+
+    /**
+     * Returns the total time (in nanoseconds) spent encoding and writing 
+     * images, summed over all finished jobs.
+     * 
+     * @return The time in nanoseconds. 
+     */
+    public long getTotalEncodeNanos() {
+        return this.totalEncodeNanos;
+    }
+
+    /**
+     * Returns the wall clock time (in nanoseconds) between the first job 
+     * submission and the most recent job completion.
+     * 
+     * @return The time in nanoseconds. 
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the number of images created by the image pool.
+     * 
+     * @return The number of images created. 
+     */
+    public long getImagesCreated() {
+        return this.imagesCreated;
+    }
+
+    /**
+     * Returns the number of times an image from the pool was reused.
+     * 
+     * @return The number of image reuses. 
+     */
+    public long getImagesReused() {
+        return this.imagesReused;
+    }
+    
+    /**
+     * Returns the throughput in jobs per second (counting both successful 
+     * and failed jobs).
+     * 
+     * @return The throughput (zero if no jobs have finished). 
+     */
+    public double getJobsPerSecond() {
+        if (this.elapsedNanos <= 0L) {
+            return 0.0;
+        }
+        return (this.completedCount + this.failedCount) * 1.0e9 
+                / this.elapsedNanos;
+    }
+
+    /**
+     * Returns a string representation of this instance, primarily for 
+     * debugging purposes.
+     * 
+     * @return A string. 
+     */
+    @Override
+    public String toString() {
+        return "BatchRenderMetrics[submitted=" + this.submittedCount 
+                + ", completed=" + this.completedCount + ", failed=" 
+                + this.failedCount + ", jobsPerSecond=" + getJobsPerSecond() 
+                + ", imagesCreated=" + this.imagesCreated 
+                + ", imagesReused=" + this.imagesReused + "]";
+    }
+
+}
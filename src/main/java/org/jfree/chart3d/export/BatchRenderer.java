@@ -0,0 +1,572 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.jfree.chart3d.graphics3d.Drawable3D;
+import org.jfree.chart3d.graphics3d.RenderingInfo;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A service for rendering large numbers of charts to PNG or JPEG images.
+ * Compared to calling {@link ExportUtils#writeAsPNG(Drawable3D, int, int, 
+ * java.io.File)} in a loop, this class:
+ * <ul>
+ * <li>renders jobs in parallel on a pool of render threads;</li>
+ * <li>encodes and writes the images on a separate pool of encoder threads,
+ * so that rendering of the next chart overlaps with encoding of the 
+ * previous one;</li>
+ * <li>reuses image buffers (per size and type) between jobs;</li>
+ * <li>limits the number of jobs in progress, so that submitting a very 
+ * large number of jobs does not exhaust the heap;</li>
+ * <li>delivers the results to a consumer as the jobs finish (see 
+ * {@link #renderAll(Stream, Consumer)}), so that memory use does not 
+ * grow with the number of jobs;</li>
+ * <li>records the timing for each job (see {@link RenderResult}) and 
+ * overall throughput figures (see {@link #getMetrics()}).</li>
+ * </ul>
+ * Each {@link Drawable3D} is rendered on a single thread, but the charts in
+ * Orson Charts are not thread-safe, so the same drawable should not be 
+ * used by more than one job that may be in progress at the same time.
+ * <br><br>
+ * Call {@link #close()} when the renderer is no longer required, to shut 
+ * down the worker threads.
+ * 
+ * @since 2.1.2
+ */
+public class BatchRenderer implements AutoCloseable {
+
+    /** The maximum number of image sizes (and types) kept in the pool. */
+    private static final int MAX_POOLED_IMAGE_SIZES = 8;
+    
+    /** The executor for the rendering stage. */
+    private final ExecutorService renderExecutor;
+    
+    /** The executor for the encoding stage. */
+    private final ExecutorService encodeExecutor;
+    
+    /** The image buffers. */
+    private final ImageBufferPool imagePool;
+    
+    /** Limits the number of jobs in progress. */
+    private final Semaphore pendingJobs;
+    
+    /** 
+     * A flag that controls whether the rendering info for each job is kept
+     * in the result.
+     */
+    private volatile boolean renderingInfoRetained;
+    
+    /** The number of jobs submitted. */
+    private final AtomicLong submittedCount = new AtomicLong();
+    
+    /** The number of jobs completed successfully. */
+    private final AtomicLong completedCount = new AtomicLong();
+    
+    /** The number of jobs that failed. */
+    private final AtomicLong failedCount = new AtomicLong();
+    
+    /** The total rendering time. */
+    private final AtomicLong totalRenderNanos = new AtomicLong();
+    
+    /** The total encoding time. */
+    private final AtomicLong totalEncodeNanos = new AtomicLong();
+    
+    /** The time of the first submission ({@code Long.MIN_VALUE} if none). */
+    private final AtomicLong firstSubmitTime 
+            = new AtomicLong(Long.MIN_VALUE);
+    
+    /** The time of the most recent completion. */
+    private final AtomicLong lastFinishTime = new AtomicLong(Long.MIN_VALUE);
+    
+    /**
+     * Creates a new renderer with one render thread per available processor
+     * and half as many encoder threads.
+     */
+    public BatchRenderer() {
+        this(Runtime.getRuntime().availableProcessors(), 
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+    
+    /**
+     * Creates a new renderer with the specified number of threads, allowing
+     * up to twice as many jobs in progress as there are threads.
+     * 
+     * @param renderThreads  the number of render threads (at least 1).
+     * @param encodeThreads  the number of encoder threads (at least 1).
+     */
+    public BatchRenderer(int renderThreads, int encodeThreads) {
+        this(renderThreads, encodeThreads, 
+                2 * (renderThreads + encodeThreads));
+    }
+    
+    /**
+     * Creates a new renderer.
+     * 
+     * @param renderThreads  the number of render threads (at least 1).
+     * @param encodeThreads  the number of encoder threads (at least 1).
+     * @param maxPendingJobs  the maximum number of jobs that can be in 
+     *     progress at any time (at least 1).  Once this limit is reached, 
+     *     {@link #submit(RenderJob)} blocks until a job finishes.
+     */
+    public BatchRenderer(int renderThreads, int encodeThreads, 
+            int maxPendingJobs) {
+        Args.positiveRequired(renderThreads, "renderThreads");
+        Args.positiveRequired(encodeThreads, "encodeThreads");
+        Args.positiveRequired(maxPendingJobs, "maxPendingJobs");
+        this.renderExecutor = Executors.newFixedThreadPool(renderThreads, 
+                new WorkerThreadFactory("orson-charts-render-"));
+        this.encodeExecutor = Executors.newFixedThreadPool(encodeThreads, 
+                new WorkerThreadFactory("orson-charts-encode-"));
+        this.imagePool = new ImageBufferPool(maxPendingJobs, 
+                MAX_POOLED_IMAGE_SIZES);
+        this.pendingJobs = new Semaphore(maxPendingJobs);
+    }
+    
+    /**
+     * Submits a job for rendering, blocking if the maximum number of jobs
+     * is already in progress.  The returned future always completes 
+     * normally, with the error (if any) recorded in the 
+     * {@link RenderResult}.
+     * 
+     * @param job  the job ({@code null} not permitted).
+     * 
+     * @return A future for the result.
+     * 
+     * @throws InterruptedException if the thread is interrupted while 
+     *     waiting to submit the job.
+     */
+    public CompletableFuture<RenderResult> submit(RenderJob job) 
+            throws InterruptedException {
+        Args.nullNotPermitted(job, "job");
+        this.pendingJobs.acquire();
+        long now = System.nanoTime();
+        this.firstSubmitTime.compareAndSet(Long.MIN_VALUE, now);
+        this.submittedCount.incrementAndGet();
+        CompletableFuture<RenderResult> future = new CompletableFuture<>();
+        try {
+            this.renderExecutor.execute(new RenderTask(job, now, future));
+        } catch (RuntimeException e) {
+            this.submittedCount.decrementAndGet();
+            this.pendingJobs.release();
+            throw e;
+        }
+        return future;
+    }
+    
+    /**
+     * Returns the flag that controls whether the {@link RenderingInfo} for 
+     * each job is kept in its {@link RenderResult}.  The default value is 
+     * {@code false}, since the rendering info holds all the faces and 
+     * projected points for the chart.
+     * 
+     * @return A boolean. 
+     */
+    public boolean isRenderingInfoRetained() {
+        return this.renderingInfoRetained;
+    }
+    
+    /**
+     * Sets the flag that controls whether the {@link RenderingInfo} for 
+     * each job is kept in its {@link RenderResult}.  This applies to jobs 
+     * that start rendering after the flag is changed.
+     * 
+     * @param retained  the new flag value.
+     */
+    public void setRenderingInfoRetained(boolean retained) {
+        this.renderingInfoRetained = retained;
+    }
+    
+    /**
+     * Renders all the jobs and waits for them to finish.  Since the results
+     * are returned together, this method is intended for a moderate number
+     * of jobs, use {@link #renderAll(Iterable, Consumer)} otherwise.
+     * 
+     * @param jobs  the jobs ({@code null} not permitted).
+     * 
+     * @return The results, in the same order as the jobs.
+     * 
+     * @throws InterruptedException if the thread is interrupted while 
+     *     waiting.
+     */
+    public List<RenderResult> renderAll(Iterable<? extends RenderJob> jobs) 
+            throws InterruptedException {
+        Args.nullNotPermitted(jobs, "jobs");
+        List<CompletableFuture<RenderResult>> futures = new ArrayList<>();
+        for (RenderJob job : jobs) {
+            futures.add(submit(job));
+        }
+        List<RenderResult> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<RenderResult> future : futures) {
+            // the futures always complete normally
+            result.add(future.join());
+        }
+        return result;
+    }
+    
+    /**
+     * Renders all the jobs, passing each result to the consumer as soon as
+     * the job finishes, and waits for them to finish.  The consumer is 
+     * called on the calling thread (never concurrently), in the order that
+     * the jobs finish, and no reference to the results is kept by the 
+     * renderer.  If the consumer throws an exception, no more jobs are 
+     * submitted and the exception is passed on to the caller (jobs already
+     * in progress will still run).
+     * 
+     * @param jobs  the jobs ({@code null} not permitted).
+     * @param consumer  the consumer for the results ({@code null} not 
+     *     permitted).
+     * 
+     * @throws InterruptedException if the thread is interrupted while 
+     *     waiting.
+     */
+    public void renderAll(Iterable<? extends RenderJob> jobs, 
+            Consumer<? super RenderResult> consumer) 
+            throws InterruptedException {
+        Args.nullNotPermitted(jobs, "jobs");
+        renderAll(jobs.iterator(), consumer);
+    }
+    
+    /**
+     * Renders all the jobs in the stream, passing each result to the 
+     * consumer as soon as the job finishes, and waits for them to finish. 
+     * The stream is consumed as jobs are submitted, so it can be much 
+     * larger than the number of jobs allowed in progress at once.  The
+     * consumer is called as described for 
+     * {@link #renderAll(Iterable, Consumer)}.
+     * 
+     * @param jobs  the jobs ({@code null} not permitted).
+     * @param consumer  the consumer for the results ({@code null} not 
+     *     permitted).
+     * 
+     * @throws InterruptedException if the thread is interrupted while 
+     *     waiting.
+     */
+    public void renderAll(Stream<? extends RenderJob> jobs, 
+            Consumer<? super RenderResult> consumer) 
+            throws InterruptedException {
+        Args.nullNotPermitted(jobs, "jobs");
+        renderAll(jobs.iterator(), consumer);
+    }
+    
+    /**
+     * Renders all the jobs, passing each result to the consumer as the 
+     * job finishes, and waits for them to finish.
+     * 
+     * @param jobs  the jobs.
+     * @param consumer  the consumer ({@code null} not permitted).
+     * 
+     * @throws InterruptedException if the thread is interrupted while 
+     *     waiting.
+     */
+    private void renderAll(Iterator<? extends RenderJob> jobs, 
+            Consumer<? super RenderResult> consumer) 
+            throws InterruptedException {
+        Args.nullNotPermitted(consumer, "consumer");
+        final BlockingQueue<RenderResult> finished 
+                = new LinkedBlockingQueue<>();
+        Consumer<RenderResult> collector = new Consumer<RenderResult>() {
+            @Override
+            public void accept(RenderResult result) {
+                finished.add(result);
+            }
+        };
+        long outstanding = 0;
+        while (jobs.hasNext()) {
+            // pass on the results that are ready before (possibly) blocking
+            // on the next submission, so that at most a few more results
+            // than the maximum number of pending jobs are held at once
+            RenderResult result = finished.poll();
+            while (result != null) {
+                outstanding--;
+                consumer.accept(result);
+                result = finished.poll();
+            }
+            submit(jobs.next()).thenAccept(collector);
+            outstanding++;
+        }
+        while (outstanding > 0) {
+            consumer.accept(finished.take());
+            outstanding--;
+        }
+    }
+    
+    /**
+     * Returns a snapshot of the throughput and timing statistics for the
+     * jobs processed so far.
+     * 
+     * @return The metrics (never {@code null}). 
+     */
+    public BatchRenderMetrics getMetrics() {
+        long first = this.firstSubmitTime.get();
+        long last = this.lastFinishTime.get();
+        long elapsed = 0L;
+        if (first != Long.MIN_VALUE && last != Long.MIN_VALUE) {
+            elapsed = last - first;
+        }
+        return new BatchRenderMetrics(this.submittedCount.get(), 
+                this.completedCount.get(), this.failedCount.get(), 
+                this.totalRenderNanos.get(), this.totalEncodeNanos.get(), 
+                elapsed, this.imagePool.getCreatedCount(), 
+                this.imagePool.getReusedCount());
+    }
+    
+    /**
+     * Waits for all submitted jobs to finish, then shuts down the worker
+     * threads and releases the pooled images.  Jobs cannot be submitted 
+     * after this method has been called.
+     */
+    @Override
+    public void close() {
+        try {
+            this.renderExecutor.shutdown();
+            this.renderExecutor.awaitTermination(Long.MAX_VALUE, 
+                    TimeUnit.NANOSECONDS);
+            this.encodeExecutor.shutdown();
+            this.encodeExecutor.awaitTermination(Long.MAX_VALUE, 
+                    TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            this.renderExecutor.shutdownNow();
+            this.encodeExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        this.imagePool.clear();
+    }
+    
+    /**
+     * Records the outcome of a job and completes its future.
+     * 
+     * @param future  the future.
+     * @param result  the result.
+     */
+    private void finish(CompletableFuture<RenderResult> future, 
+            RenderResult result) {
+        this.totalRenderNanos.addAndGet(result.getRenderNanos());
+        this.totalEncodeNanos.addAndGet(result.getEncodeNanos());
+        if (result.isSuccess()) {
+            this.completedCount.incrementAndGet();
+        } else {
+            this.failedCount.incrementAndGet();
+        }
+        long now = System.nanoTime();
+        long last = this.lastFinishTime.get();
+        while (now > last && !this.lastFinishTime.compareAndSet(last, now)) {
+            last = this.lastFinishTime.get();
+        }
+        this.pendingJobs.release();
+        future.complete(result);
+    }
+    
+    /**
+     * Encodes an image and writes it to an output stream.  An in-memory 
+     * cache is used for the image output stream, so that the encoder does
+     * not create temporary files.
+     * 
+     * @param image  the image.
+     * @param format  the format.
+     * @param out  the output stream.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void encode(BufferedImage image, ExportFormat format, 
+            OutputStream out) throws IOException {
+        String formatName = format == ExportFormat.JPEG ? "jpg" : "png";
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(
+                formatName);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + formatName);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(image);
+        } finally {
+            writer.dispose();
+        }
+    }
+    
+    /**
+     * The task that renders a job and passes the image on to the encoding
+     * stage.
+     */
+    private class RenderTask implements Runnable {
+        
+        private final RenderJob job;
+        
+        private final long submitTime;
+        
+        private final CompletableFuture<RenderResult> future;
+        
+        RenderTask(RenderJob job, long submitTime, 
+                CompletableFuture<RenderResult> future) {
+            this.job = job;
+            this.submitTime = submitTime;
+            this.future = future;
+        }
+        
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            long queueNanos = start - this.submitTime;
+            int w = this.job.getWidth();
+            int h = this.job.getHeight();
+            int type = this.job.getFormat() == ExportFormat.JPEG 
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            BufferedImage image = null;
+            RenderingInfo info;
+            try {
+                image = imagePool.acquire(w, h, type);
+                Graphics2D g2 = image.createGraphics();
+                try {
+                    info = this.job.getDrawable().draw(g2, 
+                            new Rectangle(w, h));
+                } finally {
+                    g2.dispose();
+                }
+            } catch (Throwable t) {
+                if (image != null) {
+                    imagePool.release(image);
+                }
+                finish(this.future, new RenderResult(this.job, null, 
+                        queueNanos, System.nanoTime() - start, 0L, t));
+                return;
+            }
+            long renderNanos = System.nanoTime() - start;
+            if (!renderingInfoRetained) {
+                info = null;
+            }
+            try {
+                encodeExecutor.execute(new EncodeTask(this.job, image, info, 
+                        queueNanos, renderNanos, this.future));
+            } catch (RuntimeException e) {
+                imagePool.release(image);
+                finish(this.future, new RenderResult(this.job, info, 
+                        queueNanos, renderNanos, 0L, e));
+            }
+        }
+    }
+    
+    /**
+     * The task that encodes a rendered image and writes it to the sink.
+     */
+    private class EncodeTask implements Runnable {
+        
+        private final RenderJob job;
+        
+        private final BufferedImage image;
+        
+        private final RenderingInfo info;
+        
+        private final long queueNanos;
+        
+        private final long renderNanos;
+        
+        private final CompletableFuture<RenderResult> future;
+        
+        EncodeTask(RenderJob job, BufferedImage image, RenderingInfo info, 
+                long queueNanos, long renderNanos, 
+                CompletableFuture<RenderResult> future) {
+            this.job = job;
+            this.image = image;
+            this.info = info;
+            this.queueNanos = queueNanos;
+            this.renderNanos = renderNanos;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            Throwable error = null;
+            try (OutputStream out = new BufferedOutputStream(
+                    this.job.getSink().open(this.job))) {
+                encode(this.image, this.job.getFormat(), out);
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                imagePool.release(this.image);
+            }
+            finish(this.future, new RenderResult(this.job, this.info, 
+                    this.queueNanos, this.renderNanos, 
+                    System.nanoTime() - start, error));
+        }
+    }
+    
+    /**
+     * Creates named daemon threads for the worker pools.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        
+        private final String prefix;
+        
+        private final AtomicInteger count = new AtomicInteger();
+        
+        WorkerThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+        
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, this.prefix + this.count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+}
@@ -42,6 +42,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -101,6 +102,39 @@ public class ExportUtils {
         }
     }
 
+    /**
+     * Writes the drawable to the specified output stream in SVG format, 
+     * using a {@link StreamingSVGGraphics2D} (JFreeSVG is not required).
+     * The SVG elements are written to the stream as the drawable is 
+     * rendered, so the complete document is never held in memory.  The 
+     * stream is flushed but not closed.
+     * 
+     * @param drawable  the drawable ({@code null} not permitted).
+     * @param w  the chart width.
+     * @param h  the chart height.
+     * @param out  the output stream ({@code null} not permitted).
+     * 
+     * @return The rendering info.
+     * 
+     * @throws IOException if there is an I/O problem.
+     * 
+     * @since 2.1.2
+     */
+    public static RenderingInfo writeAsSVG(Drawable3D drawable, int w, int h, 
+            OutputStream out) throws IOException {
+        Args.nullNotPermitted(drawable, "drawable");
+        Args.nullNotPermitted(out, "out");
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, w, h);
+        RenderingInfo info;
+        try {
+            info = drawable.draw(g2, new Rectangle2D.Double(0, 0, w, h));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        g2.finish();
+        return info;
+    }
+
     /**
      * Writes a {@link Drawable3D} to the specified file in PDF format.  This 
      * will only work when the OrsonPDF library is found on the classpath.
@@ -0,0 +1,235 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A pool of images, grouped by size and type, so that batch rendering can 
+ * reuse image buffers instead of allocating a new image for every job.  
+ * Images handed out by {@link #acquire(int, int, int)} are cleared (all 
+ * pixels set to zero, as for a new image).  The number of idle images 
+ * kept for each size and the number of sizes are both limited (the least 
+ * recently used size is discarded first), so the pool does not grow 
+ * without bound when many different image sizes are rendered.  This class
+ * is thread-safe.
+ */
+class ImageBufferPool {
+
+    /** The maximum number of idle images kept for each size and type. */
+    private final int maxIdlePerKey;
+    
+    /** The maximum number of sizes (and types) that images are kept for. */
+    private final int maxKeys;
+    
+    /** 
+     * The idle images, keyed by size and type (in access order, so that 
+     * the least recently used size is discarded first).
+     */
+    private final Map<Key, Deque<BufferedImage>> idle;
+    
+    /** The number of images created by the pool. */
+    private long created;
+    
+    /** The number of times an idle image was reused. */
+    private long reused;
+    
+    /**
+     * Creates a new pool.
+     * 
+     * @param maxIdlePerKey  the maximum number of idle images kept for 
+     *     each size and type.
+     * @param maxKeys  the maximum number of sizes (and types) that idle 
+     *     images are kept for.
+     */
+    ImageBufferPool(int maxIdlePerKey, int maxKeys) {
+        this.maxIdlePerKey = maxIdlePerKey;
+        this.maxKeys = maxKeys;
+        this.idle = new LinkedHashMap<Key, Deque<BufferedImage>>(16, 0.75f, 
+                true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Key, Deque<BufferedImage>> eldest) {
+                return size() > ImageBufferPool.this.maxKeys;
+            }
+        };
+    }
+    
+    /**
+     * Returns a cleared image with the specified size and type, reusing an
+     * idle image if one is available.
+     * 
+     * @param width  the width.
+     * @param height  the height.
+     * @param type  the image type (for example 
+     *     {@code BufferedImage.TYPE_INT_ARGB}).
+     * 
+     * @return The image (never {@code null}). 
+     */
+    BufferedImage acquire(int width, int height, int type) {
+        BufferedImage image = null;
+        synchronized (this) {
+            Deque<BufferedImage> images = this.idle.get(
+                    new Key(width, height, type));
+            if (images != null) {
+                image = images.pollFirst();
+            }
+            if (image != null) {
+                this.reused++;
+            } else {
+                this.created++;
+            }
+        }
+        if (image == null) {
+            return new BufferedImage(width, height, type);
+        }
+        clear(image);
+        return image;
+    }
+    
+    /**
+     * Returns an image to the pool so that it can be reused.
+     * 
+     * @param image  the image ({@code null} not permitted).
+     */
+    synchronized void release(BufferedImage image) {
+        Key key = new Key(image.getWidth(), image.getHeight(), 
+                image.getType());
+        Deque<BufferedImage> images = this.idle.get(key);
+        if (images == null) {
+            images = new ArrayDeque<>();
+            this.idle.put(key, images);
+        }
+        if (images.size() < this.maxIdlePerKey) {
+            images.addFirst(image);
+        }
+    }
+    
+    /**
+     * Returns the number of sizes (and types) that the pool is currently 
+     * keeping idle images for.
+     * 
+     * @return The number of sizes. 
+     */
+    synchronized int getKeyCount() {
+        return this.idle.size();
+    }
+    
+    /**
+     * Returns the number of images that have been created by the pool.
+     * 
+     * @return The number of images created. 
+     */
+    synchronized long getCreatedCount() {
+        return this.created;
+    }
+    
+    /**
+     * Returns the number of times that an idle image has been reused.
+     * 
+     * @return The number of reuses. 
+     */
+    synchronized long getReusedCount() {
+        return this.reused;
+    }
+    
+    /**
+     * Discards all idle images.
+     */
+    synchronized void clear() {
+        this.idle.clear();
+    }
+    
+    /**
+     * Sets all the pixels in an image to zero.
+     * 
+     * @param image  the image.
+     */
+    private static void clear(BufferedImage image) {
+        if (image.getRaster().getDataBuffer() instanceof DataBufferInt) {
+            DataBufferInt buffer 
+                    = (DataBufferInt) image.getRaster().getDataBuffer();
+            for (int bank = 0; bank < buffer.getNumBanks(); bank++) {
+                Arrays.fill(buffer.getData(bank), 0);
+            }
+        } else {
+            Graphics2D g2 = image.createGraphics();
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g2.dispose();
+        }
+    }
+    
+    /**
+     * The key for a group of images (width, height and type).
+     */
+    private static final class Key {
+        
+        private final int width;
+        
+        private final int height;
+        
+        private final int type;
+        
+        Key(int width, int height, int type) {
+            this.width = width;
+            this.height = height;
+            this.type = type;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.width == that.width && this.height == that.height
+                    && this.type == that.type;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (this.width * 31 + this.height) * 31 + this.type;
+        }
+    }
+    
+}
@@ -0,0 +1,172 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.jfree.chart3d.graphics3d.Drawable3D;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A request to render a {@link Drawable3D} to an image of a given size and
+ * write it, in PNG or JPEG format, to a {@link RenderJobSink}.  Jobs are 
+ * processed by a {@link BatchRenderer}.  Instances of this class are 
+ * immutable.
+ * 
+ * @since 2.1.2
+ */
+public class RenderJob {
+
+    /** The drawable to render. */
+    private final Drawable3D drawable;
+    
+    /** The image width. */
+    private final int width;
+    
+    /** The image height. */
+    private final int height;
+    
+    /** The image format ({@code PNG} or {@code JPEG}). */
+    private final ExportFormat format;
+    
+    /** The destination for the encoded image. */
+    private final RenderJobSink sink;
+    
+    /**
+     * Creates a new job that writes an image to the specified file.
+     * 
+     * @param drawable  the drawable ({@code null} not permitted).
+     * @param width  the image width (in pixels, must be positive).
+     * @param height  the image height (in pixels, must be positive).
+     * @param format  the format ({@code PNG} or {@code JPEG}).
+     * @param file  the output file ({@code null} not permitted).
+     */
+    public RenderJob(Drawable3D drawable, int width, int height, 
+            ExportFormat format, File file) {
+        this(drawable, width, height, format, fileSink(file));
+    }
+    
+    /**
+     * Creates a new job.
+     * 
+     * @param drawable  the drawable ({@code null} not permitted).
+     * @param width  the image width (in pixels, must be positive).
+     * @param height  the image height (in pixels, must be positive).
+     * @param format  the format ({@code PNG} or {@code JPEG}).
+     * @param sink  the sink ({@code null} not permitted).
+     */
+    public RenderJob(Drawable3D drawable, int width, int height, 
+            ExportFormat format, RenderJobSink sink) {
+        Args.nullNotPermitted(drawable, "drawable");
+        Args.positiveRequired(width, "width");
+        Args.positiveRequired(height, "height");
+        Args.nullNotPermitted(format, "format");
+        Args.nullNotPermitted(sink, "sink");
+        if (format != ExportFormat.PNG && format != ExportFormat.JPEG) {
+            throw new IllegalArgumentException(
+                    "Only PNG and JPEG formats are supported.");
+        }
+        this.drawable = drawable;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        this.sink = sink;
+    }
+    
+    /**
+     * Returns a sink that writes to the specified file.
+     * 
+     * @param file  the file ({@code null} not permitted).
+     * 
+     * @return The sink. 
+     */
+    private static RenderJobSink fileSink(final File file) {
+        Args.nullNotPermitted(file, "file");
+        return new RenderJobSink() {
+            @Override
+            public OutputStream open(RenderJob job) throws IOException {
+                return new FileOutputStream(file);
+            }
+        };
+    }
+
+    /**
+     * Returns the drawable.
+     * 
+     * @return The drawable (never {@code null}). 
+     */
+    public Drawable3D getDrawable() {
+        return this.drawable;
+    }
+
+    /**
+     * Returns the image width.
+     * 
+     * @return The image width. 
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the image height.
+     * 
+     * @return The image height. 
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the image format.
+     * 
+     * @return The image format (never {@code null}). 
+     */
+    public ExportFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Returns the sink for the encoded image.
+     * 
+     * @return The sink (never {@code null}). 
+     */
+    public RenderJobSink getSink() {
+        return this.sink;
+    }
+
+}
@@ -0,0 +1,60 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The destination for the encoded image produced by a {@link RenderJob}.
+ * 
+ * @since 2.1.2
+ */
+public interface RenderJobSink {
+
+    /**
+     * Opens the stream that the encoded image for the specified job will be
+     * written to.  The {@link BatchRenderer} closes the stream once the 
+     * image has been written.  This method is called on one of the encoder
+     * threads.
+     * 
+     * @param job  the job ({@code null} not permitted).
+     * 
+     * @return The output stream (never {@code null}).
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    OutputStream open(RenderJob job) throws IOException;
+
+}
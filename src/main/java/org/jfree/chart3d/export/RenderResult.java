@@ -0,0 +1,169 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import org.jfree.chart3d.graphics3d.RenderingInfo;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * The outcome of a {@link RenderJob} processed by a {@link BatchRenderer},
+ * including the time spent in each stage.  Instances of this class are 
+ * immutable.
+ * 
+ * @since 2.1.2
+ */
+public class RenderResult {
+    
+    /** The job. */
+    private final RenderJob job;
+    
+    /** The rendering info (possibly {@code null}). */
+    private final RenderingInfo info;
+    
+    /** The time the job spent waiting before rendering started. */
+    private final long queueNanos;
+    
+    /** The time taken to render the image. */
+    private final long renderNanos;
+    
+    /** The time taken to encode and write the image. */
+    private final long encodeNanos;
+    
+    /** The error that caused the job to fail ({@code null} on success). */
+    private final Throwable error;
+
+    /**
+     * Creates a new result.
+     * 
+     * @param job  the job ({@code null} not permitted).
+     * @param info  the rendering info ({@code null} permitted).
+     * @param queueNanos  the time spent waiting before rendering started.
+     * @param renderNanos  the time taken to render the image.
+     * @param encodeNanos  the time taken to encode and write the image.
+     * @param error  the error ({@code null} if the job succeeded).
+     */
+    public RenderResult(RenderJob job, RenderingInfo info, long queueNanos, 
+            long renderNanos, long encodeNanos, Throwable error) {
+        Args.nullNotPermitted(job, "job");
+        this.job = job;
+        this.info = info;
+        this.queueNanos = queueNanos;
+        this.renderNanos = renderNanos;
+        this.encodeNanos = encodeNanos;
+        this.error = error;
+    }
+
+    /**
+     * Returns the job.
+     * 
+     * @return The job (never {@code null}). 
+     */
+    public RenderJob getJob() {
+        return this.job;
+    }
+
+    /**
+     * Returns the rendering info for the job.  A {@link BatchRenderer} only
+     * keeps the rendering info when requested (see 
+     * {@link BatchRenderer#setRenderingInfoRetained(boolean)}).
+     * 
+     * @return The rendering info ({@code null} if rendering failed or the 
+     *     rendering info was not retained). 
+     */
+    public RenderingInfo getRenderingInfo() {
+        return this.info;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) that the job spent waiting for a
+     * render thread.
+     * 
+     * @return The time in nanoseconds. 
+     */
+    public long getQueueNanos() {
+        return this.queueNanos;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) taken to render the image.
+     * 
+     * @return The time in nanoseconds. 
+     */
+    public long getRenderNanos() {
+        return this.renderNanos;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) taken to encode the image and write
+     * it to the sink.
+     * 
+     * @return The time in nanoseconds. 
+     */
+    public long getEncodeNanos() {
+        return this.encodeNanos;
+    }
+
+    /**
+     * Returns the error that caused the job to fail, if any.
+     * 
+     * @return The error ({@code null} if the job succeeded). 
+     */
+    public Throwable getError() {
+        return this.error;
+    }
+    
+    /**
+     * Returns {@code true} if the job completed without error, and 
+     * {@code false} otherwise.
+     * 
+     * @return A boolean. 
+     */
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+    /**
+     * Returns a string representation of this instance, primarily for 
+     * debugging purposes.
+     * 
+     * @return A string. 
+     */
+    @Override
+    public String toString() {
+        return "RenderResult[success=" + isSuccess() + ", queueNanos=" 
+                + this.queueNanos + ", renderNanos=" + this.renderNanos 
+                + ", encodeNanos=" + this.encodeNanos + "]";
+    }
+
+}
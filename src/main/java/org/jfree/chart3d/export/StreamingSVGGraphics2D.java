@@ -0,0 +1,1467 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Image;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.AttributedCharacterIterator;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+import org.jfree.chart3d.Chart3DHints;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A {@code Graphics2D} implementation that writes Scalable Vector Graphics 
+ * (SVG) directly to an output stream as drawing operations are performed, 
+ * so that (unlike building the complete document as a string in memory) 
+ * charts with a very large number of faces can be exported with a small, 
+ * constant memory overhead.  It is used by 
+ * {@link ExportUtils#writeAsSVG(org.jfree.chart3d.graphics3d.Drawable3D, 
+ * int, int, OutputStream)} and has no dependency on JFreeSVG.
+ * <br><br>
+ * To keep the output compact, shapes are written as {@code <path>} 
+ * elements in device coordinates with a configurable number of decimal 
+ * places, and each distinct fill or stroke style is written once as a CSS 
+ * class that is shared by all the elements using it.  The 
+ * {@link Chart3DHints#KEY_BEGIN_ELEMENT} and 
+ * {@link Chart3DHints#KEY_END_ELEMENT} hints are written as {@code <g>} 
+ * elements with {@code id} and {@code data-ref} attributes.
+ * <br><br>
+ * Call {@link #finish()} after drawing to complete the document.  Text is
+ * written as {@code <text>} elements using the font family, size, weight 
+ * and style of the current font.  Composites other than 
+ * {@code AlphaComposite} and XOR mode painting are not supported.
+ * 
+ * @since 2.1.2
+ */
+public class StreamingSVGGraphics2D extends Graphics2D {
+    
+    /** The state shared between this instance and any copies of it. */
+    private final Document doc;
+    
+    /** The current paint. */
+    private Paint paint = Color.BLACK;
+    
+    /** The current color (the paint, if it is a color). */
+    private Color color = Color.BLACK;
+    
+    /** The background color. */
+    private Color background = Color.BLACK;
+    
+    /** The current stroke. */
+    private Stroke stroke = new BasicStroke(1.0f);
+    
+    /** The current font. */
+    private Font font = new Font("SansSerif", Font.PLAIN, 12);
+    
+    /** The current composite. */
+    private Composite composite = AlphaComposite.SrcOver;
+    
+    /** The current transform. */
+    private AffineTransform transform = new AffineTransform();
+    
+    /** The current clip (in device space, {@code null} for no clip). */
+    private Shape clip;
+    
+    /** The rendering hints. */
+    private final RenderingHints hints;
+    
+    /** A reusable line, used by {@code drawLine()}. */
+    private final Line2D line = new Line2D.Double();
+    
+    /** A reusable rectangle, used by the rectangle methods. */
+    private final Rectangle2D rect = new Rectangle2D.Double();
+    
+    /**
+     * Creates a new instance that writes an SVG document of the specified 
+     * size to the output stream, using two decimal places for coordinates.
+     * The stream is not closed by this class.
+     * 
+     * @param out  the output stream ({@code null} not permitted).
+     * @param width  the width of the document.
+     * @param height  the height of the document.
+     */
+    public StreamingSVGGraphics2D(OutputStream out, int width, int height) {
+        this(out, width, height, 2);
+    }
+    
+    /**
+     * Creates a new instance that writes an SVG document of the specified 
+     * size to the output stream.  The stream is not closed by this class.
+     * 
+     * @param out  the output stream ({@code null} not permitted).
+     * @param width  the width of the document.
+     * @param height  the height of the document.
+     * @param decimals  the number of decimal places for coordinates 
+     *     (0 to 6).
+     */
+    public StreamingSVGGraphics2D(OutputStream out, int width, int height, 
+            int decimals) {
+        Args.nullNotPermitted(out, "out");
+        if (decimals < 0 || decimals > 6) {
+            throw new IllegalArgumentException(
+                    "Requires 'decimals' in the range 0 to 6.");
+        }
+        this.doc = new Document(out, width, height, decimals);
+        this.hints = new RenderingHints(null);
+        this.doc.writeHeader();
+    }
+    
+    /**
+     * Creates a copy of the specified instance (used by {@link #create()}).
+     * 
+     * @param parent  the parent.
+     */
+    private StreamingSVGGraphics2D(StreamingSVGGraphics2D parent) {
+        this.doc = parent.doc;
+        this.paint = parent.paint;
+        this.color = parent.color;
+        this.background = parent.background;
+        this.stroke = parent.stroke;
+        this.font = parent.font;
+        this.composite = parent.composite;
+        this.transform = new AffineTransform(parent.transform);
+        this.clip = parent.clip;
+        this.hints = (RenderingHints) parent.hints.clone();
+    }
+    
+    /**
+     * Closes any open groups, writes the end of the SVG document and flushes
+     * the output.  Nothing should be drawn after this method is called.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    public void finish() throws IOException {
+        try {
+            this.doc.writeFooter();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void draw(Shape s) {
+        if (this.stroke instanceof BasicStroke) {
+            this.doc.writeShape(s, this.transform, this.clip, 
+                    strokeStyle((BasicStroke) this.stroke));
+        } else {
+            fill(this.stroke.createStrokedShape(s));
+        }
+    }
+
+    @Override
+    public void fill(Shape s) {
+        this.doc.writeShape(s, this.transform, this.clip, fillStyle());
+    }
+    
+    /**
+     * Returns the CSS style for filling shapes with the current paint and 
+     * composite.
+     * 
+     * @return The style. 
+     */
+    private String fillStyle() {
+        StringBuilder sb = new StringBuilder(48);
+        sb.append("fill:");
+        appendPaint(sb, "fill");
+        return sb.toString();
+    }
+    
+    /**
+     * Returns the CSS style for drawing shapes with the current paint, 
+     * stroke and composite.
+     * 
+     * @param bs  the stroke.
+     * 
+     * @return The style. 
+     */
+    private String strokeStyle(BasicStroke bs) {
+        StringBuilder sb = new StringBuilder(96);
+        sb.append("fill:none;stroke:");
+        appendPaint(sb, "stroke");
+        double scale = Math.sqrt(Math.abs(this.transform.getDeterminant()));
+        sb.append(";stroke-width:");
+        this.doc.appendNumber(sb, bs.getLineWidth() * scale);
+        if (bs.getEndCap() == BasicStroke.CAP_ROUND) {
+            sb.append(";stroke-linecap:round");
+        } else if (bs.getEndCap() == BasicStroke.CAP_SQUARE) {
+            sb.append(";stroke-linecap:square");
+        }
+        if (bs.getLineJoin() == BasicStroke.JOIN_ROUND) {
+            sb.append(";stroke-linejoin:round");
+        } else if (bs.getLineJoin() == BasicStroke.JOIN_BEVEL) {
+            sb.append(";stroke-linejoin:bevel");
+        } else if (bs.getMiterLimit() != 4.0f) {
+            sb.append(";stroke-miterlimit:");
+            this.doc.appendNumber(sb, bs.getMiterLimit());
+        }
+        float[] dashes = bs.getDashArray();
+        if (dashes != null) {
+            sb.append(";stroke-dasharray:");
+            for (int i = 0; i < dashes.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                this.doc.appendNumber(sb, dashes[i] * scale);
+            }
+            if (bs.getDashPhase() != 0.0f) {
+                sb.append(";stroke-dashoffset:");
+                this.doc.appendNumber(sb, bs.getDashPhase() * scale);
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Appends the current paint (and opacity) to a CSS style.
+     * 
+     * @param sb  the style.
+     * @param property  the property ("fill" or "stroke").
+     */
+    private void appendPaint(StringBuilder sb, String property) {
+        double alpha = 1.0;
+        if (this.composite instanceof AlphaComposite) {
+            alpha = ((AlphaComposite) this.composite).getAlpha();
+        }
+        if (this.paint instanceof Color) {
+            Color c = (Color) this.paint;
+            appendRGB(sb, c);
+            alpha = alpha * c.getAlpha() / 255.0;
+        } else if (this.paint instanceof GradientPaint 
+                || this.paint instanceof MultipleGradientPaint) {
+            sb.append("url(#").append(this.doc.gradientID(this.paint, 
+                    this.transform)).append(')');
+        } else {
+            // unsupported paint, fall back to the current color
+            appendRGB(sb, this.color);
+        }
+        if (alpha < 1.0) {
+            sb.append(';').append(property).append("-opacity:");
+            this.doc.appendNumber(sb, alpha);
+        }
+    }
+    
+    /**
+     * Appends a color in the form {@code #rrggbb}.
+     * 
+     * @param sb  the string builder.
+     * @param c  the color.
+     */
+    private static void appendRGB(StringBuilder sb, Color c) {
+        String hex = Integer.toHexString(c.getRGB() & 0xFFFFFF);
+        sb.append('#');
+        for (int i = hex.length(); i < 6; i++) {
+            sb.append('0');
+        }
+        sb.append(hex);
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        drawString(str, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        Args.nullNotPermitted(str, "str");
+        if (str.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder(96);
+        sb.append("fill:");
+        appendPaint(sb, "fill");
+        sb.append(";font-family:").append(fontFamily(this.font));
+        sb.append(";font-size:");
+        this.doc.appendNumber(sb, this.font.getSize2D());
+        sb.append("px");
+        if (this.font.isBold()) {
+            sb.append(";font-weight:bold");
+        }
+        if (this.font.isItalic()) {
+            sb.append(";font-style:italic");
+        }
+        this.doc.writeText(str, x, y, this.transform, this.clip, 
+                sb.toString());
+    }
+    
+    /**
+     * Returns the CSS font family for a font.
+     * 
+     * @param font  the font.
+     * 
+     * @return The font family. 
+     */
+    private static String fontFamily(Font font) {
+        String family = font.getFamily();
+        switch (family) {
+            case Font.DIALOG:
+            case Font.SANS_SERIF:
+                return "sans-serif";
+            case Font.SERIF:
+                return "serif";
+            case Font.DIALOG_INPUT:
+            case Font.MONOSPACED:
+                return "monospace";
+            default:
+                return "'" + family.replace("'", "") + "'";
+        }
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, 
+            int y) {
+        drawString(iterator, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, 
+            float y) {
+        if (iterator.getBeginIndex() == iterator.getEndIndex()) {
+            return;
+        }
+        TextLayout layout = new TextLayout(iterator, getFontRenderContext());
+        fill(layout.getOutline(AffineTransform.getTranslateInstance(x, y)));
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        fill(g.getOutline(x, y));
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, 
+            ImageObserver obs) {
+        if (img == null) {
+            return true;
+        }
+        int w = img.getWidth(obs);
+        int h = img.getHeight(obs);
+        if (w <= 0 || h <= 0) {
+            return false;
+        }
+        BufferedImage bi;
+        if (img instanceof BufferedImage) {
+            bi = (BufferedImage) img;
+        } else {
+            bi = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = bi.createGraphics();
+            g2.drawImage(img, 0, 0, obs);
+            g2.dispose();
+        }
+        AffineTransform t = new AffineTransform(this.transform);
+        if (xform != null) {
+            t.concatenate(xform);
+        }
+        this.doc.writeImage(bi, t, this.clip);
+        return true;
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, 
+            int y) {
+        BufferedImage filtered = op != null ? op.filter(img, null) : img;
+        drawImage(filtered, AffineTransform.getTranslateInstance(x, y), null);
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        if (img instanceof BufferedImage) {
+            drawImage((BufferedImage) img, xform, null);
+        }
+        // other rendered images are not supported
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, 
+            AffineTransform xform) {
+        drawRenderedImage(img.createDefaultRendering(), xform);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        return drawImage(img, AffineTransform.getTranslateInstance(x, y), 
+                observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, 
+            ImageObserver observer) {
+        int w = img.getWidth(observer);
+        int h = img.getHeight(observer);
+        if (w <= 0 || h <= 0) {
+            return false;
+        }
+        AffineTransform t = AffineTransform.getTranslateInstance(x, y);
+        t.scale((double) width / w, (double) height / h);
+        return drawImage(img, t, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, 
+            ImageObserver observer) {
+        return drawImage(img, x, y, img.getWidth(observer), 
+                img.getHeight(observer), bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, 
+            Color bgcolor, ImageObserver observer) {
+        if (bgcolor != null) {
+            Paint saved = getPaint();
+            setPaint(bgcolor);
+            fillRect(x, y, width, height);
+            setPaint(saved);
+        }
+        return drawImage(img, x, y, width, height, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, 
+            int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, 
+                observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, 
+            int sx1, int sy1, int sx2, int sy2, Color bgcolor, 
+            ImageObserver observer) {
+        int w = dx2 - dx1;
+        int h = dy2 - dy1;
+        int sw = sx2 - sx1;
+        int sh = sy2 - sy1;
+        if (w == 0 || h == 0 || sw == 0 || sh == 0) {
+            return true;
+        }
+        BufferedImage part = new BufferedImage(Math.abs(sw), Math.abs(sh), 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = part.createGraphics();
+        g2.drawImage(img, 0, 0, Math.abs(sw), Math.abs(sh), sx1, sy1, sx2, 
+                sy2, observer);
+        g2.dispose();
+        return drawImage(part, dx1, dy1, w, h, bgcolor, observer);
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        Shape ts = onStroke ? this.stroke.createStrokedShape(s) : s;
+        return this.transform.createTransformedShape(ts).intersects(rect);
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return this.doc.deviceConfiguration();
+    }
+
+    @Override
+    public void setComposite(Composite comp) {
+        Args.nullNotPermitted(comp, "comp");
+        this.composite = comp;
+    }
+
+    @Override
+    public Composite getComposite() {
+        return this.composite;
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint == null) {
+            return;
+        }
+        this.paint = paint;
+        if (paint instanceof Color) {
+            this.color = (Color) paint;
+        }
+    }
+
+    @Override
+    public Paint getPaint() {
+        return this.paint;
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        Args.nullNotPermitted(s, "s");
+        this.stroke = s;
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return this.stroke;
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey, 
+            Object hintValue) {
+        if (hintKey == Chart3DHints.KEY_BEGIN_ELEMENT) {
+            this.doc.beginGroup(hintValue);
+        } else if (hintKey == Chart3DHints.KEY_END_ELEMENT) {
+            this.doc.endGroup();
+        } else {
+            this.hints.put(hintKey, hintValue);
+        }
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) {
+        return this.hints.get(hintKey);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        this.hints.clear();
+        addRenderingHints(hints);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        for (Map.Entry<?, ?> entry : hints.entrySet()) {
+            setRenderingHint((RenderingHints.Key) entry.getKey(), 
+                    entry.getValue());
+        }
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) this.hints.clone();
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        translate((double) x, (double) y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        this.transform.translate(tx, ty);
+    }
+
+    @Override
+    public void rotate(double theta) {
+        this.transform.rotate(theta);
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        this.transform.rotate(theta, x, y);
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        this.transform.scale(sx, sy);
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        this.transform.shear(shx, shy);
+    }
+
+    @Override
+    public void transform(AffineTransform tx) {
+        this.transform.concatenate(tx);
+    }
+
+    @Override
+    public void setTransform(AffineTransform tx) {
+        this.transform = tx == null ? new AffineTransform() 
+                : new AffineTransform(tx);
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(this.transform);
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        this.background = color;
+    }
+
+    @Override
+    public Color getBackground() {
+        return this.background;
+    }
+
+    @Override
+    public void clip(Shape s) {
+        if (s == null) {
+            this.clip = null;
+            return;
+        }
+        Shape ts = this.transform.createTransformedShape(s);
+        if (this.clip == null) {
+            this.clip = ts;
+        } else if (this.clip instanceof Rectangle2D 
+                && ts instanceof Rectangle2D) {
+            this.clip = ((Rectangle2D) this.clip).createIntersection(
+                    (Rectangle2D) ts);
+        } else {
+            Area a = new Area(this.clip);
+            a.intersect(new Area(ts));
+            this.clip = a;
+        }
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return this.doc.scratchGraphics().getFontRenderContext();
+    }
+
+    @Override
+    public Graphics create() {
+        return new StreamingSVGGraphics2D(this);
+    }
+
+    @Override
+    public Color getColor() {
+        return this.color;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        if (c == null) {
+            return;
+        }
+        this.color = c;
+        this.paint = c;
+    }
+
+    @Override
+    public void setPaintMode() {
+        // the only mode supported
+    }
+
+    @Override
+    public void setXORMode(Color c1) {
+        // not supported
+    }
+
+    @Override
+    public Font getFont() {
+        return this.font;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font != null) {
+            this.font = font;
+        }
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return this.doc.scratchGraphics().getFontMetrics(f);
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape c = getClip();
+        return c != null ? c.getBounds() : null;
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public Shape getClip() {
+        if (this.clip == null) {
+            return null;
+        }
+        try {
+            return this.transform.createInverse().createTransformedShape(
+                    this.clip);
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void setClip(Shape clip) {
+        this.clip = clip == null ? null 
+                : this.transform.createTransformedShape(clip);
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, 
+            int dy) {
+        // not supported
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        this.line.setLine(x1, y1, x2, y2);
+        draw(this.line);
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        this.rect.setRect(x, y, width, height);
+        fill(this.rect);
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        Paint saved = getPaint();
+        Composite savedComposite = getComposite();
+        setComposite(AlphaComposite.SrcOver);
+        setPaint(this.background);
+        fillRect(x, y, width, height);
+        setPaint(saved);
+        setComposite(savedComposite);
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        this.rect.setRect(x, y, width, height);
+        draw(this.rect);
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, 
+            int arcWidth, int arcHeight) {
+        draw(new RoundRectangle2D.Double(x, y, width, height, arcWidth, 
+                arcHeight));
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, 
+            int arcWidth, int arcHeight) {
+        fill(new RoundRectangle2D.Double(x, y, width, height, arcWidth, 
+                arcHeight));
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        draw(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        fill(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, 
+            int arcAngle) {
+        draw(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, 
+                Arc2D.OPEN));
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, 
+            int arcAngle) {
+        fill(new Arc2D.Double(x, y, width, height, startAngle, arcAngle, 
+                Arc2D.PIE));
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints > 1) {
+            draw(createPolygon(xPoints, yPoints, nPoints, false));
+        }
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints > 1) {
+            draw(createPolygon(xPoints, yPoints, nPoints, true));
+        }
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints > 2) {
+            fill(createPolygon(xPoints, yPoints, nPoints, true));
+        }
+    }
+    
+    /**
+     * Creates a path from arrays of coordinates.
+     * 
+     * @param xPoints  the x-coordinates.
+     * @param yPoints  the y-coordinates.
+     * @param nPoints  the number of points.
+     * @param close  close the path?
+     * 
+     * @return The path.
+     */
+    private static Path2D createPolygon(int[] xPoints, int[] yPoints, 
+            int nPoints, boolean close) {
+        Path2D p = new Path2D.Float();
+        p.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < nPoints; i++) {
+            p.lineTo(xPoints[i], yPoints[i]);
+        }
+        if (close) {
+            p.closePath();
+        }
+        return p;
+    }
+
+    @Override
+    public void dispose() {
+        // nothing to do, the document is completed by finish()
+    }
+    
+    /**
+     * The output document, shared by an instance and its copies.  Tracks
+     * the style classes, clip paths and gradients that have been written
+     * so far.
+     */
+    private static final class Document {
+        
+        /** The output writer. */
+        private final Writer writer;
+        
+        /** The document width. */
+        private final int width;
+        
+        /** The document height. */
+        private final int height;
+        
+        /** The number of decimal places for coordinates. */
+        private final int decimals;
+        
+        /** The scale factor for rounding to the decimal places. */
+        private final double scale;
+        
+        /** A reusable buffer for building each element. */
+        private final StringBuilder sb = new StringBuilder(256);
+        
+        /** The class names for the styles written so far. */
+        private final Map<String, String> styleClasses = new HashMap<>();
+        
+        /** The ids of the clip paths written so far. */
+        private final Map<String, String> clipIDs = new HashMap<>();
+        
+        /** The ids of the gradients written so far. */
+        private final Map<String, String> gradientIDs = new HashMap<>();
+        
+        /** The number of open groups. */
+        private int openGroups;
+        
+        /** Has the footer been written? */
+        private boolean finished;
+        
+        /** A graphics instance used for font metrics. */
+        private Graphics2D scratch;
+        
+        /** The device configuration (created lazily). */
+        private GraphicsConfiguration deviceConfiguration;
+        
+        Document(OutputStream out, int width, int height, int decimals) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, 
+                    StandardCharsets.UTF_8), 1 << 16);
+            this.width = width;
+            this.height = height;
+            this.decimals = decimals;
+            this.scale = Math.pow(10, decimals);
+        }
+        
+        Graphics2D scratchGraphics() {
+            if (this.scratch == null) {
+                this.scratch = new BufferedImage(1, 1, 
+                        BufferedImage.TYPE_INT_ARGB).createGraphics();
+                this.scratch.setRenderingHint(
+                        RenderingHints.KEY_FRACTIONALMETRICS, 
+                        RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            }
+            return this.scratch;
+        }
+        
+        GraphicsConfiguration deviceConfiguration() {
+            if (this.deviceConfiguration == null) {
+                this.deviceConfiguration = new SVGGraphicsConfiguration(
+                        this.width, this.height);
+            }
+            return this.deviceConfiguration;
+        }
+        
+        void writeHeader() {
+            write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<svg xmlns=\"http://www.w3.org/2000/svg\" "
+                    + "xmlns:xlink=\"http://www.w3.org/1999/xlink\" "
+                    + "width=\"" + this.width + "\" height=\"" + this.height 
+                    + "\" viewBox=\"0 0 " + this.width + " " + this.height 
+                    + "\">\n");
+        }
+        
+        void writeFooter() {
+            if (this.finished) {
+                return;
+            }
+            while (this.openGroups > 0) {
+                endGroup();
+            }
+            write("</svg>\n");
+            try {
+                this.writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (this.scratch != null) {
+                this.scratch.dispose();
+            }
+            this.finished = true;
+        }
+        
+        void write(CharSequence s) {
+            try {
+                this.writer.append(s);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        /**
+         * Appends a number rounded to the document's decimal places, 
+         * without trailing zeros.
+         * 
+         * @param b  the string builder.
+         * @param value  the value.
+         */
+        void appendNumber(StringBuilder b, double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                b.append('0');
+                return;
+            }
+            long n = Math.round(value * this.scale);
+            if (n < 0) {
+                b.append('-');
+                n = -n;
+            }
+            long divisor = (long) this.scale;
+            b.append(n / divisor);
+            long fraction = n % divisor;
+            if (fraction != 0) {
+                b.append('.');
+                int digits = this.decimals;
+                while (fraction % 10 == 0) {
+                    fraction /= 10;
+                    digits--;
+                }
+                String f = Long.toString(fraction);
+                for (int i = f.length(); i < digits; i++) {
+                    b.append('0');
+                }
+                b.append(f);
+            }
+        }
+        
+        /**
+         * Appends the path data for a shape.
+         * 
+         * @param b  the string builder.
+         * @param s  the shape.
+         * @param t  the transform ({@code null} permitted).
+         */
+        void appendPathData(StringBuilder b, Shape s, AffineTransform t) {
+            double[] coords = new double[6];
+            PathIterator iterator = s.getPathIterator(t);
+            char last = ' ';
+            while (!iterator.isDone()) {
+                int type = iterator.currentSegment(coords);
+                char cmd;
+                int count;
+                switch (type) {
+                    case PathIterator.SEG_MOVETO:
+                        cmd = 'M';
+                        count = 2;
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        cmd = 'L';
+                        count = 2;
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        cmd = 'Q';
+                        count = 4;
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        cmd = 'C';
+                        count = 6;
+                        break;
+                    default:
+                        cmd = 'Z';
+                        count = 0;
+                }
+                // repeated commands can be omitted (except for moveTo)
+                if (cmd != last || cmd == 'M' || cmd == 'Z') {
+                    b.append(cmd);
+                } else {
+                    b.append(' ');
+                }
+                for (int i = 0; i < count; i++) {
+                    // the separator depends on the formatted text, since a
+                    // small negative value can round to "0"
+                    int mark = b.length();
+                    appendNumber(b, coords[i]);
+                    if (i > 0 && b.charAt(mark) != '-') {
+                        b.insert(mark, ' ');
+                    }
+                }
+                last = cmd;
+                iterator.next();
+            }
+        }
+        
+        /**
+         * Returns the class name for a CSS style, writing a style rule the
+         * first time the style is seen.
+         * 
+         * @param style  the style.
+         * 
+         * @return The class name. 
+         */
+        String styleClass(String style) {
+            String name = this.styleClasses.get(style);
+            if (name == null) {
+                name = "c" + this.styleClasses.size();
+                this.styleClasses.put(style, name);
+                StringBuilder b = new StringBuilder(style.length() + 24);
+                b.append("<style>.").append(name).append('{');
+                appendEscaped(b, style);
+                b.append("}</style>\n");
+                write(b);
+            }
+            return name;
+        }
+        
+        /**
+         * Returns the clip path reference attribute for a clip, writing the 
+         * clip path the first time it is seen.  If the clip contains the 
+         * whole document, an empty string is returned.
+         * 
+         * @param clip  the clip in device space ({@code null} permitted).
+         * 
+         * @return The attribute (possibly empty). 
+         */
+        String clipAttribute(Shape clip) {
+            if (clip == null || clip.contains(0, 0, this.width, 
+                    this.height)) {
+                return "";
+            }
+            StringBuilder b = new StringBuilder();
+            appendPathData(b, clip, null);
+            String data = b.toString();
+            String id = this.clipIDs.get(data);
+            if (id == null) {
+                id = "cp" + this.clipIDs.size();
+                this.clipIDs.put(data, id);
+                write("<clipPath id=\"" + id + "\"><path d=\"" + data 
+                        + "\"/></clipPath>\n");
+            }
+            return " clip-path=\"url(#" + id + ")\"";
+        }
+        
+        /**
+         * Returns the id for a gradient paint, writing the gradient 
+         * definition the first time it is seen.
+         * 
+         * @param paint  the paint (a {@code GradientPaint} or 
+         *     {@code MultipleGradientPaint}).
+         * @param t  the current transform.
+         * 
+         * @return The id. 
+         */
+        String gradientID(Paint paint, AffineTransform t) {
+            StringBuilder b = new StringBuilder(128);
+            if (paint instanceof GradientPaint) {
+                GradientPaint gp = (GradientPaint) paint;
+                appendLinearGradient(b, gp.getPoint1().getX(), 
+                        gp.getPoint1().getY(), gp.getPoint2().getX(), 
+                        gp.getPoint2().getY(), new float[] {0f, 1f}, 
+                        new Color[] {gp.getColor1(), gp.getColor2()}, 
+                        gp.isCyclic() ? "reflect" : null, t);
+            } else if (paint instanceof LinearGradientPaint) {
+                LinearGradientPaint lgp = (LinearGradientPaint) paint;
+                String spread = null;
+                if (lgp.getCycleMethod() 
+                        == MultipleGradientPaint.CycleMethod.REFLECT) {
+                    spread = "reflect";
+                } else if (lgp.getCycleMethod() 
+                        == MultipleGradientPaint.CycleMethod.REPEAT) {
+                    spread = "repeat";
+                }
+                AffineTransform gt = new AffineTransform(t);
+                gt.concatenate(lgp.getTransform());
+                appendLinearGradient(b, lgp.getStartPoint().getX(), 
+                        lgp.getStartPoint().getY(), lgp.getEndPoint().getX(), 
+                        lgp.getEndPoint().getY(), lgp.getFractions(), 
+                        lgp.getColors(), spread, gt);
+            } else {
+                // other gradients are approximated by their first color
+                MultipleGradientPaint mgp = (MultipleGradientPaint) paint;
+                Color c = mgp.getColors()[0];
+                appendLinearGradient(b, 0, 0, 1, 0, new float[] {0f}, 
+                        new Color[] {c}, null, t);
+            }
+            String definition = b.toString();
+            String id = this.gradientIDs.get(definition);
+            if (id == null) {
+                id = "lg" + this.gradientIDs.size();
+                this.gradientIDs.put(definition, id);
+                write("<linearGradient id=\"" + id + "\"" + definition 
+                        + "</linearGradient>\n");
+            }
+            return id;
+        }
+        
+        private void appendLinearGradient(StringBuilder b, double x1, 
+                double y1, double x2, double y2, float[] fractions, 
+                Color[] colors, String spread, AffineTransform t) {
+            double[] pts = {x1, y1, x2, y2};
+            t.transform(pts, 0, pts, 0, 2);
+            b.append(" gradientUnits=\"userSpaceOnUse\" x1=\"");
+            appendNumber(b, pts[0]);
+            b.append("\" y1=\"");
+            appendNumber(b, pts[1]);
+            b.append("\" x2=\"");
+            appendNumber(b, pts[2]);
+            b.append("\" y2=\"");
+            appendNumber(b, pts[3]);
+            b.append('"');
+            if (spread != null) {
+                b.append(" spreadMethod=\"").append(spread).append('"');
+            }
+            b.append('>');
+            for (int i = 0; i < fractions.length; i++) {
+                b.append("<stop offset=\"");
+                appendNumber(b, fractions[i]);
+                b.append("\" stop-color=\"");
+                appendRGB(b, colors[i]);
+                b.append('"');
+                if (colors[i].getAlpha() < 255) {
+                    b.append(" stop-opacity=\"");
+                    appendNumber(b, colors[i].getAlpha() / 255.0);
+                    b.append('"');
+                }
+                b.append("/>");
+            }
+        }
+        
+        void writeShape(Shape s, AffineTransform t, Shape clip, 
+                String style) {
+            String styleClass = styleClass(style);
+            String clipAttr = clipAttribute(clip);
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            b.append("<path class=\"").append(styleClass).append('"')
+                    .append(clipAttr).append(" d=\"");
+            appendPathData(b, s, t);
+            b.append("\"/>\n");
+            write(b);
+        }
+        
+        void writeText(String text, float x, float y, AffineTransform t, 
+                Shape clip, String style) {
+            String styleClass = styleClass(style);
+            String clipAttr = clipAttribute(clip);
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            b.append("<text class=\"").append(styleClass).append('"')
+                    .append(clipAttr);
+            if (t.getType() == AffineTransform.TYPE_IDENTITY 
+                    || t.getType() == AffineTransform.TYPE_TRANSLATION) {
+                b.append(" x=\"");
+                appendNumber(b, x + t.getTranslateX());
+                b.append("\" y=\"");
+                appendNumber(b, y + t.getTranslateY());
+                b.append('"');
+            } else {
+                b.append(" transform=\"matrix(");
+                appendNumber(b, t.getScaleX());
+                b.append(' ');
+                appendNumber(b, t.getShearY());
+                b.append(' ');
+                appendNumber(b, t.getShearX());
+                b.append(' ');
+                appendNumber(b, t.getScaleY());
+                b.append(' ');
+                appendNumber(b, t.getTranslateX());
+                b.append(' ');
+                appendNumber(b, t.getTranslateY());
+                b.append(")\" x=\"");
+                appendNumber(b, x);
+                b.append("\" y=\"");
+                appendNumber(b, y);
+                b.append('"');
+            }
+            b.append(" xml:space=\"preserve\">");
+            appendEscaped(b, text);
+            b.append("</text>\n");
+            write(b);
+        }
+        
+        void writeImage(BufferedImage image, AffineTransform t, Shape clip) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(image, "png", bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            String clipAttr = clipAttribute(clip);
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            b.append("<image").append(clipAttr)
+                    .append(" transform=\"matrix(");
+            appendNumber(b, t.getScaleX());
+            b.append(' ');
+            appendNumber(b, t.getShearY());
+            b.append(' ');
+            appendNumber(b, t.getShearX());
+            b.append(' ');
+            appendNumber(b, t.getScaleY());
+            b.append(' ');
+            appendNumber(b, t.getTranslateX());
+            b.append(' ');
+            appendNumber(b, t.getTranslateY());
+            b.append(")\" width=\"").append(image.getWidth())
+                    .append("\" height=\"").append(image.getHeight())
+                    .append("\" preserveAspectRatio=\"none\" "
+                    + "xlink:href=\"data:image/png;base64,");
+            b.append(Base64.getEncoder().encodeToString(bytes.toByteArray()));
+            b.append("\"/>\n");
+            write(b);
+        }
+        
+        /**
+         * Starts a group for an element hint.  The value is either a 
+         * string (the element id) or a map with optional "id" and "ref" 
+         * entries.
+         * 
+         * @param hintValue  the hint value.
+         */
+        void beginGroup(Object hintValue) {
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            b.append("<g");
+            if (hintValue instanceof String) {
+                appendAttribute(b, "id", (String) hintValue);
+            } else if (hintValue instanceof Map) {
+                Map<?, ?> m = (Map<?, ?>) hintValue;
+                Object id = m.get("id");
+                if (id != null) {
+                    appendAttribute(b, "id", id.toString());
+                }
+                Object ref = m.get("ref");
+                if (ref != null) {
+                    appendAttribute(b, "data-ref", ref.toString());
+                }
+            }
+            b.append(">\n");
+            write(b);
+            this.openGroups++;
+        }
+        
+        void endGroup() {
+            if (this.openGroups > 0) {
+                write("</g>\n");
+                this.openGroups--;
+            }
+        }
+        
+        private static void appendAttribute(StringBuilder b, String name, 
+                String value) {
+            b.append(' ').append(name).append("=\"");
+            appendEscaped(b, value);
+            b.append('"');
+        }
+        
+        private static void appendEscaped(StringBuilder b, String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '&':
+                        b.append("&amp;");
+                        break;
+                    case '<':
+                        b.append("&lt;");
+                        break;
+                    case '>':
+                        b.append("&gt;");
+                        break;
+                    case '"':
+                        b.append("&quot;");
+                        break;
+                    case '\'':
+                        b.append("&apos;");
+                        break;
+                    default:
+                        b.append(c);
+                }
+            }
+        }
+    }
+    
+    /**
+     * The device configuration for the SVG output.  The device is not an
+     * image buffer, so code that checks the device type (for example to 
+     * decide between drawing a bitmap or vector shapes) treats the output 
+     * as a vector target.
+     */
+    private static final class SVGGraphicsConfiguration 
+            extends GraphicsConfiguration {
+        
+        /** The device. */
+        private final GraphicsDevice device;
+        
+        /** The document bounds. */
+        private final Rectangle bounds;
+        
+        SVGGraphicsConfiguration(int width, int height) {
+            this.device = new SVGGraphicsDevice(this);
+            this.bounds = new Rectangle(width, height);
+        }
+
+        @Override
+        public GraphicsDevice getDevice() {
+            return this.device;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return ColorModel.getRGBdefault();
+        }
+
+        @Override
+        public ColorModel getColorModel(int transparency) {
+            return ColorModel.getRGBdefault();
+        }
+
+        @Override
+        public AffineTransform getDefaultTransform() {
+            return new AffineTransform();
+        }
+
+        @Override
+        public AffineTransform getNormalizingTransform() {
+            return new AffineTransform();
+        }
+
+        @Override
+        public Rectangle getBounds() {
+            return new Rectangle(this.bounds);
+        }
+    }
+    
+    /**
+     * The graphics device for the SVG output, reported as a printer since
+     * the output is a vector document.
+     */
+    private static final class SVGGraphicsDevice extends GraphicsDevice {
+        
+        /** The only configuration for the device. */
+        private final GraphicsConfiguration configuration;
+        
+        SVGGraphicsDevice(GraphicsConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public int getType() {
+            return GraphicsDevice.TYPE_PRINTER;
+        }
+
+        @Override
+        public String getIDstring() {
+            return "StreamingSVGGraphics2D";
+        }
+
+        @Override
+        public GraphicsConfiguration[] getConfigurations() {
+            return new GraphicsConfiguration[] { this.configuration };
+        }
+
+        @Override
+        public GraphicsConfiguration getDefaultConfiguration() {
+            return this.configuration;
+        }
+    }
+
+}
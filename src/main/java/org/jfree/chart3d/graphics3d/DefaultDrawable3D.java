@@ -38,12 +38,13 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
 import org.jfree.chart3d.internal.Args;
 import org.jfree.chart3d.Chart3D;
+import org.jfree.chart3d.Chart3DHints;
 import org.jfree.chart3d.graphics3d.internal.Utils2D;
 import org.jfree.chart3d.graphics3d.internal.ZOrderComparator;
 
@@ -73,6 +74,9 @@ public class DefaultDrawable3D implements Drawable3D {
     private World world;
 
     private Offset2D offset;
+    
+    /** Shaded face colors reused across draws. */
+    private final ShadePalette shadePalette;
 
     /**
      * Creates a new instance to display the content of the specified
@@ -87,6 +91,7 @@ public class DefaultDrawable3D implements Drawable3D {
         this.projDist = DEFAULT_PROJ_DIST;
         this.world = world;
         this.offset = new Offset2D();
+        this.shadePalette = new ShadePalette();
     }
     
     /**
@@ -176,8 +181,11 @@ public class DefaultDrawable3D implements Drawable3D {
         double dx = bounds.getWidth() / 2;
         double dy = bounds.getHeight() / 2;
         g2.translate(dx, dy);
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-                RenderingHints.VALUE_ANTIALIAS_ON);
+        boolean interactive = Boolean.TRUE.equals(g2.getRenderingHint(
+                Chart3DHints.KEY_INTERACTIVE_QUALITY));
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, interactive 
+                ? RenderingHints.VALUE_ANTIALIAS_OFF 
+                : RenderingHints.VALUE_ANTIALIAS_ON);
 
         Point3D[] eyePts = this.world.calculateEyeCoordinates(this.viewPoint);
 
@@ -188,32 +196,26 @@ public class DefaultDrawable3D implements Drawable3D {
         // sort faces by z-order
         facesInPaintOrder.sort(new ZOrderComparator(eyePts));
 
+        // one path is reused for all faces
+        Path2D path = new Path2D.Float();
+        this.world.prepareLighting(this.viewPoint);
         for (Face f : facesInPaintOrder) {
-            double[] plane = f.calculateNormal(eyePts);
-            double inprod = plane[0] * this.world.getSunX() + plane[1]
-                    * this.world.getSunY() + plane[2] * this.world.getSunZ();
-            double shade = (inprod + 1) / 2.0;
+            if (f instanceof PolylineFace) {
+                g2.setPaint(f.getColor());
+                g2.draw(f.createPath(pts, path));
+                continue;
+            }
             if (Utils2D.area2(pts[f.getVertexIndex(0)],
                     pts[f.getVertexIndex(1)], pts[f.getVertexIndex(2)]) > 0) {
                 Color c = f.getColor();
                 if (c != null) {
-                    GeneralPath p = new GeneralPath();
-                    for (int v = 0; v < f.getVertexCount(); v++) {
-                        if (v == 0) {
-                            p.moveTo(pts[f.getVertexIndex(v)].getX(),
-                                    pts[f.getVertexIndex(v)].getY());
-                        }
-                        else {
-                            p.lineTo(pts[f.getVertexIndex(v)].getX(),
-                                    pts[f.getVertexIndex(v)].getY());
-                        }
+                    f.createPath(pts, path);
+                    double shade = this.world.calculateShade(f);
+                    g2.setPaint(this.shadePalette.getShade(c, shade));
+                    g2.fill(path);
+                    if (!interactive) {
+                        g2.draw(path);
                     }
-                    p.closePath();
-                    g2.setPaint(new Color((int) (c.getRed() * shade),
-                        (int) (c.getGreen() * shade),
-                        (int) (c.getBlue() * shade), c.getAlpha()));
-                    g2.fill(p);
-                    g2.draw(p);
                 }
             } 
         }
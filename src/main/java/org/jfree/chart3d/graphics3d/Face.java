@@ -62,6 +62,19 @@ public class Face {
      * case with just two vertices to represent a line.
      */
     private int[] vertices;
+    
+    /** 
+     * The unit normal in world coordinates, calculated when first required
+     * (the owner's vertices cannot be changed once added, so this never
+     * needs to be recalculated).
+     */
+    private double[] normal;
+    
+    /** The lighting revision that {@code shade} was calculated for. */
+    private long shadeRevision = -1L;
+    
+    /** The cached shade factor. */
+    private double shade;
 
     /**
      * Creates a new face with the specified vertices that is part of the 3D
@@ -181,26 +194,110 @@ public class Face {
      * @return The normal vector.
      */
     public double[] calculateNormal(Point3D[] points) {
-        int iA = this.vertices[0] + this.offset;
-        int iB = this.vertices[1] + this.offset;
-        int iC = this.vertices[2] + this.offset;
-        double aX = points[iA].x;
-        double aY = points[iA].y;
-        double aZ = points[iA].z;
-        double bX = points[iB].x;
-        double bY = points[iB].y;
-        double bZ = points[iB].z;
-        double cX = points[iC].x;
-        double cY = points[iC].y;
-        double cZ = points[iC].z;
-        double u1 = bX - aX, u2 = bY - aY, u3 = bZ - aZ;
-        double v1 = cX - aX, v2 = cY - aY, v3 = cZ - aZ;
-        double a = u2 * v3 - u3 * v2,
-               b = u3 * v1 - u1 * v3,
-               c = u1 * v2 - u2 * v1,
-               len = Math.sqrt(a * a + b * b + c * c);
-               a /= len; b /= len; c /= len;
-        return new double[] {a, b, c};
+        return calculateNormal(points, new double[3]);
+    }
+
+    /**
+     * Calculates the normal vector for this face and writes it into the 
+     * supplied array, so that callers drawing many faces can reuse one
+     * array.
+     *
+     * @param points  the vertices of the object that this face belongs to
+     *     (these can be in world or eye coordinates).
+     * @param result  an array with length 3 to hold the result 
+     *     ({@code null} not permitted).
+     *
+     * @return The {@code result} array.
+     * 
+     * @since 2.1.2
+     */
+    public double[] calculateNormal(Point3D[] points, double[] result) {
+        return normal(points[this.vertices[0] + this.offset], 
+                points[this.vertices[1] + this.offset], 
+                points[this.vertices[2] + this.offset], result);
+    }
+    
+    /**
+     * Calculates the unit normal for the plane through three points.
+     * 
+     * @param a  the first point.
+     * @param b  the second point.
+     * @param c  the third point.
+     * @param result  an array with length 3 to hold the result.
+     * 
+     * @return The {@code result} array. 
+     */
+    private static double[] normal(Point3D a, Point3D b, Point3D c, 
+            double[] result) {
+        double u1 = b.x - a.x, u2 = b.y - a.y, u3 = b.z - a.z;
+        double v1 = c.x - a.x, v2 = c.y - a.y, v3 = c.z - a.z;
+        double nx = u2 * v3 - u3 * v2,
+               ny = u3 * v1 - u1 * v3,
+               nz = u1 * v2 - u2 * v1,
+               len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        result[0] = nx / len;
+        result[1] = ny / len;
+        result[2] = nz / len;
+        return result;
+    }
+
+    /**
+     * Returns the unit normal for this face in world coordinates.  The 
+     * normal is calculated from the owner's vertices the first time it is 
+     * required and cached after that.  A face with only two vertices (a 
+     * line) has no normal and this method returns {@code null}.
+     * 
+     * @return A new array containing the normal (possibly {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public double[] getNormal() {
+        if (this.vertices.length < 3) {
+            return null;
+        }
+        return worldNormal().clone();
+    }
+    
+    /**
+     * Returns the cached world normal, calculating it if necessary.  The 
+     * face must have at least three vertices.
+     * 
+     * @return The normal (never {@code null}). 
+     */
+    double[] worldNormal() {
+        if (this.normal == null) {
+            this.normal = normal(this.owner.getVertex(this.vertices[0]),
+                    this.owner.getVertex(this.vertices[1]),
+                    this.owner.getVertex(this.vertices[2]), new double[3]);
+        }
+        return this.normal;
+    }
+    
+    /**
+     * Returns the shade factor (in the range 0.0 to 1.0) for this face with 
+     * the sun at the specified direction in world coordinates.  The result 
+     * is cached and reused for as long as the {@code revision} is 
+     * unchanged, so callers must supply a new revision whenever the sun 
+     * direction changes (see {@link World#prepareLighting(ViewPoint3D)}).
+     * 
+     * @param sunX  the x-component of the unit sun vector.
+     * @param sunY  the y-component of the unit sun vector.
+     * @param sunZ  the z-component of the unit sun vector.
+     * @param revision  the lighting revision.
+     * 
+     * @return The shade factor.
+     * 
+     * @since 2.1.2
+     */
+    public double calculateShade(double sunX, double sunY, double sunZ, 
+            long revision) {
+        if (revision != this.shadeRevision) {
+            double[] n = worldNormal();
+            double inprod = n[0] * sunX + n[1] * sunY + n[2] * sunZ;
+            this.shade = (inprod + 1) / 2.0;
+            this.shadeRevision = revision;
+        }
+        return this.shade;
     }
 
     /**
@@ -242,7 +339,23 @@ public class Face {
      * @since 1.3
      */
     public Path2D createPath(Point2D[] pts) {
-        Path2D path = new Path2D.Float();
+        return createPath(pts, new Path2D.Float());
+    }
+    
+    /**
+     * Resets the supplied path and sets it to the outline of this face, so
+     * that callers drawing many faces can reuse one path.
+     * 
+     * @param pts  the projected points for the world ({@code null} not 
+     *     permitted).
+     * @param path  the path to update ({@code null} not permitted).
+     * 
+     * @return The {@code path}.
+     * 
+     * @since 2.1.2
+     */
+    public Path2D createPath(Point2D[] pts, Path2D path) {
+        path.reset();
         for (int v = 0; v < getVertexCount(); v++) {
             Point2D pt = pts[getVertexIndex(v)];
             if (v == 0) {
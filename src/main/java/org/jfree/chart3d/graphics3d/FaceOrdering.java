@@ -0,0 +1,67 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.graphics3d;
+
+/**
+ * The methods that a {@code Chart3D} can use to order the faces of its 3D 
+ * model for painting (back to front).
+ * 
+ * @since 2.1.2
+ */
+public enum FaceOrdering {
+    
+    /** 
+     * Faces are sorted by the average z-value of their vertices for every 
+     * frame.  This is fast to set up but can give the wrong order for faces
+     * that overlap in depth.
+     */
+    Z_ORDER,
+    
+    /**
+     * Faces are sorted by the average z-value of their vertices (giving the
+     * same result as {@link #Z_ORDER}), but the order from the previous 
+     * frame is kept and repaired when the view changes.  This is faster 
+     * when a chart is rotated in small steps (as in a mouse drag).
+     */
+    INCREMENTAL_Z_ORDER,
+    
+    /** 
+     * Faces are ordered using a binary space partitioning tree that is built
+     * once for each world (splitting faces that cross a partitioning plane)
+     * and then traversed in linear time for each frame.  This gives the 
+     * correct order from any view point, and suits charts that are rotated 
+     * more often than their data changes.
+     */
+    BSP_TREE
+    
+}
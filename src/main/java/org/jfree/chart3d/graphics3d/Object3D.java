@@ -243,6 +243,19 @@ public class Object3D {
         return this.vertices.size();
     }
 
+    /**
+     * Returns the vertex with the specified index.
+     * 
+     * @param index  the vertex index.
+     * 
+     * @return The vertex (never {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public Point3D getVertex(int index) {
+        return this.vertices.get(index);
+    }
+
     /**
      * Adds a new object vertex with the specified coordinates.
      * 
@@ -331,6 +344,22 @@ public class Object3D {
         return this.faces;
     }
 
+    /**
+     * Calculates and caches the world normals for all the faces of this 
+     * object (faces otherwise calculate their normal the first time it is 
+     * required).  Call this once the object is complete, to move the work 
+     * out of the first draw.
+     * 
+     * @since 2.1.2
+     */
+    public void precomputeNormals() {
+        for (Face face : this.faces) {
+            if (face.getVertexCount() >= 3) {
+                face.worldNormal();
+            }
+        }
+    }
+
     /**
      * Calculates the projected points for the object's vertices, for the
      * given viewpoint.
@@ -0,0 +1,84 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+
+/**
+ * A face that represents an open polyline (a run of connected line 
+ * segments) rather than a filled polygon.  The face is depth-sorted as a 
+ * unit and drawn with a single stroke.  Instances are created by 
+ * {@link PolylineObject3D}.
+ * 
+ * @since 2.1.2
+ */
+public class PolylineFace extends Face {
+    
+    /**
+     * Creates a new face.
+     * 
+     * @param owner  the owner ({@code null} not permitted).
+     * @param vertices  the vertex indices in order along the line (array 
+     *     length &gt;= 2).
+     */
+    public PolylineFace(Object3D owner, int[] vertices) {
+        super(owner, vertices);
+    }
+    
+    /**
+     * Resets the supplied path and sets it to the (open) polyline for this 
+     * face.
+     * 
+     * @param pts  the projected points for the world ({@code null} not 
+     *     permitted).
+     * @param path  the path to update ({@code null} not permitted).
+     * 
+     * @return The {@code path}. 
+     */
+    @Override
+    public Path2D createPath(Point2D[] pts, Path2D path) {
+        path.reset();
+        for (int v = 0; v < getVertexCount(); v++) {
+            Point2D pt = pts[getVertexIndex(v)];
+            if (v == 0) {
+                path.moveTo(pt.getX(), pt.getY());
+            } else {
+                path.lineTo(pt.getX(), pt.getY());
+            }
+        }
+        return path;
+    }
+    
+}
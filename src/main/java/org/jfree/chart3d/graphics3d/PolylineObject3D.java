@@ -0,0 +1,190 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A 3D object made up of one or more polylines that share a single strip of
+ * vertices (each interior vertex is used by two segments).  This is much 
+ * lighter than a {@link LineObject3D} per segment for long lines.  The 
+ * polylines are split into {@link PolylineFace} runs of at most 
+ * {@code maxSegmentsPerFace} segments, so that the painter's algorithm can
+ * still interleave long lines with other objects in the world.
+ * <br><br>
+ * Lines are built with {@link #moveTo(double, double, double)} and 
+ * {@link #lineTo(double, double, double)}, in the same way as a 
+ * {@code Path2D}.
+ * 
+ * @since 2.1.2
+ */
+public class PolylineObject3D extends Object3D {
+    
+    /** The default maximum number of segments per face. */
+    public static final int DEFAULT_MAX_SEGMENTS_PER_FACE = 32;
+    
+    /** The maximum number of segments in one face. */
+    private final int maxSegmentsPerFace;
+    
+    /** The vertex indices for the run that is being built. */
+    private int[] run;
+    
+    /** The number of vertices in the current run. */
+    private int runLength;
+    
+    /**
+     * Creates a new object with the default maximum number of segments per
+     * face.
+     * 
+     * @param color  the color ({@code null} not permitted).
+     */
+    public PolylineObject3D(Color color) {
+        this(color, DEFAULT_MAX_SEGMENTS_PER_FACE);
+    }
+    
+    /**
+     * Creates a new object.
+     * 
+     * @param color  the color ({@code null} not permitted).
+     * @param maxSegmentsPerFace  the maximum number of segments in one face
+     *     (must be at least 1).
+     */
+    public PolylineObject3D(Color color, int maxSegmentsPerFace) {
+        super(color);
+        Args.positiveRequired(maxSegmentsPerFace, "maxSegmentsPerFace");
+        this.maxSegmentsPerFace = maxSegmentsPerFace;
+        this.run = new int[maxSegmentsPerFace + 1];
+        this.runLength = 0;
+    }
+    
+    /**
+     * Returns the maximum number of segments in one face.
+     * 
+     * @return The maximum number of segments in one face.
+     */
+    public int getMaxSegmentsPerFace() {
+        return this.maxSegmentsPerFace;
+    }
+    
+    /**
+     * Starts a new polyline at the specified point.
+     * 
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param z  the z-coordinate.
+     */
+    public void moveTo(double x, double y, double z) {
+        endRun();
+        addVertex(x, y, z);
+        this.run[0] = getVertexCount() - 1;
+        this.runLength = 1;
+    }
+    
+    /**
+     * Adds a line segment from the current point to the specified point.
+     * If there is no current point, this method behaves like 
+     * {@link #moveTo(double, double, double)}.
+     * 
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param z  the z-coordinate.
+     */
+    public void lineTo(double x, double y, double z) {
+        if (this.runLength == 0) {
+            moveTo(x, y, z);
+            return;
+        }
+        addVertex(x, y, z);
+        this.run[this.runLength++] = getVertexCount() - 1;
+        if (this.runLength == this.run.length) {
+            // the run is full, the next run continues from the last vertex
+            int last = this.run[this.runLength - 1];
+            endRun();
+            this.run[0] = last;
+            this.runLength = 1;
+        }
+    }
+    
+    /**
+     * Ends the current polyline, if there is one, so that the next segment
+     * must start with a call to {@link #moveTo(double, double, double)}.
+     */
+    public void endRun() {
+        if (this.runLength >= 2) {
+            addFace(new PolylineFace(this, 
+                    Arrays.copyOf(this.run, this.runLength)));
+        }
+        this.runLength = 0;
+    }
+
+    /**
+     * Returns the number of faces (any unfinished run is ended first).
+     *
+     * @return The number of faces.
+     */
+    @Override
+    public int getFaceCount() {
+        endRunIfPending();
+        return super.getFaceCount();
+    }
+
+    /**
+     * Returns the faces for this object (any unfinished run is ended 
+     * first).
+     * 
+     * @return The faces. 
+     */
+    @Override
+    public List<Face> getFaces() {
+        endRunIfPending();
+        return super.getFaces();
+    }
+    
+    /**
+     * Ends the current run if it contains at least one segment, keeping the
+     * last vertex as the current point so that building can continue.
+     */
+    private void endRunIfPending() {
+        if (this.runLength >= 2) {
+            int last = this.run[this.runLength - 1];
+            endRun();
+            this.run[0] = last;
+            this.runLength = 1;
+        }
+    }
+    
+}
@@ -0,0 +1,347 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * Timings and counts collected while drawing a chart, to help find where 
+ * the time goes when a chart is slow to render.  A new instance is attached
+ * to the {@link RenderingInfo} for each draw when metrics collection is 
+ * switched on for the chart (see 
+ * {@code Chart3D.setRenderMetricsEnabled(boolean)}), otherwise no metrics 
+ * are collected.
+ * 
+ * @since 2.1.2
+ */
+public class RenderMetrics {
+    
+    /** The elapsed time (in nanoseconds) for each phase. */
+    private final long[] nanos;
+    
+    /** The number of vertices in the world. */
+    private int vertexCount;
+    
+    /** The number of faces in the world. */
+    private int faceCount;
+    
+    /** The number of faces that were not drawn (facing away). */
+    private int culledFaceCount;
+    
+    /** The number of 3D objects in the world. */
+    private int objectCount;
+    
+    /** The number of 3D objects skipped because they were outside the view. */
+    private int offscreenObjectCount;
+    
+    /** Was the world composed during this draw? */
+    private boolean worldComposed;
+    
+    /** Were the chart box and axis ticks calculated during this draw? */
+    private boolean chartBoxUpdated;
+    
+    /** Was the paint order from the previous draw repaired (not rebuilt)? */
+    private boolean faceOrderReused;
+    
+    /** The number of faces that changed position in the paint order. */
+    private int movedFaceCount;
+    
+    /**
+     * Creates a new instance with all timings and counts set to zero.
+     */
+    public RenderMetrics() {
+        this.nanos = new long[RenderPhase.values().length];
+    }
+    
+    /**
+     * Returns the elapsed time, in nanoseconds, for a rendering phase.
+     * 
+     * @param phase  the phase ({@code null} not permitted).
+     * 
+     * @return The elapsed time in nanoseconds. 
+     */
+    public long getNanos(RenderPhase phase) {
+        Args.nullNotPermitted(phase, "phase");
+        return this.nanos[phase.ordinal()];
+    }
+    
+    /**
+     * Adds to the elapsed time for a rendering phase.
+     * 
+     * @param phase  the phase ({@code null} not permitted).
+     * @param elapsed  the elapsed time in nanoseconds.
+     */
+    public void addNanos(RenderPhase phase, long elapsed) {
+        Args.nullNotPermitted(phase, "phase");
+        this.nanos[phase.ordinal()] += elapsed;
+    }
+    
+    /**
+     * Returns the total elapsed time, in nanoseconds, for all phases.
+     * 
+     * @return The total elapsed time in nanoseconds. 
+     */
+    public long getTotalNanos() {
+        long result = 0L;
+        for (long n : this.nanos) {
+            result += n;
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the number of vertices in the world that was rendered.
+     * 
+     * @return The vertex count. 
+     */
+    public int getVertexCount() {
+        return this.vertexCount;
+    }
+    
+    /**
+     * Sets the number of vertices in the world that was rendered.
+     * 
+     * @param count  the count.
+     */
+    public void setVertexCount(int count) {
+        this.vertexCount = count;
+    }
+    
+    /**
+     * Returns the number of faces in the world that was rendered.
+     * 
+     * @return The face count. 
+     */
+    public int getFaceCount() {
+        return this.faceCount;
+    }
+    
+    /**
+     * Sets the number of faces in the world that was rendered.
+     * 
+     * @param count  the count.
+     */
+    public void setFaceCount(int count) {
+        this.faceCount = count;
+    }
+    
+    /**
+     * Returns the number of faces that were not drawn because they face 
+     * away from the viewer.
+     * 
+     * @return The culled face count. 
+     */
+    public int getCulledFaceCount() {
+        return this.culledFaceCount;
+    }
+    
+    /**
+     * Sets the number of faces that were not drawn because they face away 
+     * from the viewer.
+     * 
+     * @param count  the count.
+     */
+    public void setCulledFaceCount(int count) {
+        this.culledFaceCount = count;
+    }
+    
+    /**
+     * Returns the number of 3D objects in the world that was rendered.  
+     * The objects (along with their vertices and faces) are only allocated 
+     * when the world is composed, see {@link #isWorldComposed()}.
+     * 
+     * @return The object count. 
+     */
+    public int getObjectCount() {
+        return this.objectCount;
+    }
+    
+    /**
+     * Sets the number of 3D objects in the world that was rendered.
+     * 
+     * @param count  the count.
+     */
+    public void setObjectCount(int count) {
+        this.objectCount = count;
+    }
+    
+    /**
+     * Returns the number of 3D objects that were skipped because they were
+     * outside the drawing area.  This is only recorded when view culling is
+     * switched on for the chart (see {@code Chart3D.setViewCulling(boolean)}).
+     * 
+     * @return The offscreen object count. 
+     * 
+     * @since 2.1.2
+     */
+    public int getOffscreenObjectCount() {
+        return this.offscreenObjectCount;
+    }
+    
+    /**
+     * Sets the number of 3D objects that were skipped because they were 
+     * outside the drawing area.
+     * 
+     * @param count  the count.
+     * 
+     * @since 2.1.2
+     */
+    public void setOffscreenObjectCount(int count) {
+        this.offscreenObjectCount = count;
+    }
+    
+    /**
+     * Returns {@code true} if the world was composed during the draw, and
+     * {@code false} if a previously composed world was reused.
+     * 
+     * @return A boolean. 
+     */
+    public boolean isWorldComposed() {
+        return this.worldComposed;
+    }
+    
+    /**
+     * Sets the flag that records whether the world was composed during the 
+     * draw.
+     * 
+     * @param composed  the new flag value.
+     */
+    public void setWorldComposed(boolean composed) {
+        this.worldComposed = composed;
+    }
+    
+    /**
+     * Returns {@code true} if the chart box (including the axis tick 
+     * selection) was calculated during the draw, and {@code false} if it 
+     * was reused from a previous draw (or the plot has no chart box).
+     * 
+     * @return A boolean. 
+     * 
+     * @since 2.1.2
+     */
+    public boolean isChartBoxUpdated() {
+        return this.chartBoxUpdated;
+    }
+    
+    /**
+     * Sets the flag that records whether the chart box was calculated during
+     * the draw.
+     * 
+     * @param updated  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setChartBoxUpdated(boolean updated) {
+        this.chartBoxUpdated = updated;
+    }
+    
+    /**
+     * Returns {@code true} if the paint order of the faces was repaired from
+     * the previous draw rather than sorted from scratch.  This is only
+     * recorded for the {@link FaceOrdering#INCREMENTAL_Z_ORDER} ordering.
+     * 
+     * @return A boolean. 
+     * 
+     * @since 2.1.2
+     */
+    public boolean isFaceOrderReused() {
+        return this.faceOrderReused;
+    }
+    
+    /**
+     * Sets the flag that records whether the paint order of the faces was 
+     * repaired from the previous draw.
+     * 
+     * @param reused  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setFaceOrderReused(boolean reused) {
+        this.faceOrderReused = reused;
+    }
+    
+    /**
+     * Returns the number of faces that changed position in the paint order
+     * since the previous draw.  This is only recorded for the 
+     * {@link FaceOrdering#INCREMENTAL_Z_ORDER} ordering.
+     * 
+     * @return The moved face count. 
+     * 
+     * @since 2.1.2
+     */
+    public int getMovedFaceCount() {
+        return this.movedFaceCount;
+    }
+    
+    /**
+     * Sets the number of faces that changed position in the paint order 
+     * since the previous draw.
+     * 
+     * @param count  the count.
+     * 
+     * @since 2.1.2
+     */
+    public void setMovedFaceCount(int count) {
+        this.movedFaceCount = count;
+    }
+    
+    /**
+     * Returns a string containing the timings (in microseconds) and counts,
+     * intended for logging.
+     * 
+     * @return A string. 
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RenderMetrics[");
+        for (RenderPhase phase : RenderPhase.values()) {
+            sb.append(phase).append('=')
+                    .append(this.nanos[phase.ordinal()] / 1000L)
+                    .append("us, ");
+        }
+        sb.append("total=").append(getTotalNanos() / 1000L).append("us");
+        sb.append(", vertices=").append(this.vertexCount);
+        sb.append(", faces=").append(this.faceCount);
+        sb.append(", culledFaces=").append(this.culledFaceCount);
+        sb.append(", objects=").append(this.objectCount);
+        sb.append(", offscreenObjects=").append(this.offscreenObjectCount);
+        sb.append(", worldComposed=").append(this.worldComposed);
+        sb.append(", chartBoxUpdated=").append(this.chartBoxUpdated);
+        sb.append(", faceOrderReused=").append(this.faceOrderReused);
+        sb.append(", movedFaces=").append(this.movedFaceCount);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,76 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+/**
+ * The phases of rendering a chart that are timed by {@link RenderMetrics}.
+ * 
+ * @since 2.1.2
+ */
+public enum RenderPhase {
+    
+    /** 
+     * Selecting axis tick units and building the chart box (tick and marker
+     * data). 
+     */
+    AXIS_SETUP,
+    
+    /** 
+     * Creating the world and composing the plot's 3D objects (this only 
+     * happens when the world needs to be rebuilt).
+     */
+    COMPOSE,
+    
+    /** Calculating the eye coordinates and projected points. */
+    PROJECTION,
+    
+    /** Sorting the faces into paint order. */
+    SORT,
+    
+    /** Filling the faces (including gridlines, markers and labels). */
+    FACES,
+    
+    /** Drawing the axis labels and tick labels. */
+    AXES,
+    
+    /** Drawing the section labels for a pie chart. */
+    PIE_LABELS,
+    
+    /** Laying out and drawing the legend. */
+    LEGEND,
+    
+    /** Laying out and drawing the title. */
+    TITLE
+
+}
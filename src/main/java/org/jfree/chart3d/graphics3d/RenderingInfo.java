@@ -69,6 +69,9 @@ public class RenderingInfo {
 
     List<RenderedElement> otherOffsetElements;
     
+    /** The render metrics ({@code null} if not collected). */
+    private RenderMetrics metrics;
+    
     /**
      * Creates a new instance.
      * 
@@ -128,6 +131,29 @@ public class RenderingInfo {
         return this.dy;
     }
     
+    /**
+     * Returns the timings and counts collected while rendering, or 
+     * {@code null} if metrics were not collected.
+     * 
+     * @return The metrics (possibly {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public RenderMetrics getMetrics() {
+        return this.metrics;
+    }
+    
+    /**
+     * Sets the timings and counts collected while rendering.
+     * 
+     * @param metrics  the metrics ({@code null} permitted).
+     * 
+     * @since 2.1.2
+     */
+    public void setMetrics(RenderMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
     /**
      * Adds a rendered element to the rendering info.
      * 
@@ -163,7 +189,8 @@ public class RenderingInfo {
                 if (bounds != null && bounds.contains(x - dx, y - dy)) {
                     return f.getOwner();
                 }
-            } else {
+            } else if (!(f instanceof PolylineFace)) {
+                // an open polyline encloses no area
                 Path2D p = f.createPath(this.projPts);
                 if (p.contains(x - dx, y - dy)) {
                     return f.getOwner();
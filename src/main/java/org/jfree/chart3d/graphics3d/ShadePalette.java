@@ -0,0 +1,173 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import java.awt.Color;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A cache of shaded variants of the face colors in a world.  Shading is 
+ * quantized to {@link #LEVELS} levels, so that drawing many faces of the 
+ * same base color reuses a small number of {@code Color} instances instead
+ * of creating a new one for every face in every frame.
+ * <br><br>
+ * This class is not thread-safe, it is intended to be owned by a single
+ * drawable.
+ * 
+ * @since 2.1.2
+ */
+public class ShadePalette {
+    
+    /** The number of shade levels for each base color. */
+    public static final int LEVELS = 256;
+    
+    /** 
+     * The maximum number of base colors that are cached (the least recently
+     * used base color is discarded when this is exceeded).
+     */
+    private static final int MAX_BASE_COLORS = 4096;
+    
+    /** The number of shade levels in each lazily allocated block. */
+    private static final int BLOCK_SIZE = 16;
+    
+    /** 
+     * Shaded colors keyed by the ARGB value of the base color.  Each value
+     * is an array of blocks of {@code BLOCK_SIZE} shade levels, and the 
+     * blocks are allocated only when a level within them is requested.
+     */
+    private final Map<Integer, Color[][]> shades;
+    
+    /** The ARGB value for the most recently used base color. */
+    private int lastRGB;
+    
+    /** 
+     * The shade blocks for the most recently used base color (consecutive
+     * faces often have the same color, so this avoids a map lookup).
+     */
+    private Color[][] lastBlocks;
+    
+    /**
+     * Creates a new empty palette.
+     */
+    public ShadePalette() {
+        this.shades = new LinkedHashMap<Integer, Color[][]>(64, 0.75f, 
+                true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Integer, Color[][]> eldest) {
+                return size() > MAX_BASE_COLORS;
+            }
+        };
+    }
+    
+    /**
+     * Returns the number of base colors currently in the cache.
+     * 
+     * @return The number of base colors. 
+     */
+    public int getBaseColorCount() {
+        return this.shades.size();
+    }
+    
+    /**
+     * Returns the shade level for a shade factor, which will be in the range
+     * {@code 0} to {@code LEVELS - 1}.
+     * 
+     * @param shade  the shade factor (values outside the range 0.0 to 1.0
+     *     are clamped).
+     * 
+     * @return The shade level. 
+     */
+    public static int level(double shade) {
+        if (!(shade > 0.0)) { // also catches NaN
+            return 0;
+        }
+        if (shade >= 1.0) {
+            return LEVELS - 1;
+        }
+        return (int) Math.round(shade * (LEVELS - 1));
+    }
+    
+    /**
+     * Returns the base color shaded by the specified factor (0.0 is black 
+     * and 1.0 is the base color, the alpha value is unchanged).  The factor
+     * is quantized (see {@link #level(double)}) and the resulting color is
+     * cached.
+     * 
+     * @param base  the base color ({@code null} not permitted).
+     * @param shade  the shade factor.
+     * 
+     * @return The shaded color (never {@code null}). 
+     */
+    public Color getShade(Color base, double shade) {
+        Args.nullNotPermitted(base, "base");
+        int rgb = base.getRGB();
+        Color[][] blocks = this.lastBlocks;
+        if (blocks == null || rgb != this.lastRGB) {
+            blocks = this.shades.get(rgb);
+            if (blocks == null) {
+                blocks = new Color[LEVELS / BLOCK_SIZE][];
+                this.shades.put(rgb, blocks);
+            }
+            this.lastRGB = rgb;
+            this.lastBlocks = blocks;
+        }
+        int level = level(shade);
+        Color[] block = blocks[level / BLOCK_SIZE];
+        if (block == null) {
+            block = new Color[BLOCK_SIZE];
+            blocks[level / BLOCK_SIZE] = block;
+        }
+        Color result = block[level % BLOCK_SIZE];
+        if (result == null) {
+            double f = level / (double) (LEVELS - 1);
+            result = new Color((int) (base.getRed() * f), 
+                    (int) (base.getGreen() * f), (int) (base.getBlue() * f), 
+                    base.getAlpha());
+            block[level % BLOCK_SIZE] = result;
+        }
+        return result;
+    }
+    
+    /**
+     * Clears all the cached colors.
+     */
+    public void clear() {
+        this.shades.clear();
+        this.lastBlocks = null;
+    }
+
+}
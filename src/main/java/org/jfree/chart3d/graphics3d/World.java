@@ -33,11 +33,18 @@
 package org.jfree.chart3d.graphics3d;
 
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jfree.chart3d.graphics3d.internal.BoundingVolumeHierarchy;
 import org.jfree.chart3d.graphics3d.internal.Utils3D;
 import org.jfree.chart3d.internal.Args;
 
@@ -62,6 +69,20 @@ public class World {
     private double sunX;
     private double sunY;
     private double sunZ;
+    
+    /** 
+     * A source of lighting revisions, shared by all worlds so that a face
+     * never sees the same revision for two different lighting setups.
+     */
+    private static final AtomicLong LIGHTING_REVISIONS = new AtomicLong();
+    
+    /** The sunlight vector in world coordinates for the prepared view. */
+    private double worldSunX;
+    private double worldSunY;
+    private double worldSunZ;
+    
+    /** The revision for the prepared lighting (-1 if not prepared). */
+    private long lightingRevision = -1L;
 
     /** 
      * Storage for the objects in the world.  A map is used to store
@@ -70,11 +91,25 @@ public class World {
      */
     private Map<String, List<Object3D>> objects;
     
+    /** 
+     * The bounding volume hierarchy for each partition, built on demand 
+     * and discarded when the partition is modified.
+     */
+    private Map<String, BoundingVolumeHierarchy> hierarchies;
+    
+    /** 
+     * The objects found to be outside the view by the most recent call to 
+     * {@link #prepareView(ViewPoint3D, double, Rectangle2D, String...)}, or
+     * {@code null}.
+     */
+    private Set<Object3D> culledObjects;
+    
     /**
      * Creates a new empty world.
      */
     public World() {
         this.objects = new java.util.TreeMap<>();
+        this.hierarchies = new HashMap<>();
         this.objects.put(DEFAULT_PARTITION_KEY, new ArrayList<>());
         setSunSource(new Point3D(2, -1, 10));
     }
@@ -133,6 +168,70 @@ public class World {
         this.sunX = normal.getX();
         this.sunY = normal.getY();
         this.sunZ = normal.getZ();
+        this.lightingRevision = -1L;
+    }
+    
+    /**
+     * Prepares the lighting for drawing the world from the specified view
+     * point.  The sunlight vector is fixed relative to the viewer, so this 
+     * method converts it to world coordinates where it can be combined with
+     * the (cached) world normals of the faces.  The shades cached by the 
+     * faces remain valid until the view direction or sun source changes.
+     * 
+     * @param viewPoint  the view point ({@code null} not permitted).
+     * 
+     * @since 2.1.2
+     */
+    public void prepareLighting(ViewPoint3D viewPoint) {
+        Args.nullNotPermitted(viewPoint, "viewPoint");
+        // the eye transform is rigid, so the sun vector in world coordinates 
+        // is the transpose of the rotation applied to the sun vector
+        Point3D o = viewPoint.worldToEye(Point3D.ORIGIN);
+        double x = sunDot(viewPoint.worldToEye(Point3D.UNIT_X), o);
+        double y = sunDot(viewPoint.worldToEye(Point3D.UNIT_Y), o);
+        double z = sunDot(viewPoint.worldToEye(Point3D.UNIT_Z), o);
+        if (this.lightingRevision < 0 || x != this.worldSunX 
+                || y != this.worldSunY || z != this.worldSunZ) {
+            this.worldSunX = x;
+            this.worldSunY = y;
+            this.worldSunZ = z;
+            this.lightingRevision = LIGHTING_REVISIONS.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Returns the dot product of the sun vector and the vector from 
+     * {@code o} to {@code p}.
+     * 
+     * @param p  the point.
+     * @param o  the origin.
+     * 
+     * @return The dot product. 
+     */
+    private double sunDot(Point3D p, Point3D o) {
+        return (p.x - o.x) * this.sunX + (p.y - o.y) * this.sunY 
+                + (p.z - o.z) * this.sunZ;
+    }
+    
+    /**
+     * Returns the shade factor (in the range 0.0 to 1.0) for a face, using
+     * the lighting set up by the most recent call to 
+     * {@link #prepareLighting(ViewPoint3D)}.
+     * 
+     * @param face  the face ({@code null} not permitted, and it must have 
+     *     at least three vertices).
+     * 
+     * @return The shade factor.
+     * 
+     * @since 2.1.2
+     */
+    public double calculateShade(Face face) {
+        if (this.lightingRevision < 0) {
+            throw new IllegalStateException(
+                    "The lighting has not been prepared.");
+        }
+        return face.calculateShade(this.worldSunX, this.worldSunY, 
+                this.worldSunZ, this.lightingRevision);
     }
     
     /**
@@ -162,6 +261,7 @@ public class World {
             this.objects.put(partition, list);
         }
         list.add(object);
+        invalidateView(partition);
     }
     
     /**
@@ -177,6 +277,34 @@ public class World {
         }
     }
 
+    /**
+     * Adds all the objects from another world to this world.  Each object
+     * is added to the partition with the same key as in the source world, 
+     * after any objects already in that partition, so that merging the 
+     * worlds for consecutive ranges of items (in order) gives the same 
+     * result as adding the objects to a single world.
+     * 
+     * @param world  the world ({@code null} not permitted).
+     * 
+     * @since 2.1.2
+     */
+    public void addAll(World world) {
+        Args.nullNotPermitted(world, "world");
+        for (Entry<String, List<Object3D>> entry : world.objects.entrySet()) {
+            List<Object3D> objs = entry.getValue();
+            if (objs == null || objs.isEmpty()) {
+                continue;
+            }
+            List<Object3D> list = this.objects.get(entry.getKey());
+            if (list == null) {
+                list = new ArrayList<>(objs.size());
+                this.objects.put(entry.getKey(), list);
+            }
+            list.addAll(objs);
+            invalidateView(entry.getKey());
+        }
+    }
+
     /**
      * Clears any objects belonging to the specified partition.
      * 
@@ -187,6 +315,99 @@ public class World {
     public void clear(String partitionKey) {
         Args.nullNotPermitted(partitionKey, "partitionKey");
         this.objects.put(partitionKey, null);
+        invalidateView(partitionKey);
+    }
+    
+    /**
+     * Discards the bounding volume hierarchy for a partition that has been
+     * modified, along with the culling from the last prepared view.
+     * 
+     * @param partitionKey  the partition key.
+     */
+    private void invalidateView(String partitionKey) {
+        this.hierarchies.remove(partitionKey);
+        this.culledObjects = null;
+    }
+    
+    /**
+     * Prepares to draw the world from the specified view point by finding 
+     * the objects that lie entirely outside the viewport (for example, when
+     * the view is zoomed in on part of the world).  The objects in each 
+     * partition are held in a bounding volume hierarchy, so whole groups of
+     * objects can be skipped with a single test.  The hierarchy for a 
+     * partition is built the first time it is needed and then reused until
+     * the partition is modified (objects that are changed after they are
+     * added to the world are not detected).  The result is used by 
+     * {@link #calculateVisibleEyeCoordinates(ViewPoint3D)}, 
+     * {@link #calculateVisibleProjectedPoints(ViewPoint3D, double)} and 
+     * {@link #getVisibleFaces()}.
+     * 
+     * @param vp  the view point ({@code null} not permitted).
+     * @param d  the projection distance.
+     * @param viewport  the visible area in projected coordinates 
+     *     ({@code null} not permitted).
+     * @param visiblePartitions  the keys for partitions whose objects are 
+     *     always treated as visible.
+     * 
+     * @since 2.1.2
+     */
+    public void prepareView(ViewPoint3D vp, double d, Rectangle2D viewport, 
+            String... visiblePartitions) {
+        Args.nullNotPermitted(vp, "vp");
+        Args.nullNotPermitted(viewport, "viewport");
+        Set<Object3D> culled = Collections.newSetFromMap(
+                new IdentityHashMap<Object3D, Boolean>());
+        for (Entry<String, List<Object3D>> entry : this.objects.entrySet()) {
+            List<Object3D> objs = entry.getValue();
+            if (objs == null || objs.isEmpty() 
+                    || contains(visiblePartitions, entry.getKey())) {
+                continue;
+            }
+            BoundingVolumeHierarchy bvh = this.hierarchies.get(
+                    entry.getKey());
+            if (bvh == null) {
+                bvh = new BoundingVolumeHierarchy(objs);
+                this.hierarchies.put(entry.getKey(), bvh);
+            }
+            bvh.findCulledObjects(vp, d, viewport, culled);
+        }
+        this.culledObjects = culled;
+    }
+    
+    private static boolean contains(String[] keys, String key) {
+        for (String k : keys) {
+            if (k.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the number of objects that were found to be outside the view
+     * by the most recent call to 
+     * {@link #prepareView(ViewPoint3D, double, Rectangle2D, String...)}.
+     * 
+     * @return The number of culled objects.
+     * 
+     * @since 2.1.2
+     */
+    public int getCulledObjectCount() {
+        return this.culledObjects != null ? this.culledObjects.size() : 0;
+    }
+    
+    /**
+     * Returns {@code true} if the object was found to be outside the view by
+     * the most recent call to 
+     * {@link #prepareView(ViewPoint3D, double, Rectangle2D, String...)}.
+     * 
+     * @param object  the object.
+     * 
+     * @return A boolean. 
+     */
+    private boolean isCulled(Object3D object) {
+        return this.culledObjects != null 
+                && this.culledObjects.contains(object);
     }
     
     /**
@@ -250,6 +471,98 @@ public class World {
         return result;
     }
 
+    /**
+     * Returns an array containing the vertices for the objects in this world
+     * that are not outside the view (see 
+     * {@link #prepareView(ViewPoint3D, double, Rectangle2D, String...)}),
+     * transformed to eye coordinates.  The array has an entry for every 
+     * vertex in the world (so that the face offsets remain valid) but the 
+     * entries for the vertices of culled objects are {@code null}.
+     *
+     * @param vp  the view point ({@code null} not permitted).
+     *
+     * @return The eye coordinates.
+     * 
+     * @since 2.1.2
+     */
+    public Point3D[] calculateVisibleEyeCoordinates(ViewPoint3D vp) {
+        Point3D[] result = new Point3D[getVertexCount()];
+        int index = 0;
+        for (Entry<String, List<Object3D>> entry : this.objects.entrySet()) {
+            List<Object3D> objs = entry.getValue();    
+            for (Object3D object : objs) {
+                if (!isCulled(object)) {
+                    Point3D[] vertices = object.calculateEyeCoordinates(vp);
+                    System.arraycopy(vertices, 0, result, index, 
+                            vertices.length);
+                }
+                index = index + object.getVertexCount();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the projected points in 2D-space for the vertices of the 
+     * objects in the world that are not outside the view (see 
+     * {@link #prepareView(ViewPoint3D, double, Rectangle2D, String...)}).
+     * The array has an entry for every vertex in the world (so that the face
+     * offsets remain valid) but the entries for the vertices of culled 
+     * objects are {@code null}.
+     * 
+     * @param vp  the view point ({@code null} not permitted).
+     * @param d  the distance.
+     * 
+     * @return The projected points.
+     * 
+     * @since 2.1.2
+     */
+    public Point2D[] calculateVisibleProjectedPoints(ViewPoint3D vp, 
+            double d) {
+        Point2D[] result = new Point2D[getVertexCount()];
+        int index = 0;
+        for (Entry<String, List<Object3D>> entry : this.objects.entrySet()) {
+            List<Object3D> objs = entry.getValue();    
+            for (Object3D object : objs) {
+                if (!isCulled(object)) {
+                    Point2D[] pts = object.calculateProjectedPoints(vp, d);
+                    System.arraycopy(pts, 0, result, index, pts.length);
+                }
+                index = index + object.getVertexCount();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetches the faces for the objects in this world that are not outside
+     * the view (see 
+     * {@link #prepareView(ViewPoint3D, double, Rectangle2D, String...)}),
+     * updating the offset to match the current position.
+     *
+     * @return A list of faces.
+     * 
+     * @since 2.1.2
+     */
+    public List<Face> getVisibleFaces() {
+        List<Face> result = new java.util.ArrayList<>();
+        int offset = 0;
+        for (Entry<String, List<Object3D>> entry : this.objects.entrySet()) {
+            List<Object3D> objs = entry.getValue();    
+            for (Object3D object : objs) {
+                List<Face> faces = object.getFaces();
+                for (Face f : faces) {
+                    f.setOffset(offset);
+                }
+                offset += object.getVertexCount();
+                if (!isCulled(object)) {
+                    result.addAll(faces);
+                }
+            }
+        }
+        return result;
+    }
+    
     /**
      * Fetches the faces for all the objects in this world, updating the
      * offset to match the current position.
@@ -0,0 +1,648 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.graphics3d.internal;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.jfree.chart3d.graphics3d.DoubleSidedFace;
+import org.jfree.chart3d.graphics3d.Face;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.internal.ChartBox3D.ChartBoxFace;
+
+/**
+ * A face sorter that orders the faces using a binary space partitioning 
+ * (BSP) tree.  The tree is built from the world coordinates of the faces 
+ * when a world is first prepared, and is reused for every view of the same
+ * world: each frame is ordered by a linear-time traversal that visits the
+ * side of each partitioning plane away from the viewer first.  Unlike 
+ * sorting by z-value, this gives the correct order for faces that overlap
+ * in depth.
+ * <br><br>
+ * Faces that cross a partitioning plane are split in two, which adds 
+ * vertices and faces to the objects in the world (the fragments keep the 
+ * owner and type of the original face, so colors and item keys are 
+ * unchanged).  Only plain polygon faces are split, other faces (lines, 
+ * polylines and labels) are placed on the side of the plane containing 
+ * their centroid, and faces that do not lie in a plane are sorted by 
+ * z-value within the leaves of the tree.  The faces of the chart box 
+ * enclose the plot, so they are painted first (in z-order) and are not 
+ * part of the tree, which means the tree is not rebuilt when only the
+ * chart box changes.
+ * 
+ * @since 2.1.2
+ */
+public class BSPFaceSorter implements FaceSorter, Serializable {
+
+    /** 
+     * Vertices that are closer than this to a partitioning plane (in world 
+     * units) are treated as lying in the plane.
+     */
+    private static final double EPSILON = 1e-6;
+
+    /** The number of candidate planes evaluated for each node. */
+    private static final int CANDIDATES = 5;
+
+    /** The maximum number of faces used to score a candidate plane. */
+    private static final int SAMPLE_SIZE = 1000;
+
+    /** The root of the tree (or {@code null} if the tree is empty). */
+    private transient Node root;
+
+    /** 
+     * The faces (excluding chart box faces) that the tree was built for, in
+     * the order returned by the world, or {@code null} if no tree has been
+     * built. 
+     */
+    private transient Face[] treeFaces;
+
+    /**
+     * Creates a new instance.
+     */
+    public BSPFaceSorter() {
+        // nothing to do
+    }
+
+    /**
+     * Builds the tree for the specified world, unless the world's faces are
+     * the ones that the current tree was built for.
+     * 
+     * @param world  the world ({@code null} not permitted).
+     */
+    @Override
+    public void prepare(World world) {
+        if (this.treeFaces != null && matchesTree(world.getFaces())) {
+            return;
+        }
+        this.root = build(treeFaces(world.getFaces()));
+        // the faces are fetched again since some will have been split
+        List<Face> faces = treeFaces(world.getFaces());
+        this.treeFaces = faces.toArray(new Face[faces.size()]);
+    }
+
+    @Override
+    public List<Face> sort(List<Face> faces, Point3D[] eyePts) {
+        ZOrderComparator comparator = new ZOrderComparator(eyePts);
+        int count = this.treeFaces == null ? -1 : countTreeFaces(faces);
+        if (count < 0) {
+            // not the faces the tree was built for, so fall back to z-order
+            faces.sort(comparator);
+            return faces;
+        }
+        // when some faces have been left out (for example, because they are
+        // outside the view) only the faces passed in are returned
+        Set<Face> included = null;
+        if (count < this.treeFaces.length) {
+            included = Collections.newSetFromMap(
+                    new IdentityHashMap<Face, Boolean>(count));
+            included.addAll(faces);
+        }
+        List<Face> result = new ArrayList<>(faces.size());
+        for (Face f : faces) {
+            if (f instanceof ChartBoxFace) {
+                result.add(f);
+            }
+        }
+        result.sort(comparator);
+        Deque<Node> stack = new ArrayDeque<>();
+        if (this.root != null) {
+            stack.push(this.root);
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.planeFace == null) {
+                List<Face> leaf = filter(node.faces, included);
+                if (leaf.size() > 1) {
+                    leaf = new ArrayList<>(leaf);
+                    leaf.sort(comparator);
+                }
+                result.addAll(leaf);
+                continue;
+            }
+            boolean viewerInFront = isViewerInFront(node.planeFace, eyePts);
+            Node near = viewerInFront ? node.front : node.back;
+            Node far = viewerInFront ? node.back : node.front;
+            // the stack is last in, first out, so the far side comes first
+            if (near != null) {
+                stack.push(near);
+            }
+            stack.push(node.coplanar);
+            if (far != null) {
+                stack.push(far);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the faces from the list that are in the {@code included} set.
+     * 
+     * @param faces  the faces.
+     * @param included  the faces to include ({@code null} to include all).
+     * 
+     * @return The faces (possibly the list passed in). 
+     */
+    private static List<Face> filter(List<Face> faces, Set<Face> included) {
+        if (included == null) {
+            return faces;
+        }
+        List<Face> result = new ArrayList<>(faces.size());
+        for (Face f : faces) {
+            if (included.contains(f)) {
+                result.add(f);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of faces (ignoring chart box faces) in the list if
+     * they are all faces that the current tree was built for, in the same
+     * order (possibly with some left out), and {@code -1} otherwise.
+     * 
+     * @param faces  the faces.
+     * 
+     * @return The number of tree faces, or {@code -1}. 
+     */
+    private int countTreeFaces(List<Face> faces) {
+        int index = 0;
+        int count = 0;
+        for (Face f : faces) {
+            if (f instanceof ChartBoxFace) {
+                continue;
+            }
+            while (index < this.treeFaces.length 
+                    && this.treeFaces[index] != f) {
+                index++;
+            }
+            if (index == this.treeFaces.length) {
+                return -1;
+            }
+            index++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if the faces (ignoring chart box faces) are the 
+     * faces that the current tree was built for, in the same order.
+     * 
+     * @param faces  the faces.
+     * 
+     * @return A boolean. 
+     */
+    private boolean matchesTree(List<Face> faces) {
+        int index = 0;
+        for (Face f : faces) {
+            if (f instanceof ChartBoxFace) {
+                continue;
+            }
+            if (index >= this.treeFaces.length 
+                    || this.treeFaces[index] != f) {
+                return false;
+            }
+            index++;
+        }
+        return index == this.treeFaces.length;
+    }
+
+    /**
+     * Returns a new list containing the faces that belong in the tree (all
+     * faces except chart box faces).
+     * 
+     * @param faces  the faces.
+     * 
+     * @return The faces for the tree. 
+     */
+    private static List<Face> treeFaces(List<Face> faces) {
+        List<Face> result = new ArrayList<>(faces.size());
+        for (Face f : faces) {
+            if (!(f instanceof ChartBoxFace)) {
+                result.add(f);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the viewer (at the origin in eye coordinates)
+     * is on the front side of the plane of the specified face, where the 
+     * front side is the side that the face's normal points to.
+     * 
+     * @param face  the face.
+     * @param eyePts  the eye coordinates.
+     * 
+     * @return A boolean. 
+     */
+    private static boolean isViewerInFront(Face face, Point3D[] eyePts) {
+        int n = face.getVertexCount();
+        double nx = 0.0, ny = 0.0, nz = 0.0;
+        for (int i = 0; i < n; i++) {
+            Point3D a = eyePts[face.getVertexIndex(i)];
+            Point3D b = eyePts[face.getVertexIndex((i + 1) % n)];
+            nx += (a.y - b.y) * (a.z + b.z);
+            ny += (a.z - b.z) * (a.x + b.x);
+            nz += (a.x - b.x) * (a.y + b.y);
+        }
+        Point3D p = eyePts[face.getVertexIndex(0)];
+        return nx * p.x + ny * p.y + nz * p.z < 0.0;
+    }
+
+    /**
+     * Builds a tree for the specified faces, splitting faces where needed.
+     * The tree is built without recursion, since it can be deep for some 
+     * arrangements of faces.
+     * 
+     * @param faces  the faces.
+     * 
+     * @return The root node (or {@code null} if there are no faces).
+     */
+    private static Node build(List<Face> faces) {
+        if (faces.isEmpty()) {
+            return null;
+        }
+        Node root = new Node(faces);
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            partition(node);
+            if (node.front != null) {
+                pending.push(node.front);
+            }
+            if (node.back != null) {
+                pending.push(node.back);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Chooses a partitioning plane for the faces in a node and divides the
+     * faces between the plane and the node's children.  If none of the faces
+     * lies in a plane, the node is left as a leaf.
+     * 
+     * @param node  the node.
+     */
+    private static void partition(Node node) {
+        List<Face> faces = node.faces;
+        Face splitter = null;
+        double[] plane = null;
+        long bestScore = Long.MAX_VALUE;
+        int step = Math.max(1, faces.size() / CANDIDATES);
+        for (int i = 0; i < faces.size(); i += step) {
+            Face candidate = faces.get(i);
+            double[] p = plane(candidate);
+            if (p == null) {
+                continue;
+            }
+            long score = score(faces, p);
+            if (score < bestScore) {
+                splitter = candidate;
+                plane = p;
+                bestScore = score;
+            }
+        }
+        if (splitter == null) {
+            // the sampled faces are not planar, but others might be
+            for (Face f : faces) {
+                plane = plane(f);
+                if (plane != null) {
+                    splitter = f;
+                    break;
+                }
+            }
+        }
+        if (splitter == null) {
+            return;
+        }
+        List<Face> coplanar = new ArrayList<>();
+        List<Face> front = new ArrayList<>();
+        List<Face> back = new ArrayList<>();
+        for (Face f : faces) {
+            if (f == splitter) {
+                coplanar.add(f);
+                continue;
+            }
+            int pos = 0;
+            int neg = 0;
+            double sum = 0.0;
+            for (int v = 0; v < f.getVertexCount(); v++) {
+                double dist = distance(plane, vertex(f, v));
+                if (dist > EPSILON) {
+                    pos++;
+                } else if (dist < -EPSILON) {
+                    neg++;
+                }
+                sum += dist;
+            }
+            if (pos == 0 && neg == 0) {
+                coplanar.add(f);
+            } else if (neg == 0) {
+                front.add(f);
+            } else if (pos == 0) {
+                back.add(f);
+            } else if (isSplittable(f)) {
+                split(f, plane, front, back);
+            } else if (sum >= 0.0) {
+                front.add(f);
+            } else {
+                back.add(f);
+            }
+        }
+        node.faces = null;
+        node.planeFace = splitter;
+        node.coplanar = new Node(coplanar);
+        node.front = front.isEmpty() ? null : new Node(front);
+        node.back = back.isEmpty() ? null : new Node(back);
+    }
+
+    /**
+     * Returns a score for a partitioning plane (lower is better), based on
+     * the number of faces that would be split and the balance between the 
+     * two sides.  For large nodes, a sample of the faces is used.
+     * 
+     * @param faces  the faces.
+     * @param plane  the plane.
+     * 
+     * @return The score. 
+     */
+    private static long score(List<Face> faces, double[] plane) {
+        int step = Math.max(1, faces.size() / SAMPLE_SIZE);
+        long splits = 0;
+        long front = 0;
+        long back = 0;
+        for (int i = 0; i < faces.size(); i += step) {
+            Face f = faces.get(i);
+            boolean pos = false;
+            boolean neg = false;
+            for (int v = 0; v < f.getVertexCount(); v++) {
+                double dist = distance(plane, vertex(f, v));
+                pos = pos || dist > EPSILON;
+                neg = neg || dist < -EPSILON;
+            }
+            if (pos && neg) {
+                splits++;
+            } else if (pos) {
+                front++;
+            } else if (neg) {
+                back++;
+            }
+        }
+        return 8 * splits + Math.abs(front - back);
+    }
+
+    /**
+     * Splits a face by a plane, replacing it in its owner with the two
+     * fragments (which are added to the front and back lists).
+     * 
+     * @param face  the face to split.
+     * @param plane  the plane.
+     * @param front  the faces in front of the plane.
+     * @param back  the faces behind the plane.
+     */
+    private static void split(Face face, double[] plane, List<Face> front, 
+            List<Face> back) {
+        Object3D owner = face.getOwner();
+        int n = face.getVertexCount();
+        int[] local = new int[n];
+        double[] dist = new double[n];
+        for (int i = 0; i < n; i++) {
+            local[i] = face.getVertexIndex(i) - face.getOffset();
+            dist[i] = distance(plane, owner.getVertex(local[i]));
+        }
+        int[] frontVertices = new int[2 * n];
+        int[] backVertices = new int[2 * n];
+        int frontCount = 0;
+        int backCount = 0;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            if (dist[i] >= -EPSILON) {
+                frontVertices[frontCount++] = local[i];
+            }
+            if (dist[i] <= EPSILON) {
+                backVertices[backCount++] = local[i];
+            }
+            if ((dist[i] > EPSILON && dist[j] < -EPSILON) 
+                    || (dist[i] < -EPSILON && dist[j] > EPSILON)) {
+                // the edge crosses the plane, so add the intersection point
+                Point3D a = owner.getVertex(local[i]);
+                Point3D b = owner.getVertex(local[j]);
+                double t = dist[i] / (dist[i] - dist[j]);
+                owner.addVertex(a.x + t * (b.x - a.x), a.y + t * (b.y - a.y), 
+                        a.z + t * (b.z - a.z));
+                int k = owner.getVertexCount() - 1;
+                frontVertices[frontCount++] = k;
+                backVertices[backCount++] = k;
+            }
+        }
+        List<Face> ownerFaces = owner.getFaces();
+        int index = ownerFaces.indexOf(face);
+        ownerFaces.remove(index);
+        if (backCount >= 3) {
+            Face f = createFragment(face, 
+                    Arrays.copyOf(backVertices, backCount));
+            ownerFaces.add(index, f);
+            back.add(f);
+        }
+        if (frontCount >= 3) {
+            Face f = createFragment(face, 
+                    Arrays.copyOf(frontVertices, frontCount));
+            ownerFaces.add(index, f);
+            front.add(f);
+        }
+    }
+
+    /**
+     * Creates a fragment of a face, with the same owner and type.  The 
+     * vertices are rotated (keeping their order) so that the first three 
+     * vertices, which determine the face normal, are not collinear.
+     * 
+     * @param face  the original face.
+     * @param vertices  the vertices for the fragment (owner indices).
+     * 
+     * @return The fragment. 
+     */
+    private static Face createFragment(Face face, int[] vertices) {
+        Object3D owner = face.getOwner();
+        int n = vertices.length;
+        int start = 0;
+        double best = -1.0;
+        for (int i = 0; i < n; i++) {
+            Point3D a = owner.getVertex(vertices[i]);
+            Point3D b = owner.getVertex(vertices[(i + 1) % n]);
+            Point3D c = owner.getVertex(vertices[(i + 2) % n]);
+            double ux = b.x - a.x, uy = b.y - a.y, uz = b.z - a.z;
+            double vx = c.x - a.x, vy = c.y - a.y, vz = c.z - a.z;
+            double cx = uy * vz - uz * vy;
+            double cy = uz * vx - ux * vz;
+            double cz = ux * vy - uy * vx;
+            double area = cx * cx + cy * cy + cz * cz;
+            if (area > best) {
+                best = area;
+                start = i;
+            }
+        }
+        int[] rotated = new int[n];
+        for (int i = 0; i < n; i++) {
+            rotated[i] = vertices[(start + i) % n];
+        }
+        if (face instanceof TaggedFace) {
+            return new TaggedFace(owner, rotated, face.getTag());
+        } else if (face instanceof DoubleSidedFace) {
+            return new DoubleSidedFace(owner, rotated);
+        }
+        return new Face(owner, rotated);
+    }
+
+    /**
+     * Returns {@code true} if the face is a polygon that can be split (faces 
+     * with other types carry extra data, such as labels, that would not be
+     * correct for a fragment).
+     * 
+     * @param face  the face.
+     * 
+     * @return A boolean. 
+     */
+    private static boolean isSplittable(Face face) {
+        Class<?> c = face.getClass();
+        return face.getVertexCount() >= 3 && (c == Face.class 
+                || c == DoubleSidedFace.class || c == TaggedFace.class);
+    }
+
+    /**
+     * Returns the plane of a face as {@code (nx, ny, nz, d)}, where the 
+     * normal is a unit vector (using Newell's method, so that the direction
+     * follows the order of the vertices) and {@code d} is the distance of
+     * the plane from the origin.  If the face has fewer than three vertices,
+     * no area, or vertices that are not in one plane, this method returns 
+     * {@code null}.
+     * 
+     * @param face  the face.
+     * 
+     * @return The plane (possibly {@code null}). 
+     */
+    private static double[] plane(Face face) {
+        int n = face.getVertexCount();
+        if (n < 3) {
+            return null;
+        }
+        double nx = 0.0, ny = 0.0, nz = 0.0;
+        double sx = 0.0, sy = 0.0, sz = 0.0;
+        for (int i = 0; i < n; i++) {
+            Point3D a = vertex(face, i);
+            Point3D b = vertex(face, (i + 1) % n);
+            nx += (a.y - b.y) * (a.z + b.z);
+            ny += (a.z - b.z) * (a.x + b.x);
+            nz += (a.x - b.x) * (a.y + b.y);
+            sx += a.x;
+            sy += a.y;
+            sz += a.z;
+        }
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (len < EPSILON * EPSILON) {
+            return null;
+        }
+        double[] result = new double[] {nx / len, ny / len, nz / len, 
+                (nx * sx + ny * sy + nz * sz) / (len * n)};
+        for (int i = 0; i < n; i++) {
+            if (Math.abs(distance(result, vertex(face, i))) > EPSILON) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the signed distance of a point from a plane.
+     * 
+     * @param plane  the plane {@code (nx, ny, nz, d)}.
+     * @param p  the point.
+     * 
+     * @return The distance (positive in front of the plane). 
+     */
+    private static double distance(double[] plane, Point3D p) {
+        return plane[0] * p.x + plane[1] * p.y + plane[2] * p.z - plane[3];
+    }
+
+    /**
+     * Returns a vertex of a face in world coordinates.
+     * 
+     * @param face  the face.
+     * @param i  the index of the vertex within the face.
+     * 
+     * @return The vertex. 
+     */
+    private static Point3D vertex(Face face, int i) {
+        return face.getOwner().getVertex(face.getVertexIndex(i) 
+                - face.getOffset());
+    }
+
+    /**
+     * A node in the tree.  An internal node has a partitioning plane (the 
+     * plane of {@code planeFace}), a leaf node holding the faces that lie 
+     * in the plane and child nodes for the faces in front of and behind the
+     * plane.  A leaf node has only a list of faces.
+     */
+    private static final class Node {
+        
+        /** A face in the partitioning plane ({@code null} for a leaf). */
+        private Face planeFace;
+        
+        /** The faces for a leaf node ({@code null} otherwise). */
+        private List<Face> faces;
+        
+        /** The faces in the partitioning plane. */
+        private Node coplanar;
+        
+        /** The faces in front of the plane (possibly {@code null}). */
+        private Node front;
+        
+        /** The faces behind the plane (possibly {@code null}). */
+        private Node back;
+
+        Node(List<Face> faces) {
+            this.faces = faces;
+        }
+    }
+
+}
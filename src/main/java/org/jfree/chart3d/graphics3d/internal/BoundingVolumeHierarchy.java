@@ -0,0 +1,308 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.graphics3d.internal;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.ViewPoint3D;
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A bounding volume hierarchy over the axis-aligned bounding boxes of a 
+ * collection of {@link Object3D} instances.  This is used to find, without
+ * testing every vertex, the objects that lie outside the view (for example,
+ * when the user has zoomed in on part of a dense chart) so that they can be
+ * skipped when projecting, sorting and filling.  The bounds are calculated 
+ * when the hierarchy is created, so it must be rebuilt if the objects are 
+ * modified.
+ * 
+ * @since 2.1.2
+ */
+public class BoundingVolumeHierarchy {
+    
+    /** Groups of up to this many nodes are split without sorting. */
+    private static final int SMALL_GROUP = 4;
+    
+    /** 
+     * Points closer to the viewer (in eye coordinates) than this are treated
+     * as being on or behind the viewing plane.
+     */
+    private static final double NEAR = 1e-6;
+    
+    /** A node in the hierarchy (each leaf holds one object). */
+    private static class Node {
+        
+        double minX, minY, minZ, maxX, maxY, maxZ;
+        
+        /** The child nodes ({@code null} for a leaf). */
+        Node left, right;
+        
+        /** The object for a leaf node ({@code null} otherwise). */
+        Object3D object;
+        
+        /** 
+         * Sets the bounds of this node to enclose the specified nodes.
+         * 
+         * @param nodes  the nodes.
+         */
+        void enclose(List<Node> nodes) {
+            this.minX = this.minY = this.minZ = Double.POSITIVE_INFINITY;
+            this.maxX = this.maxY = this.maxZ = Double.NEGATIVE_INFINITY;
+            for (Node n : nodes) {
+                this.minX = Math.min(this.minX, n.minX);
+                this.minY = Math.min(this.minY, n.minY);
+                this.minZ = Math.min(this.minZ, n.minZ);
+                this.maxX = Math.max(this.maxX, n.maxX);
+                this.maxY = Math.max(this.maxY, n.maxY);
+                this.maxZ = Math.max(this.maxZ, n.maxZ);
+            }
+        }
+        
+        double center(int axis) {
+            if (axis == 0) {
+                return this.minX + this.maxX;
+            } else if (axis == 1) {
+                return this.minY + this.maxY;
+            }
+            return this.minZ + this.maxZ;
+        }
+    }
+    
+    /** The classification of a node relative to the view. */
+    private enum Visibility { OUTSIDE, INSIDE, PARTIAL }
+    
+    /** The root node ({@code null} if there are no objects with vertices). */
+    private final Node root;
+    
+    /** The number of objects in the hierarchy. */
+    private final int objectCount;
+    
+    /**
+     * Creates a hierarchy for the specified objects.  Objects without 
+     * vertices are not included (they have nothing to draw).
+     * 
+     * @param objects  the objects ({@code null} not permitted).
+     */
+    public BoundingVolumeHierarchy(Collection<Object3D> objects) {
+        Args.nullNotPermitted(objects, "objects");
+        List<Node> leaves = new ArrayList<>(objects.size());
+        for (Object3D object : objects) {
+            int count = object.getVertexCount();
+            if (count == 0) {
+                continue;
+            }
+            Node leaf = new Node();
+            leaf.object = object;
+            Point3D p = object.getVertex(0);
+            leaf.minX = leaf.maxX = p.x;
+            leaf.minY = leaf.maxY = p.y;
+            leaf.minZ = leaf.maxZ = p.z;
+            for (int i = 1; i < count; i++) {
+                p = object.getVertex(i);
+                leaf.minX = Math.min(leaf.minX, p.x);
+                leaf.minY = Math.min(leaf.minY, p.y);
+                leaf.minZ = Math.min(leaf.minZ, p.z);
+                leaf.maxX = Math.max(leaf.maxX, p.x);
+                leaf.maxY = Math.max(leaf.maxY, p.y);
+                leaf.maxZ = Math.max(leaf.maxZ, p.z);
+            }
+            leaves.add(leaf);
+        }
+        this.objectCount = leaves.size();
+        this.root = leaves.isEmpty() ? null : build(leaves);
+    }
+    
+    /**
+     * Returns the number of objects in the hierarchy.
+     * 
+     * @return The object count. 
+     */
+    public int getObjectCount() {
+        return this.objectCount;
+    }
+    
+    /**
+     * Builds a node enclosing the specified leaves, splitting them at the
+     * median along the axis where their centers are most spread out.
+     * 
+     * @param leaves  the leaves (not empty, the order will be changed).
+     * 
+     * @return The node. 
+     */
+    private static Node build(List<Node> leaves) {
+        if (leaves.size() == 1) {
+            return leaves.get(0);
+        }
+        Node node = new Node();
+        node.enclose(leaves);
+        if (leaves.size() <= SMALL_GROUP) {
+            // small groups are split in order (there is no gain in sorting)
+            int mid = leaves.size() / 2;
+            node.left = build(leaves.subList(0, mid));
+            node.right = build(leaves.subList(mid, leaves.size()));
+            return node;
+        }
+        double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 
+                Double.POSITIVE_INFINITY};
+        double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, 
+                Double.NEGATIVE_INFINITY};
+        for (Node leaf : leaves) {
+            for (int axis = 0; axis < 3; axis++) {
+                double c = leaf.center(axis);
+                min[axis] = Math.min(min[axis], c);
+                max[axis] = Math.max(max[axis], c);
+            }
+        }
+        int axis = 0;
+        for (int i = 1; i < 3; i++) {
+            if (max[i] - min[i] > max[axis] - min[axis]) {
+                axis = i;
+            }
+        }
+        final int splitAxis = axis;
+        leaves.sort(new Comparator<Node>() {
+            @Override
+            public int compare(Node n1, Node n2) {
+                return Double.compare(n1.center(splitAxis), 
+                        n2.center(splitAxis));
+            }
+        });
+        int mid = leaves.size() / 2;
+        node.left = build(leaves.subList(0, mid));
+        node.right = build(leaves.subList(mid, leaves.size()));
+        return node;
+    }
+    
+    /**
+     * Finds the objects that lie entirely outside the view and adds them to
+     * the {@code culled} collection.  The test is conservative: an object 
+     * is only reported if the 2D bounds of its projected bounding box do 
+     * not intersect the viewport, or its bounding box is entirely behind 
+     * the viewer.
+     * 
+     * @param viewPoint  the view point ({@code null} not permitted).
+     * @param d  the projection distance.
+     * @param viewport  the visible area in projected coordinates 
+     *     ({@code null} not permitted).
+     * @param culled  the collection that the culled objects are added to 
+     *     ({@code null} not permitted).
+     */
+    public void findCulledObjects(ViewPoint3D viewPoint, double d, 
+            Rectangle2D viewport, Collection<Object3D> culled) {
+        Args.nullNotPermitted(viewPoint, "viewPoint");
+        Args.nullNotPermitted(viewport, "viewport");
+        Args.nullNotPermitted(culled, "culled");
+        if (this.root != null) {
+            findCulledObjects(this.root, viewPoint, d, viewport, culled);
+        }
+    }
+    
+    private static void findCulledObjects(Node node, ViewPoint3D viewPoint, 
+            double d, Rectangle2D viewport, Collection<Object3D> culled) {
+        Visibility visibility = classify(node, viewPoint, d, viewport);
+        if (visibility == Visibility.OUTSIDE) {
+            addObjects(node, culled);
+        } else if (visibility == Visibility.PARTIAL && node.object == null) {
+            findCulledObjects(node.left, viewPoint, d, viewport, culled);
+            findCulledObjects(node.right, viewPoint, d, viewport, culled);
+        }
+    }
+    
+    private static void addObjects(Node node, Collection<Object3D> culled) {
+        if (node.object != null) {
+            culled.add(node.object);
+        } else {
+            addObjects(node.left, culled);
+            addObjects(node.right, culled);
+        }
+    }
+
+    /**
+     * Classifies the bounding box of a node relative to the view.
+     * 
+     * @param node  the node.
+     * @param viewPoint  the view point.
+     * @param d  the projection distance.
+     * @param viewport  the visible area in projected coordinates.
+     * 
+     * @return The visibility. 
+     */
+    private static Visibility classify(Node node, ViewPoint3D viewPoint, 
+            double d, Rectangle2D viewport) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        int behind = 0;
+        for (int i = 0; i < 8; i++) {
+            Point3D p = viewPoint.worldToEye(new Point3D(
+                    (i & 1) == 0 ? node.minX : node.maxX,
+                    (i & 2) == 0 ? node.minY : node.maxY,
+                    (i & 4) == 0 ? node.minZ : node.maxZ));
+            // the viewer looks along the negative z-axis in eye coordinates
+            if (p.z > -NEAR) {
+                behind++;
+                continue;
+            }
+            double x = -d * p.x / p.z;
+            double y = -d * p.y / p.z;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        if (behind == 8) {
+            return Visibility.OUTSIDE;
+        }
+        if (behind > 0) {
+            // the box crosses the viewing plane, so its projection is 
+            // unbounded
+            return Visibility.PARTIAL;
+        }
+        if (maxX < viewport.getMinX() || minX > viewport.getMaxX() 
+                || maxY < viewport.getMinY() || minY > viewport.getMaxY()) {
+            return Visibility.OUTSIDE;
+        }
+        if (minX >= viewport.getMinX() && maxX <= viewport.getMaxX() 
+                && minY >= viewport.getMinY() && maxY <= viewport.getMaxY()) {
+            return Visibility.INSIDE;
+        }
+        return Visibility.PARTIAL;
+    }
+
+}
@@ -35,6 +35,7 @@ package org.jfree.chart3d.graphics3d.internal;
 import java.util.List;
 import org.jfree.chart3d.graphics3d.Face;
 import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.World;
 
 /**
  * An interface that must be implemented by objects that can sort faces prior
@@ -55,4 +56,16 @@ public interface FaceSorter {
      */
     List<Face> sort(List<Face> faces, Point3D[] eyePts);
     
+    /**
+     * Prepares to sort the faces of the specified world.  This is called 
+     * before the points for the world are projected, so a sorter can modify 
+     * the geometry of the world here (for example, to split faces) and 
+     * reuse any work from earlier calls while the world is unchanged.
+     * 
+     * @param world  the world ({@code null} not permitted).
+     * 
+     * @since 2.1.2
+     */
+    void prepare(World world);
+    
 }
@@ -0,0 +1,322 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.graphics3d.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jfree.chart3d.graphics3d.Face;
+import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.World;
+
+/**
+ * A face sorter that orders the faces by z-value (giving the same result as
+ * the {@link StandardFaceSorter}) but takes advantage of the fact that the
+ * order changes very little between consecutive frames when a chart is 
+ * being rotated (for example, by a mouse drag in a panel).  The paint order
+ * from the previous call is kept and repaired with an insertion pass that 
+ * does work in proportion to the number of faces that change places, and
+ * faces that were not present in the previous call (for example, when the
+ * chart box is updated) are sorted separately and merged in.  If the order
+ * has diverged too far (or most of the faces have changed) a full sort is
+ * performed instead.
+ * <br><br>
+ * Instances of this class keep state between calls, so they should not be
+ * shared between charts.
+ * 
+ * @since 2.1.2
+ */
+public class IncrementalFaceSorter implements FaceSorter, Serializable {
+
+    /** 
+     * The average number of shifts per face that the insertion pass may
+     * make before it is abandoned in favour of a full sort.
+     */
+    private static final int MAX_SHIFTS_PER_FACE = 4;
+    
+    /** The faces (in the order they were passed in) for the last sort. */
+    private transient Face[] faces;
+    
+    /** 
+     * The paint order from the last sort (indices into {@code faces}), or
+     * {@code null}.
+     */
+    private transient int[] order;
+    
+    /** 
+     * The sort keys (z-value in the high bits and face index in the low 
+     * bits), reused between calls.
+     */
+    private transient long[] keys;
+    
+    /** 
+     * The position of each face in the previous paint order (or -1 for new
+     * faces), reused between calls.
+     */
+    private transient int[] previousPositions;
+    
+    /** The number of faces that changed position in the last sort. */
+    private int movedFaceCount;
+    
+    /** Was the previous order reused in the last sort? */
+    private boolean orderReused;
+    
+    /** The number of sorts that reused the previous order. */
+    private long incrementalSortCount;
+    
+    /** The number of sorts that required a full sort. */
+    private long fullSortCount;
+    
+    /**
+     * Creates a new instance.
+     */
+    public IncrementalFaceSorter() {
+        // nothing to do
+    }
+    
+    /**
+     * Returns the number of faces that changed position in the paint order
+     * during the last sort (faces that were not present in the previous 
+     * sort are counted as moved).
+     * 
+     * @return The number of faces moved. 
+     */
+    public int getMovedFaceCount() {
+        return this.movedFaceCount;
+    }
+    
+    /**
+     * Returns {@code true} if the last sort repaired the paint order from 
+     * the previous sort, and {@code false} if a full sort was performed.
+     * 
+     * @return A boolean. 
+     */
+    public boolean isOrderReused() {
+        return this.orderReused;
+    }
+    
+    /**
+     * Returns the number of sorts (since this sorter was created) that 
+     * repaired the previous paint order.
+     * 
+     * @return The count. 
+     */
+    public long getIncrementalSortCount() {
+        return this.incrementalSortCount;
+    }
+    
+    /**
+     * Returns the number of sorts (since this sorter was created) that 
+     * required a full sort.
+     * 
+     * @return The count. 
+     */
+    public long getFullSortCount() {
+        return this.fullSortCount;
+    }
+    
+    @Override
+    public void prepare(World world) {
+        // nothing to do
+    }
+
+    @Override
+    public List<Face> sort(List<Face> faces, Point3D[] eyePts) {
+        int n = faces.size();
+        if (this.keys == null || this.keys.length != n) {
+            this.keys = new long[n];
+            this.previousPositions = new int[n];
+        }
+        long[] a = this.keys;
+        int[] prevPos = this.previousPositions;
+        int retained = 0;
+        if (isSameFaces(faces)) {
+            // lay out the new keys in the previous paint order
+            for (int i = 0; i < n; i++) {
+                int index = this.order[i];
+                a[i] = key(this.faces[index].calculateAverageZValue(eyePts), 
+                        index);
+                prevPos[index] = i;
+            }
+            retained = n;
+        } else {
+            Face[] current = faces.toArray(new Face[n]);
+            Arrays.fill(prevPos, -1);
+            if (this.order != null) {
+                // faces that were also sorted last time go first, in the
+                // previous paint order
+                Map<Face, Integer> indices = new IdentityHashMap<>(n);
+                for (int i = 0; i < n; i++) {
+                    indices.put(current[i], i);
+                }
+                for (int i = 0; i < this.order.length; i++) {
+                    Integer index = indices.get(this.faces[this.order[i]]);
+                    if (index != null) {
+                        prevPos[index] = i;
+                        a[retained++] = key(current[index]
+                                .calculateAverageZValue(eyePts), index);
+                    }
+                }
+            }
+            int m = retained;
+            for (int i = 0; i < n; i++) {
+                if (prevPos[i] < 0) {
+                    a[m++] = key(current[i].calculateAverageZValue(eyePts), i);
+                }
+            }
+            this.faces = current;
+        }
+        
+        this.orderReused = retained > 0 && retained * 2 >= n 
+                && insertionSort(a, retained, 
+                (long) retained * MAX_SHIFTS_PER_FACE);
+        if (this.orderReused) {
+            if (retained < n) {
+                Arrays.sort(a, retained, n);
+                merge(a, retained);
+            }
+            this.incrementalSortCount++;
+        } else {
+            Arrays.sort(a);
+            this.fullSortCount++;
+        }
+        
+        if (this.order == null || this.order.length != n) {
+            this.order = new int[n];
+        }
+        int moved = 0;
+        for (int i = 0; i < n; i++) {
+            int index = (int) a[i];
+            if (prevPos[index] != i) {
+                moved++;
+            }
+            this.order[i] = index;
+            faces.set(i, this.faces[index]);
+        }
+        this.movedFaceCount = moved;
+        return faces;
+    }
+    
+    /**
+     * Returns {@code true} if the faces are the same (and in the same 
+     * order) as for the previous sort.
+     * 
+     * @param faces  the faces.
+     * 
+     * @return A boolean. 
+     */
+    private boolean isSameFaces(List<Face> faces) {
+        if (this.order == null || this.faces.length != faces.size()) {
+            return false;
+        }
+        for (int i = 0; i < this.faces.length; i++) {
+            if (this.faces[i] != faces.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns a sort key for a face, such that the natural order of the 
+     * keys is ascending z-value, with ties broken by the face index (so 
+     * the result matches a stable sort of the faces as passed in).
+     * 
+     * @param z  the average z-value for the face.
+     * @param index  the face index.
+     * 
+     * @return The key. 
+     */
+    private static long key(float z, int index) {
+        int bits = Float.floatToIntBits(z);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | index;
+    }
+    
+    /**
+     * Sorts the first {@code length} items in the array using an insertion
+     * sort, giving up when the number of shifts exceeds the limit (in which
+     * case those items are left in no particular order).
+     * 
+     * @param a  the keys.
+     * @param length  the number of keys to sort.
+     * @param maxShifts  the maximum number of shifts.
+     * 
+     * @return {@code true} if the array was sorted. 
+     */
+    private static boolean insertionSort(long[] a, int length, 
+            long maxShifts) {
+        long shifts = 0;
+        for (int i = 1; i < length; i++) {
+            long k = a[i];
+            int j = i - 1;
+            if (a[j] <= k) {
+                continue;
+            }
+            while (j >= 0 && a[j] > k) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            shifts += i - 1 - j;
+            a[j + 1] = k;
+            if (shifts > maxShifts) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Merges the two sorted runs {@code a[0..split)} and 
+     * {@code a[split..a.length)} in place.
+     * 
+     * @param a  the keys.
+     * @param split  the start of the second run.
+     */
+    private static void merge(long[] a, int split) {
+        long[] tail = Arrays.copyOfRange(a, split, a.length);
+        int i = split - 1;
+        int j = tail.length - 1;
+        int w = a.length - 1;
+        while (j >= 0) {
+            if (i >= 0 && a[i] > tail[j]) {
+                a[w--] = a[i--];
+            } else {
+                a[w--] = tail[j--];
+            }
+        }
+    }
+
+}
@@ -36,6 +36,7 @@ import java.io.Serializable;
 import java.util.List;
 import org.jfree.chart3d.graphics3d.Face;
 import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.World;
 
 /**
  * A face sorter that orders the faces by z-value.
@@ -56,5 +57,10 @@ public class StandardFaceSorter implements FaceSorter, Serializable {
         faces.sort(new ZOrderComparator(eyePts));
         return faces;
     }
+
+    @Override
+    public void prepare(World world) {
+        // nothing to do
+    }
     
 }
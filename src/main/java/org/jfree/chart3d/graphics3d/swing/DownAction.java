@@ -67,7 +67,7 @@ public class DownAction extends AbstractAction {
     public void actionPerformed(ActionEvent e) {
         double delta = this.panel.getRotateIncrement();
         this.panel.getViewPoint().moveUpDown(-delta);
-        this.panel.repaint();
+        this.panel.requestRepaint();
     }
     
 }
@@ -32,6 +32,7 @@
 
 package org.jfree.chart3d.graphics3d.swing;
 
+import java.awt.AlphaComposite;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Graphics;
@@ -39,6 +40,8 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.geom.AffineTransform;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
@@ -46,11 +49,14 @@ import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.awt.geom.Dimension2D;
+import java.awt.image.BufferedImage;
 import java.io.File;
 
 import javax.swing.JPanel;
+import javax.swing.Timer;
 import javax.swing.ToolTipManager;
 
+import org.jfree.chart3d.Chart3DHints;
 import org.jfree.chart3d.internal.Args;
 import org.jfree.chart3d.export.ExportUtils;
 import org.jfree.chart3d.graphics3d.Dimension3D;
@@ -118,6 +124,42 @@ public class Panel3D extends JPanel implements MouseListener,
     
     private RenderingInfo renderingInfo;
     
+    /** 
+     * A flag that controls whether the panel renders at a lower quality 
+     * while a mouse drag or wheel gesture is in progress.
+     */
+    private boolean interactiveQuality;
+    
+    /** 
+     * The delay (in milliseconds) after the last gesture event before a
+     * full quality render is performed.
+     */
+    private int fullQualityDelay;
+    
+    /** A flag that is set while a drag or wheel gesture is in progress. */
+    private transient boolean gestureInProgress;
+    
+    /** 
+     * A timer that ends the gesture after the full quality delay (created
+     * lazily).
+     */
+    private transient Timer gestureTimer;
+    
+    /** The repaint scheduler (created lazily). */
+    private transient RepaintScheduler repaintScheduler;
+    
+    /** 
+     * A flag that controls whether the rendered content is cached in an 
+     * image and reused while nothing that affects it has changed.
+     */
+    private boolean imageCacheEnabled;
+    
+    /** The cached image (possibly {@code null}). */
+    private transient BufferedImage cachedImage;
+    
+    /** The key for the cached image (possibly {@code null}). */
+    private transient ImageCacheKey cachedImageKey;
+    
     /**
      * Creates a new panel with the specified {@link Drawable3D} to
      * display.
@@ -136,6 +178,9 @@ public class Panel3D extends JPanel implements MouseListener,
         this.panIncrement = Math.PI / 60;
         this.rotateIncrement = Math.PI / 60;
         this.rollIncrement = Math.PI / 60;
+        this.interactiveQuality = false;
+        this.fullQualityDelay = 250;
+        this.imageCacheEnabled = true;
         addMouseListener(this);
         addMouseMotionListener(this);
         addMouseWheelListener(this);
@@ -268,6 +313,188 @@ public class Panel3D extends JPanel implements MouseListener,
         this.rollIncrement = rollIncrement;
     }
     
+    /**
+     * Returns the flag that controls whether the panel renders at a lower
+     * quality (no antialiasing, face outlines or object labels) while a 
+     * mouse drag or mouse wheel gesture is in progress.  The default value 
+     * is {@code false}.
+     * 
+     * @return A boolean.
+     * 
+     * @since 2.1.2
+     */
+    public boolean isInteractiveQuality() {
+        return this.interactiveQuality;
+    }
+    
+    /**
+     * Sets the flag that controls whether the panel renders at a lower 
+     * quality while a mouse drag or mouse wheel gesture is in progress.
+     * A full quality render is performed once the gesture has been idle for
+     * the full quality delay (see {@link #getFullQualityDelay()}).
+     * 
+     * @param interactive  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setInteractiveQuality(boolean interactive) {
+        this.interactiveQuality = interactive;
+        if (!interactive && this.gestureInProgress) {
+            endGesture();
+        }
+    }
+    
+    /**
+     * Returns the time (in milliseconds) that a drag or wheel gesture must
+     * be idle before the panel is repainted at full quality.  The default
+     * value is {@code 250}.
+     * 
+     * @return The delay in milliseconds.
+     * 
+     * @since 2.1.2
+     */
+    public int getFullQualityDelay() {
+        return this.fullQualityDelay;
+    }
+    
+    /**
+     * Sets the time (in milliseconds) that a drag or wheel gesture must be
+     * idle before the panel is repainted at full quality.
+     * 
+     * @param delay  the delay in milliseconds (must be positive).
+     * 
+     * @since 2.1.2
+     */
+    public void setFullQualityDelay(int delay) {
+        Args.positiveRequired(delay, "delay");
+        this.fullQualityDelay = delay;
+        if (this.gestureTimer != null) {
+            this.gestureTimer.setInitialDelay(delay);
+        }
+    }
+    
+    /**
+     * Returns {@code true} if a drag or wheel gesture is in progress and 
+     * the panel is rendering at the lower interactive quality.
+     * 
+     * @return A boolean.
+     * 
+     * @since 2.1.2
+     */
+    public boolean isGestureInProgress() {
+        return this.gestureInProgress;
+    }
+    
+    /**
+     * Records that a drag or wheel gesture is in progress (if interactive 
+     * quality is enabled) and restarts the timer that ends the gesture.
+     */
+    private void gestureEvent() {
+        if (!this.interactiveQuality) {
+            return;
+        }
+        if (this.gestureTimer == null) {
+            this.gestureTimer = new Timer(this.fullQualityDelay, 
+                    new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    endGesture();
+                }
+            });
+            this.gestureTimer.setRepeats(false);
+        }
+        this.gestureInProgress = true;
+        this.gestureTimer.restart();
+    }
+    
+    /**
+     * Ends the current gesture and repaints the panel at full quality.
+     */
+    private void endGesture() {
+        if (this.gestureTimer != null) {
+            this.gestureTimer.stop();
+        }
+        this.gestureInProgress = false;
+        requestRepaint();
+    }
+    
+    /**
+     * Returns the scheduler that coalesces repaint requests for this panel
+     * and caps the frame rate.  The scheduler also reports the achieved 
+     * frame rate and the number of dropped frames.
+     * 
+     * @return The repaint scheduler (never {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public RepaintScheduler getRepaintScheduler() {
+        if (this.repaintScheduler == null) {
+            this.repaintScheduler = new RepaintScheduler(this);
+        }
+        return this.repaintScheduler;
+    }
+    
+    /**
+     * Requests a repaint of the panel via the repaint scheduler, so that 
+     * bursts of requests are coalesced and limited to the scheduler's 
+     * maximum frame rate.
+     * 
+     * @since 2.1.2
+     */
+    public void requestRepaint() {
+        getRepaintScheduler().requestRepaint();
+    }
+    
+    /**
+     * Returns the flag that controls whether the rendered content is cached 
+     * in an image that is reused when the panel is repainted but nothing 
+     * that affects the content has changed (for example, when a tool tip 
+     * or an overlapping window is hidden).  The default value is 
+     * {@code true}.  Note that the cache is only used when 
+     * {@link #getContentRevision()} returns a revision number.
+     * 
+     * @return A boolean.
+     * 
+     * @since 2.1.2
+     */
+    public boolean isImageCacheEnabled() {
+        return this.imageCacheEnabled;
+    }
+    
+    /**
+     * Sets the flag that controls whether the rendered content is cached
+     * in an image and repaints the panel.
+     * 
+     * @param enabled  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setImageCacheEnabled(boolean enabled) {
+        this.imageCacheEnabled = enabled;
+        if (!enabled) {
+            this.cachedImage = null;
+            this.cachedImageKey = null;
+        }
+        requestRepaint();
+    }
+    
+    /**
+     * Returns the revision number of the content being displayed, which 
+     * must change whenever the content changes in a way that is not 
+     * captured by the view point, projection distance or 2D translation.  
+     * A negative value indicates that the revision is not known, and the 
+     * rendered content will not be cached.  This implementation returns 
+     * {@code -1}, subclasses that display content with a revision number 
+     * (such as {@code Chart3DPanel}) override this method.
+     * 
+     * @return The revision number (or {@code -1}).
+     * 
+     * @since 2.1.2
+     */
+    protected long getContentRevision() {
+        return -1L;
+    }
+    
     /**
      * Returns the view point that is maintained by the {@link Drawable3D}
      * instance on display.
@@ -286,7 +513,7 @@ public class Panel3D extends JPanel implements MouseListener,
     public void setViewPoint(ViewPoint3D vp) {
         Args.nullNotPermitted(vp, "vp");
         this.drawable.setViewPoint(vp);  // 
-        repaint();
+        requestRepaint();
     }
     
     /**
@@ -317,7 +544,7 @@ public class Panel3D extends JPanel implements MouseListener,
      */
     public void panLeftRight(double angle) {
         this.drawable.getViewPoint().panLeftRight(angle);
-        repaint();
+        requestRepaint();
     }
 
     /**
@@ -344,7 +571,7 @@ public class Panel3D extends JPanel implements MouseListener,
         float distance = this.drawable.getViewPoint().optimalDistance(target, 
                 d3d, this.drawable.getProjDistance());
         this.drawable.getViewPoint().setRho(distance);
-        repaint();        
+        requestRepaint();
     }
 
     /**
@@ -357,6 +584,7 @@ public class Panel3D extends JPanel implements MouseListener,
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
+        getRepaintScheduler().frameStarted();
         Graphics2D g2 = (Graphics2D) g;
         AffineTransform saved = g2.getTransform();
         Dimension size = getSize();
@@ -364,7 +592,45 @@ public class Panel3D extends JPanel implements MouseListener,
         Rectangle drawArea = new Rectangle(insets.left, insets.top, 
                 size.width - insets.left - insets.right, 
                 size.height - insets.top - insets.bottom);
-        this.renderingInfo = this.drawable.draw(g2, drawArea);
+        if (this.gestureInProgress) {
+            g2.setRenderingHint(Chart3DHints.KEY_INTERACTIVE_QUALITY, 
+                    Boolean.TRUE);
+        }
+        long revision = this.imageCacheEnabled ? getContentRevision() : -1L;
+        if (revision < 0L || drawArea.isEmpty() || saved.getShearX() != 0.0 
+                || saved.getShearY() != 0.0 || saved.getScaleX() <= 0.0 
+                || saved.getScaleY() <= 0.0) {
+            this.cachedImage = null;
+            this.cachedImageKey = null;
+            this.renderingInfo = this.drawable.draw(g2, drawArea);
+            g2.setTransform(saved);
+            return;
+        }
+        ImageCacheKey key = new ImageCacheKey(revision, this.drawable, 
+                drawArea, saved.getScaleX(), saved.getScaleY(), 
+                this.gestureInProgress);
+        if (this.cachedImage == null || !key.equals(this.cachedImageKey)) {
+            // render at the device scale so the image is blitted 1:1
+            int iw = (int) Math.ceil(drawArea.width * saved.getScaleX());
+            int ih = (int) Math.ceil(drawArea.height * saved.getScaleY());
+            if (this.cachedImage == null || this.cachedImage.getWidth() != iw
+                    || this.cachedImage.getHeight() != ih) {
+                this.cachedImage = new BufferedImage(iw, ih, 
+                        BufferedImage.TYPE_INT_ARGB);
+            }
+            Graphics2D ig = this.cachedImage.createGraphics();
+            ig.setComposite(AlphaComposite.Clear);
+            ig.fillRect(0, 0, iw, ih);
+            ig.setComposite(AlphaComposite.SrcOver);
+            ig.setRenderingHints(g2.getRenderingHints());
+            ig.scale(saved.getScaleX(), saved.getScaleY());
+            ig.translate(-drawArea.x, -drawArea.y);
+            this.renderingInfo = this.drawable.draw(ig, drawArea);
+            ig.dispose();
+            this.cachedImageKey = key;
+        }
+        g2.drawImage(this.cachedImage, drawArea.x, drawArea.y, 
+                drawArea.width, drawArea.height, null);
         g2.setTransform(saved);
     }
   
@@ -386,6 +652,70 @@ public class Panel3D extends JPanel implements MouseListener,
         ToolTipManager.sharedInstance().unregisterComponent(this);
     }
 
+    /**
+     * The key for the image cache, which records everything that affects the
+     * rendered content.
+     */
+    private static final class ImageCacheKey {
+        
+        private final long revision;
+        
+        private final ViewPoint3D viewPoint;
+        
+        private final double projDistance;
+        
+        private final Offset2D translate;
+        
+        private final Rectangle drawArea;
+        
+        private final double scaleX;
+        
+        private final double scaleY;
+        
+        private final boolean interactive;
+        
+        ImageCacheKey(long revision, Drawable3D drawable, Rectangle drawArea, 
+                double scaleX, double scaleY, boolean interactive) {
+            this.revision = revision;
+            // the view point is mutable, so take a copy
+            this.viewPoint = new ViewPoint3D(drawable.getViewPoint());
+            this.projDistance = drawable.getProjDistance();
+            Offset2D offset = drawable.getTranslate2D();
+            this.translate = new Offset2D(offset.getDX(), offset.getDY());
+            this.drawArea = new Rectangle(drawArea);
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.interactive = interactive;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof ImageCacheKey)) {
+                return false;
+            }
+            ImageCacheKey that = (ImageCacheKey) obj;
+            return this.revision == that.revision
+                    && this.projDistance == that.projDistance
+                    && this.scaleX == that.scaleX
+                    && this.scaleY == that.scaleY
+                    && this.interactive == that.interactive
+                    && this.drawArea.equals(that.drawArea)
+                    && this.translate.equals(that.translate)
+                    && this.viewPoint.equals(that.viewPoint);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + Long.hashCode(this.revision);
+            hash = 31 * hash + this.drawArea.hashCode();
+            return hash;
+        }
+    }
+
     /* (non-Javadoc)
      * @see java.awt.event.MouseListener#mouseClicked(java.awt.event.MouseEvent)
      */
@@ -434,6 +764,7 @@ public class Panel3D extends JPanel implements MouseListener,
     @Override
     public void mouseDragged(MouseEvent e) {
         Point currPt = e.getPoint();
+        gestureEvent();
         if (e.isAltDown()) {
             Offset2D offset = this.offsetAtMousePressed;
             Point lastPt = getLastClickPoint();
@@ -446,7 +777,7 @@ public class Panel3D extends JPanel implements MouseListener,
             this.lastMovePoint = currPt;
             this.drawable.getViewPoint().panLeftRight(-dx * Math.PI / 120);
             this.drawable.getViewPoint().moveUpDown(-dy * Math.PI / 120);
-            repaint();
+            requestRepaint();
         }
     }
 
@@ -466,6 +797,7 @@ public class Panel3D extends JPanel implements MouseListener,
      */
     @Override
     public void mouseWheelMoved(MouseWheelEvent mwe) {
+        gestureEvent();
         float units = mwe.getUnitsToScroll();
         double maxViewingDistance = this.maxViewingDistanceMultiplier 
                 * this.minViewingDistance;
@@ -473,7 +805,7 @@ public class Panel3D extends JPanel implements MouseListener,
                 Math.min(maxViewingDistance, 
                 this.drawable.getViewPoint().getRho() + units));
         this.drawable.getViewPoint().setRho(valRho);
-        repaint();
+        requestRepaint();
     }
     
     /**
@@ -0,0 +1,297 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d.swing;
+
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
+
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * Schedules repaints for a component so that bursts of invalidations (for 
+ * example, mouse drag events, toolbar actions or a sequence of dataset 
+ * changes) result in at most one repaint per frame interval.  A request 
+ * that arrives while a repaint is already scheduled is merged into that 
+ * repaint and counted as a dropped frame, since the intermediate state it
+ * would have shown is stale by the time the frame is painted.
+ * <br><br>
+ * The component should call {@link #frameStarted()} from its paint method 
+ * so that the achieved frame rate can be measured.  This class is used by 
+ * {@link Panel3D}, see {@link Panel3D#requestRepaint()}.
+ * 
+ * @since 2.1.2
+ */
+public class RepaintScheduler {
+    
+    /** The default maximum frame rate. */
+    public static final double DEFAULT_MAX_FRAMES_PER_SECOND = 60.0;
+    
+    /** The number of nanoseconds in one second. */
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    
+    /** The component to repaint. */
+    private final Component component;
+    
+    /** The minimum interval between repaints, in nanoseconds. */
+    private long frameInterval;
+    
+    /** The time the last repaint was issued ({@code System.nanoTime()}). */
+    private long lastRepaintTime;
+    
+    /** A flag that is set while a repaint is scheduled on the timer. */
+    private boolean pending;
+    
+    /** The timer used to issue a delayed repaint (created lazily). */
+    private Timer timer;
+    
+    /** The number of repaint requests received. */
+    private long requestCount;
+    
+    /** The number of repaints issued. */
+    private long repaintCount;
+    
+    /** The number of requests merged into an already scheduled repaint. */
+    private long droppedFrameCount;
+    
+    /** The number of frames painted. */
+    private long frameCount;
+    
+    /** The start of the current frame rate measurement window. */
+    private long windowStart;
+    
+    /** The number of frames painted in the current measurement window. */
+    private int windowFrames;
+    
+    /** The frame rate measured over the last complete window. */
+    private double framesPerSecond;
+    
+    /**
+     * Creates a new scheduler for the specified component, with the default
+     * maximum frame rate.
+     * 
+     * @param component  the component ({@code null} not permitted).
+     */
+    public RepaintScheduler(Component component) {
+        this(component, DEFAULT_MAX_FRAMES_PER_SECOND);
+    }
+    
+    /**
+     * Creates a new scheduler for the specified component.
+     * 
+     * @param component  the component ({@code null} not permitted).
+     * @param maxFramesPerSecond  the maximum frame rate (must be positive).
+     */
+    public RepaintScheduler(Component component, double maxFramesPerSecond) {
+        Args.nullNotPermitted(component, "component");
+        this.component = component;
+        setMaxFramesPerSecond(maxFramesPerSecond);
+        this.lastRepaintTime = System.nanoTime() - this.frameInterval;
+        this.windowStart = System.nanoTime();
+    }
+    
+    /**
+     * Returns the maximum frame rate.
+     * 
+     * @return The maximum frame rate. 
+     */
+    public synchronized double getMaxFramesPerSecond() {
+        return (double) NANOS_PER_SECOND / this.frameInterval;
+    }
+    
+    /**
+     * Sets the maximum frame rate.
+     * 
+     * @param fps  the maximum number of repaints per second (must be 
+     *     positive).
+     */
+    public final synchronized void setMaxFramesPerSecond(double fps) {
+        Args.finitePositiveRequired(fps, "fps");
+        this.frameInterval = Math.max(1L, (long) (NANOS_PER_SECOND / fps));
+    }
+    
+    /**
+     * Requests a repaint of the component.  If the last repaint was issued
+     * at least one frame interval ago, the component is repainted 
+     * immediately, otherwise a repaint is scheduled for the end of the 
+     * frame interval (unless one is already scheduled, in which case this
+     * request is merged into it).  This method can be called from any 
+     * thread.
+     */
+    public synchronized void requestRepaint() {
+        this.requestCount++;
+        if (this.pending) {
+            this.droppedFrameCount++;
+            return;
+        }
+        long wait = this.lastRepaintTime + this.frameInterval 
+                - System.nanoTime();
+        if (wait <= 0L) {
+            issueRepaint();
+            return;
+        }
+        if (this.timer == null) {
+            this.timer = new Timer(0, new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    timerFired();
+                }
+            });
+            this.timer.setRepeats(false);
+        }
+        this.pending = true;
+        this.timer.setInitialDelay((int) Math.max(1L, wait / 1000000L));
+        this.timer.restart();
+    }
+    
+    /**
+     * Issues the scheduled repaint.
+     */
+    private synchronized void timerFired() {
+        if (this.pending) {
+            this.pending = false;
+            issueRepaint();
+        }
+    }
+    
+    /**
+     * Repaints the component and records the time.
+     */
+    private void issueRepaint() {
+        this.lastRepaintTime = System.nanoTime();
+        this.repaintCount++;
+        this.component.repaint();
+    }
+    
+    /**
+     * Cancels any scheduled repaint (for example, when the component is 
+     * about to be repainted for some other reason).
+     */
+    public synchronized void cancel() {
+        if (this.pending) {
+            this.timer.stop();
+            this.pending = false;
+        }
+    }
+    
+    /**
+     * Records that the component has started painting a frame.  The 
+     * component should call this from its paint method.
+     */
+    public synchronized void frameStarted() {
+        this.frameCount++;
+        this.windowFrames++;
+        long now = System.nanoTime();
+        long elapsed = now - this.windowStart;
+        if (elapsed >= NANOS_PER_SECOND) {
+            this.framesPerSecond = this.windowFrames * (double) NANOS_PER_SECOND
+                    / elapsed;
+            this.windowStart = now;
+            this.windowFrames = 0;
+        }
+    }
+    
+    /**
+     * Returns {@code true} if a repaint is scheduled but has not yet been
+     * issued.
+     * 
+     * @return A boolean. 
+     */
+    public synchronized boolean isRepaintPending() {
+        return this.pending;
+    }
+    
+    /**
+     * Returns the number of repaint requests received.
+     * 
+     * @return The request count. 
+     */
+    public synchronized long getRequestCount() {
+        return this.requestCount;
+    }
+    
+    /**
+     * Returns the number of repaints issued to the component.
+     * 
+     * @return The repaint count. 
+     */
+    public synchronized long getRepaintCount() {
+        return this.repaintCount;
+    }
+    
+    /**
+     * Returns the number of requests that were merged into an already 
+     * scheduled repaint (the intermediate frames that were never painted).
+     * 
+     * @return The dropped frame count. 
+     */
+    public synchronized long getDroppedFrameCount() {
+        return this.droppedFrameCount;
+    }
+    
+    /**
+     * Returns the number of frames painted (as reported via 
+     * {@link #frameStarted()}).
+     * 
+     * @return The frame count. 
+     */
+    public synchronized long getFrameCount() {
+        return this.frameCount;
+    }
+    
+    /**
+     * Returns the frame rate achieved over the last complete one second 
+     * measurement window (zero until the first window completes).
+     * 
+     * @return The achieved frames per second. 
+     */
+    public synchronized double getFramesPerSecond() {
+        return this.framesPerSecond;
+    }
+    
+    /**
+     * Resets the counters and the frame rate measurement.
+     */
+    public synchronized void resetStatistics() {
+        this.requestCount = 0L;
+        this.repaintCount = 0L;
+        this.droppedFrameCount = 0L;
+        this.frameCount = 0L;
+        this.windowStart = System.nanoTime();
+        this.windowFrames = 0;
+        this.framesPerSecond = 0.0;
+    }
+
+}
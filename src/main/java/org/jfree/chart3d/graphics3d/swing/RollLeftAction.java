@@ -74,7 +74,7 @@ public class RollLeftAction extends AbstractAction {
     @Override
     public void actionPerformed(ActionEvent e) {
         this.panel.getViewPoint().roll(-this.panel.getRollIncrement());
-        this.panel.repaint();
+        this.panel.requestRepaint();
     }
     
 }
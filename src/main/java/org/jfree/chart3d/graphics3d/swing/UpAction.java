@@ -75,7 +75,7 @@ public class UpAction extends AbstractAction {
     public void actionPerformed(ActionEvent e) {
         double delta = this.panel.getRotateIncrement();
         this.panel.getViewPoint().moveUpDown(delta);
-        this.panel.repaint();
+        this.panel.requestRepaint();
     }
     
 }
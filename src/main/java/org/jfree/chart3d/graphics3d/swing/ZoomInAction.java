@@ -115,7 +115,7 @@ public class ZoomInAction extends AbstractAction {
         double valRho = Math.max(minDistance, 
                 Math.min(maxDistance, viewPt.getRho() * this.zoomMultiplier));
         this.panel.getViewPoint().setRho(valRho);
-        this.panel.repaint();
+        this.panel.requestRepaint();
     }
     
 }
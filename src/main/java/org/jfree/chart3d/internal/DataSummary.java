@@ -0,0 +1,98 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.internal;
+
+import org.jfree.chart3d.data.Range;
+
+/**
+ * A capability interface for datasets that can summarise their data 
+ * faster than by iterating over every value (for example because the 
+ * summary is tracked as the data changes, or stored with the data).  
+ * {@link org.jfree.chart3d.data.DataUtils} checks for this interface and 
+ * falls back to iterating over the data when a summary is not available.
+ * 
+ * @since 2.1.2
+ */
+public interface DataSummary {
+    
+    /** The x-dimension for XYZ data. */
+    int X = 0;
+    
+    /** The y-dimension for XYZ data. */
+    int Y = 1;
+    
+    /** The z-dimension for XYZ data. */
+    int Z = 2;
+    
+    /** The value dimension for category data. */
+    int VALUE = 3;
+    
+    /** The series dimension for category data totals. */
+    int SERIES = 4;
+    
+    /** The row dimension for category data totals. */
+    int ROW = 5;
+    
+    /** The column dimension for category data totals. */
+    int COLUMN = 6;
+    
+    /**
+     * Returns the range of the finite values in the specified dimension, 
+     * or {@code null} if the range is not available (in which case the 
+     * caller should find the range by iterating over the data).
+     * 
+     * @param dimension  the dimension (for example {@link #X}).
+     * 
+     * @return The range (possibly {@code null}). 
+     */
+    Range findRange(int dimension);
+    
+    /**
+     * Returns the total of the non-missing values for one item in the 
+     * specified dimension (for example the total for one series of a 
+     * category dataset), or {@code Double.NaN} if the total is not 
+     * available (in which case the caller should find the total by 
+     * iterating over the data).  The default implementation returns 
+     * {@code Double.NaN}.
+     * 
+     * @param dimension  the dimension ({@link #SERIES}, {@link #ROW} or
+     *     {@link #COLUMN}).
+     * @param index  the index of the item in the dimension.
+     * 
+     * @return The total (possibly {@code Double.NaN}). 
+     */
+    default double findTotal(int dimension, int index) {
+        return Double.NaN;
+    }
+    
+}
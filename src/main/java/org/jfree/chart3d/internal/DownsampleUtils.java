@@ -0,0 +1,240 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.internal;
+
+import java.util.Arrays;
+import org.jfree.chart3d.renderer.LineDownsampling;
+
+/**
+ * Utility methods for selecting representative points from a line with 
+ * many points.  The points are supplied as world coordinates (in the order
+ * they are connected) and the methods return the indices of the points to
+ * retain.  This class is for internal use by the line renderers.
+ */
+public final class DownsampleUtils {
+
+    private DownsampleUtils() {
+        // no need to instantiate this
+    }
+
+    /**
+     * Returns the indices (in ascending order) of the points to retain when
+     * downsampling a line to approximately the specified number of buckets,
+     * or {@code null} if all the points should be retained.  A point with 
+     * a {@code NaN} coordinate is always retained, and each run of points 
+     * between such points is downsampled separately (with a share of the 
+     * buckets in proportion to its length).
+     * 
+     * @param method  the downsampling method ({@code null} not permitted).
+     * @param x  the x-coordinates ({@code null} not permitted).
+     * @param y  the y-coordinates, these are the values used to find the 
+     *     extremes for {@link LineDownsampling#MIN_MAX} ({@code null} not 
+     *     permitted).
+     * @param z  the z-coordinates ({@code null} permitted, in which case 
+     *     the points are treated as lying in a plane).
+     * @param count  the number of points.
+     * @param bucketCount  the number of buckets.
+     * 
+     * @return The indices of the points to retain (possibly {@code null}).
+     */
+    public static int[] select(LineDownsampling method, double[] x, 
+            double[] y, double[] z, int count, int bucketCount) {
+        Args.nullNotPermitted(method, "method");
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        if (method == LineDownsampling.NONE || bucketCount < 1 
+                || count <= 2 * bucketCount + 2) {
+            return null;
+        }
+        int[] result = new int[count];
+        int n = 0;
+        int start = 0;
+        while (start < count) {
+            if (isMissing(x, y, z, start)) {
+                result[n++] = start++;
+                continue;
+            }
+            int end = start + 1;
+            while (end < count && !isMissing(x, y, z, end)) {
+                end++;
+            }
+            int buckets = (int) Math.max(1L, 
+                    Math.round((double) bucketCount * (end - start) / count));
+            if (method == LineDownsampling.MIN_MAX) {
+                n = minMax(y, start, end, buckets, result, n);
+            } else {
+                n = lttb(x, y, z, start, end, buckets, result, n);
+            }
+            start = end;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Returns {@code true} if any coordinate of the point is {@code NaN}.
+     * 
+     * @param x  the x-coordinates.
+     * @param y  the y-coordinates.
+     * @param z  the z-coordinates ({@code null} permitted).
+     * @param i  the point index.
+     * 
+     * @return A boolean.
+     */
+    private static boolean isMissing(double[] x, double[] y, double[] z, 
+            int i) {
+        return Double.isNaN(x[i]) || Double.isNaN(y[i]) 
+                || (z != null && Double.isNaN(z[i]));
+    }
+
+    /**
+     * Appends the indices for the min/max downsampling of one run of points.
+     * 
+     * @param y  the y-coordinates.
+     * @param start  the index of the first point in the run.
+     * @param end  the index after the last point in the run.
+     * @param buckets  the number of buckets.
+     * @param result  the array to append the indices to.
+     * @param n  the number of indices already in the result.
+     * 
+     * @return The number of indices in the result.
+     */
+    private static int minMax(double[] y, int start, int end, int buckets, 
+            int[] result, int n) {
+        int length = end - start;
+        if (length <= 2 * buckets + 2) {
+            for (int i = start; i < end; i++) {
+                result[n++] = i;
+            }
+            return n;
+        }
+        result[n++] = start;
+        for (int b = 0; b < buckets; b++) {
+            int b0 = start + 1 + (int) ((long) b * (length - 2) / buckets);
+            int b1 = start + 1 + (int) ((long) (b + 1) * (length - 2) 
+                    / buckets);
+            int iMin = b0;
+            int iMax = b0;
+            for (int i = b0 + 1; i < b1; i++) {
+                if (y[i] < y[iMin]) {
+                    iMin = i;
+                }
+                if (y[i] > y[iMax]) {
+                    iMax = i;
+                }
+            }
+            result[n++] = Math.min(iMin, iMax);
+            if (iMin != iMax) {
+                result[n++] = Math.max(iMin, iMax);
+            }
+        }
+        result[n++] = end - 1;
+        return n;
+    }
+
+    /**
+     * Appends the indices for the largest-triangle-three-buckets 
+     * downsampling of one run of points.
+     * 
+     * @param x  the x-coordinates.
+     * @param y  the y-coordinates.
+     * @param z  the z-coordinates ({@code null} permitted).
+     * @param start  the index of the first point in the run.
+     * @param end  the index after the last point in the run.
+     * @param buckets  the number of buckets.
+     * @param result  the array to append the indices to.
+     * @param n  the number of indices already in the result.
+     * 
+     * @return The number of indices in the result.
+     */
+    private static int lttb(double[] x, double[] y, double[] z, int start, 
+            int end, int buckets, int[] result, int n) {
+        int length = end - start;
+        if (length <= buckets + 2) {
+            for (int i = start; i < end; i++) {
+                result[n++] = i;
+            }
+            return n;
+        }
+        result[n++] = start;
+        int a = start;
+        for (int b = 0; b < buckets; b++) {
+            int b0 = start + 1 + (int) ((long) b * (length - 2) / buckets);
+            int b1 = start + 1 + (int) ((long) (b + 1) * (length - 2) 
+                    / buckets);
+            // the average of the next bucket (or the last point)
+            boolean last = b == buckets - 1;
+            int c0 = last ? end - 1 : b1;
+            int c1 = last ? end : start + 1 
+                    + (int) ((long) (b + 2) * (length - 2) / buckets);
+            double cx = 0.0;
+            double cy = 0.0;
+            double cz = 0.0;
+            for (int i = c0; i < c1; i++) {
+                cx += x[i];
+                cy += y[i];
+                cz += z != null ? z[i] : 0.0;
+            }
+            int m = c1 - c0;
+            cx /= m;
+            cy /= m;
+            cz /= m;
+            double ax = x[a];
+            double ay = y[a];
+            double az = z != null ? z[a] : 0.0;
+            double best = -1.0;
+            int selected = b0;
+            for (int i = b0; i < b1; i++) {
+                // twice the triangle area is the length of the cross product
+                double ux = x[i] - ax;
+                double uy = y[i] - ay;
+                double uz = (z != null ? z[i] : 0.0) - az;
+                double vx = cx - ax;
+                double vy = cy - ay;
+                double vz = cz - az;
+                double px = uy * vz - uz * vy;
+                double py = uz * vx - ux * vz;
+                double pz = ux * vy - uy * vx;
+                double area = px * px + py * py + pz * pz;
+                if (area > best) {
+                    best = area;
+                    selected = i;
+                }
+            }
+            result[n++] = selected;
+            a = selected;
+        }
+        result[n++] = end - 1;
+        return n;
+    }
+
+}
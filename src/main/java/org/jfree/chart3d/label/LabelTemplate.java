@@ -0,0 +1,493 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.label;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jfree.chart3d.internal.Args;
+
+/**
+ * A label template that has been parsed once into a sequence of segments, 
+ * so that labels can be generated repeatedly without creating a new 
+ * {@code java.util.Formatter} and parsing the template string for every 
+ * label.  The output is the same as {@code String.format(template, args)}.
+ * <br><br>
+ * Literal text and plain {@code %s}, {@code %d} and {@code %.nf} format 
+ * specifiers (optionally with the {@code ','} grouping flag) are written 
+ * directly to a reusable (per thread) {@code StringBuilder}.  Other format 
+ * specifiers are passed individually to a reusable {@code Formatter}, and 
+ * templates that cannot be parsed (or that use date/time conversions) are 
+ * passed to a new {@code Formatter} in full, so that errors are reported 
+ * exactly as before.  Instances are immutable and can be shared between
+ * threads.
+ */
+final class LabelTemplate {
+
+    /** The pattern for a format specifier (as used by {@code Formatter}). */
+    private static final Pattern SPECIFIER = Pattern.compile(
+            "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+
+    /** The conversions that are supported for general specifiers. */
+    private static final String CONVERSIONS = "bBhHsScCdoxXeEfgGaA";
+    
+    /** A segment containing literal text. */
+    private static final int LITERAL = 0;
+    
+    /** A segment for a plain {@code %s} specifier. */
+    private static final int STRING = 1;
+    
+    /** A segment for a {@code %d} specifier without width or precision. */
+    private static final int INTEGER = 2;
+    
+    /** A segment for a {@code %f} specifier without width. */
+    private static final int DECIMAL = 3;
+    
+    /** A segment for any other specifier (delegated to a formatter). */
+    private static final int SPEC = 4;
+    
+    /** The reusable buffers for each thread. */
+    private static final ThreadLocal<Workspace> WORKSPACE 
+            = new ThreadLocal<Workspace>() {
+        @Override
+        protected Workspace initialValue() {
+            return new Workspace();
+        }
+    };
+    
+    /** The number symbols for the most recently used locale. */
+    private static volatile NumberSymbols lastSymbols;
+    
+    /** The template string. */
+    private final String template;
+    
+    /** 
+     * The segments of the template, or {@code null} if the template must be
+     * passed to a formatter in full. 
+     */
+    private final Segment[] segments;
+    
+    /** The number of arguments required by the segments. */
+    private final int argCount;
+    
+    /**
+     * Creates a new instance by parsing the specified template.
+     * 
+     * @param template  the template ({@code null} not permitted). 
+     */
+    LabelTemplate(String template) {
+        Args.nullNotPermitted(template, "template");
+        this.template = template;
+        this.segments = parse(template);
+        int max = 0;
+        if (this.segments != null) {
+            for (Segment s : this.segments) {
+                max = Math.max(max, s.argIndex + 1);
+            }
+        }
+        this.argCount = max;
+    }
+    
+    /**
+     * Returns the template string.
+     * 
+     * @return The template string (never {@code null}). 
+     */
+    String getTemplate() {
+        return this.template;
+    }
+    
+    /**
+     * Parses the template into segments, returning {@code null} if the 
+     * template contains something that should be left to the 
+     * {@code Formatter} class to handle.
+     * 
+     * @param template  the template ({@code null} not permitted).
+     * 
+     * @return The segments (possibly {@code null}). 
+     */
+    private static Segment[] parse(String template) {
+        List<Segment> result = new ArrayList<>();
+        Matcher m = SPECIFIER.matcher(template);
+        int ordinaryIndex = -1;
+        int lastIndex = -1;
+        int i = 0;
+        while (i < template.length()) {
+            int p = template.indexOf('%', i);
+            if (p < 0) {
+                result.add(Segment.literal(template.substring(i)));
+                break;
+            }
+            if (p > i) {
+                result.add(Segment.literal(template.substring(i, p)));
+            }
+            m.region(p, template.length());
+            if (!m.lookingAt() || m.group(5) != null) {
+                return null;
+            }
+            String index = m.group(1);
+            String flags = m.group(2) != null ? m.group(2) : "";
+            String width = m.group(3);
+            String precision = m.group(4);
+            char conversion = m.group(6).charAt(0);
+            if (conversion == '%' || conversion == 'n') {
+                if (index != null || !flags.isEmpty() || width != null 
+                        || precision != null) {
+                    return null;
+                }
+                result.add(Segment.literal(conversion == '%' ? "%" 
+                        : System.lineSeparator()));
+                i = m.end();
+                continue;
+            }
+            if (CONVERSIONS.indexOf(conversion) < 0) {
+                return null;
+            }
+            int argIndex;
+            if (index != null) {
+                argIndex = Integer.parseInt(index.substring(0, 
+                        index.length() - 1)) - 1;
+                if (argIndex < 0) {
+                    return null;
+                }
+            } else if (flags.indexOf('<') >= 0) {
+                if (lastIndex < 0) {
+                    return null;
+                }
+                argIndex = lastIndex;
+            } else {
+                ordinaryIndex++;
+                argIndex = ordinaryIndex;
+            }
+            lastIndex = argIndex;
+            flags = flags.replace("<", "");
+            String spec = "%" + flags + (width != null ? width : "") 
+                    + (precision != null ? precision : "") + conversion;
+            boolean grouping = flags.equals(",");
+            boolean plain = width == null && (flags.isEmpty() || grouping);
+            Segment segment;
+            if (conversion == 's' && plain && !grouping && precision == null) {
+                segment = new Segment(STRING, spec, argIndex, false, 0);
+            } else if (conversion == 'd' && plain && precision == null) {
+                segment = new Segment(INTEGER, spec, argIndex, grouping, 0);
+            } else if (conversion == 'f' && plain) {
+                int digits = 6;
+                if (precision != null) {
+                    digits = Integer.parseInt(precision.substring(1));
+                }
+                segment = new Segment(DECIMAL, spec, argIndex, grouping, 
+                        digits);
+            } else {
+                segment = new Segment(SPEC, spec, argIndex, false, 0);
+            }
+            result.add(segment);
+            i = m.end();
+        }
+        return result.toArray(new Segment[result.size()]);
+    }
+    
+    /**
+     * Returns a string formatted using the template and the supplied 
+     * arguments.
+     * 
+     * @param args  the arguments.
+     * 
+     * @return The formatted string (never {@code null}). 
+     */
+    String format(Object... args) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (this.segments == null || args.length < this.argCount) {
+            // let the formatter do the work (and report any errors)
+            try (Formatter formatter = new Formatter(new StringBuilder(), 
+                    locale)) {
+                formatter.format(this.template, args);
+                return formatter.toString();
+            }
+        }
+        Workspace ws = WORKSPACE.get();
+        StringBuilder sb = ws.sb;
+        sb.setLength(0);
+        for (Segment s : this.segments) {
+            if (s.kind == LITERAL) {
+                sb.append(s.text);
+                continue;
+            }
+            Object arg = args[s.argIndex];
+            if (s.kind == STRING && !(arg instanceof Formattable)) {
+                sb.append(arg);
+            } else if (s.kind == INTEGER && isIntegral(arg) 
+                    && appendInteger(sb, ((Number) arg).longValue(), 
+                    s.grouping, locale)) {
+                // done
+            } else if (s.kind == DECIMAL && isFloatingPoint(arg)
+                    && appendDecimal(sb, ((Number) arg).doubleValue(), 
+                    s.precision, s.grouping, locale)) {
+                // done
+            } else {
+                ws.formatter.format(locale, s.text, arg);
+            }
+        }
+        String result = sb.toString();
+        if (sb.capacity() > 1024) {
+            // don't hang on to an unusually large buffer
+            ws.reset();
+        }
+        return result;
+    }
+    
+    /**
+     * Returns {@code true} if the argument is one of the integer types that
+     * {@code %d} handles directly, and {@code false} otherwise.
+     * 
+     * @param arg  the argument ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    private static boolean isIntegral(Object arg) {
+        return arg instanceof Integer || arg instanceof Long 
+                || arg instanceof Short || arg instanceof Byte;
+    }
+    
+    /**
+     * Returns {@code true} if the argument is a {@code Double} or 
+     * {@code Float}, and {@code false} otherwise.
+     * 
+     * @param arg  the argument ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    private static boolean isFloatingPoint(Object arg) {
+        return arg instanceof Double || arg instanceof Float;
+    }
+    
+    /**
+     * Appends an integer value in the same format as {@code %d}.
+     * 
+     * @param sb  the string builder.
+     * @param value  the value.
+     * @param grouping  use grouping separators?
+     * @param locale  the locale.
+     * 
+     * @return {@code true} if the value was appended, or {@code false} if
+     *     the caller should fall back to a formatter.
+     */
+    private static boolean appendInteger(StringBuilder sb, long value, 
+            boolean grouping, Locale locale) {
+        NumberSymbols symbols = findSymbols(locale);
+        if (symbols.zeroDigit != '0') {
+            return false;
+        }
+        String digits = Long.toString(value);
+        if (value < 0) {
+            sb.append('-');
+            digits = digits.substring(1);
+        }
+        appendMagnitude(sb, digits, digits.length(), grouping, symbols);
+        return true;
+    }
+    
+    /**
+     * Appends a floating point value in the same format as {@code %.nf}.
+     * 
+     * @param sb  the string builder.
+     * @param value  the value.
+     * @param precision  the number of decimal places.
+     * @param grouping  use grouping separators?
+     * @param locale  the locale.
+     * 
+     * @return {@code true} if the value was appended, or {@code false} if
+     *     the caller should fall back to a formatter.
+     */
+    private static boolean appendDecimal(StringBuilder sb, double value, 
+            int precision, boolean grouping, Locale locale) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return false;
+        }
+        NumberSymbols symbols = findSymbols(locale);
+        if (symbols.zeroDigit != '0') {
+            return false;
+        }
+        // Formatter rounds the shortest decimal representation of the 
+        // value (half-up), and shows the sign even if the result is zero 
+        if (Double.compare(value, 0.0) < 0) {
+            sb.append('-');
+        }
+        String digits = BigDecimal.valueOf(Math.abs(value)).setScale(
+                precision, RoundingMode.HALF_UP).toPlainString();
+        int dot = digits.indexOf('.');
+        int intLength = dot < 0 ? digits.length() : dot;
+        appendMagnitude(sb, digits, intLength, grouping, symbols);
+        if (dot >= 0) {
+            sb.append(symbols.decimalSeparator);
+            sb.append(digits, dot + 1, digits.length());
+        }
+        return true;
+    }
+    
+    /**
+     * Appends the integer part of a number, inserting grouping separators 
+     * if required.
+     * 
+     * @param sb  the string builder.
+     * @param digits  the digits.
+     * @param length  the number of digits in the integer part.
+     * @param grouping  use grouping separators?
+     * @param symbols  the number symbols.
+     */
+    private static void appendMagnitude(StringBuilder sb, String digits, 
+            int length, boolean grouping, NumberSymbols symbols) {
+        if (!grouping || symbols.groupingSize <= 0) {
+            sb.append(digits, 0, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && (length - i) % symbols.groupingSize == 0) {
+                sb.append(symbols.groupingSeparator);
+            }
+            sb.append(digits.charAt(i));
+        }
+    }
+    
+    /**
+     * Returns the number symbols for the specified locale.
+     * 
+     * @param locale  the locale.
+     * 
+     * @return The number symbols. 
+     */
+    private static NumberSymbols findSymbols(Locale locale) {
+        NumberSymbols symbols = lastSymbols;
+        if (symbols == null || !symbols.locale.equals(locale)) {
+            symbols = new NumberSymbols(locale);
+            lastSymbols = symbols;
+        }
+        return symbols;
+    }
+    
+    /**
+     * A segment of a parsed template.
+     */
+    private static final class Segment {
+        
+        /** The segment kind. */
+        final int kind;
+        
+        /** The literal text or the format specifier. */
+        final String text;
+        
+        /** The argument index. */
+        final int argIndex;
+        
+        /** Use grouping separators? */
+        final boolean grouping;
+        
+        /** The number of decimal places (for {@code %f}). */
+        final int precision;
+        
+        Segment(int kind, String text, int argIndex, boolean grouping, 
+                int precision) {
+            this.kind = kind;
+            this.text = text;
+            this.argIndex = argIndex;
+            this.grouping = grouping;
+            this.precision = precision;
+        }
+        
+        static Segment literal(String text) {
+            return new Segment(LITERAL, text, -1, false, 0);
+        }
+    }
+    
+    /**
+     * The locale specific symbols used when formatting numbers (matching
+     * those used by {@code Formatter}).
+     */
+    private static final class NumberSymbols {
+        
+        final Locale locale;
+        
+        final char zeroDigit;
+        
+        final char decimalSeparator;
+        
+        final char groupingSeparator;
+        
+        final int groupingSize;
+        
+        NumberSymbols(Locale locale) {
+            this.locale = locale;
+            DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+            this.zeroDigit = dfs.getZeroDigit();
+            this.decimalSeparator = dfs.getDecimalSeparator();
+            this.groupingSeparator = dfs.getGroupingSeparator();
+            NumberFormat nf = NumberFormat.getNumberInstance(locale);
+            int size = 3;
+            if (nf instanceof DecimalFormat) {
+                DecimalFormat df = (DecimalFormat) nf;
+                size = df.isGroupingUsed() ? df.getGroupingSize() : 0;
+            }
+            this.groupingSize = size;
+        }
+    }
+    
+    /**
+     * The reusable string builder and formatter for one thread.
+     */
+    private static final class Workspace {
+        
+        StringBuilder sb;
+        
+        Formatter formatter;
+        
+        Workspace() {
+            reset();
+        }
+        
+        final void reset() {
+            this.sb = new StringBuilder(64);
+            this.formatter = new Formatter(this.sb);
+        }
+    }
+
+}
@@ -33,7 +33,6 @@
 package org.jfree.chart3d.label;
 
 import java.io.Serializable;
-import java.util.Formatter;
 
 import org.jfree.chart3d.data.KeyedValues3DItemKey;
 import org.jfree.chart3d.data.category.CategoryDataset3D;
@@ -93,6 +92,9 @@ public class StandardCategoryItemLabelGenerator
         
     /** The template. */
     private String template;
+
+    /** The parsed template (created when it is first required). */
+    private transient LabelTemplate labelTemplate;
     
     /** 
      * If this object is not-{@code null}, an item label will only be
@@ -171,18 +173,26 @@ public class StandardCategoryItemLabelGenerator
                 return null;
             }
         }
-        Formatter formatter = new Formatter(new StringBuilder());
         Number value = (Number) dataset.getValue(seriesKey, rowKey, columnKey);
         Double d = null;
         if (value != null) {
             d = value.doubleValue();
         }
-        formatter.format(this.template, seriesKey, rowKey, columnKey, d);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(seriesKey, rowKey, columnKey, d);
     }
  
+    /**
+     * Returns the parsed template, creating it if necessary.
+     * 
+     * @return The parsed template (never {@code null}). 
+     */
+    private LabelTemplate labelTemplate() {
+        if (this.labelTemplate == null) {
+            this.labelTemplate = new LabelTemplate(this.template);
+        }
+        return this.labelTemplate;
+    }
+
     /**
      * Tests this label generator for equality with an arbitrary object.
      * 
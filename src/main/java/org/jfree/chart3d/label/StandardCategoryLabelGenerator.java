@@ -33,7 +33,6 @@
 package org.jfree.chart3d.label;
 
 import java.io.Serializable;
-import java.util.Formatter;
 
 import org.jfree.chart3d.data.DataUtils;
 import org.jfree.chart3d.data.category.CategoryDataset3D;
@@ -87,6 +86,9 @@ public class StandardCategoryLabelGenerator<S extends Comparable<S>, R extends C
         
     /** The template. */
     private String template;
+
+    /** The parsed template (created when it is first required). */
+    private transient LabelTemplate labelTemplate;
     
     /**
      * The default constructor.
@@ -121,13 +123,9 @@ public class StandardCategoryLabelGenerator<S extends Comparable<S>, R extends C
             S seriesKey) {
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(seriesKey, "seriesKey");
-        Formatter formatter = new Formatter(new StringBuilder());
         int count = DataUtils.count(dataset, seriesKey);
         double total = DataUtils.total(dataset, seriesKey);
-        formatter.format(this.template, seriesKey, count, total);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(seriesKey, count, total);
     }
     
     /**
@@ -143,13 +141,9 @@ public class StandardCategoryLabelGenerator<S extends Comparable<S>, R extends C
             R rowKey) {
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(rowKey, "rowKey");
-        Formatter formatter = new Formatter(new StringBuilder());
         int count = DataUtils.countForRow(dataset, rowKey);
         double total = DataUtils.totalForRow(dataset, rowKey);
-        formatter.format(this.template, rowKey, count, total);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(rowKey, count, total);
     }
     
     /**
@@ -165,13 +159,21 @@ public class StandardCategoryLabelGenerator<S extends Comparable<S>, R extends C
             C columnKey) {
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(columnKey, "columnKey");
-        Formatter formatter = new Formatter(new StringBuilder());
         int count = DataUtils.countForColumn(dataset, columnKey);
         double total = DataUtils.totalForColumn(dataset, columnKey);
-        formatter.format(this.template, columnKey, count, total);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(columnKey, count, total);
+    }
+
+    /**
+     * Returns the parsed template, creating it if necessary.
+     * 
+     * @return The parsed template (never {@code null}). 
+     */
+    private LabelTemplate labelTemplate() {
+        if (this.labelTemplate == null) {
+            this.labelTemplate = new LabelTemplate(this.template);
+        }
+        return this.labelTemplate;
     }
 
     /**
@@ -33,7 +33,6 @@
 package org.jfree.chart3d.label;
 
 import java.io.Serializable;
-import java.util.Formatter;
 
 import org.jfree.chart3d.data.DataUtils;
 import org.jfree.chart3d.data.PieDataset3D;
@@ -108,6 +107,9 @@ public class StandardPieLabelGenerator implements PieLabelGenerator,
     /** The label template. */
     private String template;
 
+    /** The parsed template (created when it is first required). */
+    private transient LabelTemplate labelTemplate;
+
     /**
      * The default constructor, uses {@link #DEFAULT_TEMPLATE} for the 
      * template string.
@@ -141,19 +143,27 @@ public class StandardPieLabelGenerator implements PieLabelGenerator,
     public String generateLabel(PieDataset3D dataset, Comparable<?> key) {
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(key, "key");
-        Formatter formatter = new Formatter(new StringBuilder());
         Number value = (Number) dataset.getValue(key);
         Number percent = Double.NaN;
         if (value != null) {
             double total = DataUtils.total(dataset);
             percent = 100.0 * value.doubleValue() / total;
         }
-        formatter.format(this.template, key, value, percent);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(key, value, percent);
     }
     
+    /**
+     * Returns the parsed template, creating it if necessary.
+     * 
+     * @return The parsed template (never {@code null}). 
+     */
+    private LabelTemplate labelTemplate() {
+        if (this.labelTemplate == null) {
+            this.labelTemplate = new LabelTemplate(this.template);
+        }
+        return this.labelTemplate;
+    }
+
     /**
      * Tests this label generator for equality with an arbitrary object.
      * 
@@ -33,7 +33,6 @@
 package org.jfree.chart3d.label;
 
 import java.io.Serializable;
-import java.util.Formatter;
 
 import org.jfree.chart3d.data.xyz.XYZDataset;
 import org.jfree.chart3d.data.xyz.XYZItemKey;
@@ -75,6 +74,9 @@ public class StandardXYZItemLabelGenerator implements XYZItemLabelGenerator,
             
     /** The label template. */
     private String template;
+
+    /** The parsed template (created when it is first required). */
+    private transient LabelTemplate labelTemplate;
     
     private XYZDataItemSelection itemSelection;
     
@@ -137,14 +139,22 @@ public class StandardXYZItemLabelGenerator implements XYZItemLabelGenerator,
             }
         }
         int seriesIndex = dataset.getSeriesIndex(seriesKey);
-        Formatter formatter = new Formatter(new StringBuilder());
         double x = dataset.getX(seriesIndex, itemIndex);
         double y = dataset.getY(seriesIndex, itemIndex);
         double z = dataset.getZ(seriesIndex, itemIndex);
-        formatter.format(this.template, seriesKey, x, y, z);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(seriesKey, x, y, z);
+    }
+
+    /**
+     * Returns the parsed template, creating it if necessary.
+     * 
+     * @return The parsed template (never {@code null}). 
+     */
+    private LabelTemplate labelTemplate() {
+        if (this.labelTemplate == null) {
+            this.labelTemplate = new LabelTemplate(this.template);
+        }
+        return this.labelTemplate;
     }
 
     /**
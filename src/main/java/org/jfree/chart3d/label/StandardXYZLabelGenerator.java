@@ -33,7 +33,6 @@
 package org.jfree.chart3d.label;
 
 import java.io.Serializable;
-import java.util.Formatter;
 
 import org.jfree.chart3d.data.DataUtils;
 import org.jfree.chart3d.data.xyz.XYZDataset;
@@ -86,6 +85,9 @@ public class StandardXYZLabelGenerator implements XYZLabelGenerator,
     
     /** The label template. */
     private String template;
+
+    /** The parsed template (created when it is first required). */
+    private transient LabelTemplate labelTemplate;
     
     /**
      * The default constructor.
@@ -117,13 +119,21 @@ public class StandardXYZLabelGenerator implements XYZLabelGenerator,
             XYZDataset<S> dataset, S seriesKey) {
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(seriesKey, "seriesKey");
-        Formatter formatter = new Formatter(new StringBuilder());
         int count = dataset.getItemCount(dataset.getSeriesIndex(seriesKey));
         double total = DataUtils.total(dataset, seriesKey);
-        formatter.format(this.template, seriesKey, count, total);
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        return labelTemplate().format(seriesKey, count, total);
+    }
+
+    /**
+     * Returns the parsed template, creating it if necessary.
+     * 
+     * @return The parsed template (never {@code null}). 
+     */
+    private LabelTemplate labelTemplate() {
+        if (this.labelTemplate == null) {
+            this.labelTemplate = new LabelTemplate(this.template);
+        }
+        return this.labelTemplate;
     }
 
     /**
@@ -36,11 +36,13 @@ import java.awt.Shape;
 import java.util.ArrayList;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Insets;
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.geom.Dimension2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Map;
 import java.awt.FontMetrics;
@@ -97,6 +99,12 @@ public class ColorScaleElement extends AbstractTableElement
     /** The number formatter. */
     private final NumberFormat formatter;
     
+    /** 
+     * A cached image of the color strip, one pixel wide (or high) and one
+     * pixel per step along the scale, or {@code null}.
+     */
+    private transient volatile BufferedImage stripImage;
+    
     /**
      * Creates a new {@code ColorScaleElement} with the specified 
      * attributes.
@@ -355,13 +363,27 @@ public class ColorScaleElement extends AbstractTableElement
      */
     private void drawHorizontalScale(ColorScale colorScale, Graphics2D g2, 
             Rectangle2D bounds) {
-        g2.setStroke(new BasicStroke(1.0f));
-        for (int x = (int) bounds.getX(); x < bounds.getMaxX(); x++) {
-            double p = (x - bounds.getX()) / bounds.getWidth();
-            double value = colorScale.getRange().value(p);
-            g2.setColor(colorScale.valueToColor(value));
-            g2.drawLine(x, (int) bounds.getMinY(), x, (int) bounds.getMaxY());
-        }    
+        int length = (int) Math.ceil(bounds.getWidth());
+        if (length <= 0) {
+            return;
+        }
+        int x = (int) bounds.getX();
+        int y = (int) bounds.getMinY();
+        int h = (int) bounds.getHeight() + 1;
+        if (isRasterTarget(g2)) {
+            g2.drawImage(getStripImage(colorScale, length), x, y, length, h, 
+                    null);
+            return;
+        }
+        int[] argb = stripColors(colorScale, length, true);
+        int start = 0;
+        for (int i = 1; i <= length; i++) {
+            if (i == length || argb[i] != argb[start]) {
+                g2.setColor(new Color(argb[start], true));
+                g2.fill(new Rectangle2D.Double(x + start, y, i - start, h));
+                start = i;
+            }
+        }
     }
     
     /**
@@ -373,13 +395,97 @@ public class ColorScaleElement extends AbstractTableElement
      */
     private void drawVerticalScale(ColorScale colorScale, Graphics2D g2, 
             Rectangle2D bounds) {
-        g2.setStroke(new BasicStroke(1.0f));
-        for (int y = (int) bounds.getY(); y < bounds.getMaxY(); y++) {
-            double p = (y - bounds.getY()) / bounds.getHeight();
-            double value = colorScale.getRange().value(1 - p);
-            g2.setColor(this.scale.valueToColor(value));
-            g2.drawLine((int) bounds.getX(), y, (int) bounds.getMaxX(), y);
-        }    
+        int length = (int) Math.ceil(bounds.getHeight());
+        if (length <= 0) {
+            return;
+        }
+        int x = (int) bounds.getX();
+        int y = (int) bounds.getY();
+        int w = (int) bounds.getWidth() + 1;
+        if (isRasterTarget(g2)) {
+            g2.drawImage(getStripImage(colorScale, length), x, y, w, length, 
+                    null);
+            return;
+        }
+        int[] argb = stripColors(colorScale, length, false);
+        int start = 0;
+        for (int i = 1; i <= length; i++) {
+            if (i == length || argb[i] != argb[start]) {
+                g2.setColor(new Color(argb[start], true));
+                g2.fill(new Rectangle2D.Double(x, y + start, w, i - start));
+                start = i;
+            }
+        }
+    }
+    
+    /**
+     * Returns {@code true} if the graphics target draws to an image, in 
+     * which case the color strip can be drawn as a bitmap.  For other 
+     * targets (SVG, PDF, printers) the strip is drawn with vector shapes
+     * so that it stays sharp when scaled.
+     * 
+     * @param g2  the graphics target.
+     * 
+     * @return A boolean. 
+     */
+    private static boolean isRasterTarget(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        return gc != null && gc.getDevice().getType() 
+                == GraphicsDevice.TYPE_IMAGE_BUFFER;
+    }
+    
+    /**
+     * Returns the colors (as ARGB integers) for a color strip with the 
+     * specified length (in pixels), looked up with a single call to 
+     * {@link ColorScale#valuesToARGB(double[], int[])}.  For the vertical 
+     * orientation the high end of the scale comes first (at the top).
+     * 
+     * @param colorScale  the color scale.
+     * @param length  the length in pixels (greater than zero).
+     * @param horizontal  the orientation.
+     * 
+     * @return The colors. 
+     */
+    private static int[] stripColors(ColorScale colorScale, int length, 
+            boolean horizontal) {
+        Range r = colorScale.getRange();
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            // sample from end to end so both end colors appear exactly
+            double p = length > 1 ? i / (double) (length - 1) : 0.0;
+            values[i] = r.value(horizontal ? p : 1 - p);
+        }
+        int[] argb = new int[length];
+        colorScale.valuesToARGB(values, argb);
+        return argb;
+    }
+    
+    /**
+     * Returns an image of the color strip with the specified length (in 
+     * pixels), reusing the cached image when the length is unchanged.
+     * 
+     * @param colorScale  the color scale.
+     * @param length  the length in pixels (greater than zero).
+     * 
+     * @return The image. 
+     */
+    private BufferedImage getStripImage(ColorScale colorScale, int length) {
+        boolean horizontal = this.orientation == Orientation.HORIZONTAL;
+        BufferedImage image = this.stripImage;
+        if (image != null && (horizontal ? image.getWidth() 
+                : image.getHeight()) == length) {
+            return image;
+        }
+        int[] argb = stripColors(colorScale, length, horizontal);
+        if (horizontal) {
+            image = new BufferedImage(length, 1, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, length, 1, argb, 0, length);
+        } else {
+            image = new BufferedImage(1, length, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, 1, length, argb, 0, 1);
+        }
+        this.stripImage = image;
+        return image;
     }
 
     @Override
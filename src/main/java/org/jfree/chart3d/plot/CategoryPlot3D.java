@@ -41,6 +41,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jfree.chart3d.Chart3D;
 import org.jfree.chart3d.ChartElementVisitor;
@@ -183,6 +184,13 @@ public class CategoryPlot3D extends AbstractPlot3D
      */
     private CategoryItemLabelGenerator toolTipGenerator;
 
+    /**
+     * Are the items in large datasets composed in parallel?
+     *
+     * @since 2.1.2
+     */
+    private boolean parallelCompose;
+
     /**
      * Creates a new plot with the supplied dataset, renderer and axes.
      *
@@ -675,6 +683,39 @@ public class CategoryPlot3D extends AbstractPlot3D
         fireChangeEvent(false);
     }
 
+    /**
+     * Returns the flag that controls whether the items in large datasets are
+     * composed in parallel (using the common fork-join pool). The default
+     * value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @since 2.1.2
+     */
+    public boolean isParallelCompose() {
+        return this.parallelCompose;
+    }
+
+    /**
+     * Sets the flag that controls whether the items in large datasets are
+     * composed in parallel and sends a {@link Plot3DChangeEvent} to all
+     * registered listeners. When this is set, the renderer's
+     * {@code composeItem()} method will be called from several threads at
+     * once, so the renderer (and its color source and label generators) must
+     * be thread-safe, as the renderers in this library are. The first item
+     * is always composed on the calling thread before any others, and the
+     * world contains the same objects, in the same order, as for a
+     * sequential compose.
+     *
+     * @param parallel the new flag value.
+     *
+     * @since 2.1.2
+     */
+    public void setParallelCompose(boolean parallel) {
+        this.parallelCompose = parallel;
+        fireChangeEvent(false);
+    }
+
     /**
      * Returns a list containing legend item info, typically one item for each
      * series in the chart. This is intended for use in the construction of a
@@ -703,6 +744,23 @@ public class CategoryPlot3D extends AbstractPlot3D
     @Override
     public void compose(World world, double xOffset, double yOffset,
             double zOffset) {
+        if (this.parallelCompose) {
+            long itemCount = (long) this.dataset.getSeriesCount()
+                    * this.dataset.getRowCount()
+                    * this.dataset.getColumnCount();
+            if (itemCount >= ComposeTask.PARALLEL_THRESHOLD) {
+                // the first item is composed before the others, as it is 
+                // for a sequential compose, so that renderers can reset any 
+                // state that they keep between items
+                this.renderer.composeItem(this.dataset, 0, 0, 0, world,
+                        getDimensions(), xOffset, yOffset, zOffset);
+                world.addAll(ForkJoinPool.commonPool().invoke(
+                        new CategoryComposeTask(this, xOffset, yOffset,
+                        zOffset, 1L, itemCount,
+                        ComposeTask.segmentSize(itemCount))));
+                return;
+            }
+        }
         for (int series = 0; series < this.dataset.getSeriesCount(); series++) {
             for (int row = 0; row < this.dataset.getRowCount(); row++) {
                 for (int column = 0; column < this.dataset.getColumnCount();
@@ -803,6 +861,9 @@ public class CategoryPlot3D extends AbstractPlot3D
         if (!ObjectUtils.equals(this.toolTipGenerator, that.toolTipGenerator)) {
             return false;
         }
+        if (this.parallelCompose != that.parallelCompose) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -911,4 +972,54 @@ public class CategoryPlot3D extends AbstractPlot3D
         this.gridlineStrokeForValues = SerialUtils.readStroke(stream);
     }
 
+    /**
+     * A task that composes a range of items for the plot, where the items
+     * are numbered by series, then row, then column (the order of a
+     * sequential compose).
+     */
+    @SuppressWarnings("serial")
+    private static final class CategoryComposeTask extends ComposeTask {
+
+        private final CategoryPlot3D plot;
+        private final double xOffset;
+        private final double yOffset;
+        private final double zOffset;
+
+        CategoryComposeTask(CategoryPlot3D plot, double xOffset,
+                double yOffset, double zOffset, long start, long end,
+                long segmentSize) {
+            super(start, end, segmentSize);
+            this.plot = plot;
+            this.xOffset = xOffset;
+            this.yOffset = yOffset;
+            this.zOffset = zOffset;
+        }
+
+        @Override
+        ComposeTask createSubtask(long start, long end) {
+            return new CategoryComposeTask(this.plot, this.xOffset,
+                    this.yOffset, this.zOffset, start, end, this.segmentSize);
+        }
+
+        @Override
+        void compose(World world, long start, long end) {
+            CategoryDataset3D dataset = this.plot.dataset;
+            CategoryRenderer3D renderer = this.plot.renderer;
+            Dimension3D dimensions = this.plot.getDimensions();
+            int rowCount = dataset.getRowCount();
+            int columnCount = dataset.getColumnCount();
+            long line = start / columnCount;
+            int column = (int) (start % columnCount);
+            for (long index = start; index < end; index++) {
+                renderer.composeItem(dataset, (int) (line / rowCount),
+                        (int) (line % rowCount), column, world, dimensions,
+                        this.xOffset, this.yOffset, this.zOffset);
+                if (++column == columnCount) {
+                    column = 0;
+                    line++;
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,128 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.plot;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.jfree.chart3d.graphics3d.World;
+
+/**
+ * A task that composes a contiguous range of the items in a plot's dataset 
+ * (numbered consecutively across the whole dataset) into a task-local 
+ * {@link World}.  Ranges larger than the segment size are split in two and 
+ * composed in parallel, and the worlds are merged in item order so that the 
+ * result is the same as for a sequential compose.
+ */
+@SuppressWarnings("serial")
+abstract class ComposeTask extends RecursiveTask<World> {
+
+    /** 
+     * The minimum number of items for a parallel compose (smaller datasets 
+     * are always composed sequentially).
+     */
+    static final int PARALLEL_THRESHOLD = 10000;
+
+    /** The index of the first item to compose. */
+    protected final long start;
+
+    /** The index after the last item to compose. */
+    protected final long end;
+
+    /** The maximum number of items to compose without splitting the task. */
+    protected final long segmentSize;
+
+    /**
+     * Creates a new task.
+     * 
+     * @param start  the index of the first item.
+     * @param end  the index after the last item.
+     * @param segmentSize  the segment size.
+     */
+    ComposeTask(long start, long end, long segmentSize) {
+        this.start = start;
+        this.end = end;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Returns the number of items that each compose task should process, 
+     * giving a few tasks per thread in the common pool so that the work is
+     * balanced when some items are more expensive than others.
+     * 
+     * @param itemCount  the total number of items.
+     * 
+     * @return The segment size. 
+     */
+    static long segmentSize(long itemCount) {
+        int tasks = 4 * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        return Math.max(PARALLEL_THRESHOLD / 4, 
+                (itemCount + tasks - 1) / tasks);
+    }
+
+    /**
+     * Creates a task for a sub-range of the items covered by this task.
+     * 
+     * @param start  the index of the first item.
+     * @param end  the index after the last item.
+     * 
+     * @return The new task. 
+     */
+    abstract ComposeTask createSubtask(long start, long end);
+
+    /**
+     * Composes the items in the specified range into a world.
+     * 
+     * @param world  the world.
+     * @param start  the index of the first item.
+     * @param end  the index after the last item.
+     */
+    abstract void compose(World world, long start, long end);
+
+    @Override
+    protected World compute() {
+        if (this.end - this.start > this.segmentSize) {
+            long mid = this.start + (this.end - this.start) / 2;
+            ComposeTask left = createSubtask(this.start, mid);
+            ComposeTask right = createSubtask(mid, this.end);
+            left.fork();
+            World rightWorld = right.compute();
+            World result = left.join();
+            result.addAll(rightWorld);
+            return result;
+        }
+        World world = new World();
+        compose(world, this.start, this.end);
+        return world;
+    }
+
+}
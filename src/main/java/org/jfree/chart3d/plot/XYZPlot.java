@@ -42,6 +42,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jfree.chart3d.internal.Args;
 import org.jfree.chart3d.ChartElementVisitor;
@@ -131,6 +132,13 @@ public class XYZPlot extends AbstractPlot3D implements Dataset3DChangeListener,
     /** The tool tip generator (if null there will be no tooltips). */
     private XYZItemLabelGenerator toolTipGenerator;
     
+    /** 
+     * Are the items in large datasets composed in parallel?
+     * 
+     * @since 2.1.2
+     */
+    private boolean parallelCompose;
+    
     /**
      * Creates a new plot with the specified axes.
      * 
@@ -524,6 +532,38 @@ public class XYZPlot extends AbstractPlot3D implements Dataset3DChangeListener,
         fireChangeEvent(false);
     }
     
+    /**
+     * Returns the flag that controls whether the items in large datasets are
+     * composed in parallel (using the common fork-join pool).  The default 
+     * value is {@code false}.  
+     * 
+     * @return A boolean.
+     * 
+     * @since 2.1.2
+     */
+    public boolean isParallelCompose() {
+        return this.parallelCompose;
+    }
+    
+    /**
+     * Sets the flag that controls whether the items in large datasets are
+     * composed in parallel and sends a {@link Plot3DChangeEvent} to all 
+     * registered listeners.  When this is set, a renderer that composes 
+     * items one at a time will have its {@code composeItem()} method called
+     * from several threads at once, so the renderer (and its color source 
+     * and label generators) must be thread-safe, as the renderers in this 
+     * library are.  The world contains the same objects, in the same order,
+     * as for a sequential compose.
+     * 
+     * @param parallel  the new flag value.
+     * 
+     * @since 2.1.2
+     */
+    public void setParallelCompose(boolean parallel) {
+        this.parallelCompose = parallel;
+        fireChangeEvent(false);
+    }
+    
     /**
      * Returns a list containing legend item info, typically one item for
      * each series in the chart.  This is intended for use in the construction
@@ -568,6 +608,20 @@ public class XYZPlot extends AbstractPlot3D implements Dataset3DChangeListener,
             // shape intersects with the visible 
             // subset of the world, and if so add the object
             int seriesCount = this.dataset.getSeriesCount();
+            if (this.parallelCompose) {
+                long[] starts = new long[seriesCount + 1];
+                for (int s = 0; s < seriesCount; s++) {
+                    starts[s + 1] = starts[s] + this.dataset.getItemCount(s);
+                }
+                long itemCount = starts[seriesCount];
+                if (itemCount >= ComposeTask.PARALLEL_THRESHOLD) {
+                    world.addAll(ForkJoinPool.commonPool().invoke(
+                            new XYZComposeTask(this, starts, xOffset, yOffset, 
+                            zOffset, 0L, itemCount, 
+                            ComposeTask.segmentSize(itemCount))));
+                    return;
+                }
+            }
             for (int series = 0; series < seriesCount; series++) {
                 int itemCount = this.dataset.getItemCount(series);
                 for (int item = 0; item < itemCount; item++) {
@@ -666,6 +720,9 @@ public class XYZPlot extends AbstractPlot3D implements Dataset3DChangeListener,
         if (!this.legendLabelGenerator.equals(that.legendLabelGenerator)) {
             return false;
         }
+        if (this.parallelCompose != that.parallelCompose) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -755,4 +812,62 @@ public class XYZPlot extends AbstractPlot3D implements Dataset3DChangeListener,
         this.gridlineStrokeZ = SerialUtils.readStroke(stream);
     }
 
+    /**
+     * A task that composes a range of items for the plot, where the items 
+     * of all series are numbered consecutively.
+     */
+    @SuppressWarnings("serial")
+    private static final class XYZComposeTask extends ComposeTask {
+        
+        private final XYZPlot plot;
+        
+        /** The index of the first item in each series (plus the total). */
+        private final long[] starts;
+        
+        private final double xOffset;
+        private final double yOffset;
+        private final double zOffset;
+        
+        XYZComposeTask(XYZPlot plot, long[] starts, double xOffset, 
+                double yOffset, double zOffset, long start, long end, 
+                long segmentSize) {
+            super(start, end, segmentSize);
+            this.plot = plot;
+            this.starts = starts;
+            this.xOffset = xOffset;
+            this.yOffset = yOffset;
+            this.zOffset = zOffset;
+        }
+
+        @Override
+        ComposeTask createSubtask(long start, long end) {
+            return new XYZComposeTask(this.plot, this.starts, this.xOffset,
+                    this.yOffset, this.zOffset, start, end, this.segmentSize);
+        }
+
+        @Override
+        void compose(World world, long start, long end) {
+            XYZDataset dataset = this.plot.dataset;
+            XYZRenderer renderer = this.plot.renderer;
+            Dimension3D dimensions = this.plot.dimensions;
+            int series = 0;
+            while (this.starts[series + 1] <= start) {
+                series++;
+            }
+            long index = start;
+            while (index < end) {
+                int first = (int) (index - this.starts[series]);
+                int last = (int) (Math.min(end, this.starts[series + 1]) 
+                        - this.starts[series]);
+                for (int item = first; item < last; item++) {
+                    renderer.composeItem(dataset, series, item, world, 
+                            dimensions, this.xOffset, this.yOffset, 
+                            this.zOffset);
+                }
+                index = this.starts[series + 1];
+                series++;
+            }
+        }
+    }
+
 }
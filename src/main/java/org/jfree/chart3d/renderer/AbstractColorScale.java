@@ -72,6 +72,57 @@ public abstract class AbstractColorScale implements Serializable {
         return this.range;
     }
 
+    /**
+     * Returns the index of the sample for a value.  The value is first 
+     * clamped to the range of the scale, and the index is 
+     * {@code (int) (fraction * indexScale)} limited to the range 
+     * {@code 0} to {@code sampleCount - 1}.
+     * 
+     * @param value  the value.
+     * @param sampleCount  the number of samples.
+     * @param indexScale  the multiplier that converts a fraction along the
+     *     range to a sample index.
+     * 
+     * @return The sample index. 
+     * 
+     * @since 2.1.2
+     */
+    protected int sampleIndex(double value, int sampleCount, 
+            double indexScale) {
+        double v = Math.max(this.range.getMin(), Math.min(value, 
+                this.range.getMax()));
+        // (int) NaN is 0, so a NaN value maps to the first sample
+        int i = (int) (this.range.percent(v) * indexScale);
+        return Math.max(0, Math.min(i, sampleCount - 1));
+    }
+    
+    /**
+     * Looks up the ARGB values for an array of data values in a table of
+     * samples (see {@link #sampleIndex(double, int, double)}).
+     * 
+     * @param samples  the ARGB samples ({@code null} not permitted).
+     * @param indexScale  the multiplier that converts a fraction along the
+     *     range to a sample index.
+     * @param values  the data values ({@code null} not permitted).
+     * @param result  the array for the result ({@code null} not permitted,
+     *     and at least as long as {@code values}).
+     * 
+     * @since 2.1.2
+     */
+    protected void lookupARGB(int[] samples, double indexScale, 
+            double[] values, int[] result) {
+        Args.nullNotPermitted(values, "values");
+        Args.nullNotPermitted(result, "result");
+        if (result.length < values.length) {
+            throw new IllegalArgumentException(
+                    "The result array is shorter than the values array.");
+        }
+        for (int i = 0; i < values.length; i++) {
+            result[i] = samples[sampleIndex(values[i], samples.length, 
+                    indexScale)];
+        }
+    }
+
     /**
      * Tests this color scale for equality with an arbitrary object.
      * 
@@ -34,6 +34,7 @@ package org.jfree.chart3d.renderer;
 
 import java.awt.Color;
 import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.internal.Args;
 
 /**
  * A color scale converts a data value into a color according to some
@@ -59,5 +60,31 @@ public interface ColorScale {
      * @return The color (never {@code null}).
      */
     Color valueToColor(double value);
+    
+    /**
+     * Converts an array of values to colors on the scale in one call, 
+     * writing the colors as ARGB integers (in the format returned by 
+     * {@code Color.getRGB()}) into the {@code result} array.  This gives 
+     * the same colors as {@link #valueToColor(double)}.  The default 
+     * implementation calls {@link #valueToColor(double)} for each value,
+     * the built-in scales override it with a faster table lookup.
+     * 
+     * @param values  the values ({@code null} not permitted).
+     * @param result  the array for the result ({@code null} not permitted,
+     *     and at least as long as {@code values}).
+     * 
+     * @since 2.1.2
+     */
+    default void valuesToARGB(double[] values, int[] result) {
+        Args.nullNotPermitted(values, "values");
+        Args.nullNotPermitted(result, "result");
+        if (result.length < values.length) {
+            throw new IllegalArgumentException(
+                    "The result array is shorter than the values array.");
+        }
+        for (int i = 0; i < values.length; i++) {
+            result[i] = valueToColor(values[i]).getRGB();
+        }
+    }
 
 }
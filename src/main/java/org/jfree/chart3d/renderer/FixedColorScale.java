@@ -34,6 +34,7 @@ package org.jfree.chart3d.renderer;
 
 import java.awt.Color;
 import java.io.Serializable;
+import java.util.Arrays;
 
 import org.jfree.chart3d.data.Range;
 import org.jfree.chart3d.internal.Args;
@@ -96,6 +97,27 @@ public class FixedColorScale implements ColorScale, Serializable {
         return this.color;
     }
     
+    /**
+     * Fills the {@code result} array with the fixed color (as an ARGB 
+     * integer).
+     * 
+     * @param values  the values ({@code null} not permitted).
+     * @param result  the array for the result ({@code null} not permitted,
+     *     and at least as long as {@code values}).
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    public void valuesToARGB(double[] values, int[] result) {
+        Args.nullNotPermitted(values, "values");
+        Args.nullNotPermitted(result, "result");
+        if (result.length < values.length) {
+            throw new IllegalArgumentException(
+                    "The result array is shorter than the values array.");
+        }
+        Arrays.fill(result, 0, values.length, this.color.getRGB());
+    }
+    
     /**
      * Tests this instance for equality with an arbitrary object.
      * 
@@ -56,8 +56,14 @@ public class GradientColorScale extends AbstractColorScale
     /** The color at the high end of the value range. */
     private final Color highColor;
     
-    /** Storage for the color samples. */
+    /** 
+     * The color samples, built in the constructor and never modified after
+     * that (so instances are safe to use from multiple threads).
+     */
     private final Color[] colors;
+    
+    /** The ARGB values for the color samples. */
+    private final int[] argb;
 
     /**
      * Creates a new instance with the specified value range and colors.
@@ -75,6 +81,17 @@ public class GradientColorScale extends AbstractColorScale
         this.lowColor = lowColor;
         this.highColor = highColor;
         this.colors = new Color[255];
+        this.argb = new int[this.colors.length];
+        float[] lrgba = this.lowColor.getRGBComponents(null);
+        float[] hrgba = this.highColor.getRGBComponents(null);
+        for (int i = 0; i < this.colors.length; i++) {
+            float p = i / (float) (this.colors.length - 1);
+            this.colors[i] = new Color(lrgba[0] * (1 - p) + hrgba[0] * p,
+                    lrgba[1] * (1 - p) + hrgba[1] * p,
+                    lrgba[2] * (1 - p) + hrgba[2] * p,
+                    lrgba[3] * (1 - p) + hrgba[3] * p);
+            this.argb[i] = this.colors[i].getRGB();
+        }
     }
 
     /**
@@ -105,7 +122,9 @@ public class GradientColorScale extends AbstractColorScale
     }
 
     /**
-     * Returns the color corresponding to the specified data value.  If this
+     * Returns the color corresponding to the specified data value.  Values
+     * outside the range of the scale are given the color at the nearest end
+     * of the range.
      * 
      * @param value  the data value.
      * 
@@ -113,26 +132,22 @@ public class GradientColorScale extends AbstractColorScale
      */
     @Override
     public Color valueToColor(double value) {
-        Range r = getRange();
-        if (value < r.getMin()) {
-            return valueToColor(r.getMin());
-        }
-        if (value > r.getMax()) {
-            return valueToColor(r.getMax());
-        }
-        double fraction = getRange().percent(value);
-        int i = Math.min((int) (fraction * this.colors.length), 
-                this.colors.length - 1);
-        if (this.colors[i] == null) {
-            float[] lrgba = this.lowColor.getRGBComponents(null);
-            float[] hrgba = this.highColor.getRGBComponents(null);
-            float p = (float) fraction;
-            this.colors[i] = new Color(lrgba[0] * (1 - p) + hrgba[0] * p,
-                    lrgba[1] * (1 - p) + hrgba[1] * p,
-                    lrgba[2] * (1 - p) + hrgba[2] * p,
-                    lrgba[3] * (1 - p) + hrgba[3] * p);
-        }
-        return this.colors[i];
+        return this.colors[sampleIndex(value, this.colors.length, 
+                this.colors.length)];
+    }
+    
+    /**
+     * Converts an array of values to colors on the scale, as ARGB integers.
+     * 
+     * @param values  the values ({@code null} not permitted).
+     * @param result  the array for the result ({@code null} not permitted,
+     *     and at least as long as {@code values}).
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    public void valuesToARGB(double[] values, int[] result) {
+        lookupARGB(this.argb, this.argb.length, values, result);
     }
     
     /**
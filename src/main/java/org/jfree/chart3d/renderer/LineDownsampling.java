@@ -0,0 +1,66 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.renderer;
+
+/**
+ * The methods that line renderers can use to reduce the number of data 
+ * items they compose when a series has many more items than can be 
+ * distinguished along the axis.  The items are divided into a fixed number
+ * of buckets spanning the axis, and representative items are selected from 
+ * each bucket.  Items with 
+ * missing values are always retained, so gaps in a line are preserved.
+ * 
+ * @since 2.1.2
+ */
+public enum LineDownsampling {
+
+    /** All items are composed. */
+    NONE,
+
+    /** 
+     * The items with the minimum and maximum values in each bucket are 
+     * retained (together with the first and last items), so the extremes 
+     * of the line are preserved exactly.
+     */
+    MIN_MAX,
+
+    /** 
+     * The largest-triangle-three-buckets algorithm: one item is retained 
+     * from each bucket, chosen to maximise the area of the triangle it 
+     * forms with the item retained from the previous bucket and the average 
+     * of the next bucket (this follows the visual shape of the line closely
+     * using a fixed number of items).
+     */
+    LTTB
+
+}
@@ -62,8 +62,14 @@ public class RainbowScale extends AbstractColorScale implements ColorScale {
      */
     public static final Range BLUE_TO_RED_RANGE = new Range(0.0, 0.6666);
     
-    /** Storage for the color samples. */
-    private Color[] colors;
+    /** 
+     * The color samples, built in the constructor and never modified after
+     * that (so instances are safe to use from multiple threads).
+     */
+    private final Color[] colors;
+    
+    /** The ARGB values for the color samples. */
+    private final int[] argb;
     
     /** 
      * The subrange of hues (useful to restrict the scale to the range from
@@ -86,14 +92,21 @@ public class RainbowScale extends AbstractColorScale implements ColorScale {
      * given number of samples and hues restricted to the specified range.
      * 
      * @param range  the range ({@code null} not permitted).
-     * @param samples  the number of samples.
+     * @param samples  the number of samples (must be positive).
      * @param hueSubrange  the hue sub-range.
      */
     public RainbowScale(Range range, int samples, Range hueSubrange) {
         super(range);
+        Args.positiveRequired(samples, "samples");
         Args.nullNotPermitted(hueSubrange, "hueSubrange");
-        this.colors = new Color[samples];
         this.hueSubrange = hueSubrange;
+        this.colors = new Color[samples];
+        this.argb = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            double fraction = samples > 1 ? i / (double) (samples - 1) : 0.0;
+            this.colors[i] = createRainbowColor(fraction);
+            this.argb[i] = this.colors[i].getRGB();
+        }
     }
 
     /**
@@ -123,19 +136,22 @@ public class RainbowScale extends AbstractColorScale implements ColorScale {
      */
     @Override
     public Color valueToColor(double value) {
-        Range r = getRange();
-        if (value < r.getMin()) {
-            return valueToColor(r.getMin());
-        }
-        if (value > r.getMax()) {
-            return valueToColor(r.getMax());
-        }
-        double fraction = getRange().percent(value);
-        int i = (int) (fraction * (this.colors.length - 1));
-        if (this.colors[i] == null) {
-            this.colors[i] = createRainbowColor(fraction);
-        }
-        return this.colors[i];
+        return this.colors[sampleIndex(value, this.colors.length, 
+                this.colors.length - 1)];
+    }
+    
+    /**
+     * Converts an array of values to colors on the scale, as ARGB integers.
+     * 
+     * @param values  the values ({@code null} not permitted).
+     * @param result  the array for the result ({@code null} not permitted,
+     *     and at least as long as {@code values}).
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    public void valuesToARGB(double[] values, int[] result) {
+        lookupARGB(this.argb, this.argb.length - 1, values, result);
     }
     
     /**
@@ -34,10 +34,13 @@ package org.jfree.chart3d.renderer.category;
 
 import java.awt.Color;
 import java.io.Serializable;
+import org.jfree.chart3d.axis.CategoryAxis3D;
+import org.jfree.chart3d.axis.StandardCategoryAxis3D;
 import org.jfree.chart3d.internal.Args;
 import org.jfree.chart3d.data.DataUtils;
 import org.jfree.chart3d.data.Range;
 import org.jfree.chart3d.data.Values3D;
+import org.jfree.chart3d.data.category.CategoryDataset3D;
 import org.jfree.chart3d.graphics3d.Offset3D;
 import org.jfree.chart3d.internal.ObjectUtils;
 import org.jfree.chart3d.label.CategoryItemLabelGenerator;
@@ -203,6 +206,59 @@ public abstract class AbstractCategoryRenderer3D extends AbstractRenderer3D
         return DataUtils.findValueRange(data);
     }
     
+    /**
+     * Returns the value along the row axis for the row with the specified
+     * index in the dataset.  For a {@link StandardCategoryAxis3D} the value 
+     * is looked up by index, for other axes the row key is used.
+     * 
+     * @param axis  the row axis ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param row  the row index.
+     * 
+     * @return The axis value ({@code Double.NaN} if the index is out of
+     *     range).
+     * 
+     * @since 2.1.2
+     */
+    protected static double rowAxisValue(CategoryAxis3D axis, 
+            CategoryDataset3D dataset, int row) {
+        if (axis instanceof StandardCategoryAxis3D) {
+            return ((StandardCategoryAxis3D) axis).getCategoryValueByIndex(
+                    row);
+        }
+        if (row < 0 || row >= dataset.getRowCount()) {
+            return Double.NaN;
+        }
+        return axis.getCategoryValue(dataset.getRowKey(row));
+    }
+    
+    /**
+     * Returns the value along the column axis for the column with the 
+     * specified index in the dataset.  For a {@link StandardCategoryAxis3D} 
+     * the value is looked up by index, for other axes the column key is 
+     * used.
+     * 
+     * @param axis  the column axis ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param column  the column index.
+     * 
+     * @return The axis value ({@code Double.NaN} if the index is out of
+     *     range).
+     * 
+     * @since 2.1.2
+     */
+    protected static double columnAxisValue(CategoryAxis3D axis, 
+            CategoryDataset3D dataset, int column) {
+        if (axis instanceof StandardCategoryAxis3D) {
+            return ((StandardCategoryAxis3D) axis).getCategoryValueByIndex(
+                    column);
+        }
+        if (column < 0 || column >= dataset.getColumnCount()) {
+            return Double.NaN;
+        }
+        return axis.getCategoryValue(dataset.getColumnKey(column));
+    }
+    
     /**
      * Tests this renderer for equality with an arbitrary object.
      * 
@@ -301,8 +301,8 @@ public class AreaRenderer3D extends AbstractCategoryRenderer3D
         Comparable<?> seriesKey = dataset.getSeriesKey(series);
         Comparable<?> rowKey = dataset.getRowKey(row);
         Comparable<?> columnKey = dataset.getColumnKey(column);
-        double rowValue = rowAxis.getCategoryValue(rowKey);
-        double columnValue = columnAxis.getCategoryValue(columnKey);
+        double rowValue = rowAxisValue(rowAxis, dataset, row);
+        double columnValue = columnAxisValue(columnAxis, dataset, column);
         double ww = dimensions.getWidth();
         double hh = dimensions.getHeight();
         double dd = dimensions.getDepth();
@@ -382,8 +382,8 @@ public class AreaRenderer3D extends AbstractCategoryRenderer3D
                 rowKey, columnKey);
  
         if (createLeftSegment) {
-            Comparable<?> prevColumnKey = dataset.getColumnKey(column - 1);
-            double prevColumnValue = columnAxis.getCategoryValue(prevColumnKey);
+            double prevColumnValue = columnAxisValue(columnAxis, 
+                    dataset, column - 1);
             double prevColumnX = columnAxis.translateToWorld(prevColumnValue, 
                     ww) + xOffset;
             double xl = (prevColumnX + xw) / 2.0;
@@ -403,8 +403,8 @@ public class AreaRenderer3D extends AbstractCategoryRenderer3D
         }
 
         if (createRightSegment) {
-            Comparable<?> nextColumnKey = dataset.getColumnKey(column + 1);
-            double nextColumnValue = columnAxis.getCategoryValue(nextColumnKey);
+            double nextColumnValue = columnAxisValue(columnAxis, 
+                    dataset, column + 1);
             double nextColumnX = columnAxis.translateToWorld(nextColumnValue, 
                     ww) + xOffset;
             double xr = (nextColumnX + xw) / 2.0;
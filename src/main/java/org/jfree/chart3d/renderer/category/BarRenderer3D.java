@@ -327,8 +327,8 @@ public class BarRenderer3D extends AbstractCategoryRenderer3D
         double vtop = range.peggedValue(vhigh);
         boolean inverted = barBase > value;
         
-        double rowValue = rowAxis.getCategoryValue(rowKey);
-        double columnValue = columnAxis.getCategoryValue(columnKey);
+        double rowValue = rowAxisValue(rowAxis, dataset, row);
+        double columnValue = columnAxisValue(columnAxis, dataset, column);
 
         double width = dimensions.getWidth();
         double height = dimensions.getHeight();
@@ -34,6 +34,9 @@ package org.jfree.chart3d.renderer.category;
 
 import java.awt.Color;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jfree.chart3d.Chart3D;
 import org.jfree.chart3d.Chart3DFactory;
@@ -46,9 +49,12 @@ import org.jfree.chart3d.graphics3d.Dimension3D;
 import org.jfree.chart3d.graphics3d.Object3D;
 import org.jfree.chart3d.graphics3d.Offset3D;
 import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.DownsampleUtils;
 import org.jfree.chart3d.internal.ObjectUtils;
 import org.jfree.chart3d.label.ItemLabelPositioning;
 import org.jfree.chart3d.plot.CategoryPlot3D;
+import org.jfree.chart3d.renderer.LineDownsampling;
 import org.jfree.chart3d.renderer.Renderer3DChangeEvent;
 
 /**
@@ -70,6 +76,10 @@ import org.jfree.chart3d.renderer.Renderer3DChangeEvent;
  * {@link Chart3DFactory#createLineChart(String, String, CategoryDataset3D, 
  * String, String, String)}.
  * <br><br> 
+ * For rows with many more columns than can be distinguished along the 
+ * column axis, the renderer can compose a representative subset of the 
+ * items (see {@link #setDownsampling(LineDownsampling)}).
+ * <br><br> 
  * NOTE: This class is serializable, but the serialization format is subject 
  * to change in future releases and should not be relied upon for persisting 
  * instances of this class.
@@ -96,6 +106,21 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
      * items in the chart.
      */
     private CategoryColorSource clipColorSource;
+
+    /** The downsampling method (never {@code null}). */
+    private LineDownsampling downsampling;
+
+    /** 
+     * The number of downsampling buckets spanning the column axis.
+     */
+    private int downsamplingBucketCount;
+
+    /** 
+     * The column selections for the series and rows of the dataset being
+     * composed (this may be accessed by several threads at once when the 
+     * plot composes items in parallel).
+     */
+    private transient volatile SelectionCache selections;
     
     /**
      * Creates a new instance with default attribute values.
@@ -105,6 +130,8 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         this.lineHeight = 0.2;
         this.isolatedItemWidthPercent = 0.25;
         this.clipColorSource = new StandardCategoryColorSource(Color.RED);
+        this.downsampling = LineDownsampling.NONE;
+        this.downsamplingBucketCount = 500;
     }
     
     /**
@@ -196,6 +223,65 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         this.clipColorSource = source;
         fireChangeEvent(true);
     }
+
+    /**
+     * Returns the method used to select the items to compose for rows with
+     * many columns.  The default value is {@link LineDownsampling#NONE}.
+     * 
+     * @return The downsampling method (never {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public LineDownsampling getDownsampling() {
+        return this.downsampling;
+    }
+
+    /**
+     * Sets the method used to select the items to compose for rows with 
+     * many columns and sends a {@link Renderer3DChangeEvent} to all 
+     * registered listeners.  Items that are not selected are skipped 
+     * entirely (including their item labels), and the line segments for the
+     * selected items are joined to the adjacent selected items.
+     * 
+     * @param downsampling  the method ({@code null} not permitted).
+     * 
+     * @since 2.1.2
+     */
+    public void setDownsampling(LineDownsampling downsampling) {
+        Args.nullNotPermitted(downsampling, "downsampling");
+        this.downsampling = downsampling;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the number of downsampling buckets spanning the column axis.
+     * Each bucket covers an equal share of the columns, so this is the 
+     * approximate number of items retained by {@link LineDownsampling#LTTB}
+     * (and half the maximum number retained by 
+     * {@link LineDownsampling#MIN_MAX}).  The default value is {@code 500},
+     * roughly one bucket per pixel for a typical chart size.
+     * 
+     * @return The bucket count.
+     * 
+     * @since 2.1.2
+     */
+    public int getDownsamplingBucketCount() {
+        return this.downsamplingBucketCount;
+    }
+
+    /**
+     * Sets the number of downsampling buckets spanning the column axis and 
+     * sends a {@link Renderer3DChangeEvent} to all registered listeners.
+     * 
+     * @param count  the bucket count (must be positive).
+     * 
+     * @since 2.1.2
+     */
+    public void setDownsamplingBucketCount(int count) {
+        Args.positiveRequired(count, "count");
+        this.downsamplingBucketCount = count;
+        fireChangeEvent(true);
+    }
     
     /**
      * Constructs and places one item from the specified dataset into the given 
@@ -221,14 +307,33 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         // there is a lot of brute force code underneath this compose method
         // because I haven't seen the pattern yet that will let me reduce it
         // to something more elegant...probably I'm not smart enough.
+        
+        // the adjacent columns are the neighbouring columns unless 
+        // downsampling has selected a subset of the columns
+        int prevColumn = column - 1;
+        int nextColumn = column + 1 < dataset.getColumnCount() 
+                ? column + 1 : -1;
+        if (this.downsampling != LineDownsampling.NONE) {
+            ColumnSelection selection = findSelection(dataset, series, row, 
+                    column, dimensions);
+            if (selection.columns != null) {
+                int pos = selection.positions[column];
+                if (pos < 0) {
+                    return;
+                }
+                prevColumn = pos > 0 ? selection.columns[pos - 1] : -1;
+                nextColumn = pos < selection.columns.length - 1 
+                        ? selection.columns[pos + 1] : -1;
+            }
+        }
         Number y = (Number) dataset.getValue(series, row, column);
         Number yprev = null;
-        if (column > 0) {
-            yprev = (Number) dataset.getValue(series, row, column - 1);
+        if (prevColumn >= 0) {
+            yprev = (Number) dataset.getValue(series, row, prevColumn);
         }
         Number ynext = null;
-        if (column < dataset.getColumnCount() - 1) {
-            ynext = (Number) dataset.getValue(series, row, column + 1);
+        if (nextColumn >= 0) {
+            ynext = (Number) dataset.getValue(series, row, nextColumn);
         }
 
         CategoryPlot3D plot = getPlot();
@@ -240,8 +345,8 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         Comparable<?> seriesKey = dataset.getSeriesKey(series);
         Comparable<?> rowKey = dataset.getRowKey(row);
         Comparable<?> columnKey = dataset.getColumnKey(column);
-        double rowValue = rowAxis.getCategoryValue(rowKey);
-        double columnValue = columnAxis.getCategoryValue(columnKey);
+        double rowValue = rowAxisValue(rowAxis, dataset, row);
+        double columnValue = columnAxisValue(columnAxis, dataset, column);
         double ww = dimensions.getWidth();
         double hh = dimensions.getHeight();
         double dd = dimensions.getDepth();
@@ -259,9 +364,9 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         boolean leftClose = false;
         boolean rightOpen = false;
         boolean rightClose = false;
-        if (column == 0) { // first column is a special case
+        if (prevColumn < 0) { // first column is a special case
             createLeftSegment = false;  // never for first item
-            if (dataset.getColumnCount() == 1) {
+            if (nextColumn < 0) {
                 createRightSegment = false; 
                 createIsolatedSegment = (y != null);
             } else {
@@ -270,7 +375,7 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
                 rightClose = false;
                 createIsolatedSegment = (y != null && ynext == null);
             }
-        } else if (column == dataset.getColumnCount() - 1) { // last column
+        } else if (nextColumn < 0) { // last column
             createRightSegment = false; // never for the last item
             createLeftSegment = (y != null && yprev != null);
             leftOpen = false;
@@ -308,8 +413,8 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         KeyedValues3DItemKey itemKey = new KeyedValues3DItemKey(seriesKey, 
                 rowKey, columnKey);
         if (createLeftSegment) {
-            Comparable<?> prevColumnKey = dataset.getColumnKey(column - 1);
-            double prevColumnValue = columnAxis.getCategoryValue(prevColumnKey);
+            double prevColumnValue = columnAxisValue(columnAxis, 
+                    dataset, prevColumn);
             double prevColumnX = columnAxis.translateToWorld(prevColumnValue, 
                     ww) + xOffset;
             double xl = (prevColumnX + xw) / 2.0;
@@ -325,8 +430,8 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
             }
         }
         if (createRightSegment) {
-            Comparable<?> nextColumnKey = dataset.getColumnKey(column + 1);
-            double nextColumnValue = columnAxis.getCategoryValue(nextColumnKey);
+            double nextColumnValue = columnAxisValue(columnAxis, 
+                    dataset, nextColumn);
             double nextColumnX = columnAxis.translateToWorld(nextColumnValue, 
                     ww) + xOffset;
             double xr = (nextColumnX + xw) / 2.0;
@@ -388,6 +493,74 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         }
     }
 
+    /**
+     * Returns the column selection for the specified series and row.  The 
+     * selections are discarded at the start of each compose (item 
+     * {@code (0, 0, 0)}, which the plot always composes first) and each
+     * selection is recalculated at the start of its row (column 0), but is 
+     * otherwise reused for the remaining columns of the row.  The cache can
+     * be used by several threads at once, since a parallel compose processes
+     * the columns of a row in order but may divide a row between threads.
+     * 
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param row  the row index.
+     * @param column  the column index.
+     * @param dimensions  the plot dimensions.
+     * 
+     * @return The column selection (never {@code null}). 
+     */
+    private ColumnSelection findSelection(CategoryDataset3D dataset, 
+            int series, int row, int column, Dimension3D dimensions) {
+        SelectionCache cache = this.selections;
+        if (cache == null || cache.dataset != dataset 
+                || (series == 0 && row == 0 && column == 0)) {
+            cache = new SelectionCache(dataset);
+            this.selections = cache;
+        }
+        int columnCount = dataset.getColumnCount();
+        Integer line = series * dataset.getRowCount() + row;
+        ColumnSelection result = column > 0 ? cache.lines.get(line) : null;
+        if (result == null || result.columnCount != columnCount) {
+            result = createSelection(dataset, series, row, dimensions);
+            cache.lines.put(line, result);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the column selection for the specified series and row.
+     * 
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param row  the row index.
+     * @param dimensions  the plot dimensions.
+     * 
+     * @return The column selection (never {@code null}). 
+     */
+    private ColumnSelection createSelection(CategoryDataset3D dataset, 
+            int series, int row, Dimension3D dimensions) {
+        int columnCount = dataset.getColumnCount();
+        int buckets = this.downsamplingBucketCount;
+        if (columnCount <= 2 * buckets + 2) {
+            return new ColumnSelection(columnCount, null);
+        }
+        CategoryAxis3D columnAxis = getPlot().getColumnAxis();
+        ValueAxis3D valueAxis = getPlot().getValueAxis();
+        double[] x = new double[columnCount];
+        double[] y = new double[columnCount];
+        for (int c = 0; c < columnCount; c++) {
+            x[c] = columnAxis.translateToWorld(
+                    columnAxisValue(columnAxis, dataset, c), 
+                    dimensions.getWidth());
+            double v = dataset.getDoubleValue(series, row, c);
+            y[c] = Double.isNaN(v) ? Double.NaN 
+                    : valueAxis.translateToWorld(v, dimensions.getHeight());
+        }
+        return new ColumnSelection(columnCount, DownsampleUtils.select(
+                this.downsampling, x, y, null, columnCount, buckets));
+    }
+
     /**
      * Creates a segment of a line between (x0, y0, z) and (x1, y1, z), with
      * the specified line width and height, taking into account the minimum
@@ -1380,7 +1553,66 @@ public class LineRenderer3D extends AbstractCategoryRenderer3D
         if (!ObjectUtils.equals(this.clipColorSource, that.clipColorSource)) {
             return false;
         }
+        if (this.downsampling != that.downsampling) {
+            return false;
+        }
+        if (this.downsamplingBucketCount != that.downsamplingBucketCount) {
+            return false;
+        }
         return super.equals(obj);
     }
-}
 
+    /**
+     * The column selections for one dataset, by line (the series index 
+     * multiplied by the row count, plus the row index).
+     */
+    private static final class SelectionCache {
+        
+        /** The dataset that the selections were made for. */
+        private final CategoryDataset3D dataset;
+        
+        /** The selections. */
+        private final Map<Integer, ColumnSelection> lines;
+        
+        SelectionCache(CategoryDataset3D dataset) {
+            this.dataset = dataset;
+            this.lines = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * The columns selected by downsampling for one series and row.
+     */
+    private static final class ColumnSelection {
+        
+        /** The number of columns in the dataset. */
+        private final int columnCount;
+        
+        /** 
+         * The selected columns in ascending order (or {@code null} if all 
+         * columns are composed). 
+         */
+        private final int[] columns;
+        
+        /** 
+         * The position of each column in {@code columns}, or -1 for columns 
+         * that are skipped ({@code null} if all columns are composed).
+         */
+        private final int[] positions;
+        
+        ColumnSelection(int columnCount, int[] columns) {
+            this.columnCount = columnCount;
+            this.columns = columns;
+            if (columns != null) {
+                this.positions = new int[columnCount];
+                Arrays.fill(this.positions, -1);
+                for (int i = 0; i < columns.length; i++) {
+                    this.positions[columns[i]] = i;
+                }
+            } else {
+                this.positions = null;
+            }
+        }
+    }
+
+}
@@ -33,9 +33,10 @@
 package org.jfree.chart3d.renderer.category;
 
 import org.jfree.chart3d.Chart3DFactory;
-import org.jfree.chart3d.data.DataUtils;
+import org.jfree.chart3d.data.AbstractDataset3D;
 import org.jfree.chart3d.data.KeyedValues3DItemKey;
 import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.data.StackSubTotals;
 import org.jfree.chart3d.data.Values3D;
 import org.jfree.chart3d.data.category.CategoryDataset3D;
 import org.jfree.chart3d.graphics3d.Dimension3D;
@@ -67,6 +68,12 @@ import org.jfree.chart3d.plot.CategoryPlot3D;
 @SuppressWarnings("serial")
 public class StackedBarRenderer3D extends BarRenderer3D {
 
+    /** 
+     * The stack subtotals for the most recently used dataset (cached until 
+     * the dataset changes). 
+     */
+    private transient volatile CachedSubTotals cachedSubTotals;
+
     /**
      * Creates a default constructor.
      */
@@ -88,7 +95,54 @@ public class StackedBarRenderer3D extends BarRenderer3D {
      */
     @Override
     public Range findValueRange(Values3D<? extends Number> data) {
-        return DataUtils.findStackedValueRange(data);
+        return findSubTotals(data).findRange(0.0);
+    }
+    
+    /**
+     * Returns the stack subtotals for the specified data, reusing the cached 
+     * subtotals if they were calculated for the same data and the data has 
+     * not changed since (the dataset revision is used to detect changes, so
+     * the renderer does not need to register as a listener).  This method 
+     * is called for every item when the plot is composed (possibly from 
+     * several threads at once), so the cached subtotals are checked without
+     * locking.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * 
+     * @return The subtotals (never {@code null}). 
+     */
+    private StackSubTotals findSubTotals(Values3D<? extends Number> data) {
+        CachedSubTotals cached = this.cachedSubTotals;
+        if (cached != null && cached.isValidFor(data)) {
+            return cached.subTotals;
+        }
+        return calculateSubTotals(data);
+    }
+
+    /**
+     * Calculates the stack subtotals for the specified data and caches 
+     * them, if possible.
+     * 
+     * @param data  the data ({@code null} not permitted).
+     * 
+     * @return The subtotals (never {@code null}). 
+     */
+    private synchronized StackSubTotals calculateSubTotals(
+            Values3D<? extends Number> data) {
+        CachedSubTotals cached = this.cachedSubTotals;
+        if (cached != null && cached.isValidFor(data)) {
+            return cached.subTotals;
+        }
+        // we can only cache the result if we can detect changes to the data
+        if (data instanceof AbstractDataset3D) {
+            // read the revision first, so that a concurrent change can only
+            // cause the subtotals to be recalculated unnecessarily
+            long revision = ((AbstractDataset3D) data).getRevision();
+            StackSubTotals result = new StackSubTotals(data);
+            this.cachedSubTotals = new CachedSubTotals(result, revision);
+            return result;
+        }
+        return new StackSubTotals(data);
     }
     
     /**
@@ -116,11 +170,11 @@ public class StackedBarRenderer3D extends BarRenderer3D {
         if (Double.isNaN(value)) {
             return;
         }        
-        double[] stack = DataUtils.stackSubTotal(dataset, getBase(), series,
-                row, column);
-        double lower = stack[1];
+        StackSubTotals stack = findSubTotals(dataset);
+        double lower = getBase() + stack.getPositiveSubTotal(series, row, 
+                column);
         if (value < 0.0) {
-            lower = stack[0];
+            lower = getBase() + stack.getNegativeSubTotal(series, row, column);
         }
         double upper = lower + value;
         composeItem(upper, lower, dataset, series, row, column, world, 
@@ -204,5 +258,37 @@ public class StackedBarRenderer3D extends BarRenderer3D {
         }
         return super.equals(obj);
     }
-    
-}
\ No newline at end of file
+
+    /** 
+     * The stack subtotals for the most recently used dataset, along with the
+     * dataset revision they were calculated for.
+     */
+    private static final class CachedSubTotals {
+        
+        /** The subtotals. */
+        private final StackSubTotals subTotals;
+        
+        /** The revision of the dataset when the subtotals were calculated. */
+        private final long revision;
+        
+        CachedSubTotals(StackSubTotals subTotals, long revision) {
+            this.subTotals = subTotals;
+            this.revision = revision;
+        }
+        
+        /**
+         * Returns {@code true} if the subtotals were calculated from the 
+         * specified data and the data has not changed since.
+         * 
+         * @param data  the data.
+         * 
+         * @return A boolean. 
+         */
+        boolean isValidFor(Values3D<? extends Number> data) {
+            return this.subTotals.getData() == data 
+                    && ((AbstractDataset3D) data).getRevision() 
+                    == this.revision;
+        }
+    }
+
+}
@@ -40,8 +40,14 @@ import org.jfree.chart3d.data.xyz.XYZDataset;
 import org.jfree.chart3d.graphics3d.Dimension3D;
 import org.jfree.chart3d.graphics3d.Line3D;
 import org.jfree.chart3d.graphics3d.LineObject3D;
+import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.PolylineObject3D;
 import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.DownsampleUtils;
 import org.jfree.chart3d.plot.XYZPlot;
+import org.jfree.chart3d.renderer.ComposeType;
+import org.jfree.chart3d.renderer.LineDownsampling;
 
 /**
  * A renderer that draws 3D lines on an {@link XYZPlot} using data from an
@@ -53,6 +59,10 @@ import org.jfree.chart3d.plot.XYZPlot;
  * (refer to {@code XYZLineChart3DDemo1.java} for the code to generate 
  * the above chart).
  * <br><br>
+ * For series with many more items than can be distinguished along the 
+ * x-axis, the renderer can compose a representative subset of the items 
+ * (see {@link #setDownsampling(LineDownsampling)}).
+ * <br><br>
  * NOTE: This class is serializable, but the serialization format is subject 
  * to change in future releases and should not be relied upon for persisting 
  * instances of this class.
@@ -63,10 +73,286 @@ import org.jfree.chart3d.plot.XYZPlot;
 public class LineXYZRenderer extends AbstractXYZRenderer implements XYZRenderer,
         Serializable {
 
+    /** The downsampling method (never {@code null}). */
+    private LineDownsampling downsampling;
+
+    /** 
+     * The number of downsampling buckets spanning the x-axis.
+     */
+    private int downsamplingBucketCount;
+
     /**
      * Creates a new default instance.
      */
     public LineXYZRenderer() {
+        this.downsampling = LineDownsampling.NONE;
+        this.downsamplingBucketCount = 500;
+    }
+
+    /**
+     * Returns the method used to select the items to compose for series 
+     * with many items.  The default value is {@link LineDownsampling#NONE}.
+     * 
+     * @return The downsampling method (never {@code null}).
+     * 
+     * @since 2.1.2
+     */
+    public LineDownsampling getDownsampling() {
+        return this.downsampling;
+    }
+
+    /**
+     * Sets the method used to select the items to compose for series with 
+     * many items and sends a change event to all registered listeners.
+     * 
+     * @param downsampling  the method ({@code null} not permitted).
+     * 
+     * @since 2.1.2
+     */
+    public void setDownsampling(LineDownsampling downsampling) {
+        Args.nullNotPermitted(downsampling, "downsampling");
+        this.downsampling = downsampling;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the number of downsampling buckets spanning the x-axis.  Each
+     * bucket covers an equal share of the items, so this is the approximate
+     * number of items retained by {@link LineDownsampling#LTTB} (and half 
+     * the maximum number retained by {@link LineDownsampling#MIN_MAX}).  
+     * The default value is {@code 500}, roughly one bucket per pixel for 
+     * a typical chart size.
+     * 
+     * @return The bucket count.
+     * 
+     * @since 2.1.2
+     */
+    public int getDownsamplingBucketCount() {
+        return this.downsamplingBucketCount;
+    }
+
+    /**
+     * Sets the number of downsampling buckets spanning the x-axis and 
+     * sends a change event to all registered listeners.
+     * 
+     * @param count  the bucket count (must be positive).
+     * 
+     * @since 2.1.2
+     */
+    public void setDownsamplingBucketCount(int count) {
+        Args.positiveRequired(count, "count");
+        this.downsamplingBucketCount = count;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the type of composition performed by this renderer.  This 
+     * renderer returns {@code ALL}, so that each series is added to the 
+     * world as a single {@link PolylineObject3D} rather than one object
+     * per line segment.
+     * 
+     * @return {@code ComposeType.ALL}.
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    public ComposeType getComposeType() {
+        return ComposeType.ALL;
+    }
+    
+    /**
+     * Adds the lines for all the series in the plot's dataset to the world.
+     * The points for each series form a shared strip of vertices.  Segments
+     * that lie inside the plot box (the common case) are added without 
+     * creating any intermediate objects, and only segments that cross the
+     * boundary are cropped.  A new polyline object is started whenever the
+     * color changes along a series.  If downsampling is enabled, only the 
+     * selected items of each series are connected.
+     * 
+     * @param plot  the plot ({@code null} not permitted).
+     * @param world  the world ({@code null} not permitted).
+     * @param dimensions  the plot dimensions in 3D ({@code null} not 
+     *     permitted).
+     * @param xOffset  the x-offset.
+     * @param yOffset  the y-offset.
+     * @param zOffset  the z-offset.
+     * 
+     * @since 2.1.2
+     */
+    @Override
+    public void composeAll(XYZPlot plot, World world, Dimension3D dimensions, 
+            double xOffset, double yOffset, double zOffset) {
+        XYZDataset dataset = plot.getDataset();
+        Axis3D xAxis = plot.getXAxis();
+        Axis3D yAxis = plot.getYAxis();
+        Axis3D zAxis = plot.getZAxis();
+        double w = dimensions.getWidth();
+        double h = dimensions.getHeight();
+        double d = dimensions.getDepth();
+        for (int series = 0; series < dataset.getSeriesCount(); series++) {
+            int[] selection = selectItems(dataset, series, xAxis, yAxis, 
+                    zAxis, dimensions);
+            int itemCount = selection != null ? selection.length 
+                    : dataset.getItemCount(series);
+            PolylineObject3D obj = null;
+            boolean penDown = false; // is there a current point in obj?
+            double wx0 = 0.0, wy0 = 0.0, wz0 = 0.0;
+            boolean inside0 = false;
+            for (int i = 0; i < itemCount; i++) {
+                int item = selection != null ? selection[i] : i;
+                double wx1 = xAxis.translateToWorld(
+                        dataset.getX(series, item), w);
+                double wy1 = yAxis.translateToWorld(
+                        dataset.getY(series, item), h);
+                double wz1 = zAxis.translateToWorld(
+                        dataset.getZ(series, item), d);
+                boolean inside1 = wx1 >= 0.0 && wx1 <= w && wy1 >= 0.0 
+                        && wy1 <= h && wz1 >= 0.0 && wz1 <= d;
+                if (i > 0) {
+                    Color color = getColorSource().getColor(series, item);
+                    if (obj == null || !color.equals(obj.getColor())) {
+                        obj = new PolylineObject3D(color);
+                        world.add(obj);
+                        penDown = false;
+                    }
+                    if (inside0 && inside1) {
+                        if (!penDown) {
+                            obj.moveTo(wx0 + xOffset, wy0 + yOffset, 
+                                    wz0 + zOffset);
+                        }
+                        obj.lineTo(wx1 + xOffset, wy1 + yOffset, 
+                                wz1 + zOffset);
+                        penDown = true;
+                    } else {
+                        penDown = composeCroppedSegment(obj, penDown, 
+                                inside0, inside1, wx0, wy0, wz0, wx1, wy1, 
+                                wz1, dimensions, xOffset, yOffset, zOffset);
+                    }
+                }
+                wx0 = wx1;
+                wy0 = wy1;
+                wz0 = wz1;
+                inside0 = inside1;
+            }
+        }
+    }
+    
+    /**
+     * Returns the indices of the items to compose for a series, or 
+     * {@code null} if all items should be composed (which is always the 
+     * case when downsampling is disabled).
+     * 
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param xAxis  the x-axis.
+     * @param yAxis  the y-axis.
+     * @param zAxis  the z-axis.
+     * @param dimensions  the plot dimensions.
+     * 
+     * @return The item indices (possibly {@code null}). 
+     */
+    private int[] selectItems(XYZDataset dataset, int series, Axis3D xAxis, 
+            Axis3D yAxis, Axis3D zAxis, Dimension3D dimensions) {
+        if (this.downsampling == LineDownsampling.NONE) {
+            return null;
+        }
+        int itemCount = dataset.getItemCount(series);
+        int buckets = this.downsamplingBucketCount;
+        if (itemCount <= 2 * buckets + 2) {
+            return null;
+        }
+        double[] wx = new double[itemCount];
+        double[] wy = new double[itemCount];
+        double[] wz = new double[itemCount];
+        for (int item = 0; item < itemCount; item++) {
+            wx[item] = xAxis.translateToWorld(dataset.getX(series, item), 
+                    dimensions.getWidth());
+            wy[item] = yAxis.translateToWorld(dataset.getY(series, item), 
+                    dimensions.getHeight());
+            wz[item] = zAxis.translateToWorld(dataset.getZ(series, item), 
+                    dimensions.getDepth());
+        }
+        return DownsampleUtils.select(this.downsampling, wx, wy, wz, 
+                itemCount, buckets);
+    }
+
+    /**
+     * Adds a segment that crosses (or lies outside) the plot box to a 
+     * polyline, after cropping it.
+     * 
+     * @param obj  the polyline.
+     * @param penDown  does the polyline have a current point (which will be
+     *     the start of the segment)?
+     * @param inside0  is the start of the segment inside the plot box?
+     * @param inside1  is the end of the segment inside the plot box?
+     * @param wx0  the x-coordinate of the segment start (world units).
+     * @param wy0  the y-coordinate of the segment start.
+     * @param wz0  the z-coordinate of the segment start.
+     * @param wx1  the x-coordinate of the segment end.
+     * @param wy1  the y-coordinate of the segment end.
+     * @param wz1  the z-coordinate of the segment end.
+     * @param dimensions  the plot dimensions.
+     * @param xOffset  the x-offset.
+     * @param yOffset  the y-offset.
+     * @param zOffset  the z-offset.
+     * 
+     * @return {@code true} if the polyline has a current point afterwards
+     *     (that is, the segment ended inside the plot box).
+     */
+    private boolean composeCroppedSegment(PolylineObject3D obj, 
+            boolean penDown, boolean inside0, boolean inside1, double wx0, 
+            double wy0, double wz0, double wx1, double wy1, double wz1, 
+            Dimension3D dimensions, double xOffset, double yOffset, 
+            double zOffset) {
+        if (Double.isNaN(wx0 + wy0 + wz0 + wx1 + wy1 + wz1)) {
+            obj.endRun();
+            return false;
+        }
+        Line3D line = Line3D.cropLineToAxisAlignedBoundingBox(
+                new Line3D(wx0, wy0, wz0, wx1, wy1, wz1), 0, 
+                dimensions.getWidth(), 0, dimensions.getHeight(), 0, 
+                dimensions.getDepth());
+        if (line == null) {
+            obj.endRun();
+            return false;
+        }
+        // the cropped line does not keep its direction, so orient it so 
+        // that it starts nearest to (wx0, wy0, wz0)
+        Point3D start = line.getStart();
+        Point3D end = line.getEnd();
+        if (distanceSq(end, wx0, wy0, wz0) < distanceSq(start, wx0, wy0, 
+                wz0)) {
+            start = line.getEnd();
+            end = line.getStart();
+        }
+        if (!(inside0 && penDown)) {
+            obj.moveTo(start.getX() + xOffset, start.getY() + yOffset, 
+                    start.getZ() + zOffset);
+        }
+        obj.lineTo(end.getX() + xOffset, end.getY() + yOffset, 
+                end.getZ() + zOffset);
+        if (!inside1) {
+            obj.endRun();
+        }
+        return inside1;
+    }
+
+    /**
+     * Returns the squared distance between a point and (x, y, z).
+     * 
+     * @param p  the point.
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param z  the z-coordinate.
+     * 
+     * @return The squared distance. 
+     */
+    private static double distanceSq(Point3D p, double x, double y, 
+            double z) {
+        double dx = p.getX() - x;
+        double dy = p.getY() - y;
+        double dz = p.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
     }
 
     /**
@@ -140,6 +426,12 @@ public class LineXYZRenderer extends AbstractXYZRenderer implements XYZRenderer,
             return false;
         }
         LineXYZRenderer that = (LineXYZRenderer) obj;
+        if (this.downsampling != that.downsampling) {
+            return false;
+        }
+        if (this.downsamplingBucketCount != that.downsamplingBucketCount) {
+            return false;
+        }
         return super.equals(obj);
     }
 
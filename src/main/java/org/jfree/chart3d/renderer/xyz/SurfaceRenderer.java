@@ -35,7 +35,9 @@ package org.jfree.chart3d.renderer.xyz;
 import java.awt.Color;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jfree.chart3d.axis.ValueAxis3D;
 import org.jfree.chart3d.data.Range;
@@ -252,6 +254,24 @@ public class SurfaceRenderer extends AbstractXYZRenderer implements XYZRenderer,
         double ylen = dim.getHeight();
         double zlen = dim.getDepth();
         Range yRange = new Range(yOffset, -yOffset);
+        
+        // look up the colors for the midpoints of all the cells in one call
+        double[] midValues = new double[this.xSamples * this.zSamples];
+        for (int xIndex = 0; xIndex < this.xSamples; xIndex++) {
+            double xm = xAxis.getRange().value((xIndex + 0.5) 
+                    / this.xSamples);
+            for (int zIndex = 0; zIndex < this.zSamples; zIndex++) {
+                double zm = zAxis.getRange().value((zIndex + 0.5) 
+                        / this.zSamples);
+                midValues[xIndex * this.zSamples + zIndex] 
+                        = this.function.getValue(xm, zm);
+            }
+        }
+        int[] argb = new int[midValues.length];
+        this.colorScale.valuesToARGB(midValues, argb);
+        // cells with the same color share one Color instance
+        Map<Integer, Color> colors = new HashMap<>();
+        
         for (int xIndex = 0; xIndex < this.xSamples; xIndex++) {
             double xfrac0 = xIndex / (double) this.xSamples;
             double xfrac1 = (xIndex + 1) / (double) this.xSamples;
@@ -261,15 +281,12 @@ public class SurfaceRenderer extends AbstractXYZRenderer implements XYZRenderer,
                 
                 double x0 = xAxis.getRange().value(xfrac0);
                 double x1 = xAxis.getRange().value(xfrac1);
-                double xm = x0 / 2.0 + x1 / 2.0;
                 double z0 = zAxis.getRange().value(zfrac0);
                 double z1 = zAxis.getRange().value(zfrac1);
-                double zm = z0 / 2.0 + z1 / 2.0;
                 double y00 = this.function.getValue(x0, z0);
                 double y01 = this.function.getValue(x0, z1);
                 double y10 = this.function.getValue(x1, z0);
                 double y11 = this.function.getValue(x1, z1);
-                double ymm = this.function.getValue(xm, zm);
                 
                 double wx0 = xAxis.translateToWorld(x0, xlen) + xOffset;
                 double wx1 = xAxis.translateToWorld(x1, xlen) + xOffset;
@@ -280,7 +297,12 @@ public class SurfaceRenderer extends AbstractXYZRenderer implements XYZRenderer,
                 double wz0 = zAxis.translateToWorld(z0, zlen) + zOffset;
                 double wz1 = zAxis.translateToWorld(z1, zlen) + zOffset;
 
-                Color color = this.colorScale.valueToColor(ymm);
+                int rgb = argb[xIndex * this.zSamples + zIndex];
+                Color color = colors.get(rgb);
+                if (color == null) {
+                    color = new Color(rgb, true);
+                    colors.put(rgb, color);
+                }
                 Object3D obj = new Object3D(color, this.drawFaceOutlines);
                 List<Point3D> pts1 = facePoints1(wx0, wx1, wz0, wz1, wy00, wy01, 
                         wy11, yRange);
@@ -0,0 +1,626 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+package org.jfree.chart3d.renderer.xyz;
+
+import java.awt.Color;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.jfree.chart3d.axis.Axis3D;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.data.xyz.XYZDataset;
+import org.jfree.chart3d.graphics3d.Dimension3D;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.internal.Args;
+import org.jfree.chart3d.internal.ObjectUtils;
+import org.jfree.chart3d.plot.XYZPlot;
+import org.jfree.chart3d.renderer.ColorScale;
+import org.jfree.chart3d.renderer.ColorScaleRenderer;
+import org.jfree.chart3d.renderer.ComposeType;
+import org.jfree.chart3d.renderer.RainbowScale;
+
+/**
+ * A renderer for very large XYZ datasets that aggregates the data items into
+ * a regular grid of voxels (3D cells) spanning the plot box and draws one 
+ * cube for each voxel that contains at least one item.  The cube color is 
+ * obtained from a {@link ColorScale} using a {@link VoxelStatistic} (by 
+ * default the item count), so the number of objects in the 3D world depends 
+ * on the grid resolution rather than on the size of the dataset.
+ * <br><br>
+ * If no color scale is specified, the renderer creates a rainbow scale 
+ * spanning the range of the statistic each time the chart is composed (this
+ * is the scale that is returned by {@link #getColorScale()} and displayed in
+ * the chart legend).
+ * <br><br>
+ * For datasets with many items, the binning is split into segments that are
+ * processed in parallel using the common fork-join pool.  The dataset must 
+ * not be modified while the chart is being composed.
+ * <br><br>
+ * NOTE: This class is serializable, but the serialization format is subject 
+ * to change in future releases and should not be relied upon for persisting 
+ * instances of this class.
+ * 
+ * @since 2.1.2
+ */
+@SuppressWarnings("serial")
+public class VoxelXYZRenderer extends AbstractXYZRenderer 
+        implements XYZRenderer, ColorScaleRenderer, Serializable {
+
+    /** 
+     * The minimum number of data items in a segment before the binning is 
+     * split across multiple tasks.
+     */
+    static final int PARALLEL_THRESHOLD = 100000;
+
+    /** The number of voxels along the x-axis. */
+    private int xBins;
+
+    /** The number of voxels along the y-axis. */
+    private int yBins;
+
+    /** The number of voxels along the z-axis. */
+    private int zBins;
+
+    /** The statistic that determines the voxel colors. */
+    private VoxelStatistic statistic;
+
+    /** The color scale (if {@code null}, a scale is created automatically). */
+    private ColorScale colorScale;
+
+    /** 
+     * The fraction of the voxel cell (along each axis) that is filled by the 
+     * cube.
+     */
+    private double fillFraction;
+
+    /** 
+     * The color scale created during the most recent composition, used when
+     * no color scale has been specified.
+     */
+    private transient ColorScale composedColorScale;
+
+    /**
+     * Creates a new renderer with a 20 x 20 x 20 voxel grid that colors the 
+     * voxels by item count.
+     */
+    public VoxelXYZRenderer() {
+        this(20, 20, 20);
+    }
+
+    /**
+     * Creates a new renderer with the specified grid resolution.
+     * 
+     * @param xBins  the number of voxels along the x-axis (must be positive).
+     * @param yBins  the number of voxels along the y-axis (must be positive).
+     * @param zBins  the number of voxels along the z-axis (must be positive).
+     */
+    public VoxelXYZRenderer(int xBins, int yBins, int zBins) {
+        super();
+        Args.positiveRequired(xBins, "xBins");
+        Args.positiveRequired(yBins, "yBins");
+        Args.positiveRequired(zBins, "zBins");
+        this.xBins = xBins;
+        this.yBins = yBins;
+        this.zBins = zBins;
+        this.statistic = VoxelStatistic.COUNT;
+        this.colorScale = null;
+        this.fillFraction = 0.8;
+    }
+
+    /**
+     * Returns the number of voxels along the x-axis.
+     * 
+     * @return The number of voxels. 
+     */
+    public int getXBins() {
+        return this.xBins;
+    }
+
+    /**
+     * Returns the number of voxels along the y-axis.
+     * 
+     * @return The number of voxels. 
+     */
+    public int getYBins() {
+        return this.yBins;
+    }
+
+    /**
+     * Returns the number of voxels along the z-axis.
+     * 
+     * @return The number of voxels. 
+     */
+    public int getZBins() {
+        return this.zBins;
+    }
+
+    /**
+     * Sets the grid resolution and sends a change event to all registered 
+     * listeners.
+     * 
+     * @param xBins  the number of voxels along the x-axis (must be positive).
+     * @param yBins  the number of voxels along the y-axis (must be positive).
+     * @param zBins  the number of voxels along the z-axis (must be positive).
+     */
+    public void setBins(int xBins, int yBins, int zBins) {
+        Args.positiveRequired(xBins, "xBins");
+        Args.positiveRequired(yBins, "yBins");
+        Args.positiveRequired(zBins, "zBins");
+        this.xBins = xBins;
+        this.yBins = yBins;
+        this.zBins = zBins;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the statistic that determines the voxel colors.  The default 
+     * value is {@link VoxelStatistic#COUNT}.
+     * 
+     * @return The statistic (never {@code null}). 
+     */
+    public VoxelStatistic getStatistic() {
+        return this.statistic;
+    }
+
+    /**
+     * Sets the statistic that determines the voxel colors and sends a change
+     * event to all registered listeners.
+     * 
+     * @param statistic  the statistic ({@code null} not permitted). 
+     */
+    public void setStatistic(VoxelStatistic statistic) {
+        Args.nullNotPermitted(statistic, "statistic");
+        this.statistic = statistic;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the color scale used to color the voxels.  If no color scale 
+     * has been specified, this method returns the scale that was created 
+     * automatically when the chart was last composed (or a scale spanning 
+     * the range 0.0 to 1.0 if the chart has not been composed yet).
+     * 
+     * @return The color scale (never {@code null}). 
+     */
+    @Override
+    public ColorScale getColorScale() {
+        if (this.colorScale != null) {
+            return this.colorScale;
+        }
+        ColorScale result = this.composedColorScale;
+        if (result == null) {
+            result = createColorScale(new Range(0.0, 1.0));
+        }
+        return result;
+    }
+
+    /**
+     * Sets the color scale used to color the voxels and sends a change event 
+     * to all registered listeners.  If {@code null}, a scale spanning the 
+     * range of the statistic is created each time the chart is composed.
+     * 
+     * @param colorScale  the color scale ({@code null} permitted). 
+     */
+    public void setColorScale(ColorScale colorScale) {
+        this.colorScale = colorScale;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the fraction of each voxel cell (along each axis) that is 
+     * filled by the cube.  The default value is {@code 0.8}.
+     * 
+     * @return The fill fraction (in the range 0.0 to 1.0).
+     */
+    public double getFillFraction() {
+        return this.fillFraction;
+    }
+
+    /**
+     * Sets the fraction of each voxel cell that is filled by the cube and 
+     * sends a change event to all registered listeners.
+     * 
+     * @param fraction  the fraction (greater than 0.0 and at most 1.0).
+     */
+    public void setFillFraction(double fraction) {
+        if (!(fraction > 0.0 && fraction <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'fraction' in the range (0.0, 1.0].");
+        }
+        this.fillFraction = fraction;
+        fireChangeEvent(true);
+    }
+
+    /**
+     * Returns the type of composition performed by this renderer.  The 
+     * voxel renderer composes all items in a single pass.
+     * 
+     * @return {@link ComposeType#ALL}. 
+     */
+    @Override
+    public ComposeType getComposeType() {
+        return ComposeType.ALL;
+    }
+
+    /**
+     * Aggregates the items in the plot's dataset into voxels and adds one 
+     * cube per non-empty voxel to the world.
+     * 
+     * @param plot  the plot ({@code null} not permitted).
+     * @param world  the world ({@code null} not permitted).
+     * @param dimensions  the plot dimensions in 3D ({@code null} not 
+     *     permitted).
+     * @param xOffset  the x-offset.
+     * @param yOffset  the y-offset.
+     * @param zOffset  the z-offset.
+     */
+    @Override
+    public void composeAll(XYZPlot plot, World world, Dimension3D dimensions, 
+            double xOffset, double yOffset, double zOffset) {
+        Args.nullNotPermitted(plot, "plot");
+        Args.nullNotPermitted(world, "world");
+        Args.nullNotPermitted(dimensions, "dimensions");
+        VoxelGrid grid = bin(plot, dimensions);
+        int n = 0;
+        for (int count : grid.counts) {
+            if (count > 0) {
+                n++;
+            }
+        }
+        int[] cells = new int[n];
+        double[] values = new double[n];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int k = 0;
+        for (int i = 0; i < grid.counts.length; i++) {
+            int count = grid.counts[i];
+            if (count > 0) {
+                double value = statisticValue(count, grid.sumY[i]);
+                cells[k] = i;
+                values[k] = value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                k++;
+            }
+        }
+        ColorScale scale = this.colorScale;
+        if (scale == null) {
+            if (n == 0) {
+                scale = createColorScale(new Range(0.0, 1.0));
+            } else if (min < max) {
+                scale = createColorScale(new Range(min, max));
+            } else {
+                scale = createColorScale(new Range(min, min + 1.0));
+            }
+            this.composedColorScale = scale;
+        }
+        int[] argb = new int[n];
+        scale.valuesToARGB(values, argb);
+
+        double cw = dimensions.getWidth() / this.xBins;
+        double ch = dimensions.getHeight() / this.yBins;
+        double cd = dimensions.getDepth() / this.zBins;
+        int planeSize = this.xBins * this.yBins;
+        Map<Integer, Color> colors = new HashMap<Integer, Color>();
+        for (int j = 0; j < n; j++) {
+            int cell = cells[j];
+            int zi = cell / planeSize;
+            int yi = (cell % planeSize) / this.xBins;
+            int xi = cell % this.xBins;
+            Integer key = argb[j];
+            Color color = colors.get(key);
+            if (color == null) {
+                color = new Color(argb[j], true);
+                colors.put(key, color);
+            }
+            world.add(Object3D.createBox(xOffset + (xi + 0.5) * cw, 
+                    cw * this.fillFraction, yOffset + (yi + 0.5) * ch, 
+                    ch * this.fillFraction, zOffset + (zi + 0.5) * cd, 
+                    cd * this.fillFraction, color));
+        }
+    }
+
+    /**
+     * Does nothing, since this renderer composes all items in a single 
+     * pass (see {@link #composeAll(XYZPlot, World, Dimension3D, double, 
+     * double, double)}).
+     * 
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param item  the item index.
+     * @param world  the world.
+     * @param dimensions  the dimensions.
+     * @param xOffset  the x-offset.
+     * @param yOffset  the y-offset.
+     * @param zOffset  the z-offset.
+     */
+    @Override
+    public void composeItem(XYZDataset dataset, int series, int item, 
+            World world, Dimension3D dimensions, double xOffset, 
+            double yOffset, double zOffset) {
+        // nothing to do, all composition is performed in composeAll()
+    }
+
+    /**
+     * Returns the value of the renderer's statistic for a voxel.
+     * 
+     * @param count  the item count.
+     * @param sumY  the sum of the item y-values.
+     * 
+     * @return The statistic value. 
+     */
+    private double statisticValue(int count, double sumY) {
+        switch (this.statistic) {
+            case LOG_COUNT:
+                return Math.log1p(count);
+            case MEAN_Y:
+                return sumY / count;
+            default:
+                return count;
+        }
+    }
+
+    /**
+     * Creates the default color scale for the specified value range.
+     * 
+     * @param range  the range ({@code null} not permitted).
+     * 
+     * @return The color scale. 
+     */
+    private static ColorScale createColorScale(Range range) {
+        return new RainbowScale(range, 256, RainbowScale.BLUE_TO_RED_RANGE);
+    }
+
+    /**
+     * Aggregates the items in the plot's dataset into the voxel grid.  Items
+     * with a {@code NaN} coordinate and items outside the plot box are 
+     * ignored.
+     * 
+     * @param plot  the plot ({@code null} not permitted).
+     * @param dimensions  the plot dimensions ({@code null} not permitted).
+     * 
+     * @return The voxel grid (never {@code null}). 
+     */
+    VoxelGrid bin(XYZPlot plot, Dimension3D dimensions) {
+        XYZDataset dataset = plot.getDataset();
+        int seriesCount = dataset.getSeriesCount();
+        long[] starts = new long[seriesCount + 1];
+        for (int s = 0; s < seriesCount; s++) {
+            starts[s + 1] = starts[s] + dataset.getItemCount(s);
+        }
+        BinTask task = new BinTask(this, plot.getXAxis(), plot.getYAxis(), 
+                plot.getZAxis(), dataset, dimensions, starts, 0L, 
+                starts[seriesCount], segmentSize(starts[seriesCount]));
+        if (starts[seriesCount] < PARALLEL_THRESHOLD) {
+            return task.compute();
+        }
+        return ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Returns the number of items that each binning task should process.
+     * 
+     * @param itemCount  the total number of items.
+     * 
+     * @return The segment size. 
+     */
+    private static long segmentSize(long itemCount) {
+        int tasks = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        return Math.max(PARALLEL_THRESHOLD, (itemCount + tasks - 1) / tasks);
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     * 
+     * @param obj  the object ({@code null} permitted).
+     * 
+     * @return A boolean. 
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof VoxelXYZRenderer)) {
+            return false;
+        }
+        VoxelXYZRenderer that = (VoxelXYZRenderer) obj;
+        if (this.xBins != that.xBins) {
+            return false;
+        }
+        if (this.yBins != that.yBins) {
+            return false;
+        }
+        if (this.zBins != that.zBins) {
+            return false;
+        }
+        if (this.statistic != that.statistic) {
+            return false;
+        }
+        if (!ObjectUtils.equals(this.colorScale, that.colorScale)) {
+            return false;
+        }
+        if (this.fillFraction != that.fillFraction) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * The item counts and y-value sums for each voxel, indexed by 
+     * {@code x + y * xBins + z * xBins * yBins}.
+     */
+    static final class VoxelGrid {
+
+        /** The item count for each voxel. */
+        final int[] counts;
+
+        /** The sum of the item y-values for each voxel. */
+        final double[] sumY;
+
+        /**
+         * Creates a new empty grid.
+         * 
+         * @param size  the number of voxels.
+         */
+        VoxelGrid(int size) {
+            this.counts = new int[size];
+            this.sumY = new double[size];
+        }
+
+        /**
+         * Adds the counts and sums from another grid of the same size to 
+         * this grid.
+         * 
+         * @param other  the other grid ({@code null} not permitted).
+         */
+        void merge(VoxelGrid other) {
+            for (int i = 0; i < this.counts.length; i++) {
+                this.counts[i] += other.counts[i];
+                this.sumY[i] += other.sumY[i];
+            }
+        }
+    }
+
+    /**
+     * A task that bins a contiguous range of items, where the items of all 
+     * series are numbered consecutively.  Ranges larger than the segment 
+     * size are split in two and processed in parallel.
+     */
+    private static final class BinTask extends RecursiveTask<VoxelGrid> {
+
+        private final VoxelXYZRenderer renderer;
+        private final Axis3D xAxis;
+        private final Axis3D yAxis;
+        private final Axis3D zAxis;
+        private final XYZDataset dataset;
+        private final Dimension3D dimensions;
+        
+        /** The index of the first item in each series (plus the total). */
+        private final long[] starts;
+        
+        private final long start;
+        private final long end;
+        private final long segmentSize;
+
+        BinTask(VoxelXYZRenderer renderer, Axis3D xAxis, Axis3D yAxis, 
+                Axis3D zAxis, XYZDataset dataset, Dimension3D dimensions, 
+                long[] starts, long start, long end, long segmentSize) {
+            this.renderer = renderer;
+            this.xAxis = xAxis;
+            this.yAxis = yAxis;
+            this.zAxis = zAxis;
+            this.dataset = dataset;
+            this.dimensions = dimensions;
+            this.starts = starts;
+            this.start = start;
+            this.end = end;
+            this.segmentSize = segmentSize;
+        }
+
+        @Override
+        protected VoxelGrid compute() {
+            if (this.end - this.start > this.segmentSize) {
+                long mid = this.start + (this.end - this.start) / 2;
+                BinTask left = new BinTask(this.renderer, this.xAxis, 
+                        this.yAxis, this.zAxis, this.dataset, this.dimensions,
+                        this.starts, this.start, mid, this.segmentSize);
+                BinTask right = new BinTask(this.renderer, this.xAxis, 
+                        this.yAxis, this.zAxis, this.dataset, this.dimensions,
+                        this.starts, mid, this.end, this.segmentSize);
+                left.fork();
+                VoxelGrid result = right.compute();
+                result.merge(left.join());
+                return result;
+            }
+            int nx = this.renderer.xBins;
+            int ny = this.renderer.yBins;
+            int nz = this.renderer.zBins;
+            VoxelGrid grid = new VoxelGrid(nx * ny * nz);
+            double w = this.dimensions.getWidth();
+            double h = this.dimensions.getHeight();
+            double d = this.dimensions.getDepth();
+            long index = this.start;
+            int series = seriesIndex(this.start);
+            while (index < this.end) {
+                int first = (int) (index - this.starts[series]);
+                int last = (int) (Math.min(this.end, this.starts[series + 1]) 
+                        - this.starts[series]);
+                for (int item = first; item < last; item++) {
+                    double y = this.dataset.getY(series, item);
+                    double wx = this.xAxis.translateToWorld(
+                            this.dataset.getX(series, item), w);
+                    double wy = this.yAxis.translateToWorld(y, h);
+                    double wz = this.zAxis.translateToWorld(
+                            this.dataset.getZ(series, item), d);
+                    // the negated tests also reject NaN values
+                    if (!(wx >= 0.0 && wx <= w && wy >= 0.0 && wy <= h 
+                            && wz >= 0.0 && wz <= d)) {
+                        continue;
+                    }
+                    int xi = Math.min((int) (wx / w * nx), nx - 1);
+                    int yi = Math.min((int) (wy / h * ny), ny - 1);
+                    int zi = Math.min((int) (wz / d * nz), nz - 1);
+                    int cell = xi + yi * nx + zi * nx * ny;
+                    grid.counts[cell]++;
+                    grid.sumY[cell] += y;
+                }
+                index = this.starts[series] + last;
+                series++;
+            }
+            return grid;
+        }
+
+        /**
+         * Returns the index of the series containing the specified item 
+         * (skipping empty series).
+         * 
+         * @param index  the item index (across all series).
+         * 
+         * @return The series index. 
+         */
+        private int seriesIndex(long index) {
+            int series = 0;
+            while (series < this.starts.length - 2 
+                    && this.starts[series + 1] <= index) {
+                series++;
+            }
+            return series;
+        }
+    }
+
+}
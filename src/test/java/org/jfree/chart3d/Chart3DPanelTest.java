@@ -0,0 +1,111 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.data.StandardPieDataset3D;
+import org.jfree.chart3d.graphics3d.RenderingInfo;
+import org.jfree.chart3d.plot.PiePlot3D;
+
+/**
+ * Tests for the {@link Chart3DPanel} class.
+ */
+public class Chart3DPanelTest {
+    
+    /** A chart that counts the number of times it is drawn. */
+    @SuppressWarnings("serial")
+    private static class CountingChart3D extends Chart3D {
+        
+        int drawCount;
+        
+        CountingChart3D(PiePlot3D plot) {
+            super("title", null, plot);
+        }
+        
+        @Override
+        public RenderingInfo draw(Graphics2D g2, Rectangle2D bounds) {
+            this.drawCount++;
+            return super.draw(g2, bounds);
+        }
+    }
+    
+    @Test
+    public void testImageCache() {
+        StandardPieDataset3D<String> dataset = new StandardPieDataset3D<>();
+        dataset.add("A", 1.0);
+        dataset.add("B", 2.0);
+        CountingChart3D chart = new CountingChart3D(new PiePlot3D(dataset));
+        Chart3DPanel panel = new Chart3DPanel(chart);
+        panel.setSize(200, 150);
+        BufferedImage image = new BufferedImage(200, 150, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        panel.paintComponent(g2);
+        panel.paintComponent(g2);
+        assertEquals(1, chart.drawCount);
+        
+        // a chart change bumps the revision
+        long revision = chart.getRevision();
+        dataset.add("C", 3.0);
+        assertTrue(chart.getRevision() > revision);
+        panel.paintComponent(g2);
+        assertEquals(2, chart.drawCount);
+        
+        // the view point is part of the key
+        chart.getViewPoint().panLeftRight(0.1);
+        panel.paintComponent(g2);
+        assertEquals(3, chart.drawCount);
+        
+        // the size is part of the key
+        panel.setSize(210, 150);
+        panel.paintComponent(g2);
+        panel.paintComponent(g2);
+        assertEquals(4, chart.drawCount);
+        
+        panel.setImageCacheEnabled(false);
+        panel.paintComponent(g2);
+        panel.paintComponent(g2);
+        assertEquals(6, chart.drawCount);
+        g2.dispose();
+    }
+
+}
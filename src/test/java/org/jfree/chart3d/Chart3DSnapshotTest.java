@@ -0,0 +1,94 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.data.StandardPieDataset3D;
+import org.jfree.chart3d.graphics3d.Offset2D;
+
+/**
+ * Tests for the {@link Chart3DSnapshot} class.
+ */
+public class Chart3DSnapshotTest {
+    
+    private static final double EPSILON = 0.0000001;
+    
+    private static Chart3D createChart() {
+        StandardPieDataset3D<String> dataset = new StandardPieDataset3D<>();
+        dataset.add("A", 1.0);
+        return Chart3DFactory.createPieChart("title", null, dataset);
+    }
+    
+    @Test
+    public void testRoundTrip() throws IOException {
+        Chart3D c1 = createChart();
+        c1.setID("chart-1");
+        c1.getViewPoint().panLeftRight(0.3);
+        c1.getViewPoint().roll(0.2);
+        c1.setProjDistance(1234.0);
+        c1.setTranslate2D(new Offset2D(5.0, -6.0));
+        c1.setChartBoxColor(new Color(10, 20, 30, 40));
+        c1.setElementHinting(true);
+        c1.setLegendOrientation(Orientation.VERTICAL);
+        Chart3DSnapshot s1 = Chart3DSnapshot.capture(c1);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        s1.write(out);
+        Chart3DSnapshot s2 = Chart3DSnapshot.read(new ByteArrayInputStream(
+                out.toByteArray()));
+        assertEquals(s1, s2);
+        
+        Chart3D c2 = createChart();
+        s2.applyTo(c2);
+        assertEquals("chart-1", c2.getID());
+        assertEquals(c1.getViewPoint().getTheta(), 
+                c2.getViewPoint().getTheta(), EPSILON);
+        assertEquals(c1.getViewPoint().calcRollAngle(), 
+                c2.getViewPoint().calcRollAngle(), EPSILON);
+        assertEquals(1234.0, c2.getProjDistance(), EPSILON);
+        assertEquals(new Offset2D(5.0, -6.0), c2.getTranslate2D());
+        assertEquals(new Color(10, 20, 30, 40), c2.getChartBoxColor());
+        assertEquals(true, c2.getElementHinting());
+        assertEquals(Orientation.VERTICAL, c2.getLegendOrientation());
+    }
+
+}
@@ -35,9 +35,14 @@ package org.jfree.chart3d;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import org.junit.jupiter.api.Test;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import org.jfree.chart3d.data.DefaultKeyedValues;
 import org.jfree.chart3d.data.PieDataset3D;
 import org.jfree.chart3d.data.StandardPieDataset3D;
@@ -46,8 +51,13 @@ import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
 import org.jfree.chart3d.data.xyz.XYZDataset;
 import org.jfree.chart3d.data.xyz.XYZSeries;
 import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
+import org.jfree.chart3d.graphics3d.FaceOrdering;
+import org.jfree.chart3d.graphics3d.RenderMetrics;
+import org.jfree.chart3d.graphics3d.RenderPhase;
+import org.jfree.chart3d.graphics3d.ViewPoint3D;
 import org.jfree.chart3d.legend.LegendAnchor;
 import org.jfree.chart3d.legend.StandardLegendBuilder;
+import org.jfree.chart3d.plot.CategoryPlot3D;
 import org.jfree.chart3d.style.ChartStyles;
 import org.jfree.chart3d.table.StandardRectanglePainter;
 
@@ -240,6 +250,152 @@ public class Chart3DTest {
         
     }
 
+    /**
+     * Render metrics are only attached to the rendering info when enabled.
+     */
+    @Test
+    public void testRenderMetrics() {
+        Chart3D chart = Chart3DFactory.createBarChart("title", "subtitle",
+                createCategoryDataset(), "rowAxis", "columnAxis", "valueAxis");
+        BufferedImage image = new BufferedImage(200, 150, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D bounds = new Rectangle2D.Double(0, 0, 200, 150);
+        assertNull(chart.draw(g2, bounds).getMetrics());
+        
+        chart.setRenderMetricsEnabled(true);
+        RenderMetrics metrics = chart.draw(g2, bounds).getMetrics();
+        assertNotNull(metrics);
+        assertFalse(metrics.isWorldComposed());
+        assertTrue(metrics.getFaceCount() > 0);
+        assertTrue(metrics.getVertexCount() > 0);
+        assertTrue(metrics.getCulledFaceCount() > 0);
+        assertTrue(metrics.getCulledFaceCount() < metrics.getFaceCount());
+        assertTrue(metrics.getNanos(RenderPhase.FACES) > 0L);
+        assertEquals(0L, metrics.getNanos(RenderPhase.PIE_LABELS));
+        
+        // re-enabling notification forces the world to be composed again
+        chart.setNotify(true);
+        metrics = chart.draw(g2, bounds).getMetrics();
+        assertTrue(metrics.isWorldComposed());
+        assertTrue(metrics.getNanos(RenderPhase.COMPOSE) > 0L);
+        g2.dispose();
+    }
+
+    /**
+     * Draws a chart with each face ordering.
+     */
+    @Test
+    public void testFaceOrdering() {
+        Chart3D chart = Chart3DFactory.createBarChart("title", "subtitle",
+                createCategoryDataset(), "rowAxis", "columnAxis", "valueAxis");
+        assertEquals(FaceOrdering.Z_ORDER, chart.getFaceOrdering());
+        chart.setRenderMetricsEnabled(true);
+        BufferedImage image = new BufferedImage(200, 150, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D bounds = new Rectangle2D.Double(0, 0, 200, 150);
+        int faceCount = chart.draw(g2, bounds).getMetrics().getFaceCount();
+        
+        chart.setFaceOrdering(FaceOrdering.BSP_TREE);
+        RenderMetrics metrics = chart.draw(g2, bounds).getMetrics();
+        assertTrue(metrics.getFaceCount() >= faceCount);
+        chart.getViewPoint().panLeftRight(0.5);
+        assertEquals(metrics.getFaceCount(), 
+                chart.draw(g2, bounds).getMetrics().getFaceCount());
+        
+        chart.setFaceOrdering(FaceOrdering.INCREMENTAL_Z_ORDER);
+        assertFalse(chart.draw(g2, bounds).getMetrics().isFaceOrderReused());
+        chart.getViewPoint().panLeftRight(0.01);
+        metrics = chart.draw(g2, bounds).getMetrics();
+        assertTrue(metrics.isFaceOrderReused());
+        assertTrue(metrics.getMovedFaceCount() < metrics.getFaceCount());
+        g2.dispose();
+    }
+
+    /**
+     * When the view is zoomed in, view culling skips objects outside the 
+     * drawing area without changing the output.
+     */
+    @Test
+    public void testViewCulling() {
+        StandardCategoryDataset3D<String, String, String> dataset 
+                = new StandardCategoryDataset3D<>();
+        for (int r = 0; r < 10; r++) {
+            for (int c = 0; c < 10; c++) {
+                dataset.addValue(r + c + 1.0, "S", "R" + r, "C" + c);
+            }
+        }
+        Chart3D chart = Chart3DFactory.createBarChart("title", "subtitle",
+                dataset, "rowAxis", "columnAxis", "valueAxis");
+        assertFalse(chart.isViewCulling());
+        chart.setRenderMetricsEnabled(true);
+        chart.getViewPoint().setRho(chart.getViewPoint().getRho() * 0.3);
+        BufferedImage expected = new BufferedImage(200, 150, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = expected.createGraphics();
+        Rectangle2D bounds = new Rectangle2D.Double(0, 0, 200, 150);
+        RenderMetrics metrics = chart.draw(g2, bounds).getMetrics();
+        assertEquals(0, metrics.getOffscreenObjectCount());
+        g2.dispose();
+        
+        for (FaceOrdering ordering : FaceOrdering.values()) {
+            chart.setFaceOrdering(ordering);
+            chart.setViewCulling(false);
+            g2 = expected.createGraphics();
+            chart.draw(g2, bounds);
+            g2.dispose();
+            chart.setViewCulling(true);
+            BufferedImage image = new BufferedImage(200, 150, 
+                    BufferedImage.TYPE_INT_ARGB);
+            g2 = image.createGraphics();
+            metrics = chart.draw(g2, bounds).getMetrics();
+            g2.dispose();
+            assertTrue(metrics.getOffscreenObjectCount() > 0);
+            for (int x = 0; x < 200; x++) {
+                for (int y = 0; y < 150; y++) {
+                    assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * The chart box and tick selection are reused for redraws that only 
+     * change the view slightly, and recalculated when the chart changes.
+     */
+    @Test
+    public void testChartBoxReuse() {
+        Chart3D chart = Chart3DFactory.createBarChart("title", "subtitle",
+                createCategoryDataset(), "rowAxis", "columnAxis", "valueAxis");
+        chart.setRenderMetricsEnabled(true);
+        BufferedImage image = new BufferedImage(200, 150, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D bounds = new Rectangle2D.Double(0, 0, 200, 150);
+        assertTrue(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        assertFalse(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        
+        // a tiny rotation (as in a mouse drag) reuses the chart box
+        chart.getViewPoint().panLeftRight(0.0001);
+        assertFalse(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        
+        // setting a new view point does not change the chart content
+        chart.setViewPoint(new ViewPoint3D(chart.getViewPoint()));
+        assertFalse(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        
+        // but a larger rotation does
+        chart.getViewPoint().panLeftRight(0.1);
+        assertTrue(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        
+        // as does a change to an axis
+        CategoryPlot3D plot = (CategoryPlot3D) chart.getPlot();
+        plot.getValueAxis().setRange(0.0, 100.0);
+        assertTrue(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        assertFalse(chart.draw(g2, bounds).getMetrics().isChartBoxUpdated());
+        g2.dispose();
+    }
+
     private PieDataset3D<String> createPieDataset() {
         StandardPieDataset3D<String> dataset = new StandardPieDataset3D<>();
         dataset.add("United States", 30.0);
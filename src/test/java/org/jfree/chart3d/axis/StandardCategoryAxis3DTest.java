@@ -32,6 +32,7 @@
 
 package org.jfree.chart3d.axis;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
@@ -43,14 +44,21 @@ import org.jfree.chart3d.TestUtils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import org.jfree.chart3d.data.category.RollingCategoryDataset3D;
+import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
 import org.jfree.chart3d.label.StandardCategoryLabelGenerator;
 import org.jfree.chart3d.marker.CategoryMarker;
+import org.jfree.chart3d.plot.CategoryPlot3D;
+import org.jfree.chart3d.renderer.category.BarRenderer3D;
 
 /**
  * Tests for the {@link StandardCategoryAxis3D} class.
  */
 public class StandardCategoryAxis3DTest {
     
+    private static final double EPSILON = 0.0000001;
+    
     @Test
     public void testEquals() {
         StandardCategoryAxis3D axis1 = new StandardCategoryAxis3D("Label");   
@@ -208,4 +216,86 @@ public class StandardCategoryAxis3DTest {
         assertTrue(axis1.equals(axis2));
     }
 
+    /**
+     * The value for a category should be the same whether it is looked up 
+     * by key or by index.
+     */
+    @Test
+    public void testGetCategoryValueByIndex() {
+        StandardCategoryDataset3D<String, String, String> dataset 
+                = new StandardCategoryDataset3D<>();
+        dataset.addValue(1.0, "S1", "R1", "C1");
+        dataset.addValue(2.0, "S1", "R1", "C2");
+        dataset.addValue(3.0, "S1", "R2", "C3");
+        StandardCategoryAxis3D rowAxis = new StandardCategoryAxis3D("R");
+        StandardCategoryAxis3D columnAxis = new StandardCategoryAxis3D("C");
+        // creating the plot configures the axes
+        new CategoryPlot3D(dataset, new BarRenderer3D(), rowAxis, columnAxis, 
+                new NumberAxis3D("N"));
+        for (int c = 0; c < dataset.getColumnCount(); c++) {
+            assertEquals(columnAxis.getCategoryValue(dataset.getColumnKey(c)),
+                    columnAxis.getCategoryValueByIndex(c), EPSILON);
+        }
+        assertEquals(rowAxis.getCategoryValue("R2"), 
+                rowAxis.getCategoryValueByIndex(1), EPSILON);
+        assertTrue(Double.isNaN(columnAxis.getCategoryValue("XX")));
+        assertTrue(Double.isNaN(columnAxis.getCategoryValueByIndex(-1)));
+        assertTrue(Double.isNaN(columnAxis.getCategoryValueByIndex(3)));
+        
+        // the index must be rebuilt when the dataset changes
+        dataset.addValue(4.0, "S1", "R1", "C0");
+        assertEquals(columnAxis.getCategoryValue("C0"), 
+                columnAxis.getCategoryValueByIndex(3), EPSILON);
+        
+        // and after serialization
+        StandardCategoryAxis3D copy = (StandardCategoryAxis3D) 
+                TestUtils.serialized(columnAxis);
+        assertEquals(columnAxis.getCategoryValue("C2"), 
+                copy.getCategoryValue("C2"), EPSILON);
+    }
+
+    /**
+     * The category index is updated incrementally as columns shift through
+     * a rolling dataset, and stays consistent with the index lookup.
+     */
+    @Test
+    public void testRollingDatasetColumns() {
+        RollingCategoryDataset3D<String, String, Integer> dataset 
+                = new RollingCategoryDataset3D<>(Arrays.asList("S1"), 
+                Arrays.asList("R1"), 4);
+        StandardCategoryAxis3D columnAxis = new StandardCategoryAxis3D("C");
+        new CategoryPlot3D(dataset, new BarRenderer3D(), 
+                new StandardCategoryAxis3D("R"), columnAxis, 
+                new NumberAxis3D("N"));
+        for (int period = 0; period < 50; period++) {
+            dataset.addColumn(period, new double[] {period});
+            for (int c = 0; c < dataset.getColumnCount(); c++) {
+                assertEquals(columnAxis.getCategoryValueByIndex(c), 
+                        columnAxis.getCategoryValue(dataset.getColumnKey(c)),
+                        EPSILON);
+            }
+            if (period >= 4) {
+                assertTrue(Double.isNaN(columnAxis.getCategoryValue(
+                        period - 4)));
+            }
+        }
+        assertEquals(4, columnAxis.generateTickDataForColumns(dataset)
+                .size());
+        
+        // the axis keeps its own copy of the categories, not a live view
+        dataset.setNotify(false);
+        dataset.addColumn(50, new double[] {50});
+        StandardCategoryDataset3D<String, String, Integer> labels 
+                = new StandardCategoryDataset3D<>();
+        for (int period = 46; period <= 50; period++) {
+            labels.addValue(period, "S1", "R1", period);
+        }
+        assertEquals(46, columnAxis.generateTickDataForColumns(labels)
+                .get(0).getKey());
+        StandardCategoryAxis3D copy = (StandardCategoryAxis3D) 
+                TestUtils.serialized(columnAxis);
+        assertEquals(46, copy.generateTickDataForColumns(labels).get(0)
+                .getKey());
+    }
+
 }
@@ -0,0 +1,247 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
+import org.jfree.chart3d.data.xyz.XYZDataset;
+import org.jfree.chart3d.data.xyz.XYZSeries;
+import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
+
+/**
+ * Tests for the {@link BinaryUtils} class.
+ */
+public class BinaryUtilsTest {
+    
+    private static final double EPSILON = 0.0000001;
+    
+    @Test
+    public void testKeyedValues() throws IOException {
+        StandardPieDataset3D<String> data = new StandardPieDataset3D<>();
+        data.add("A", 1.5);
+        data.add("B", null);
+        data.add("C", -3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUtils.writeKeyedValues(data, out);
+        KeyedValues<String, Number> result = BinaryUtils.readKeyedValues(
+                new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(data.getKeys(), result.getKeys());
+        assertEquals(1.5, result.getValue("A").doubleValue(), EPSILON);
+        assertNull(result.getValue("B"));
+        assertEquals(-3.0, result.getValue("C").doubleValue(), EPSILON);
+    }
+    
+    @Test
+    public void testKeyedValues2D() throws IOException {
+        DefaultKeyedValues2D<Integer, Long, Number> data 
+                = new DefaultKeyedValues2D<>();
+        data.setValue(1.0, 2020, 1L);
+        data.setValue(2.0, 2020, 2L);
+        data.setValue(3.0, 2021, 2L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUtils.writeKeyedValues2D(data, out);
+        KeyedValues2D<Integer, Long, Number> result 
+                = BinaryUtils.readKeyedValues2D(new ByteArrayInputStream(
+                out.toByteArray()));
+        assertEquals(data, result);
+    }
+    
+    @Test
+    public void testKeyedValues3D() throws IOException {
+        StandardCategoryDataset3D<String, String, String> data 
+                = createCategoryDataset();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUtils.writeKeyedValues3D(data, out);
+        KeyedValues3D<String, String, String, Number> result 
+                = BinaryUtils.readKeyedValues3D(new ByteArrayInputStream(
+                out.toByteArray()));
+        assertEquals(data, result);
+        
+        // the wrong block type is rejected
+        assertThrows(IOException.class, () -> BinaryUtils.readKeyedValues(
+                new ByteArrayInputStream(out.toByteArray())));
+    }
+    
+    @Test
+    public void testXYZDataset() throws IOException {
+        XYZSeriesCollection<String> data = createXYZDataset();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUtils.writeXYZDataset(data, out);
+        XYZDataset<String> result = BinaryUtils.readXYZDataset(
+                new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(data, result);
+    }
+    
+    /**
+     * Blocks larger than the chunk size are written and read correctly.
+     */
+    @Test
+    public void testLargeXYZDataset() throws IOException {
+        XYZSeries<String> series = new XYZSeries<>("S");
+        for (int i = 0; i < 10000; i++) {
+            series.add(i, -i, i * 0.5);
+        }
+        XYZSeriesCollection<String> data = new XYZSeriesCollection<>();
+        data.add(series);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUtils.writeXYZDataset(data, out);
+        XYZDataset<String> result = BinaryUtils.readXYZDataset(
+                new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(data, result);
+    }
+    
+    /**
+     * Corrupt counts in the input are reported as an {@code IOException}, 
+     * without allocating memory up front for the count.
+     */
+    @Test
+    public void testOversizedCounts() throws IOException {
+        for (int count : new int[] {0x10000000, 0x20000001, 0x0FFFFFFF}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            DataOutputStream dout = header(out, BinaryUtils.TYPE_XYZ_DATASET);
+            dout.writeInt(1); // one series key
+            dout.writeByte(2); // an integer key
+            dout.writeInt(1);
+            dout.writeInt(count);
+            assertThrows(IOException.class, () -> BinaryUtils.readXYZDataset(
+                    new ByteArrayInputStream(out.toByteArray())));
+        }
+        
+        // too many values in a 2D block
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        DataOutputStream dout = header(out2, 
+                BinaryUtils.TYPE_KEYED_VALUES_2D);
+        writeIntegerKeys(dout, 0x4000);
+        writeIntegerKeys(dout, 0x4000);
+        assertThrows(IOException.class, () -> BinaryUtils.readKeyedValues2D(
+                new ByteArrayInputStream(out2.toByteArray())));
+        
+        // the value count for a 3D block overflows an int
+        ByteArrayOutputStream out3 = new ByteArrayOutputStream();
+        dout = header(out3, BinaryUtils.TYPE_KEYED_VALUES_3D);
+        writeIntegerKeys(dout, 0x800);
+        writeIntegerKeys(dout, 0x800);
+        writeIntegerKeys(dout, 0x800);
+        assertThrows(IOException.class, () -> BinaryUtils.readKeyedValues3D(
+                new ByteArrayInputStream(out3.toByteArray())));
+    }
+    
+    /**
+     * The binary format should be much smaller than both Java serialization
+     * and JSON for a typical dataset.
+     */
+    @Test
+    public void testSize() throws IOException {
+        StandardCategoryDataset3D<String, String, String> cd 
+                = createCategoryDataset();
+        ByteArrayOutputStream bin = new ByteArrayOutputStream();
+        BinaryUtils.writeKeyedValues3D(cd, bin);
+        assertTrue(bin.size() < serializedSize(cd));
+        assertTrue(bin.size() < JSONUtils.writeKeyedValues3D(cd).getBytes(
+                StandardCharsets.UTF_8).length);
+        
+        XYZSeriesCollection<String> xyz = createXYZDataset();
+        bin.reset();
+        BinaryUtils.writeXYZDataset(xyz, bin);
+        assertTrue(bin.size() < serializedSize(xyz));
+    }
+    
+    private static int serializedSize(Object obj) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(obj);
+        }
+        return out.size();
+    }
+    
+    private static StandardCategoryDataset3D<String, String, String> 
+            createCategoryDataset() {
+        StandardCategoryDataset3D<String, String, String> data 
+                = new StandardCategoryDataset3D<>();
+        for (int s = 0; s < 3; s++) {
+            for (int r = 0; r < 4; r++) {
+                for (int c = 0; c < 12; c++) {
+                    data.addValue(s * 100 + r * 10.0 + c / 3.0, "Series " + s, 
+                            "Row " + r, "Column " + c);
+                }
+            }
+        }
+        data.setValue(null, "Series 1", "Row 1", "Column 1");
+        return data;
+    }
+    
+    private static XYZSeriesCollection<String> createXYZDataset() {
+        XYZSeriesCollection<String> data = new XYZSeriesCollection<>();
+        for (int s = 0; s < 2; s++) {
+            XYZSeries<String> series = new XYZSeries<>("S" + s);
+            for (int i = 0; i < 500; i++) {
+                series.add(i, Math.sin(i / 10.0) + s, i * 0.5);
+            }
+            data.add(series);
+        }
+        return data;
+    }
+    
+    private static DataOutputStream header(ByteArrayOutputStream out, 
+            byte type) throws IOException {
+        DataOutputStream dout = new DataOutputStream(out);
+        dout.writeInt(BinaryUtils.MAGIC);
+        dout.writeByte(BinaryUtils.VERSION);
+        dout.writeByte(type);
+        return dout;
+    }
+    
+    private static void writeIntegerKeys(DataOutputStream dout, int count) 
+            throws IOException {
+        dout.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            dout.writeByte(2);
+            dout.writeInt(i);
+        }
+    }
+
+}
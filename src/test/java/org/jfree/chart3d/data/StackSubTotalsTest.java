@@ -0,0 +1,99 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
+
+/**
+ * Tests for the {@link StackSubTotals} class.
+ */
+public class StackSubTotalsTest {
+    
+    private static final double EPSILON = 0.0000001;
+    
+    /**
+     * The subtotals should match those calculated one item at a time by
+     * {@link DataUtils#stackSubTotal(Values3D, double, int, int, int)}.
+     */
+    @Test
+    public void testSubTotals() {
+        StandardCategoryDataset3D<String, String, String> data 
+                = new StandardCategoryDataset3D<>();
+        data.addValue(1.0, "S1", "R1", "C1");
+        data.addValue(-2.0, "S1", "R1", "C2");
+        data.addValue(3.0, "S2", "R1", "C1");
+        data.addValue(4.0, "S2", "R2", "C2");
+        data.addValue(-5.0, "S3", "R1", "C2");
+        data.addValue(null, "S3", "R2", "C1");
+        data.addValue(6.0, "S3", "R2", "C2");
+        StackSubTotals subTotals = new StackSubTotals(data);
+        for (int s = 0; s <= data.getSeriesCount(); s++) {
+            for (int r = 0; r < data.getRowCount(); r++) {
+                for (int c = 0; c < data.getColumnCount(); c++) {
+                    double[] expected = DataUtils.stackSubTotal(data, 0.0, s, 
+                            r, c);
+                    assertEquals(expected[0], 
+                            subTotals.getNegativeSubTotal(s, r, c), EPSILON);
+                    assertEquals(expected[1], 
+                            subTotals.getPositiveSubTotal(s, r, c), EPSILON);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testFindRange() {
+        StandardCategoryDataset3D<String, String, String> data 
+                = new StandardCategoryDataset3D<>();
+        data.addValue(1.0, "S1", "R1", "C1");
+        data.addValue(-2.0, "S1", "R1", "C2");
+        data.addValue(3.0, "S2", "R1", "C1");
+        data.addValue(-5.0, "S2", "R1", "C2");
+        StackSubTotals subTotals = new StackSubTotals(data);
+        assertEquals(DataUtils.findStackedValueRange(data), 
+                subTotals.findRange(0.0));
+        assertEquals(new Range(-7.0, 4.0), subTotals.findRange(0.0));
+        assertEquals(DataUtils.findStackedValueRange(data, 10.0), 
+                subTotals.findRange(10.0));
+        
+        // an empty dataset gives a zero length range at the base value
+        subTotals = new StackSubTotals(
+                new StandardCategoryDataset3D<String, String, String>());
+        assertEquals(new Range(2.0, 2.0), subTotals.findRange(2.0));
+    }
+
+}
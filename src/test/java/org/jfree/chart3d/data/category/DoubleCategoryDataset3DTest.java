@@ -0,0 +1,182 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data.category;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.data.DataUtils;
+import org.jfree.chart3d.data.Range;
+
+/**
+ * Tests for the {@link DoubleCategoryDataset3D} class.
+ */
+public class DoubleCategoryDataset3DTest {
+    
+    @Test
+    public void checkGeneral() {
+        DoubleCategoryDataset3D<String, String, String> dataset 
+                = new DoubleCategoryDataset3D<>();
+        assertEquals(0, dataset.getSeriesCount());
+        assertEquals(0, dataset.getRowCount());
+        assertEquals(0, dataset.getColumnCount());
+        assertNull(dataset.getValue("S1", "R1", "C1"));
+        assertNull(dataset.getValueRange());
+        
+        dataset.setValue(1.5, "S1", "R1", "C1");
+        dataset.setValue(null, "S1", "R2", "C1");
+        assertEquals(1.5, dataset.getValue("S1", "R1", "C1"));
+        assertNull(dataset.getValue(0, 1, 0));
+        assertTrue(Double.isNaN(dataset.getDoubleValue(0, 1, 0)));
+        assertEquals(Arrays.asList("R1", "R2"), dataset.getRowKeys());
+        assertEquals(-1, dataset.getColumnIndex("C2"));
+        assertThrows(IllegalArgumentException.class, 
+                () -> dataset.getDoubleValue(0, 0, 1));
+    }
+    
+    /**
+     * Adding keys in an arbitrary order (which grows the storage in each
+     * dimension) should give the same content as the standard dataset.
+     */
+    @Test
+    public void checkSameAsStandardDataset() {
+        DoubleCategoryDataset3D<String, String, String> d1 
+                = new DoubleCategoryDataset3D<>();
+        StandardCategoryDataset3D<String, String, String> d2 
+                = new StandardCategoryDataset3D<>();
+        Random random = new Random(123L);
+        for (int i = 0; i < 500; i++) {
+            String s = "S" + random.nextInt(4);
+            String r = "R" + random.nextInt(7);
+            String c = "C" + random.nextInt(11);
+            double v = Math.round(random.nextGaussian() * 100);
+            d1.setValue(v, s, r, c);
+            d2.setValue(v, s, r, c);
+        }
+        assertEquals(d2.getSeriesKeys(), d1.getSeriesKeys());
+        assertEquals(d2.getRowKeys(), d1.getRowKeys());
+        assertEquals(d2.getColumnKeys(), d1.getColumnKeys());
+        for (int s = 0; s < d2.getSeriesCount(); s++) {
+            for (int r = 0; r < d2.getRowCount(); r++) {
+                for (int c = 0; c < d2.getColumnCount(); c++) {
+                    assertEquals(d2.getValue(s, r, c), d1.getValue(s, r, c));
+                }
+            }
+        }
+        assertEquals(DataUtils.findValueRange(d2, 0.0), 
+                DataUtils.findValueRange(d1, 0.0));
+        assertEquals(DataUtils.total(d2, "S1"), DataUtils.total(d1, "S1"), 
+                0.0000001);
+        assertEquals(DataUtils.totalForRow(d2, "R3"), 
+                DataUtils.totalForRow(d1, "R3"), 0.0000001);
+        assertEquals(DataUtils.totalForColumn(d2, "C5"), 
+                DataUtils.totalForColumn(d1, "C5"), 0.0000001);
+    }
+    
+    @Test
+    public void checkBulkLoad() {
+        DoubleCategoryDataset3D<String, String, String> dataset 
+                = new DoubleCategoryDataset3D<>(Arrays.asList("S1", "S2"), 
+                Arrays.asList("R1"), Arrays.asList("C1", "C2", "C3"));
+        assertNull(dataset.getValue(1, 0, 2));
+        dataset.setValues(new double[] {1, 2, 3, 4, 5, Double.NaN});
+        assertEquals(4.0, dataset.getDoubleValue(1, 0, 0), 0.0);
+        assertNull(dataset.getValue(1, 0, 2));
+        assertEquals(new Range(1.0, 5.0), dataset.getValueRange());
+        
+        dataset.setSeriesValues(0, new double[][] {{-1, 
+                Double.POSITIVE_INFINITY, 0}});
+        // infinite values are excluded from the (finite) value range
+        assertEquals(new Range(-1.0, 5.0), dataset.getValueRange());
+        assertEquals(new Range(-1.0, Double.POSITIVE_INFINITY), 
+                DataUtils.findValueRange(dataset, Double.NaN, false));
+        assertEquals(Double.POSITIVE_INFINITY, dataset.getSeriesTotal(0), 
+                0.0);
+        assertEquals(9.0, dataset.getSeriesTotal(1), 0.0);
+        assertEquals(3.0, dataset.getColumnTotal(0), 0.0);
+        
+        assertThrows(IllegalArgumentException.class, 
+                () -> dataset.setValues(new double[5]));
+        assertThrows(IllegalArgumentException.class, 
+                () -> new DoubleCategoryDataset3D<>(Arrays.asList("S1", "S1"),
+                Arrays.asList("R1"), Arrays.asList("C1")));
+    }
+    
+    @Test
+    public void checkEquals() {
+        DoubleCategoryDataset3D<String, String, String> d1 
+                = new DoubleCategoryDataset3D<>();
+        DoubleCategoryDataset3D<String, String, String> d2 
+                = new DoubleCategoryDataset3D<>();
+        assertTrue(d1.equals(d2));
+        assertFalse(d1.equals(null));
+        
+        d1.addValue(1.0, "S1", "R1", "C1");
+        assertFalse(d1.equals(d2));
+        d2.addValue(1.0, "S1", "R1", "C1");
+        assertTrue(d1.equals(d2));
+        
+        d1.addValue(null, "S1", "R2", "C2");
+        assertFalse(d1.equals(d2));
+        d2.addValue(null, "S1", "R2", "C2");
+        assertTrue(d1.equals(d2));
+    }
+    
+    /**
+     * A check for serialization.
+     */
+    @Test
+    public void testSerialization() {
+        DoubleCategoryDataset3D<String, String, String> d1 
+                = new DoubleCategoryDataset3D<>();
+        d1.addValue(1.0, "S1", "R1", "C1");
+        d1.addValue(2.0, "S2", "R2", "C2");
+        @SuppressWarnings("unchecked")
+        DoubleCategoryDataset3D<String, String, String> d2 
+                = (DoubleCategoryDataset3D<String, String, String>) 
+                TestUtils.serialized(d1);
+        assertEquals(d1, d2);
+        assertEquals(new Range(1.0, 2.0), d2.getValueRange());
+    }
+
+}
@@ -0,0 +1,149 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data.category;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.data.Dataset3DChangeEvent;
+import org.jfree.chart3d.data.Dataset3DChangeListener;
+
+/**
+ * Tests for the {@link RollingCategoryDataset3D} class.
+ */
+public class RollingCategoryDataset3DTest implements Dataset3DChangeListener {
+
+    private int eventCount;
+
+    @Override
+    public void datasetChanged(Dataset3DChangeEvent event) {
+        this.eventCount++;
+    }
+
+    private static RollingCategoryDataset3D<String, String, String> 
+            createDataset(int windowSize) {
+        return new RollingCategoryDataset3D<>(Arrays.asList("S1", "S2"), 
+                Arrays.asList("R1", "R2", "R3"), windowSize);
+    }
+
+    @Test
+    public void testAddColumn() {
+        RollingCategoryDataset3D<String, String, String> d = createDataset(2);
+        d.addChangeListener(this);
+        d.addColumn("C1", new double[] {1, 2, 3, 4, 5, 6});
+        d.addColumn("C2", new double[] {11, 12, 13, 14, 15, 16});
+        assertEquals(2, this.eventCount);
+        assertEquals(2, d.getColumnCount());
+        assertEquals(0L, d.getColumnShiftCount());
+        assertEquals(6.0, d.getDoubleValue(1, 2, 0));
+        assertEquals(12.0, d.getValue("S1", "R2", "C2"));
+
+        d.addColumn("C3", new double[] {21, 22, 23, 24, 25, Double.NaN});
+        assertEquals(3, this.eventCount);
+        assertEquals(1L, d.getColumnShiftCount());
+        assertEquals(Arrays.asList("C2", "C3"), d.getColumnKeys());
+        assertEquals(-1, d.getColumnIndex("C1"));
+        assertEquals(1, d.getColumnIndex("C3"));
+        assertEquals(16.0, d.getDoubleValue(1, 2, 0));
+        assertNull(d.getValue(1, 2, 1));
+        assertNull(d.getValue("S1", "R1", "C1"));
+
+        assertThrows(IllegalArgumentException.class, 
+                () -> d.addColumn("C3", new double[6]));
+        assertThrows(IllegalArgumentException.class, 
+                () -> d.addColumn("C4", new double[5]));
+    }
+
+    /**
+     * Setting a value for a new column key appends a column.
+     */
+    @Test
+    public void testSetValue() {
+        RollingCategoryDataset3D<String, String, String> d = createDataset(2);
+        d.setValue(1.0, "S1", "R1", "C1");
+        d.setValue(2.0, "S1", "R1", "C2");
+        d.setValue(3.0, "S2", "R3", "C3");
+        assertEquals(Arrays.asList("C2", "C3"), d.getColumnKeys());
+        assertEquals(2.0, d.getValue("S1", "R1", "C2"));
+        assertEquals(3.0, d.getValue("S2", "R3", "C3"));
+        assertNull(d.getValue("S1", "R1", "C3"));
+        d.setValue(null, "S1", "R1", "C2");
+        assertNull(d.getValue("S1", "R1", "C2"));
+        assertThrows(IllegalArgumentException.class, 
+                () -> d.setValue(1.0, "S3", "R1", "C2"));
+    }
+
+    @Test
+    public void testEquals() {
+        RollingCategoryDataset3D<String, String, String> d1 = createDataset(2);
+        RollingCategoryDataset3D<String, String, String> d2 = createDataset(2);
+        assertTrue(d1.equals(d2));
+        d1.addColumn("C1", new double[] {1, 2, 3, 4, 5, 6});
+        assertFalse(d1.equals(d2));
+        d2.addColumn("C1", new double[] {1, 2, 3, 4, 5, 6});
+        assertTrue(d1.equals(d2));
+
+        // the same columns in different buffer positions
+        d1.addColumn("C2", new double[6]);
+        d1.addColumn("C3", new double[6]);
+        d2.addColumn("C0", new double[6]);
+        d2.addColumn("C2", new double[6]);
+        d2.addColumn("C3", new double[6]);
+        assertTrue(d1.equals(d2));
+        assertFalse(d1.equals(createDataset(3)));
+    }
+
+    @Test
+    public void testSerialization() {
+        RollingCategoryDataset3D<String, String, String> d1 = createDataset(2);
+        d1.addColumn("C1", new double[] {1, 2, 3, 4, 5, 6});
+        d1.addColumn("C2", new double[] {11, 12, 13, 14, 15, 16});
+        d1.addColumn("C3", new double[] {21, 22, 23, 24, 25, 26});
+        @SuppressWarnings("unchecked")
+        RollingCategoryDataset3D<String, String, String> d2 
+                = (RollingCategoryDataset3D<String, String, String>) 
+                TestUtils.serialized(d1);
+        assertTrue(d1.equals(d2));
+        assertEquals(Arrays.asList("C2", "C3"), d2.getColumnKeys());
+    }
+
+}
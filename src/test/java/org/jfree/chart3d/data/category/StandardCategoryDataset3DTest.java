@@ -122,5 +122,22 @@ public class StandardCategoryDataset3DTest {
                 + "{\"seriesKey\": \"S2\", \"rows\": [[\"R2\", [null, 4.0]]]}]}",
                 dataset.toString());
     }
+    
+    /**
+     * The revision changes with every change to the data, even when 
+     * listeners are not notified.
+     */
+    @Test
+    public void checkRevision() {
+        StandardCategoryDataset3D<String, String, String> dataset 
+                = new StandardCategoryDataset3D<>();
+        long revision = dataset.getRevision();
+        dataset.addValue(1.0, "S1", "R1", "C1");
+        assertTrue(dataset.getRevision() > revision);
+        revision = dataset.getRevision();
+        dataset.setNotify(false);
+        dataset.addValue(2.0, "S1", "R1", "C1");
+        assertTrue(dataset.getRevision() > revision);
+    }
   
 }
@@ -0,0 +1,129 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data.xyz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.jfree.chart3d.data.DataUtils;
+import org.jfree.chart3d.data.Range;
+
+/**
+ * Tests for the {@link MappedXYZDataset} class.
+ */
+public class MappedXYZDatasetTest {
+    
+    private static final double EPSILON = 0.0000001;
+    
+    @TempDir
+    Path tempDir;
+    
+    private static XYZSeriesCollection<String> createDataset() {
+        XYZSeries<String> s1 = new XYZSeries<>("S1");
+        s1.add(1.0, 2.0, 3.0);
+        s1.add(-4.5, Double.NaN, 6.0);
+        s1.add(7.0, 8.0, Double.POSITIVE_INFINITY);
+        XYZSeries<String> s2 = new XYZSeries<>("Série 2");
+        s2.add(10.0, -11.0, 12.25);
+        XYZSeries<String> s3 = new XYZSeries<>("S3");
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        dataset.add(s1);
+        dataset.add(s2);
+        dataset.add(s3);
+        return dataset;
+    }
+    
+    private void checkRoundTrip(boolean singlePrecision) throws IOException {
+        XYZSeriesCollection<String> source = createDataset();
+        File file = this.tempDir.resolve("data.xyz").toFile();
+        MappedXYZDataset.write(source, file, singlePrecision);
+        try (MappedXYZDataset d = new MappedXYZDataset(file)) {
+            assertEquals(3, d.getSeriesCount());
+            assertEquals(source.getSeriesKeys(), d.getSeriesKeys());
+            assertEquals(1, d.getSeriesIndex("Série 2"));
+            assertEquals(-1, d.getSeriesIndex("XX"));
+            for (int s = 0; s < 3; s++) {
+                assertEquals(source.getItemCount(s), d.getItemCount(s));
+                for (int i = 0; i < source.getItemCount(s); i++) {
+                    assertEquals(source.getX(s, i), d.getX(s, i), EPSILON);
+                    assertEquals(source.getY(s, i), d.getY(s, i), EPSILON);
+                    assertEquals(source.getZ(s, i), d.getZ(s, i), EPSILON);
+                }
+            }
+            assertEquals(new Range(-4.5, 7.0), d.getXRange(0));
+            assertEquals(new Range(2.0, 8.0), d.getYRange(0));
+            assertEquals(new Range(3.0, 6.0), d.getZRange(0));
+            assertNull(d.getXRange(2));
+            
+            // the header bounds give the same results as iterating
+            assertEquals(DataUtils.findXRange(source), 
+                    DataUtils.findXRange(d));
+            assertEquals(DataUtils.findYRange(source), 
+                    DataUtils.findYRange(d));
+            assertEquals(DataUtils.findZRange(source, 100.0), 
+                    DataUtils.findZRange(d, 100.0));
+            assertEquals(DataUtils.findZRange(source, Double.NaN, false), 
+                    DataUtils.findZRange(d, Double.NaN, false));
+        }
+    }
+    
+    @Test
+    public void testRoundTripDouble() throws IOException {
+        checkRoundTrip(false);
+    }
+    
+    @Test
+    public void testRoundTripFloat() throws IOException {
+        checkRoundTrip(true);
+    }
+    
+    @Test
+    public void testInvalidFile() throws IOException {
+        Path path = this.tempDir.resolve("bad.xyz");
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 
+                13, 14, 15, 16});
+        assertThrows(IOException.class, 
+                () -> new MappedXYZDataset(path.toFile()));
+    }
+
+}
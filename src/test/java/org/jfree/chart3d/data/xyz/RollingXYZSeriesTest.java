@@ -0,0 +1,195 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.data.xyz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.data.DataUtils;
+import org.jfree.chart3d.data.Dataset3DChangeEvent;
+import org.jfree.chart3d.data.Dataset3DChangeListener;
+import org.jfree.chart3d.data.Range;
+
+/**
+ * Tests for the {@link RollingXYZSeries} class.
+ */
+public class RollingXYZSeriesTest implements Dataset3DChangeListener {
+
+    private int eventCount;
+
+    @Override
+    public void datasetChanged(Dataset3DChangeEvent event) {
+        this.eventCount++;
+    }
+
+    @Test
+    public void testAddWithEviction() {
+        RollingXYZSeries<String> s = new RollingXYZSeries<>("S", 3);
+        s.add(1.0, 10.0, 100.0);
+        s.add(2.0, 20.0, 200.0);
+        s.add(3.0, 30.0, 300.0);
+        s.add(4.0, 40.0, 400.0);
+        assertEquals(3, s.getItemCount());
+        assertEquals(2.0, s.getXValue(0));
+        assertEquals(40.0, s.getYValue(2));
+        assertEquals(300.0, s.getZValue(1));
+        assertEquals(new XYZDataItem(2.0, 20.0, 200.0), s.getItems().get(0));
+        assertEquals(new Range(2.0, 4.0), s.getXRange());
+        assertEquals(new Range(20.0, 40.0), s.getYRange());
+
+        s.remove(0);
+        assertEquals(2, s.getItemCount());
+        assertEquals(3.0, s.getXValue(0));
+        assertEquals(new Range(3.0, 4.0), s.getXRange());
+
+        s.clear();
+        assertEquals(0, s.getItemCount());
+        assertNull(s.getXRange());
+    }
+
+    /**
+     * A batch produces one event from the collection, and only the last 
+     * {@code capacity} items are retained.
+     */
+    @Test
+    public void testAddAll() {
+        RollingXYZSeries<String> s = new RollingXYZSeries<>("S", 4);
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        dataset.add(s);
+        dataset.addChangeListener(this);
+        this.eventCount = 0;
+        s.addAll(new double[] {1, 2, 3, 4, 5, 6}, 
+                new double[] {6, 5, 4, 3, 2, 1}, 
+                new double[] {0, 0, 0, 0, 0, Double.NaN});
+        assertEquals(1, this.eventCount);
+        assertEquals(4, dataset.getItemCount(0));
+        assertEquals(3.0, dataset.getX(0, 0));
+        assertEquals(6.0, dataset.getX(0, 3));
+        assertEquals(new Range(3.0, 6.0), DataUtils.findXRange(dataset));
+        assertEquals(new Range(1.0, 4.0), DataUtils.findYRange(dataset));
+        assertEquals(new Range(0.0, 0.0), DataUtils.findZRange(dataset));
+    }
+
+    /**
+     * A collection can mix rolling series (which supply their tracked 
+     * ranges) with plain series (which are iterated over).
+     */
+    @Test
+    public void testMixedCollectionRanges() {
+        RollingXYZSeries<String> s1 = new RollingXYZSeries<>("S1", 2);
+        s1.add(1.0, 10.0, 100.0);
+        s1.add(2.0, 20.0, 200.0);
+        s1.add(3.0, 30.0, 300.0);
+        XYZSeries<String> s2 = new XYZSeries<>("S2");
+        s2.add(-1.0, 25.0, Double.POSITIVE_INFINITY);
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        dataset.add(s1);
+        dataset.add(s2);
+        assertEquals(new Range(-1.0, 3.0), DataUtils.findXRange(dataset));
+        assertEquals(new Range(20.0, 30.0), DataUtils.findYRange(dataset));
+        assertEquals(new Range(200.0, 300.0), 
+                DataUtils.findZRange(dataset));
+        assertEquals(new Range(200.0, Double.POSITIVE_INFINITY), 
+                DataUtils.findZRange(dataset, Double.NaN, false));
+    }
+
+    /**
+     * The tracked ranges stay correct as extreme values are evicted from a 
+     * long stream.
+     */
+    @Test
+    public void testRangeTracking() {
+        RollingXYZSeries<String> s = new RollingXYZSeries<>("S", 10);
+        for (int i = 0; i < 1000; i++) {
+            double v = Math.sin(i * 0.37) * (i % 17);
+            s.add(v, -v, i);
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < s.getItemCount(); j++) {
+                min = Math.min(min, s.getXValue(j));
+                max = Math.max(max, s.getXValue(j));
+            }
+            assertEquals(new Range(min, max), s.getXRange());
+            assertEquals(new Range(-max, -min), s.getYRange());
+        }
+        assertEquals(new Range(990.0, 999.0), s.getZRange());
+    }
+
+    @Test
+    public void testEquals() {
+        RollingXYZSeries<String> s1 = new RollingXYZSeries<>("S", 2);
+        RollingXYZSeries<String> s2 = new RollingXYZSeries<>("S", 2);
+        assertTrue(s1.equals(s2));
+        s1.add(1.0, 2.0, 3.0);
+        assertFalse(s1.equals(s2));
+        s2.add(1.0, 2.0, 3.0);
+        assertTrue(s1.equals(s2));
+
+        // the same items in different buffer positions
+        s1.add(4.0, 5.0, 6.0);
+        s1.add(7.0, 8.0, 9.0);
+        s2.add(0.0, 0.0, 0.0);
+        s2.add(4.0, 5.0, 6.0);
+        s2.add(7.0, 8.0, 9.0);
+        assertTrue(s1.equals(s2));
+        assertEquals(s1.hashCode(), s2.hashCode());
+        assertFalse(s1.equals(new RollingXYZSeries<>("S", 3)));
+        
+        // equality with a plain series is symmetric
+        XYZSeries<String> s3 = new XYZSeries<>("S");
+        s3.add(4.0, 5.0, 6.0);
+        s3.add(7.0, 8.0, 9.0);
+        assertFalse(s1.equals(s3));
+        assertFalse(s3.equals(s1));
+    }
+
+    @Test
+    public void testSerialization() {
+        RollingXYZSeries<String> s1 = new RollingXYZSeries<>("S", 2);
+        s1.add(1.0, 2.0, 3.0);
+        s1.add(4.0, 5.0, 6.0);
+        s1.add(7.0, 8.0, 9.0);
+        @SuppressWarnings("unchecked")
+        RollingXYZSeries<String> s2 
+                = (RollingXYZSeries<String>) TestUtils.serialized(s1);
+        assertTrue(s1.equals(s2));
+        assertEquals(new Range(4.0, 7.0), s2.getXRange());
+    }
+
+}
@@ -0,0 +1,208 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.Chart3D;
+import org.jfree.chart3d.Chart3DFactory;
+import org.jfree.chart3d.data.StandardPieDataset3D;
+
+/**
+ * Tests for the {@link BatchRenderer} class.
+ */
+public class BatchRendererTest {
+    
+    /**
+     * A sink that collects the encoded bytes in memory.
+     */
+    private static class MemorySink implements RenderJobSink {
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        @Override
+        public OutputStream open(RenderJob job) {
+            return this.out;
+        }
+    }
+    
+    private static Chart3D createChart(int i) {
+        StandardPieDataset3D<String> dataset = new StandardPieDataset3D<>();
+        dataset.add("A", 1.0 + i);
+        dataset.add("B", 2.0);
+        dataset.add("C", 3.0);
+        return Chart3DFactory.createPieChart("Chart " + i, null, dataset);
+    }
+    
+    @Test
+    public void testRenderAll() throws Exception {
+        List<RenderJob> jobs = new ArrayList<>();
+        List<MemorySink> sinks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            MemorySink sink = new MemorySink();
+            sinks.add(sink);
+            ExportFormat format = i % 3 == 0 ? ExportFormat.JPEG 
+                    : ExportFormat.PNG;
+            jobs.add(new RenderJob(createChart(i), 120, 80, format, sink));
+        }
+        List<RenderResult> results;
+        BatchRenderMetrics metrics;
+        try (BatchRenderer renderer = new BatchRenderer(2, 1, 3)) {
+            renderer.setRenderingInfoRetained(true);
+            results = renderer.renderAll(jobs);
+            metrics = renderer.getMetrics();
+        }
+        assertEquals(12, results.size());
+        for (int i = 0; i < 12; i++) {
+            RenderResult result = results.get(i);
+            assertTrue(result.isSuccess());
+            assertEquals(jobs.get(i), result.getJob());
+            assertNotNull(result.getRenderingInfo());
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(
+                    sinks.get(i).out.toByteArray()));
+            assertEquals(120, image.getWidth());
+            assertEquals(80, image.getHeight());
+        }
+        assertEquals(12, metrics.getSubmittedCount());
+        assertEquals(12, metrics.getCompletedCount());
+        assertEquals(0, metrics.getFailedCount());
+        assertEquals(0, metrics.getPendingCount());
+        assertEquals(12, metrics.getImagesCreated() 
+                + metrics.getImagesReused());
+        // no more than 3 jobs in progress, so at most 3 images of each type
+        assertTrue(metrics.getImagesCreated() <= 6);
+    }
+    
+    /**
+     * Results are passed to the consumer on the calling thread as the jobs
+     * finish, without the rendering info unless it is requested.
+     */
+    @Test
+    public void testRenderAllWithConsumer() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final List<RenderResult> results = new ArrayList<>();
+        try (BatchRenderer renderer = new BatchRenderer(2, 1, 2)) {
+            renderer.renderAll(IntStream.range(0, 20).mapToObj(
+                    i -> new RenderJob(createChart(i), 60, 40, 
+                    ExportFormat.PNG, new MemorySink())), 
+                    r -> {
+                        assertSame(caller, Thread.currentThread());
+                        results.add(r);
+                    });
+            assertEquals(20, renderer.getMetrics().getCompletedCount());
+        }
+        assertEquals(20, results.size());
+        for (RenderResult result : results) {
+            assertTrue(result.isSuccess());
+            assertNull(result.getRenderingInfo());
+        }
+    }
+    
+    @Test
+    public void testFailure() throws Exception {
+        RenderJobSink failingSink = new RenderJobSink() {
+            @Override
+            public OutputStream open(RenderJob job) throws IOException {
+                throw new IOException("Test");
+            }
+        };
+        try (BatchRenderer renderer = new BatchRenderer(1, 1)) {
+            RenderResult result = renderer.submit(new RenderJob(
+                    createChart(0), 50, 50, ExportFormat.PNG, failingSink))
+                    .get();
+            assertFalse(result.isSuccess());
+            assertTrue(result.getError() instanceof IOException);
+            assertEquals(1, renderer.getMetrics().getFailedCount());
+        }
+    }
+
+    /**
+     * Reused images must be cleared before they are handed out again.
+     */
+    @Test
+    public void testImagePoolClearsImages() {
+        ImageBufferPool pool = new ImageBufferPool(1, 1);
+        BufferedImage image = pool.acquire(10, 10, 
+                BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(5, 5, 0xFFFF0000);
+        pool.release(image);
+        BufferedImage reused = pool.acquire(10, 10, 
+                BufferedImage.TYPE_INT_ARGB);
+        assertTrue(image == reused);
+        assertEquals(0, reused.getRGB(5, 5));
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+    }
+    
+    /**
+     * The pool keeps idle images for a limited number of sizes, discarding
+     * the least recently used size first.
+     */
+    @Test
+    public void testImagePoolKeyLimit() {
+        ImageBufferPool pool = new ImageBufferPool(2, 2);
+        int type = BufferedImage.TYPE_INT_ARGB;
+        BufferedImage a = pool.acquire(10, 10, type);
+        pool.release(a);
+        pool.release(pool.acquire(20, 20, type));
+        assertTrue(a == pool.acquire(10, 10, type));
+        pool.release(a);
+        pool.release(pool.acquire(30, 30, type));
+        assertEquals(2, pool.getKeyCount());
+        
+        // the 20x20 size was least recently used, so it was discarded
+        long created = pool.getCreatedCount();
+        pool.acquire(20, 20, type);
+        assertEquals(created + 1, pool.getCreatedCount());
+        assertTrue(a == pool.acquire(10, 10, type));
+    }
+
+}
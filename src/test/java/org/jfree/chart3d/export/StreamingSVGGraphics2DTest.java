@@ -0,0 +1,148 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.geom.Path2D;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import org.jfree.chart3d.Chart3D;
+import org.jfree.chart3d.Chart3DFactory;
+import org.jfree.chart3d.data.StandardPieDataset3D;
+
+/**
+ * Tests for the {@link StreamingSVGGraphics2D} class.
+ */
+public class StreamingSVGGraphics2DTest {
+    
+    private static Document parse(byte[] svg) throws Exception {
+        DocumentBuilder builder 
+                = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        return builder.parse(new ByteArrayInputStream(svg));
+    }
+    
+    @Test
+    public void testCompactPath() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 100, 50);
+        Path2D path = new Path2D.Double();
+        path.moveTo(1.0, 2.5);
+        path.lineTo(10.125, -3.0);
+        path.lineTo(4.0, 4.0);
+        path.closePath();
+        g2.setColor(Color.RED);
+        g2.fill(path);
+        g2.fill(path);
+        g2.finish();
+        String svg = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(svg.contains("d=\"M1 2.5L10.13-3 4 4Z\""), svg);
+        // the style is written once and shared
+        assertTrue(svg.contains(".c0{fill:#ff0000}"), svg);
+        assertEquals(svg.indexOf("<style>"), svg.lastIndexOf("<style>"));
+        Document doc = parse(out.toByteArray());
+        assertEquals(2, doc.getElementsByTagName("path").getLength());
+    }
+    
+    @Test
+    public void testNearZeroNegativeCoordinate() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 100, 50);
+        Path2D path = new Path2D.Double();
+        path.moveTo(1.0, 2.0);
+        path.lineTo(3.0, -1e-9);
+        g2.draw(path);
+        g2.finish();
+        String svg = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(svg.contains("d=\"M1 2L3 0\""), svg);
+    }
+
+    @Test
+    public void testStyleIsEscaped() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 100, 50);
+        g2.setFont(new Font("Dialog", Font.PLAIN, 10) {
+            @Override
+            public String getFamily() {
+                return "A & <B>";
+            }
+        });
+        g2.drawString("Text", 10f, 20f);
+        g2.finish();
+        Document doc = parse(out.toByteArray());
+        String style = doc.getElementsByTagName("style").item(0)
+                .getTextContent();
+        assertTrue(style.contains("font-family:'A & <B>'"), style);
+    }
+
+    @Test
+    public void testChartWithElementHinting() throws Exception {
+        StandardPieDataset3D<String> dataset = new StandardPieDataset3D<>();
+        dataset.add("A & B", 1.0);
+        dataset.add("C", 2.0);
+        Chart3D chart = Chart3DFactory.createPieChart("Title", "Subtitle", 
+                dataset);
+        chart.setElementHinting(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportUtils.writeAsSVG(chart, 300, 200, out);
+        Document doc = parse(out.toByteArray());
+        Element root = doc.getDocumentElement();
+        assertEquals("svg", root.getTagName());
+        assertEquals("300", root.getAttribute("width"));
+        assertTrue(doc.getElementsByTagName("path").getLength() > 10);
+        assertTrue(doc.getElementsByTagName("text").getLength() > 0);
+        int refs = 0;
+        NodeList groups = doc.getElementsByTagName("g");
+        for (int i = 0; i < groups.getLength(); i++) {
+            Element g = (Element) groups.item(i);
+            if (g.getAttribute("data-ref").contains("A & B")) {
+                refs++;
+            }
+        }
+        assertTrue(refs > 0);
+    }
+
+}
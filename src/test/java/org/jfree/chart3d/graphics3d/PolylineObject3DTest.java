@@ -0,0 +1,92 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link PolylineObject3D} class.
+ */
+public class PolylineObject3DTest {
+    
+    @Test
+    public void testRuns() {
+        PolylineObject3D obj = new PolylineObject3D(Color.RED, 2);
+        obj.moveTo(0, 0, 0);
+        for (int i = 1; i <= 5; i++) {
+            obj.lineTo(i, i, i);
+        }
+        // a separate line
+        obj.moveTo(10, 0, 0);
+        obj.lineTo(11, 0, 0);
+        // a move with no segments adds no face
+        obj.moveTo(20, 0, 0);
+        
+        assertEquals(9, obj.getVertexCount());
+        List<Face> faces = obj.getFaces();
+        assertEquals(4, faces.size());
+        assertVertices(faces.get(0), 0, 1, 2);
+        assertVertices(faces.get(1), 2, 3, 4);
+        assertVertices(faces.get(2), 4, 5);
+        assertVertices(faces.get(3), 6, 7);
+        for (Face f : faces) {
+            assertTrue(f instanceof PolylineFace);
+        }
+    }
+    
+    @Test
+    public void testContinueAfterGetFaces() {
+        PolylineObject3D obj = new PolylineObject3D(Color.RED);
+        obj.moveTo(0, 0, 0);
+        obj.lineTo(1, 0, 0);
+        assertEquals(1, obj.getFaceCount());
+        obj.lineTo(2, 0, 0);
+        assertEquals(2, obj.getFaceCount());
+        assertVertices(obj.getFaces().get(1), 1, 2);
+    }
+    
+    private static void assertVertices(Face face, int... expected) {
+        assertEquals(expected.length, face.getVertexCount());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], face.getVertexIndex(i));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.Color;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ShadePalette} class.
+ */
+public class ShadePaletteTest {
+    
+    @Test
+    public void testLevel() {
+        assertEquals(0, ShadePalette.level(-0.5));
+        assertEquals(0, ShadePalette.level(Double.NaN));
+        assertEquals(0, ShadePalette.level(0.0));
+        assertEquals(128, ShadePalette.level(0.5));
+        assertEquals(ShadePalette.LEVELS - 1, ShadePalette.level(1.0));
+        assertEquals(ShadePalette.LEVELS - 1, ShadePalette.level(2.0));
+    }
+    
+    @Test
+    public void testGetShade() {
+        ShadePalette palette = new ShadePalette();
+        Color base = new Color(200, 100, 50, 128);
+        assertEquals(base, palette.getShade(base, 1.0));
+        assertEquals(new Color(0, 0, 0, 128), palette.getShade(base, 0.0));
+        Color half = palette.getShade(base, 0.5);
+        assertEquals(100, half.getRed(), 1);
+        assertEquals(50, half.getGreen(), 1);
+        assertEquals(25, half.getBlue(), 1);
+        assertEquals(128, half.getAlpha());
+        
+        // shades that quantize to the same level share an instance
+        assertSame(half, palette.getShade(base, 0.501));
+        assertEquals(1, palette.getBaseColorCount());
+        palette.clear();
+        assertEquals(0, palette.getBaseColorCount());
+    }
+
+    @Test
+    public void testKeyedByRGB() {
+        ShadePalette palette = new ShadePalette();
+        Color half = palette.getShade(new Color(200, 100, 50), 0.5);
+        Color other = palette.getShade(Color.BLUE, 0.5);
+        // a different instance with the same RGB value shares the shades
+        assertSame(half, palette.getShade(new Color(200, 100, 50), 0.5));
+        assertEquals(2, palette.getBaseColorCount());
+        assertSame(other, palette.getShade(new Color(0, 0, 255), 0.5));
+        
+        // the cache is bounded, least recently used colors are dropped
+        for (int i = 0; i < 5000; i++) {
+            palette.getShade(new Color(i), 1.0);
+        }
+        assertEquals(4096, palette.getBaseColorCount());
+    }
+
+}
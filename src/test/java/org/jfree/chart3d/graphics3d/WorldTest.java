@@ -0,0 +1,159 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link World} class.
+ */
+public class WorldTest {
+    
+    private static final double EPSILON = 0.000001;
+    
+    /**
+     * The shade calculated from the cached world normals should match the
+     * shade calculated from the eye coordinates of the face.
+     */
+    @Test
+    public void testCalculateShade() {
+        World world = new World();
+        world.add(Object3D.createBox(1, 2, 3, 4, 5, 6, Color.RED));
+        world.add(Object3D.createSphere(2.0, 8, 1, 1, 1, Color.BLUE, 
+                Color.BLUE));
+        double[] thetas = {0.0, 0.7, -2.1, 3.0};
+        double[] phis = {0.2, 1.0, 2.5};
+        for (double theta : thetas) {
+            for (double phi : phis) {
+                ViewPoint3D vp = new ViewPoint3D(theta, phi, 30.0, 0.4);
+                Point3D[] eyePts = world.calculateEyeCoordinates(vp);
+                world.prepareLighting(vp);
+                for (Face f : world.getFaces()) {
+                    double[] n = f.calculateNormal(eyePts);
+                    double expected = (n[0] * world.getSunX() 
+                            + n[1] * world.getSunY() 
+                            + n[2] * world.getSunZ() + 1) / 2.0;
+                    assertEquals(expected, world.calculateShade(f), EPSILON);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testShadeCaching() {
+        World world = new World();
+        assertThrows(IllegalStateException.class, 
+                () -> world.calculateShade(new Face(new Object3D(Color.RED), 
+                new int[] {0, 1, 2})));
+        Object3D box = Object3D.createBox(0, 1, 0, 1, 0, 1, Color.RED);
+        box.precomputeNormals();
+        world.add(box);
+        Face face = box.getFaces().get(0);
+        ViewPoint3D vp = new ViewPoint3D(0.5, 0.5, 20.0, 0.0);
+        world.prepareLighting(vp);
+        double shade = world.calculateShade(face);
+        
+        // zooming does not change the lighting
+        vp.setRho(40.0);
+        world.prepareLighting(vp);
+        assertEquals(shade, world.calculateShade(face), 0.0);
+        
+        // moving the sun does
+        world.setSunSource(-5, 3, 1);
+        world.prepareLighting(vp);
+        assertNotEquals(shade, world.calculateShade(face), EPSILON);
+    }
+    
+    /**
+     * Objects outside the viewport are skipped, and every face that is 
+     * (even partly) inside the viewport is kept.
+     */
+    @Test
+    public void testPrepareView() {
+        World world = new World();
+        world.add("box", Object3D.createBox(0, 40, 0, 40, 0, 40, Color.GRAY));
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 20; j++) {
+                world.add(Object3D.createBox(i * 2.0 - 19.0, 1.0, 0.0, 
+                        1.0 + i * 0.1, j * 2.0 - 19.0, 1.0, Color.RED));
+            }
+        }
+        ViewPoint3D vp = new ViewPoint3D(0.3, 1.0, 30.0, 0.0);
+        Rectangle2D viewport = new Rectangle2D.Double(-100, -50, 200, 100);
+        world.prepareView(vp, 1500, viewport, "box");
+        int culled = world.getCulledObjectCount();
+        assertTrue(culled > 0 && culled < 400);
+        
+        Point2D[] all = world.calculateProjectedPoints(vp, 1500);
+        Point2D[] pts = world.calculateVisibleProjectedPoints(vp, 1500);
+        Point3D[] eyePts = world.calculateVisibleEyeCoordinates(vp);
+        List<Face> faces = world.getVisibleFaces();
+        assertEquals(world.getFaces().size() - culled * 6, faces.size());
+        int count = 0;
+        for (Face f : faces) {
+            for (int i = 0; i < f.getVertexCount(); i++) {
+                int v = f.getVertexIndex(i);
+                assertEquals(all[v], pts[v]);
+                assertNotNull(eyePts[v]);
+            }
+        }
+        for (Face f : world.getFaces()) {
+            if (f.createPath(all).intersects(viewport)) {
+                assertTrue(faces.contains(f));
+            } else if (!faces.contains(f)) {
+                assertNull(pts[f.getVertexIndex(0)]);
+                count++;
+            }
+        }
+        assertEquals(culled * 6, count);
+        
+        // modifying the world discards the culling
+        world.add(Object3D.createBox(0, 1, 0, 1, 0, 1, Color.BLUE));
+        assertEquals(0, world.getCulledObjectCount());
+        assertEquals(world.getFaces().size(), world.getVisibleFaces().size());
+    }
+
+}
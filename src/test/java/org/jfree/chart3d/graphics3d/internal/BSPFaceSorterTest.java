@@ -0,0 +1,144 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import org.jfree.chart3d.graphics3d.Face;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.ViewPoint3D;
+import org.jfree.chart3d.graphics3d.World;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link BSPFaceSorter} class.
+ */
+public class BSPFaceSorterTest {
+
+    /**
+     * Creates an object with a single quadrilateral face.
+     */
+    private static Object3D createQuad(Color color, Point3D... pts) {
+        Object3D result = new Object3D(color);
+        for (Point3D p : pts) {
+            result.addVertex(p);
+        }
+        result.addFace(new int[] {0, 1, 2, 3});
+        return result;
+    }
+
+    private static List<Face> sort(FaceSorter sorter, World world, 
+            ViewPoint3D vp) {
+        sorter.prepare(world);
+        List<Face> faces = new ArrayList<>(world.getFaces());
+        return sorter.sort(faces, world.calculateEyeCoordinates(vp));
+    }
+
+    /**
+     * A small face standing at the far end of a large floor is behind the
+     * floor by average z, but must be painted after it.
+     */
+    @Test
+    public void testFloorAndWall() {
+        World world = new World();
+        Object3D floor = createQuad(Color.GRAY, new Point3D(-10, 0, -10), 
+                new Point3D(-10, 0, 10), new Point3D(10, 0, 10), 
+                new Point3D(10, 0, -10));
+        Object3D wall = createQuad(Color.RED, new Point3D(-1, 0, -9), 
+                new Point3D(1, 0, -9), new Point3D(1, 1, -9), 
+                new Point3D(-1, 1, -9));
+        world.add(floor);
+        world.add(wall);
+        ViewPoint3D vp = new ViewPoint3D(new Point3D(0, 5, 30), 0.0);
+        
+        List<Face> zOrder = sort(new StandardFaceSorter(), world, vp);
+        assertSame(wall, zOrder.get(0).getOwner());
+        
+        List<Face> bspOrder = sort(new BSPFaceSorter(), world, vp);
+        assertEquals(2, bspOrder.size());
+        assertSame(floor, bspOrder.get(0).getOwner());
+        assertSame(wall, bspOrder.get(1).getOwner());
+        
+        // from below the floor, the wall is hidden behind it
+        vp = new ViewPoint3D(new Point3D(0, -5, 30), 0.0);
+        bspOrder = sort(new BSPFaceSorter(), world, vp);
+        assertSame(wall, bspOrder.get(0).getOwner());
+    }
+
+    /**
+     * Faces that intersect are split, once, and the tree is reused while 
+     * the world is unchanged.
+     */
+    @Test
+    public void testIntersectingFaces() {
+        World world = new World();
+        world.add(createQuad(Color.RED, new Point3D(-1, -1, 0), 
+                new Point3D(1, -1, 0), new Point3D(1, 1, 0), 
+                new Point3D(-1, 1, 0)));
+        world.add(createQuad(Color.BLUE, new Point3D(0, -1, -1), 
+                new Point3D(0, 1, -1), new Point3D(0, 1, 1), 
+                new Point3D(0, -1, 1)));
+        BSPFaceSorter sorter = new BSPFaceSorter();
+        sorter.prepare(world);
+        List<Face> faces = world.getFaces();
+        assertEquals(3, faces.size());
+        assertEquals(10, world.getVertexCount());
+        
+        sorter.prepare(world);
+        assertEquals(faces, world.getFaces());
+        
+        ViewPoint3D vp = new ViewPoint3D(new Point3D(3, 0, 5), 0.0);
+        List<Face> sorted = sorter.sort(new ArrayList<>(world.getFaces()), 
+                world.calculateEyeCoordinates(vp));
+        assertEquals(3, sorted.size());
+        assertTrue(sorted.containsAll(faces));
+        
+        // the red face is the partition, so the blue face is split and the 
+        // fragment on the far side of the red face (z < 0) is painted first
+        Face first = sorted.get(0);
+        assertEquals(Color.BLUE, first.getColor());
+        for (int i = 0; i < first.getVertexCount(); i++) {
+            Point3D v = first.getOwner().getVertex(first.getVertexIndex(i) 
+                    - first.getOffset());
+            assertTrue(v.getZ() <= 0.0);
+        }
+    }
+
+}
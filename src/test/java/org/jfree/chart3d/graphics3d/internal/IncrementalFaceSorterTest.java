@@ -0,0 +1,129 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import org.jfree.chart3d.graphics3d.Face;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.ViewPoint3D;
+import org.jfree.chart3d.graphics3d.World;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link IncrementalFaceSorter} class.
+ */
+public class IncrementalFaceSorterTest {
+
+    private static World createWorld() {
+        World world = new World();
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                world.add(Object3D.createBox(i * 2.0, 1.0, 0.5 + i * 0.1, 
+                        1.0, j * 2.0, 1.0, Color.RED));
+            }
+        }
+        return world;
+    }
+
+    private static List<Face> sort(FaceSorter sorter, World world, 
+            ViewPoint3D vp) {
+        List<Face> faces = new ArrayList<>(world.getFaces());
+        return sorter.sort(faces, world.calculateEyeCoordinates(vp));
+    }
+
+    /**
+     * The order matches the standard sorter for every frame of a rotation,
+     * and small rotations repair the previous order.
+     */
+    @Test
+    public void testSameOrderAsStandard() {
+        World world = createWorld();
+        ViewPoint3D vp = ViewPoint3D.createAboveLeftViewPoint(50.0);
+        IncrementalFaceSorter sorter = new IncrementalFaceSorter();
+        List<Face> faces = sort(sorter, world, vp);
+        assertEquals(sort(new StandardFaceSorter(), world, vp), faces);
+        assertFalse(sorter.isOrderReused());
+        assertEquals(faces.size(), sorter.getMovedFaceCount());
+        
+        for (int i = 0; i < 20; i++) {
+            vp.panLeftRight(0.01);
+            vp.moveUpDown(0.005);
+            faces = sort(sorter, world, vp);
+            assertEquals(sort(new StandardFaceSorter(), world, vp), faces);
+            assertTrue(sorter.isOrderReused());
+            assertTrue(sorter.getMovedFaceCount() < faces.size());
+        }
+        assertEquals(1, sorter.getFullSortCount());
+        assertEquals(20, sorter.getIncrementalSortCount());
+        
+        // a half turn reverses most of the order, so a full sort is used
+        vp.panLeftRight(Math.PI);
+        faces = sort(sorter, world, vp);
+        assertEquals(sort(new StandardFaceSorter(), world, vp), faces);
+        assertFalse(sorter.isOrderReused());
+        assertEquals(2, sorter.getFullSortCount());
+    }
+
+    /**
+     * New faces are merged into the previous order, and a different world 
+     * forces a full sort.
+     */
+    @Test
+    public void testFacesChanged() {
+        World world = createWorld();
+        ViewPoint3D vp = ViewPoint3D.createAboveLeftViewPoint(50.0);
+        IncrementalFaceSorter sorter = new IncrementalFaceSorter();
+        sort(sorter, world, vp);
+        world.add(Object3D.createBox(1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 
+                Color.BLUE));
+        vp.panLeftRight(0.01);
+        List<Face> faces = sort(sorter, world, vp);
+        assertEquals(sort(new StandardFaceSorter(), world, vp), faces);
+        assertTrue(sorter.isOrderReused());
+        assertTrue(sorter.getMovedFaceCount() >= 6);
+        
+        world = createWorld();
+        faces = sort(sorter, world, vp);
+        assertEquals(sort(new StandardFaceSorter(), world, vp), faces);
+        assertFalse(sorter.isOrderReused());
+        assertEquals(faces.size(), sorter.getMovedFaceCount());
+    }
+
+}
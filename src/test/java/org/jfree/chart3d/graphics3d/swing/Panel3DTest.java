@@ -0,0 +1,85 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d.swing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.Chart3D;
+import org.jfree.chart3d.Chart3DFactory;
+import org.jfree.chart3d.data.StandardPieDataset3D;
+
+/**
+ * Tests for the {@link Panel3D} class.
+ */
+public class Panel3DTest {
+    
+    private static Panel3D createPanel() {
+        StandardPieDataset3D<String> dataset = new StandardPieDataset3D<>();
+        dataset.add("A", 1.0);
+        dataset.add("B", 2.0);
+        Chart3D chart = Chart3DFactory.createPieChart("title", null, dataset);
+        return new Panel3D(chart);
+    }
+    
+    @Test
+    public void testInteractiveQuality() {
+        Panel3D panel = createPanel();
+        assertFalse(panel.isInteractiveQuality());
+        MouseWheelEvent wheel = new MouseWheelEvent(panel, 
+                MouseEvent.MOUSE_WHEEL, 0L, 0, 10, 10, 0, false, 
+                MouseWheelEvent.WHEEL_UNIT_SCROLL, 1, 1);
+        
+        // no gesture is tracked unless interactive quality is enabled
+        panel.mouseWheelMoved(wheel);
+        assertFalse(panel.isGestureInProgress());
+        
+        panel.setInteractiveQuality(true);
+        panel.setFullQualityDelay(60000);
+        assertEquals(60000, panel.getFullQualityDelay());
+        panel.mouseWheelMoved(wheel);
+        assertTrue(panel.isGestureInProgress());
+        
+        // switching the mode off ends the gesture
+        panel.setInteractiveQuality(false);
+        assertFalse(panel.isGestureInProgress());
+    }
+
+}
@@ -0,0 +1,79 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.graphics3d.swing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link RepaintScheduler} class.
+ */
+public class RepaintSchedulerTest {
+    
+    private static final double EPSILON = 0.0000001;
+    
+    @Test
+    public void testCoalescing() {
+        RepaintScheduler scheduler = new RepaintScheduler(new JPanel(), 0.01);
+        assertEquals(0.01, scheduler.getMaxFramesPerSecond(), EPSILON);
+        
+        // the first request is issued immediately...
+        scheduler.requestRepaint();
+        assertEquals(1, scheduler.getRepaintCount());
+        assertFalse(scheduler.isRepaintPending());
+        
+        // ...the next is scheduled and later ones are merged into it
+        scheduler.requestRepaint();
+        scheduler.requestRepaint();
+        scheduler.requestRepaint();
+        assertTrue(scheduler.isRepaintPending());
+        assertEquals(4, scheduler.getRequestCount());
+        assertEquals(1, scheduler.getRepaintCount());
+        assertEquals(2, scheduler.getDroppedFrameCount());
+        
+        scheduler.cancel();
+        assertFalse(scheduler.isRepaintPending());
+        scheduler.frameStarted();
+        assertEquals(1, scheduler.getFrameCount());
+        scheduler.resetStatistics();
+        assertEquals(0, scheduler.getRequestCount());
+        assertEquals(0, scheduler.getDroppedFrameCount());
+    }
+
+}
@@ -0,0 +1,120 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.label;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link LabelTemplate} class.
+ */
+public class LabelTemplateTest {
+    
+    private static final String[] TEMPLATES = { "%s", "%s, %s, %s = %4$.3f",
+        "%1$s, %3$s = %4$.3f", "%4$.2f", "%s (%3$,.0f)", "%s (%3$,.2f%%)", 
+        "%s (%2$,d)", "%s (%2$.3f, %3$.3f, %4$.3f)", "%2$f|%2$,.1f|%<.4f", 
+        "%-8s|%3$8.2f|%3$e|%3$g|%1$S", "no specifiers", "", "%n%%" };
+    
+    private static final Object[][] ARGS = { 
+        { "A", 1.0, 2.5, 3.14159 }, 
+        { "B", -0.0, 1234567.891, -0.0049 }, 
+        { "C", 0.125, 0.005, 1.005 }, 
+        { "D", 1e20, -98765.4321, 2.675 }, 
+        { "E", Double.NaN, Double.POSITIVE_INFINITY, null }, 
+        { 123, 7.0f, 0.1f, -1e-10 } };
+    
+    /**
+     * The output should match {@code String.format()} for a range of 
+     * templates, values and locales.
+     */
+    @Test
+    public void testSameAsFormatter() {
+        Locale saved = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY, 
+                    Locale.FRANCE, new Locale("hi", "IN"), 
+                    Locale.forLanguageTag("th-TH-u-nu-thai") }) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                for (String template : TEMPLATES) {
+                    LabelTemplate t = new LabelTemplate(template);
+                    for (Object[] args : ARGS) {
+                        String expected;
+                        try {
+                            expected = String.format(template, args);
+                        } catch (IllegalFormatException e) {
+                            assertThrows(e.getClass(), () -> t.format(args));
+                            continue;
+                        }
+                        assertEquals(expected, t.format(args), template 
+                                + " " + locale);
+                    }
+                }
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, saved);
+        }
+    }
+    
+    @Test
+    public void testIntegers() {
+        LabelTemplate t = new LabelTemplate("%d|%,d");
+        for (Object v : new Object[] { 0, -1, 1234567, Long.MIN_VALUE, 
+                (short) -32000, (byte) 7, BigInteger.TEN.pow(20) }) {
+            assertEquals(String.format("%d|%,d", v, v), t.format(v, v));
+        }
+    }
+    
+    /**
+     * Invalid templates and missing arguments should be reported in the 
+     * same way as the {@code Formatter} class.
+     */
+    @Test
+    public void testErrors() {
+        assertThrows(IllegalFormatException.class, 
+                () -> new LabelTemplate("%q").format("A"));
+        assertThrows(IllegalFormatException.class, 
+                () -> new LabelTemplate("%s %s").format("A"));
+        assertThrows(IllegalFormatException.class, 
+                () -> new LabelTemplate("%.2f").format("A"));
+        assertThrows(IllegalFormatException.class, 
+                () -> new LabelTemplate("%,s").format("A"));
+    }
+
+}
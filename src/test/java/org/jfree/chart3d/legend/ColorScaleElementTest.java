@@ -36,16 +36,97 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import org.jfree.chart3d.Orientation;
 import org.junit.jupiter.api.Test;
 import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.export.StreamingSVGGraphics2D;
+import org.jfree.chart3d.renderer.ColorScale;
 import org.jfree.chart3d.renderer.FixedColorScale;
+import org.jfree.chart3d.renderer.GradientColorScale;
 
 /**
  * Tests for the {@link ColorScaleElement} class.
  */
 public class ColorScaleElementTest {
     
+    /**
+     * The color strip is drawn with the low end of the scale on the left 
+     * (horizontal) or at the bottom (vertical).
+     */
+    @Test
+    public void testDraw() {
+        GradientColorScale scale = new GradientColorScale(
+                new Range(0.0, 1.0), Color.BLUE, Color.RED);
+        for (Orientation orientation : Orientation.values()) {
+            ColorScaleElement cs = new ColorScaleElement(scale, orientation, 
+                    20.0, 100.0, new Font(Font.SERIF, Font.PLAIN, 10), 
+                    Color.BLACK);
+            BufferedImage image = new BufferedImage(200, 200, 
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = image.createGraphics();
+            Rectangle2D bounds = new Rectangle2D.Double(0, 0, 200, 200);
+            // draw twice, the second time uses the cached strip
+            cs.draw(g2, bounds);
+            cs.draw(g2, bounds);
+            g2.dispose();
+            int blue = 0;
+            int red = 0;
+            for (int x = 0; x < 200; x++) {
+                for (int y = 0; y < 200; y++) {
+                    int rgb = image.getRGB(x, y);
+                    if (rgb == Color.BLUE.getRGB()) {
+                        blue++;
+                        if (orientation == Orientation.HORIZONTAL) {
+                            assertTrue(x < 100);
+                        } else {
+                            assertTrue(y > 100);
+                        }
+                    } else if (rgb == Color.RED.getRGB()) {
+                        red++;
+                    }
+                }
+            }
+            assertTrue(blue > 0);
+            assertTrue(red > 0);
+        }
+    }
+    
+    /**
+     * For a vector target the strip is drawn with shapes rather than a 
+     * bitmap.  The scale here relies on the default 
+     * {@link ColorScale#valuesToARGB(double[], int[])} implementation.
+     */
+    @Test
+    public void testDrawVector() throws Exception {
+        ColorScale scale = new ColorScale() {
+            @Override
+            public Range getRange() {
+                return new Range(0.0, 1.0);
+            }
+            @Override
+            public Color valueToColor(double value) {
+                return value < 0.5 ? Color.BLUE : Color.RED;
+            }
+        };
+        ColorScaleElement cs = new ColorScaleElement(scale, 
+                Orientation.HORIZONTAL, 20.0, 100.0, 
+                new Font(Font.SERIF, Font.PLAIN, 10), Color.BLACK);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingSVGGraphics2D g2 = new StreamingSVGGraphics2D(out, 200, 200);
+        cs.draw(g2, new Rectangle2D.Double(0, 0, 200, 200));
+        g2.finish();
+        String svg = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertFalse(svg.contains("<image"), svg);
+        assertTrue(svg.contains("fill:#0000ff"), svg);
+        assertTrue(svg.contains("fill:#ff0000"), svg);
+    }
+    
     @Test
     public void testEquals() {
         ColorScaleElement cs1 = new ColorScaleElement(
@@ -37,14 +37,19 @@ import org.junit.jupiter.api.Test;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.util.List;
 import org.jfree.chart3d.TestUtils;
 
 import org.jfree.chart3d.axis.NumberAxis3D;
 import org.jfree.chart3d.axis.StandardCategoryAxis3D;
 import org.jfree.chart3d.data.category.CategoryDataset3D;
 import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.World;
 import org.jfree.chart3d.label.StandardCategoryLabelGenerator;
+import org.jfree.chart3d.renderer.LineDownsampling;
 import org.jfree.chart3d.renderer.category.BarRenderer3D;
+import org.jfree.chart3d.renderer.category.LineRenderer3D;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -109,6 +114,50 @@ public class CategoryPlot3DTest {
         assertNotEquals(p1, p2);
         p2.setYDimensionOverride(123.0);
         assertEquals(p1, p2);
+        
+        p1.setParallelCompose(true);
+        assertNotEquals(p1, p2);
+        p2.setParallelCompose(true);
+        assertEquals(p1, p2);
+    }
+    
+    /**
+     * A parallel compose should add the same objects to the world, in the 
+     * same order, as a sequential compose (including for a renderer that 
+     * caches state between items).
+     */
+    @Test
+    public void testParallelCompose() {
+        StandardCategoryDataset3D<String, String, String> dataset 
+                = new StandardCategoryDataset3D<>();
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4000; c++) {
+                dataset.addValue(Math.sin(c * 0.01 + r), "S", "R" + r, 
+                        "C" + c);
+            }
+        }
+        LineRenderer3D renderer = new LineRenderer3D();
+        renderer.setDownsampling(LineDownsampling.MIN_MAX);
+        CategoryPlot3D plot = new CategoryPlot3D(dataset, renderer, 
+                new StandardCategoryAxis3D("R"), 
+                new StandardCategoryAxis3D("C"), new NumberAxis3D("N"));
+        World w1 = new World();
+        plot.compose(w1, -5, -5, -5);
+        plot.setParallelCompose(true);
+        World w2 = new World();
+        plot.compose(w2, -5, -5, -5);
+        List<Object3D> objs1 = w1.getObjects();
+        List<Object3D> objs2 = w2.getObjects();
+        assertTrue(objs1.size() > 0);
+        assertEquals(objs1.size(), objs2.size());
+        for (int i = 0; i < objs1.size(); i++) {
+            Object3D obj1 = objs1.get(i);
+            Object3D obj2 = objs2.get(i);
+            assertEquals(obj1.getVertexCount(), obj2.getVertexCount());
+            for (int v = 0; v < obj1.getVertexCount(); v++) {
+                assertEquals(obj1.getVertex(v), obj2.getVertex(v));
+            }
+        }
     }
         
     /**
@@ -45,6 +45,7 @@ import org.junit.jupiter.api.Test;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.util.List;
 import org.jfree.chart3d.TestUtils;
 import org.jfree.chart3d.axis.NumberAxis3D;
 import org.jfree.chart3d.axis.ValueAxis3D;
@@ -52,6 +53,8 @@ import org.jfree.chart3d.data.Range;
 import org.jfree.chart3d.data.xyz.XYZDataset;
 import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
 import org.jfree.chart3d.graphics3d.Dimension3D;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.World;
 import org.jfree.chart3d.label.StandardXYZLabelGenerator;
 import org.jfree.chart3d.renderer.xyz.ScatterXYZRenderer;
 import org.jfree.chart3d.renderer.xyz.XYZRenderer;
@@ -144,6 +147,43 @@ public class XYZPlotTest implements Plot3DChangeListener {
         assertNotEquals(p1, p2);
         p2.setLegendLabelGenerator(new StandardXYZLabelGenerator("%s XX"));
         assertEquals(p1, p2);
+        
+        p1.setParallelCompose(true);
+        assertNotEquals(p1, p2);
+        p2.setParallelCompose(true);
+        assertEquals(p1, p2);
+    }
+
+    /**
+     * A parallel compose should add the same objects to the world, in the 
+     * same order, as a sequential compose.
+     */
+    @Test
+    public void testParallelCompose() {
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        for (int s = 0; s < 3; s++) {
+            XYZSeries<String> series = new XYZSeries<>("S" + s);
+            for (int i = 0; i < 5000; i++) {
+                series.add(i % 10, (i * 7 + s) % 11, (i * 3) % 13);
+            }
+            dataset.add(series);
+        }
+        XYZPlot plot = new XYZPlot(dataset, new ScatterXYZRenderer(), 
+                new NumberAxis3D("X"), new NumberAxis3D("Y"), 
+                new NumberAxis3D("Z"));
+        World w1 = new World();
+        plot.compose(w1, -5, -5, -5);
+        plot.setParallelCompose(true);
+        World w2 = new World();
+        plot.compose(w2, -5, -5, -5);
+        List<Object3D> objs1 = w1.getObjects();
+        List<Object3D> objs2 = w2.getObjects();
+        assertEquals(15000, objs1.size());
+        assertEquals(objs1.size(), objs2.size());
+        for (int i = 0; i < objs1.size(); i++) {
+            assertEquals(objs1.get(i).getVertex(0), objs2.get(i).getVertex(0));
+            assertEquals(objs1.get(i).getColor(), objs2.get(i).getColor());
+        }
     }
 
     /**
@@ -54,6 +54,25 @@ public class GradientColorScaleTest {
         assertEquals(Color.RED, gcs.valueToColor(1.0));
     }
     
+    /**
+     * The bulk method gives the same colors as the single value method, 
+     * including for values outside the range and NaN.
+     */
+    @Test
+    public void testValuesToARGB() {
+        GradientColorScale gcs = new GradientColorScale(new Range(-2.0, 8.0), 
+                Color.YELLOW, Color.RED);
+        double[] values = {-5.0, -2.0, 0.0, 1.234, 3.0, 7.99, 8.0, 100.0, 
+            Double.NaN};
+        int[] argb = new int[values.length];
+        gcs.valuesToARGB(values, argb);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(gcs.valueToColor(values[i]).getRGB(), argb[i]);
+        }
+        assertEquals(Color.YELLOW.getRGB(), argb[0]);
+        assertEquals(Color.RED.getRGB(), argb[7]);
+    }
+    
     @Test
     public void testEquals() {
         GradientColorScale gcs1 = new GradientColorScale(new Range(0.0, 1.0), 
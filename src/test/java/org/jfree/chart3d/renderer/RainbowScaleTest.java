@@ -32,10 +32,14 @@
 
 package org.jfree.chart3d.renderer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
+import java.awt.Color;
+
 import org.jfree.chart3d.TestUtils;
 import org.jfree.chart3d.data.Range;
 
@@ -44,6 +48,28 @@ import org.jfree.chart3d.data.Range;
  */
 public class RainbowScaleTest {
     
+    /**
+     * The bulk method gives the same colors as the single value method, 
+     * including for values outside the range and NaN.
+     */
+    @Test
+    public void testValuesToARGB() {
+        RainbowScale rs = new RainbowScale(new Range(5.0, 10.0));
+        double[] values = {0.0, 5.0, 6.5, 7.77, 9.999, 10.0, 20.0, 
+            Double.NaN};
+        int[] argb = new int[values.length];
+        rs.valuesToARGB(values, argb);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(rs.valueToColor(values[i]).getRGB(), argb[i]);
+        }
+        // blue at the low end, red at the high end
+        assertEquals(Color.getHSBColor(0.6666f, 1f, 1f).getRGB(), argb[0]);
+        assertEquals(Color.RED.getRGB(), argb[6]);
+        
+        assertThrows(IllegalArgumentException.class, 
+                () -> rs.valuesToARGB(values, new int[2]));
+    }
+    
     @Test
     public void testEquals() {
         RainbowScale rs1 = new RainbowScale(new Range(5.0, 10.0));
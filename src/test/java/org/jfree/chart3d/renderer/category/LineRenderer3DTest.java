@@ -32,12 +32,23 @@
 
 package org.jfree.chart3d.renderer.category;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.axis.NumberAxis3D;
+import org.jfree.chart3d.axis.StandardCategoryAxis3D;
+import org.jfree.chart3d.data.KeyedValues3DItemKey;
+import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.plot.CategoryPlot3D;
+import org.jfree.chart3d.renderer.LineDownsampling;
 import java.awt.Color;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Tests for the {@link LineRenderer3D} class.
@@ -66,6 +77,16 @@ public class LineRenderer3DTest {
         r2.setClipColorSource(new StandardCategoryColorSource(Color.BLUE));
         assertTrue(r1.equals(r2));
 
+        r1.setDownsampling(LineDownsampling.LTTB);
+        assertFalse(r1.equals(r2));
+        r2.setDownsampling(LineDownsampling.LTTB);
+        assertTrue(r1.equals(r2));
+
+        r1.setDownsamplingBucketCount(50);
+        assertFalse(r1.equals(r2));
+        r2.setDownsamplingBucketCount(50);
+        assertTrue(r1.equals(r2));
+
         // notify
         r1.setNotify(false);
         assertFalse(r1.equals(r2));
@@ -80,4 +101,62 @@ public class LineRenderer3DTest {
         assertTrue(r1.equals(r2));
     }
 
-}
\ No newline at end of file
+    /**
+     * Composes a row with many columns and returns the columns that have at
+     * least one object in the world.
+     */
+    private static Set<Comparable<?>> composedColumns(
+            LineDownsampling downsampling, int[] objectCount) {
+        StandardCategoryDataset3D<String, String, Integer> dataset 
+                = new StandardCategoryDataset3D<>();
+        for (int c = 0; c < 2000; c++) {
+            Double value = Math.sin(c * 0.05);
+            if (c == 777) {
+                value = 10.0;  // a spike that must survive downsampling
+            } else if (c >= 1500 && c < 1510) {
+                value = null;  // a gap
+            }
+            dataset.addValue(value, "S1", "R1", c);
+        }
+        LineRenderer3D renderer = new LineRenderer3D();
+        renderer.setDownsampling(downsampling);
+        renderer.setDownsamplingBucketCount(50);
+        CategoryPlot3D plot = new CategoryPlot3D(dataset, renderer, 
+                new StandardCategoryAxis3D("R"), 
+                new StandardCategoryAxis3D("C"), new NumberAxis3D("N"));
+        World world = new World();
+        plot.compose(world, 0.0, 0.0, 0.0);
+        objectCount[0] = world.getObjects().size();
+        Set<Comparable<?>> result = new HashSet<>();
+        for (Object3D obj : world.getObjects()) {
+            KeyedValues3DItemKey key = (KeyedValues3DItemKey) 
+                    obj.getProperty(Object3D.ITEM_KEY);
+            result.add(key.getColumnKey());
+        }
+        return result;
+    }
+
+    /**
+     * Downsampling cuts the number of objects while keeping the extremes 
+     * and the items next to a gap.
+     */
+    @Test
+    public void testDownsampling() {
+        int[] all = new int[1];
+        Set<Comparable<?>> columns = composedColumns(LineDownsampling.NONE, 
+                all);
+        assertEquals(1990, columns.size());
+        for (LineDownsampling method : new LineDownsampling[] {
+                LineDownsampling.MIN_MAX, LineDownsampling.LTTB}) {
+            int[] count = new int[1];
+            columns = composedColumns(method, count);
+            assertTrue(count[0] * 10 < all[0]);
+            assertTrue(columns.contains(777));
+            assertTrue(columns.contains(1499));
+            assertTrue(columns.contains(1510));
+            assertTrue(columns.contains(0));
+            assertTrue(columns.contains(1999));
+        }
+    }
+
+}
@@ -32,10 +32,13 @@
 
 package org.jfree.chart3d.renderer.category;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.data.category.StandardCategoryDataset3D;
 
 /**
  * Tests for the {@link StackedBarRenderer3D} class.
@@ -72,5 +75,28 @@ public class StackedBarRenderer3DTest {
                 TestUtils.serialized(r1);
         assertTrue(r1.equals(r2));
     }
+    
+    /**
+     * The cached stack subtotals are recalculated when the dataset changes.
+     */
+    @Test
+    public void testSubTotalsRecalculated() {
+        StandardCategoryDataset3D<String, String, String> dataset 
+                = new StandardCategoryDataset3D<>();
+        dataset.addValue(1.0, "S1", "R1", "C1");
+        dataset.addValue(2.0, "S2", "R1", "C1");
+        dataset.addValue(-1.0, "S3", "R1", "C1");
+        StackedBarRenderer3D r = new StackedBarRenderer3D();
+        assertEquals(new Range(-1.0, 3.0), r.findValueRange(dataset));
+        assertEquals(new Range(-1.0, 3.0), r.findValueRange(dataset));
+        
+        dataset.setValue(5.0, "S2", "R1", "C1");
+        assertEquals(new Range(-1.0, 6.0), r.findValueRange(dataset));
+        
+        // changes are detected even when listeners are not notified
+        dataset.setNotify(false);
+        dataset.setValue(-4.0, "S3", "R1", "C1");
+        assertEquals(new Range(-4.0, 6.0), r.findValueRange(dataset));
+    }
 
 }
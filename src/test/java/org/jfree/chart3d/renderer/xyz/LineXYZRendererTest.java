@@ -0,0 +1,155 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.renderer.xyz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.Chart3D;
+import org.jfree.chart3d.Chart3DFactory;
+import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.data.xyz.XYZSeries;
+import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
+import org.jfree.chart3d.graphics3d.Dimension3D;
+import org.jfree.chart3d.graphics3d.Face;
+import org.jfree.chart3d.graphics3d.Object3D;
+import org.jfree.chart3d.graphics3d.Point3D;
+import org.jfree.chart3d.graphics3d.PolylineObject3D;
+import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.plot.XYZPlot;
+import org.jfree.chart3d.renderer.LineDownsampling;
+
+/**
+ * Tests for the {@link LineXYZRenderer} class.
+ */
+public class LineXYZRendererTest {
+    
+    @Test
+    public void testEquals() {
+        LineXYZRenderer r1 = new LineXYZRenderer();
+        LineXYZRenderer r2 = new LineXYZRenderer();
+        assertTrue(r1.equals(r2));
+        assertFalse(r1.equals(null));
+
+        r1.setDownsampling(LineDownsampling.MIN_MAX);
+        assertFalse(r1.equals(r2));
+        r2.setDownsampling(LineDownsampling.MIN_MAX);
+        assertTrue(r1.equals(r2));
+
+        r1.setDownsamplingBucketCount(100);
+        assertFalse(r1.equals(r2));
+        r2.setDownsamplingBucketCount(100);
+        assertTrue(r1.equals(r2));
+    }
+    
+    /**
+     * Some checks for serialization support.
+     */
+    @Test
+    public void testSerialization() {
+        LineXYZRenderer r1 = new LineXYZRenderer();
+        LineXYZRenderer r2 = (LineXYZRenderer) TestUtils.serialized(r1);
+        assertTrue(r1.equals(r2));
+    }
+    
+    /**
+     * Each series becomes one polyline sharing its vertices, and the line
+     * is cropped where it leaves the plot box.
+     */
+    @Test
+    public void testComposeAll() {
+        XYZSeries<String> s = new XYZSeries<>("S1");
+        for (int i = 0; i <= 4; i++) {
+            s.add(i, i, i);
+        }
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        dataset.add(s);
+        Chart3D chart = Chart3DFactory.createXYZLineChart("title", null, 
+                dataset, "X", "Y", "Z");
+        XYZPlot plot = (XYZPlot) chart.getPlot();
+        plot.getXAxis().setRange(0.0, 2.5);
+        plot.getYAxis().setRange(0.0, 4.0);
+        plot.getZAxis().setRange(0.0, 4.0);
+        
+        World world = new World();
+        plot.compose(world, 0.0, 0.0, 0.0);
+        assertEquals(1, world.getObjects().size());
+        Object3D obj = world.getObjects().get(0);
+        assertTrue(obj instanceof PolylineObject3D);
+        // three points inside the box, plus the crop point at x = 2.5
+        assertEquals(4, obj.getVertexCount());
+        assertEquals(1, obj.getFaceCount());
+        Face face = obj.getFaces().get(0);
+        Point3D last = obj.getVertex(face.getVertexIndex(3));
+        Dimension3D dim = plot.getDimensions();
+        assertEquals(dim.getWidth(), last.getX(), 0.000001);
+    }
+
+    /**
+     * With downsampling, a long series is composed from far fewer vertices
+     * and the extreme values are still reached.
+     */
+    @Test
+    public void testComposeAllWithDownsampling() {
+        XYZSeries<String> s = new XYZSeries<>("S1");
+        for (int i = 0; i < 20000; i++) {
+            s.add(i, i == 12345 ? 100.0 : Math.sin(i * 0.01), 1.0);
+        }
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        dataset.add(s);
+        for (LineDownsampling method : new LineDownsampling[] {
+                LineDownsampling.MIN_MAX, LineDownsampling.LTTB}) {
+            Chart3D chart = Chart3DFactory.createXYZLineChart("title", null, 
+                    dataset, "X", "Y", "Z");
+            XYZPlot plot = (XYZPlot) chart.getPlot();
+            LineXYZRenderer renderer = (LineXYZRenderer) plot.getRenderer();
+            renderer.setDownsampling(method);
+            World world = new World();
+            plot.compose(world, 0.0, 0.0, 0.0);
+            assertTrue(world.getVertexCount() < 2000);
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (Object3D obj : world.getObjects()) {
+                for (int v = 0; v < obj.getVertexCount(); v++) {
+                    maxY = Math.max(maxY, obj.getVertex(v).getY());
+                }
+            }
+            assertEquals(plot.getYAxis().translateToWorld(100.0, 
+                    plot.getDimensions().getHeight()), maxY, 0.000001);
+        }
+    }
+
+}
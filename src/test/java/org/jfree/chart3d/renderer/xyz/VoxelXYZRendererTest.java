@@ -0,0 +1,180 @@
+/* ===========================================================
+ * Orson Charts : a 3D chart library for the Java(tm) platform
+ * ===========================================================
+ * 
+ * (C)opyright 2013-present, by David Gilbert.  All rights reserved.
+ * 
+ * https://github.com/jfree/orson-charts
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ * 
+ * If you do not wish to be bound by the terms of the GPL, an alternative
+ * license is available to sponsors (higher tiers only) of the JFree projects.
+ * For details, please see visit:
+ *
+ * https://github.com/sponsors/jfree
+ * 
+ */
+
+
+package org.jfree.chart3d.renderer.xyz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+
+import org.junit.jupiter.api.Test;
+
+import org.jfree.chart3d.TestUtils;
+import org.jfree.chart3d.axis.NumberAxis3D;
+import org.jfree.chart3d.data.Range;
+import org.jfree.chart3d.data.xyz.XYZSeries;
+import org.jfree.chart3d.data.xyz.XYZSeriesCollection;
+import org.jfree.chart3d.graphics3d.World;
+import org.jfree.chart3d.plot.XYZPlot;
+import org.jfree.chart3d.renderer.ColorScale;
+import org.jfree.chart3d.renderer.GradientColorScale;
+
+/**
+ * Tests for the {@link VoxelXYZRenderer} class.
+ */
+public class VoxelXYZRendererTest {
+
+    @Test
+    public void testEquals() {
+        VoxelXYZRenderer r1 = new VoxelXYZRenderer();
+        VoxelXYZRenderer r2 = new VoxelXYZRenderer();
+        assertTrue(r1.equals(r2));
+        assertFalse(r1.equals(null));
+
+        r1.setBins(10, 20, 20);
+        assertFalse(r1.equals(r2));
+        r2.setBins(10, 20, 20);
+        assertTrue(r1.equals(r2));
+
+        r1.setStatistic(VoxelStatistic.MEAN_Y);
+        assertFalse(r1.equals(r2));
+        r2.setStatistic(VoxelStatistic.MEAN_Y);
+        assertTrue(r1.equals(r2));
+
+        r1.setColorScale(new GradientColorScale(new Range(0, 10), 
+                Color.WHITE, Color.RED));
+        assertFalse(r1.equals(r2));
+        r2.setColorScale(new GradientColorScale(new Range(0, 10), 
+                Color.WHITE, Color.RED));
+        assertTrue(r1.equals(r2));
+
+        r1.setFillFraction(0.5);
+        assertFalse(r1.equals(r2));
+        r2.setFillFraction(0.5);
+        assertTrue(r1.equals(r2));
+    }
+
+    /**
+     * Some checks for serialization support.
+     */
+    @Test
+    public void testSerialization() {
+        VoxelXYZRenderer r1 = new VoxelXYZRenderer(5, 6, 7);
+        VoxelXYZRenderer r2 = (VoxelXYZRenderer) TestUtils.serialized(r1);
+        assertTrue(r1.equals(r2));
+    }
+
+    private static XYZPlot createPlot(XYZSeriesCollection<String> dataset, 
+            VoxelXYZRenderer renderer) {
+        NumberAxis3D xAxis = new NumberAxis3D("X", new Range(0.0, 10.0));
+        NumberAxis3D yAxis = new NumberAxis3D("Y", new Range(0.0, 10.0));
+        NumberAxis3D zAxis = new NumberAxis3D("Z", new Range(0.0, 10.0));
+        xAxis.setAutoAdjustRange(false);
+        yAxis.setAutoAdjustRange(false);
+        zAxis.setAutoAdjustRange(false);
+        return new XYZPlot(dataset, renderer, xAxis, yAxis, zAxis);
+    }
+
+    /**
+     * Items in the same voxel produce a single cube, items outside the axis
+     * ranges or with missing values are ignored, and the automatic color 
+     * scale spans the voxel counts.
+     */
+    @Test
+    public void testComposeAll() {
+        XYZSeries<String> s = new XYZSeries<>("S1");
+        s.add(1.0, 1.0, 1.0);
+        s.add(1.5, 1.5, 1.5);
+        s.add(1.2, 1.8, 1.1);
+        s.add(9.0, 9.0, 9.0);
+        s.add(10.0, 10.0, 10.0); // upper edge, same voxel as the previous
+        s.add(11.0, 5.0, 5.0);   // outside the x-axis range
+        s.add(5.0, Double.NaN, 5.0);
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        dataset.add(s);
+        VoxelXYZRenderer r = new VoxelXYZRenderer(5, 5, 5);
+        XYZPlot plot = createPlot(dataset, r);
+
+        VoxelXYZRenderer.VoxelGrid grid = r.bin(plot, plot.getDimensions());
+        int total = 0;
+        for (int count : grid.counts) {
+            total += count;
+        }
+        assertEquals(5, total);
+
+        World world = new World();
+        plot.compose(world, 0.0, 0.0, 0.0);
+        assertEquals(2, world.getObjects().size());
+        ColorScale scale = r.getColorScale();
+        assertEquals(new Range(2.0, 3.0), scale.getRange());
+    }
+
+    /**
+     * A dataset large enough to be binned in parallel gives the same totals 
+     * as the items it contains.
+     */
+    @Test
+    public void testParallelBinning() {
+        XYZSeriesCollection<String> dataset = new XYZSeriesCollection<>();
+        int itemCount = 0;
+        for (int series = 0; series < 3; series++) {
+            XYZSeries<String> s = new XYZSeries<>("S" + series);
+            int n = series == 1 ? 0 : VoxelXYZRenderer.PARALLEL_THRESHOLD + 1;
+            for (int i = 0; i < n; i++) {
+                double v = (i % 1000) / 100.0 + 0.005;
+                s.add(v, 5.0, 10.0 - v);
+            }
+            dataset.add(s);
+            itemCount += n;
+        }
+        VoxelXYZRenderer r = new VoxelXYZRenderer(10, 10, 10);
+        r.setStatistic(VoxelStatistic.MEAN_Y);
+        XYZPlot plot = createPlot(dataset, r);
+        VoxelXYZRenderer.VoxelGrid grid = r.bin(plot, plot.getDimensions());
+        int total = 0;
+        for (int i = 0; i < grid.counts.length; i++) {
+            total += grid.counts[i];
+            if (grid.counts[i] > 0) {
+                assertEquals(5.0, grid.sumY[i] / grid.counts[i], 0.000001);
+            }
+        }
+        assertEquals(itemCount, total);
+
+        World world = new World();
+        plot.compose(world, 0.0, 0.0, 0.0);
+        assertEquals(10, world.getObjects().size());
+    }
+
+}